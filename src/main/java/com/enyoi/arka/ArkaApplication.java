@@ -1,33 +1,59 @@
 package com.enyoi.arka;
 
+import com.enyoi.arka.adapters.in.CatalogImportServiceImpl;
 import com.enyoi.arka.adapters.in.InventoryServiceImpl;
 import com.enyoi.arka.adapters.in.OrderServiceImpl;
+import com.enyoi.arka.adapters.in.ReservationMetrics;
+import com.enyoi.arka.adapters.in.RetryMetrics;
+import com.enyoi.arka.adapters.in.RetryPolicy;
+import com.enyoi.arka.adapters.in.StockReservations;
+import com.enyoi.arka.adapters.out.memory.InMemoryCustomerRepository;
+import com.enyoi.arka.adapters.out.memory.InMemoryOrderRepository;
+import com.enyoi.arka.adapters.out.memory.InMemoryProductRepository;
 import com.enyoi.arka.adapters.out.repository.JpaCustomerRepository;
 import com.enyoi.arka.adapters.out.repository.JpaOrderRepository;
 import com.enyoi.arka.adapters.out.repository.JpaProductRepository;
+import com.enyoi.arka.adapters.out.repository.JpaUnitOfWork;
 import com.enyoi.arka.adapters.out.repository.config.DatabaseConfig;
+import com.enyoi.arka.adapters.out.service.AsyncNotificationService;
 import com.enyoi.arka.adapters.out.service.ConsoleNotificationService;
+import com.enyoi.arka.adapters.out.service.NotificationMetrics;
 import com.enyoi.arka.domain.entities.*;
+import com.enyoi.arka.domain.ports.in.CatalogImportReport;
+import com.enyoi.arka.domain.ports.in.CatalogImportService;
 import com.enyoi.arka.domain.ports.in.InventoryService;
 import com.enyoi.arka.domain.ports.in.OrderService;
 import com.enyoi.arka.domain.ports.out.CustomerRepository;
-import com.enyoi.arka.domain.ports.out.NotificationService;
 import com.enyoi.arka.domain.ports.out.OrderRepository;
 import com.enyoi.arka.domain.ports.out.ProductRepository;
+import com.enyoi.arka.domain.ports.out.UnitOfWork;
 import com.enyoi.arka.domain.valueobjects.*;
-import jakarta.persistence.EntityManager;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class ArkaApplication {
     private static final Scanner scanner = new Scanner(System.in);
 
     // Servicios
     private static InventoryService inventoryService;
+    private static CatalogImportService catalogImportService;
     private static OrderService orderService;
     private static CustomerRepository customerRepository;
+    private static RetryPolicy retryPolicy;
+    private static AsyncNotificationService notificationService;
+    private static StockReservations stockReservations;
+
+    // Almacenamiento: "jpa" (SQLite, por defecto) o "memory"
+    private static final String STORAGE_PROPERTY = "arka.storage";
+    private static final String JPA_STORAGE = "jpa";
+    private static final String MEMORY_STORAGE = "memory";
+    private static final String storage = System.getProperty(STORAGE_PROPERTY, JPA_STORAGE);
 
 
     public static void main(String[] args) {
@@ -53,24 +79,73 @@ public class ArkaApplication {
             }
         }
 
-        DatabaseConfig.shutdown();
+        RetryMetrics retries = retryPolicy.metrics();
+        if (retries.conflicts() > 0) {
+            System.out.printf("Conflictos de concurrencia: %d (reintentos: %d, agotados: %d)%n",
+                    retries.conflicts(), retries.retries(), retries.exhausted());
+        }
+
+        stockReservations.close();
+        ReservationMetrics reservations = stockReservations.metrics();
+        if (reservations.expired() + reservations.failedTicks() > 0) {
+            System.out.printf("Reservas de stock vencidas: %d (activas: %d, ticks fallidos: %d)%n",
+                    reservations.expired(), reservations.activeHolds(), reservations.failedTicks());
+        }
+
+        // Se vacía la cola de notificaciones antes de cerrar la base de datos
+        notificationService.close();
+        NotificationMetrics notifications = notificationService.metrics();
+        if (notifications.dropped() + notifications.failed() + notifications.pending() > 0) {
+            System.out.printf("Notificaciones no entregadas: %d descartadas, %d fallidas, %d pendientes%n",
+                    notifications.dropped(), notifications.failed(), notifications.pending());
+        }
+
+        if (JPA_STORAGE.equals(storage)) {
+            DatabaseConfig.shutdown();
+        }
     }
 
     private static void initializeServices() {
-        // EntityManager compartido
-        EntityManager entityManager = DatabaseConfig.createEntityManager();
+        ProductRepository productRepo;
+        CustomerRepository customerRepo;
+        OrderRepository orderRepo;
+        UnitOfWork unitOfWork;
 
         // Repositorios
-        ProductRepository productRepo = new JpaProductRepository(entityManager);
-        CustomerRepository customerRepo = new JpaCustomerRepository(entityManager);
-        OrderRepository orderRepo = new JpaOrderRepository(entityManager);
+        switch (storage) {
+            case JPA_STORAGE -> {
+                // Un EntityManager por operación
+                JpaUnitOfWork jpaUnitOfWork = JpaUnitOfWork.perOperation(DatabaseConfig.getEntityManagerFactory());
+                productRepo = new JpaProductRepository(jpaUnitOfWork);
+                customerRepo = new JpaCustomerRepository(jpaUnitOfWork);
+                orderRepo = new JpaOrderRepository(jpaUnitOfWork);
+                unitOfWork = jpaUnitOfWork;
+            }
+            case MEMORY_STORAGE -> {
+                // Sin base de datos ni transacciones; los datos se pierden al salir
+                productRepo = new InMemoryProductRepository();
+                customerRepo = new InMemoryCustomerRepository();
+                orderRepo = new InMemoryOrderRepository();
+                unitOfWork = Supplier::get;
+            }
+            default -> throw new IllegalArgumentException(
+                    "Unknown storage: " + storage + " (expected " + JPA_STORAGE + " or " + MEMORY_STORAGE + ")");
+        }
+
+        // Notificaciones: se entregan en lotes desde un hilo aparte
+        notificationService = AsyncNotificationService.fromSystemProperties(new ConsoleNotificationService());
 
-        // Notificaciones
-        NotificationService notificationService = new ConsoleNotificationService();
+        // Servicios; los conflictos de versión se reintentan con la misma política
+        retryPolicy = RetryPolicy.fromSystemProperties();
+        inventoryService = new InventoryServiceImpl(productRepo, notificationService, retryPolicy);
+        catalogImportService = new CatalogImportServiceImpl(productRepo);
 
-        // Servicios
-        inventoryService = new InventoryServiceImpl(productRepo, notificationService);
-        orderService = new OrderServiceImpl(orderRepo, productRepo, customerRepo, notificationService);
+        // Reservas de stock: las órdenes pendientes retienen su stock hasta confirmarse o vencer
+        stockReservations = StockReservations.fromSystemProperties(orderRepo, productRepo, unitOfWork);
+        stockReservations.restore(orderRepo.findPendingOrders());
+        stockReservations.start();
+        orderService = new OrderServiceImpl(orderRepo, productRepo, customerRepo, notificationService, unitOfWork,
+                retryPolicy, stockReservations);
         customerRepository = customerRepo;
     }
 
@@ -89,6 +164,7 @@ public class ArkaApplication {
         System.out.println("2. Ver productos");
         System.out.println("3. Actualizar stock");
         System.out.println("4. Ver productos con stock bajo");
+        System.out.println("5. Importar catálogo (CSV)");
         System.out.println("0. Volver");
 
         int option = readInt("Seleccione: ");
@@ -97,6 +173,7 @@ public class ArkaApplication {
             case 2 -> viewProducts();
             case 3 -> updateStock();
             case 4 -> viewLowStock();
+            case 5 -> importCatalog();
             case 0 -> {}
             default -> System.out.println("Opción inválida");
         }
@@ -158,14 +235,14 @@ public class ArkaApplication {
     }
 
     private static void viewProducts() {
-        List<Product> products = inventoryService.getAllProducts();
-        if (products.isEmpty()) {
-            System.out.println("No hay productos registrados.");
-            return;
-        }
-        System.out.println("PRODUCTOS REGISTRADOS:");
-        for (Product p : products) {
-            System.out.println("- " + p.getName() + " (ID: " + p.getId().value() + ") - Stock: " + p.getStock() + " - Precio: " + p.getPrice());
+        try (Stream<Product> products = inventoryService.streamAllProducts()) {
+            Iterator<Product> iterator = products.iterator();
+            if (!iterator.hasNext()) {
+                System.out.println("No hay productos registrados.");
+                return;
+            }
+            System.out.println("PRODUCTOS REGISTRADOS:");
+            iterator.forEachRemaining(product -> System.out.println("- " + product.getName() + " (ID: " + product.getId().value() + ") - Stock: " + product.getStock() + " - Precio: " + product.getPrice()));
         }
     }
 
@@ -181,6 +258,21 @@ public class ArkaApplication {
         }
     }
 
+    private static void importCatalog() {
+        Path file = Path.of(readString("Ruta del archivo CSV: "));
+        try {
+            CatalogImportReport report = catalogImportService.importProducts(file, progress ->
+                    System.out.printf("\rFilas leídas: %d - importadas: %d - rechazadas: %d",
+                            progress.rowsRead(), progress.imported(), progress.rejected()));
+            System.out.printf("%nImportación terminada en %d ms (%.0f filas/s)%n",
+                    report.elapsed().toMillis(), report.rowsPerSecond());
+            report.rejections().forEach(row ->
+                    System.out.println("- Línea " + row.line() + ": " + row.reason()));
+        } catch (Exception e) {
+            System.out.println("\nError: " + e.getMessage());
+        }
+    }
+
     private static void viewLowStock() {
         List<Product> lowStock = inventoryService.getLowStockProducts();
         if (lowStock.isEmpty()) {
@@ -256,7 +348,7 @@ public class ArkaApplication {
                     .email(email)
                     .city(city)
                     .build();
-            customerRepository.save(customer);
+            customerRepository.insert(customer);
             System.out.println("Cliente registrado: " + customer.getName() + " (ID: " + customer.getId().value() + ")");
         } catch (Exception e) {
             System.out.println("Error: " + e.getMessage());
@@ -264,14 +356,14 @@ public class ArkaApplication {
     }
 
     private static void viewCustomers() {
-        List<Customer> customers = customerRepository.findAll();
-        if (customers.isEmpty()) {
-            System.out.println("No hay clientes registrados.");
-            return;
-        }
-        System.out.println("CLIENTES REGISTRADOS:");
-        for (Customer c : customers) {
-            System.out.println("- " + c.getName() + " (ID: " + c.getId().value() + ") - Email: " + c.getEmail().value() + " - Ciudad: " + c.getCity());
+        try (Stream<Customer> customers = customerRepository.streamAll()) {
+            Iterator<Customer> iterator = customers.iterator();
+            if (!iterator.hasNext()) {
+                System.out.println("No hay clientes registrados.");
+                return;
+            }
+            System.out.println("CLIENTES REGISTRADOS:");
+            iterator.forEachRemaining(customer -> System.out.println("- " + customer.getName() + " (ID: " + customer.getId().value() + ") - Email: " + customer.getEmail().value() + " - Ciudad: " + customer.getCity()));
         }
     }
 
@@ -0,0 +1,26 @@
+package com.enyoi.arka.adapters.config;
+
+import java.util.Properties;
+
+/**
+ * Lectura de las propiedades {@code arka.*} con las que se configuran los adaptadores.
+ */
+public final class PropertyValues {
+
+    private PropertyValues() {
+    }
+
+    /**
+     * @return el valor entero de {@code key}, o {@code defaultValue} si no está o está vacío
+     * @throws IllegalArgumentException si el valor no es un entero
+     */
+    public static int intProperty(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+}
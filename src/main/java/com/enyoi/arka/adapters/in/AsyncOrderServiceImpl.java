@@ -0,0 +1,122 @@
+package com.enyoi.arka.adapters.in;
+
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.ports.in.AsyncOrderService;
+import com.enyoi.arka.domain.ports.in.OrderService;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.OrderId;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta el {@link OrderService} bloqueante fuera del hilo que llama. Con Java 21 o
+ * posterior cada petición corre en su propio hilo virtual, y un semáforo limita a
+ * {@code maxConcurrency} las que usan la base de datos a la vez; el resto espera en el
+ * semáforo sin ocupar un hilo de plataforma. En Java 17 se usa un pool fijo de
+ * {@code maxConcurrency} hilos y las peticiones pendientes esperan en su cola.
+ */
+public class AsyncOrderServiceImpl implements AsyncOrderService, AutoCloseable {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final OrderService orderService;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    public AsyncOrderServiceImpl(OrderService orderService, int maxConcurrency) {
+        this(orderService, maxConcurrency, VirtualThreads.newPerTaskExecutor().orElse(null));
+    }
+
+    /**
+     * @param executor ejecutor de un hilo por tarea; {@code null} usa un pool fijo de {@code maxConcurrency} hilos
+     */
+    AsyncOrderServiceImpl(OrderService orderService, int maxConcurrency, ExecutorService executor) {
+        if (maxConcurrency <= 0) throw new IllegalArgumentException("Max concurrency must be greater than zero");
+        this.orderService = Objects.requireNonNull(orderService);
+        this.permits = new Semaphore(maxConcurrency);
+        this.virtualThreads = executor != null;
+        this.executor = executor != null ? executor : Executors.newFixedThreadPool(maxConcurrency, platformThreads());
+    }
+
+    @Override
+    public CompletableFuture<Order> createOrder(CustomerId customerId, List<OrderItem> items) {
+        return submit(() -> orderService.createOrder(customerId, items));
+    }
+
+    @Override
+    public CompletableFuture<Order> confirmOrder(OrderId id) {
+        return submit(() -> orderService.confirmOrder(id));
+    }
+
+    @Override
+    public CompletableFuture<Order> shipOrder(OrderId id) {
+        return submit(() -> orderService.shipOrder(id));
+    }
+
+    @Override
+    public CompletableFuture<Order> deliverOrder(OrderId id) {
+        return submit(() -> orderService.deliverOrder(id));
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Deja de aceptar peticiones y espera a que terminen las que ya estaban en curso.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Order> submit(Supplier<Order> operation) {
+        try {
+            return CompletableFuture.supplyAsync(() -> withPermit(operation), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Async order service is closed", e));
+        }
+    }
+
+    private Order withPermit(Supplier<Order> operation) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a database slot", e);
+        }
+        try {
+            return operation.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static ThreadFactory platformThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "async-orders-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
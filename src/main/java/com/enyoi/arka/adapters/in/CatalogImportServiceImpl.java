@@ -0,0 +1,315 @@
+package com.enyoi.arka.adapters.in;
+
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.ports.in.CatalogImportReport;
+import com.enyoi.arka.domain.ports.in.CatalogImportReport.RejectedRow;
+import com.enyoi.arka.domain.ports.in.CatalogImportService;
+import com.enyoi.arka.domain.ports.out.ProductRepository;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Importación de catálogo en streaming. El hilo que llama lee el archivo por bloques
+ * de líneas, un pool convierte y valida cada bloque en paralelo, y el mismo hilo
+ * inserta los bloques ya validados en orden con {@link ProductRepository#insertAll}.
+ * Como mucho hay {@code 2 * parallelism} bloques en vuelo, así que la memoria no
+ * depende del tamaño del archivo.
+ * <p>
+ * Antes de insertar un bloque se descartan, como filas inválidas, los ids repetidos dentro
+ * del bloque y los que ya existen (una sola {@code findAllById} por bloque). Los bloques
+ * anteriores ya están insertados, así que esa consulta también encuentra los repetidos entre
+ * bloques y un id duplicado no corta la importación a mitad de archivo.
+ * <p>
+ * Cada fila ocupa una línea: no se admiten saltos de línea dentro de campos entre comillas.
+ */
+public class CatalogImportServiceImpl implements CatalogImportService {
+    public static final int DEFAULT_BATCH_SIZE = 5_000;
+    static final int MAX_REPORTED_REJECTIONS = 100;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("id", "name", "price", "currency", "stock", "category");
+
+    private final ProductRepository productRepository;
+    private final int batchSize;
+    private final int parallelism;
+
+    public CatalogImportServiceImpl(ProductRepository productRepository) {
+        this(productRepository, DEFAULT_BATCH_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public CatalogImportServiceImpl(ProductRepository productRepository, int batchSize, int parallelism) {
+        if (batchSize <= 0) throw new IllegalArgumentException("Batch size must be greater than zero");
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be greater than zero");
+        this.productRepository = Objects.requireNonNull(productRepository);
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public CatalogImportReport importProducts(Path file, Consumer<CatalogImportReport> progress) {
+        Objects.requireNonNull(progress);
+        Tally tally = new Tally(System.nanoTime());
+        ExecutorService parsers = Executors.newFixedThreadPool(parallelism, daemonThreads());
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) throw new IllegalArgumentException("Catalog file is empty");
+            Map<String, Integer> columns = columns(header);
+
+            Deque<Future<ParsedBatch>> inFlight = new ArrayDeque<>();
+            List<RawRow> rows = new ArrayList<>(batchSize);
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                rows.add(new RawRow(lineNumber, line));
+                if (rows.size() == batchSize) {
+                    List<RawRow> batch = rows;
+                    inFlight.add(parsers.submit(() -> parse(batch, columns)));
+                    rows = new ArrayList<>(batchSize);
+                    if (inFlight.size() >= 2 * parallelism) {
+                        write(await(inFlight.poll()), tally, progress);
+                    }
+                }
+            }
+            if (!rows.isEmpty()) {
+                List<RawRow> batch = rows;
+                inFlight.add(parsers.submit(() -> parse(batch, columns)));
+            }
+            while (!inFlight.isEmpty()) {
+                write(await(inFlight.poll()), tally, progress);
+            }
+            return tally.report();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read catalog file " + file, e);
+        } finally {
+            parsers.shutdownNow();
+        }
+    }
+
+    private void write(ParsedBatch parsed, Tally tally, Consumer<CatalogImportReport> progress) {
+        ParsedBatch batch = withoutDuplicates(parsed);
+        if (!batch.products().isEmpty()) {
+            productRepository.insertAll(batch.products().stream().map(ParsedProduct::product).toList());
+        }
+        tally.add(batch);
+        progress.accept(tally.report());
+    }
+
+    private ParsedBatch withoutDuplicates(ParsedBatch batch) {
+        if (batch.products().isEmpty()) return batch;
+        Set<ProductId> existing = new HashSet<>();
+        productRepository.findAllById(batch.products().stream().map(parsed -> parsed.product().getId()).toList())
+                .forEach(product -> existing.add(product.getId()));
+        Set<ProductId> seen = new HashSet<>();
+        List<ParsedProduct> products = new ArrayList<>(batch.products().size());
+        List<RejectedRow> rejected = new ArrayList<>(batch.rejected());
+        for (ParsedProduct parsed : batch.products()) {
+            ProductId id = parsed.product().getId();
+            if (existing.contains(id)) {
+                rejected.add(new RejectedRow(parsed.line(), "Product already exists: " + id.value()));
+            } else if (!seen.add(id)) {
+                rejected.add(new RejectedRow(parsed.line(), "Duplicate id: " + id.value()));
+            } else {
+                products.add(parsed);
+            }
+        }
+        if (rejected.size() == batch.rejected().size()) return batch;
+        rejected.sort(Comparator.comparingLong(RejectedRow::line));
+        return new ParsedBatch(products, rejected);
+    }
+
+    private static ParsedBatch await(Future<ParsedBatch> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Catalog import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("Catalog import failed", e.getCause());
+        }
+    }
+
+    private static Map<String, Integer> columns(String header) {
+        List<String> names = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) throw new IllegalArgumentException("Missing column: " + required);
+        }
+        return columns;
+    }
+
+    private static ParsedBatch parse(List<RawRow> rows, Map<String, Integer> columns) {
+        List<ParsedProduct> products = new ArrayList<>(rows.size());
+        List<RejectedRow> rejected = new ArrayList<>();
+        for (RawRow row : rows) {
+            try {
+                products.add(new ParsedProduct(row.line(), toProduct(splitCsv(row.text()), columns)));
+            } catch (RuntimeException e) {
+                rejected.add(new RejectedRow(row.line(), e.getMessage()));
+            }
+        }
+        return new ParsedBatch(products, rejected);
+    }
+
+    private static Product toProduct(List<String> fields, Map<String, Integer> columns) {
+        if (fields.size() < columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " fields but found " + fields.size());
+        }
+        String id = required(fields, columns, "id");
+        String amount = required(fields, columns, "price");
+        String currency = required(fields, columns, "currency");
+        String stock = required(fields, columns, "stock");
+        String category = required(fields, columns, "category");
+        Integer descriptionColumn = columns.get("description");
+
+        Money price;
+        try {
+            price = Money.of(new BigDecimal(amount), currency.toUpperCase(Locale.ROOT));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price: " + amount);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid price " + amount + " " + currency);
+        }
+        int units;
+        try {
+            units = Integer.parseInt(stock);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid stock: " + stock);
+        }
+        if (units < 0) throw new IllegalArgumentException("Invalid stock: " + stock);
+        ProductCategory productCategory;
+        try {
+            productCategory = ProductCategory.valueOf(category.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown category: " + category);
+        }
+
+        return Product.builder()
+                .id(ProductId.of(id))
+                .name(required(fields, columns, "name"))
+                .description(descriptionColumn == null ? null : fields.get(descriptionColumn))
+                .price(price)
+                .stock(units)
+                .category(productCategory)
+                .build();
+    }
+
+    private static String required(List<String> fields, Map<String, Integer> columns, String column) {
+        String value = fields.get(columns.get(column)).trim();
+        if (value.isEmpty()) throw new IllegalArgumentException("Missing " + column);
+        return value;
+    }
+
+    /**
+     * Separa una línea CSV por comas. Admite campos entre comillas con comas y
+     * comillas dobles escapadas ({@code ""}).
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("Unterminated quoted field");
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "catalog-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record RawRow(long line, String text) {
+    }
+
+    private record ParsedProduct(long line, Product product) {
+    }
+
+    private record ParsedBatch(List<ParsedProduct> products, List<RejectedRow> rejected) {
+    }
+
+    /**
+     * Contadores de la importación; solo los toca el hilo que escribe.
+     */
+    private static final class Tally {
+        private final long startNanos;
+        private final List<RejectedRow> rejections = new ArrayList<>();
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+
+        private Tally(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        void add(ParsedBatch batch) {
+            rowsRead += batch.products().size() + batch.rejected().size();
+            imported += batch.products().size();
+            rejected += batch.rejected().size();
+            for (RejectedRow row : batch.rejected()) {
+                if (rejections.size() == MAX_REPORTED_REJECTIONS) break;
+                rejections.add(row);
+            }
+        }
+
+        CatalogImportReport report() {
+            return new CatalogImportReport(rowsRead, imported, rejected, rejections,
+                    Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+    }
+}
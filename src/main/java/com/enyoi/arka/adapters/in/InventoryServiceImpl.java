@@ -1,8 +1,10 @@
 package com.enyoi.arka.adapters.in;
 import com.enyoi.arka.domain.entities.Product;
 import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.exception.InsufficientStockException;
 import com.enyoi.arka.domain.exception.ProductNotFoundException;
 import com.enyoi.arka.domain.ports.in.InventoryService;
+import com.enyoi.arka.domain.ports.out.Notification;
 import com.enyoi.arka.domain.ports.out.NotificationService;
 import com.enyoi.arka.domain.ports.out.ProductRepository;
 import com.enyoi.arka.domain.valueobjects.Money;
@@ -11,17 +13,25 @@ import com.enyoi.arka.domain.valueobjects.ProductId;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public class InventoryServiceImpl implements InventoryService {
 
     private final ProductRepository productRepository;
     private final NotificationService notificationService;
+    private final RetryPolicy retryPolicy;
 
     private final static int STOCK_THRESHOLD = 10;
 
     public InventoryServiceImpl(ProductRepository productRepository, NotificationService notificationService) {
+        this(productRepository, notificationService, RetryPolicy.defaults());
+    }
+
+    public InventoryServiceImpl(ProductRepository productRepository, NotificationService notificationService,
+                                RetryPolicy retryPolicy) {
         this.productRepository = Objects.requireNonNull(productRepository);
         this.notificationService = Objects.requireNonNull(notificationService);
+        this.retryPolicy = Objects.requireNonNull(retryPolicy);
     }
 
     @Override
@@ -36,9 +46,7 @@ public class InventoryServiceImpl implements InventoryService {
                 .category(ProductCategory.valueOf(category))
                 .build();
 
-        productRepository.save(product);
-
-        return product;
+        return productRepository.insert(product);
     }
 
     @Override
@@ -52,25 +60,38 @@ public class InventoryServiceImpl implements InventoryService {
         return productRepository.findAll();
     }
 
+    @Override
+    public Stream<Product> streamAllProducts() {
+        return productRepository.streamAll();
+    }
+
+    /**
+     * Si otra escritura cambió el producto entre la lectura y el guardado, se relee y
+     * se vuelve a aplicar según la {@link RetryPolicy}.
+     */
     @Override
     public Product updateStock(ProductId id, int newStock) {
-        Product product = getProductById(id);
-        Product updatedProduct = Product.builder()
-                .id(product.getId())
-                .stock(newStock)
-                .name(product.getName())
-                .description(product.getDescription())
-                .price(product.getPrice())
-                .category(product.getCategory())
-                .build();
-        return productRepository.save(updatedProduct);
+        return retryPolicy.execute(() -> {
+            Product product = getProductById(id);
+            Product updatedProduct = Product.builder()
+                    .id(product.getId())
+                    .stock(newStock)
+                    .name(product.getName())
+                    .description(product.getDescription())
+                    .price(product.getPrice())
+                    .category(product.getCategory())
+                    .version(product.getVersion())
+                    .build();
+            return productRepository.save(updatedProduct);
+        });
     }
 
     @Override
     public void reduceStock(ProductId id, int quantity) {
-        Product product = getProductById(id);
-        product.reduceStock(quantity);
-        productRepository.save(product);
+        if (!productRepository.tryReserveStock(id, quantity)) {
+            Product product = getProductById(id);
+            throw new InsufficientStockException(id.value(), quantity, product.getStock());
+        }
     }
 
     @Override
@@ -78,15 +99,16 @@ public class InventoryServiceImpl implements InventoryService {
         return productRepository.findLowStockProducts(STOCK_THRESHOLD);
     }
 
+    /**
+     * Envía todas las alertas de stock bajo en un solo lote.
+     */
     @Override
     public void generateRestockReport() {
-        getLowStockProducts()
-                .forEach(
-                        product ->
-                                notificationService.notifyLowStockAlert(
-                                        product.getName(),
-                                        product.getStock()
-                                )
-                );
+        List<Notification> alerts = getLowStockProducts().stream()
+                .<Notification>map(product -> new Notification.LowStockAlert(product.getName(), product.getStock()))
+                .toList();
+        if (!alerts.isEmpty()) {
+            notificationService.notifyBatch(alerts);
+        }
     }
 }
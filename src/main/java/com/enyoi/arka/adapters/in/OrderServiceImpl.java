@@ -3,76 +3,253 @@ package com.enyoi.arka.adapters.in;
 import com.enyoi.arka.domain.entities.Customer;
 import com.enyoi.arka.domain.entities.Order;
 import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.entities.OrderStatus;
 import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.exception.ArkaDomainException;
+import com.enyoi.arka.domain.exception.CustomerNotFoundException;
 import com.enyoi.arka.domain.exception.InsufficientStockException;
+import com.enyoi.arka.domain.exception.OptimisticConflictException;
 import com.enyoi.arka.domain.exception.ProductNotFoundException;
+import com.enyoi.arka.domain.ports.in.OrderRequest;
+import com.enyoi.arka.domain.ports.in.OrderResult;
 import com.enyoi.arka.domain.ports.in.OrderService;
 import com.enyoi.arka.domain.ports.out.CustomerRepository;
+import com.enyoi.arka.domain.ports.out.Notification;
 import com.enyoi.arka.domain.ports.out.NotificationService;
 import com.enyoi.arka.domain.ports.out.OrderRepository;
 import com.enyoi.arka.domain.ports.out.ProductRepository;
+import com.enyoi.arka.domain.ports.out.UnitOfWork;
 import com.enyoi.arka.domain.valueobjects.CustomerId;
 import com.enyoi.arka.domain.valueobjects.OrderId;
-
+import com.enyoi.arka.domain.valueobjects.ProductId;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final CustomerRepository customerRepository;
     private final NotificationService notificationService;
+    private final UnitOfWork unitOfWork;
+    private final RetryPolicy retryPolicy;
+    private final StockReservations reservations;
 
     public OrderServiceImpl(OrderRepository orderRepository, ProductRepository productRepository,
                         CustomerRepository customerRepository, NotificationService notificationService) {
+        this(orderRepository, productRepository, customerRepository, notificationService, Supplier::get);
+    }
+
+    public OrderServiceImpl(OrderRepository orderRepository, ProductRepository productRepository,
+                        CustomerRepository customerRepository, NotificationService notificationService,
+                        UnitOfWork unitOfWork) {
+        this(orderRepository, productRepository, customerRepository, notificationService, unitOfWork,
+                RetryPolicy.defaults());
+    }
+
+    public OrderServiceImpl(OrderRepository orderRepository, ProductRepository productRepository,
+                        CustomerRepository customerRepository, NotificationService notificationService,
+                        UnitOfWork unitOfWork, RetryPolicy retryPolicy) {
+        this(orderRepository, productRepository, customerRepository, notificationService, unitOfWork, retryPolicy,
+                StockReservations.disabled());
+    }
+
+    public OrderServiceImpl(OrderRepository orderRepository, ProductRepository productRepository,
+                        CustomerRepository customerRepository, NotificationService notificationService,
+                        UnitOfWork unitOfWork, RetryPolicy retryPolicy, StockReservations reservations) {
         this.orderRepository = Objects.requireNonNull(orderRepository);
         this.productRepository = Objects.requireNonNull(productRepository);
         this.customerRepository = Objects.requireNonNull(customerRepository);
         this.notificationService = Objects.requireNonNull(notificationService);
+        this.unitOfWork = Objects.requireNonNull(unitOfWork);
+        this.retryPolicy = Objects.requireNonNull(retryPolicy);
+        this.reservations = Objects.requireNonNull(reservations);
     }
 
     /**
-     * Crea una nueva orden de compra.
+     * Crea una nueva orden de compra. La orden y el descuento de stock se confirman
+     * en una sola transacción; el stock se descuenta con una operación atómica por
+     * producto que falla si no alcanza, por lo que órdenes concurrentes no pueden
+     * sobrevender. Si todo alcanza no se lee ningún producto. La orden guarda hasta cuándo
+     * queda reservado su stock y tras el commit {@link StockReservations} la sigue hasta que
+     * se confirme o venza.
      */
     public Order createOrder(CustomerId customerId, List<OrderItem> items) {
         // Validar que el cliente existe
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
-        // Validar stock para cada item
-        for (OrderItem item : items) {
-            Product product = productRepository.findById(item.getProductId())
-                    .orElseThrow(() -> new ProductNotFoundException(item.getProductId().value()));
+        Map<ProductId, Integer> quantities = OrderItem.quantitiesByProduct(items);
+        Order savedOrder = unitOfWork.execute(() -> placeOrder(customerId, items, quantities));
+        reservations.track(savedOrder);
+
+        // Notificar
+        notificationService.notifyOrderStatusChange(savedOrder.getId().value(), customer.getEmail().value(), "PENDIENTE");
+
+        return savedOrder;
+    }
 
-            if (product.getStock() < item.getQuantity()) {
-                throw new InsufficientStockException(item.getProductId().value(),
-                        item.getQuantity(), product.getStock());
+    /**
+     * Clientes y productos se leen una sola vez para todo el lote y el stock se comprueba
+     * contra esa lectura, descontando lo que reservan las órdenes ya aceptadas. Las órdenes
+     * aceptadas, su reserva (un UPDATE condicional por producto) y sus INSERT se confirman
+     * en una sola transacción; si otra escritura cambió el stock entre tanto, el lote se
+     * relee y se vuelve a evaluar según la {@link RetryPolicy}.
+     */
+    @Override
+    public List<OrderResult> createOrders(List<OrderRequest> requests) {
+        if (requests.isEmpty()) return List.of();
+
+        Map<CustomerId, Customer> customers = new HashMap<>();
+        customerRepository.findAllById(requests.stream().map(OrderRequest::customerId).collect(Collectors.toSet()))
+                .forEach(customer -> customers.put(customer.getId(), customer));
+
+        List<OrderResult> results = retryPolicy.execute(() -> unitOfWork.execute(() -> placeOrders(requests, customers)));
+        results.stream()
+                .filter(OrderResult::isAccepted)
+                .forEach(result -> reservations.track(result.order()));
+
+        List<Notification> notifications = results.stream()
+                .filter(OrderResult::isAccepted)
+                .<Notification>map(result -> new Notification.OrderStatusChange(result.order().getId().value(),
+                        customers.get(result.order().getCustomerId()).getEmail().value(), "PENDIENTE"))
+                .toList();
+        if (!notifications.isEmpty()) {
+            notificationService.notifyBatch(notifications);
+        }
+        return results;
+    }
+
+    private List<OrderResult> placeOrders(List<OrderRequest> requests, Map<CustomerId, Customer> customers) {
+        Map<ProductId, Integer> available = new HashMap<>();
+        productRepository.findAllById(requests.stream()
+                        .flatMap(request -> request.items().stream())
+                        .map(OrderItem::getProductId)
+                        .collect(Collectors.toSet()))
+                .forEach(product -> available.put(product.getId(), product.getStock()));
+
+        LocalDateTime reservedUntil = reservations.deadline();
+        List<OrderResult> results = new ArrayList<>(requests.size());
+        List<Order> accepted = new ArrayList<>();
+        Map<ProductId, Integer> toReserve = new LinkedHashMap<>();
+        for (OrderRequest request : requests) {
+            try {
+                Map<ProductId, Integer> quantities = checkAvailability(request, customers, available);
+                quantities.forEach((productId, quantity) -> {
+                    available.merge(productId, -quantity, Integer::sum);
+                    toReserve.merge(productId, quantity, Integer::sum);
+                });
+                Order order = Order.builder()
+                        .id(OrderId.of(UUID.randomUUID().toString()))
+                        .customerId(request.customerId())
+                        .items(new ArrayList<>(request.items()))
+                        .reservedUntil(reservedUntil)
+                        .build();
+                accepted.add(order);
+                results.add(OrderResult.accepted(request, order));
+            } catch (ArkaDomainException e) {
+                results.add(OrderResult.rejected(request, e));
             }
         }
 
+        // La lectura es la referencia, pero el UPDATE condicional sigue siendo la garantía
+        reserveAll(toReserve, (productId, quantity) -> new OptimisticConflictException("Product", productId.value()));
+
+        Map<OrderId, Order> saved = new HashMap<>();
+        accepted.forEach(order -> saved.put(order.getId(), orderRepository.insert(order)));
+        return results.stream()
+                .map(result -> result.isAccepted()
+                        ? OrderResult.accepted(result.request(), saved.get(result.order().getId()))
+                        : result)
+                .toList();
+    }
+
+    /**
+     * @return las cantidades de la petición por producto, si el cliente existe y el stock alcanza
+     */
+    private static Map<ProductId, Integer> checkAvailability(OrderRequest request, Map<CustomerId, Customer> customers,
+                                                             Map<ProductId, Integer> available) {
+        if (!customers.containsKey(request.customerId())) {
+            throw new CustomerNotFoundException(request.customerId().value());
+        }
+        Map<ProductId, Integer> quantities = OrderItem.quantitiesByProduct(request.items());
+        quantities.forEach((productId, quantity) -> {
+            Integer stock = available.get(productId);
+            if (stock == null) throw new ProductNotFoundException(productId.value());
+            if (stock < quantity) throw new InsufficientStockException(productId.value(), quantity, stock);
+        });
+        return quantities;
+    }
+
+    private Order placeOrder(CustomerId customerId, List<OrderItem> items, Map<ProductId, Integer> quantities) {
+        reserveAll(quantities);
+
         // Crear orden
         OrderId orderId = OrderId.of(UUID.randomUUID().toString());
         Order order = Order.builder()
                 .id(orderId)
                 .customerId(customerId)
                 .items(items)
+                .reservedUntil(reservations.deadline())
                 .build();
 
-        Order savedOrder = orderRepository.save(order);
+        return orderRepository.insert(order);
+    }
+
+    private void reserveAll(Map<ProductId, Integer> quantities) {
+        reserveAll(quantities, this::reservationFailure);
+    }
 
-        // Reducir stock
-        for (OrderItem item : items) {
-            Product product = productRepository.findById(item.getProductId())
-                    .orElseThrow(() -> new ProductNotFoundException(item.getProductId().value()));
-            product.reduceStock(item.getQuantity());
-            productRepository.save(product);
+    /**
+     * Reserva stock con un UPDATE condicional por producto.
+     *
+     * @param failure construye la excepción a lanzar cuando un producto no se puede reservar
+     */
+    private void reserveAll(Map<ProductId, Integer> quantities,
+                            BiFunction<ProductId, Integer, RuntimeException> failure) {
+        Map<ProductId, Integer> reserved = new LinkedHashMap<>();
+        try {
+            quantities.forEach((productId, quantity) -> {
+                if (!productRepository.tryReserveStock(productId, quantity)) {
+                    throw failure.apply(productId, quantity);
+                }
+                reserved.put(productId, quantity);
+            });
+        } catch (RuntimeException e) {
+            // Sin una UnitOfWork transaccional no hay rollback: se devuelve lo ya reservado
+            reserved.forEach(productRepository::releaseStock);
+            throw e;
         }
+    }
 
-        // Notificar
-        notificationService.notifyOrderStatusChange(orderId.value(), customer.getEmail().value(), "PENDIENTE");
+    private void reserveStock(ProductId productId, int quantity) {
+        if (!productRepository.tryReserveStock(productId, quantity)) {
+            throw reservationFailure(productId, quantity);
+        }
+    }
 
-        return savedOrder;
+    /**
+     * El producto solo se lee si la reserva falla, para saber si no existe o cuánto
+     * stock le queda.
+     */
+    private RuntimeException reservationFailure(ProductId productId, int quantity) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException(productId.value()));
+        return new InsufficientStockException(productId.value(), quantity, product.getStock());
     }
 
     /**
@@ -89,14 +266,15 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Confirma una orden pendiente.
+     * Confirma una orden pendiente. Los cambios de orden se releen y se vuelven a aplicar
+     * si chocan con otra escritura, según la {@link RetryPolicy}. Si la reserva de la
+     * orden venció, su stock se vuelve a reservar junto con la confirmación.
      */
     public Order confirmOrder(OrderId id) {
-        Order order = getOrderById(id);
-        order.confirm();
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = retryPolicy.execute(() -> unitOfWork.execute(() -> confirm(id)));
+        reservations.forget(id);
 
-        Customer customer = customerRepository.findById(order.getCustomerId())
+        Customer customer = customerRepository.findById(savedOrder.getCustomerId())
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
         notificationService.notifyOrderStatusChange(id.value(), customer.getEmail().value(), "CONFIRMADO");
@@ -105,56 +283,96 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Agrega un item a una orden pendiente.
+     * Lo que decide si hay que volver a reservar es la marca guardada en la orden: si el
+     * vencimiento la marca entre la lectura y el guardado, la versión ya no coincide y la
+     * confirmación se repite con la orden releída.
      */
-    public Order addItemToOrder(OrderId orderId, OrderItem item) {
-        Order order = getOrderById(orderId);
-        if (!order.isPending()) {
-            throw new IllegalStateException("Can only modify pending orders");
+    private Order confirm(OrderId id) {
+        Order order = getOrderById(id);
+        boolean stockReleased = order.isStockReleased();
+        order.confirm();
+        if (!stockReleased) {
+            return orderRepository.save(order);
         }
-
-        // Validar stock
-        Product product = productRepository.findById(item.getProductId())
-                .orElseThrow(() -> new ProductNotFoundException(item.getProductId().value()));
-
-        if (product.getStock() < item.getQuantity()) {
-            throw new InsufficientStockException(item.getProductId().value(),
-                    item.getQuantity(), product.getStock());
+        Map<ProductId, Integer> quantities = OrderItem.quantitiesByProduct(order.getItems());
+        reserveAll(quantities);
+        try {
+            return orderRepository.save(order);
+        } catch (RuntimeException e) {
+            // Sin rollback, un reintento volvería a reservar
+            quantities.forEach(productRepository::releaseStock);
+            throw e;
         }
+    }
 
-        order.addItem(item);
-        return orderRepository.save(order);
+    /**
+     * Agrega un item a una orden pendiente. Mientras la reserva de la orden siga vigente
+     * el stock del item se reserva con ella, así la reserva cubre siempre todos los items;
+     * si ya venció, solo se valida y se reserva todo al confirmar.
+     */
+    public Order addItemToOrder(OrderId orderId, OrderItem item) {
+        Order savedOrder = retryPolicy.execute(() -> unitOfWork.execute(() -> {
+            Order order = getOrderById(orderId);
+            if (!order.isPending()) {
+                throw new IllegalStateException("Can only modify pending orders");
+            }
+            order.addItem(item);
+
+            if (order.isStockReleased()) {
+                Product product = productRepository.findById(item.getProductId())
+                        .orElseThrow(() -> new ProductNotFoundException(item.getProductId().value()));
+                if (product.getStock() < item.getQuantity()) {
+                    throw new InsufficientStockException(item.getProductId().value(),
+                            item.getQuantity(), product.getStock());
+                }
+                return orderRepository.save(order);
+            }
+
+            reserveStock(item.getProductId(), item.getQuantity());
+            try {
+                return orderRepository.save(order);
+            } catch (RuntimeException e) {
+                // Sin rollback, un reintento volvería a reservar
+                productRepository.releaseStock(item.getProductId(), item.getQuantity());
+                throw e;
+            }
+        }));
+        reservations.track(savedOrder);
+        return savedOrder;
     }
 
     /**
-     * Remueve un item de una orden pendiente.
+     * Remueve un item de una orden pendiente. La orden y la devolución de stock se
+     * confirman juntas; si la reserva de la orden venció, el stock ya se devolvió.
      */
     public Order removeItemFromOrder(OrderId orderId, OrderItem item) {
-        Order order = getOrderById(orderId);
-        if (!order.isPending()) {
-            throw new IllegalStateException("Can only modify pending orders");
-        }
-
-        order.remove(item);
-        // Devolver stock al producto
-        Product product = productRepository.findById(item.getProductId())
-                .orElseThrow(() -> new ProductNotFoundException(item.getProductId().value()));
+        Order savedOrder = retryPolicy.execute(() -> unitOfWork.execute(() -> {
+            Order order = getOrderById(orderId);
+            if (!order.isPending()) {
+                throw new IllegalStateException("Can only modify pending orders");
+            }
 
-        product.increaseStock(item.getQuantity());
-        productRepository.save(product);
+            order.remove(item);
+            // Se guarda antes de devolver el stock: si la orden cambió entre tanto, el
+            // conflicto salta sin haber tocado el producto
+            Order saved = orderRepository.save(order);
+            if (!order.isStockReleased()) {
+                productRepository.releaseStock(item.getProductId(), item.getQuantity());
+            }
 
-        return orderRepository.save(order);
+            return saved;
+        }));
+        reservations.track(savedOrder);
+        return savedOrder;
     }
 
     /**
      * Envía una orden confirmada.
      */
     public Order shipOrder(OrderId id) {
-        Order order = getOrderById(id);
-        order.ship();
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = updateOrder(id, Order::ship);
 
-        Customer customer = customerRepository.findById(order.getCustomerId())
+        Customer customer = customerRepository.findById(savedOrder.getCustomerId())
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
         notificationService.notifyOrderStatusChange(id.value(), customer.getEmail().value(), "EN_DESPACHO");
@@ -166,11 +384,9 @@ public class OrderServiceImpl implements OrderService {
      * Entrega una orden enviada.
      */
     public Order deliverOrder(OrderId id) {
-        Order order = getOrderById(id);
-        order.deliver();
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = updateOrder(id, Order::deliver);
 
-        Customer customer = customerRepository.findById(order.getCustomerId())
+        Customer customer = customerRepository.findById(savedOrder.getCustomerId())
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
         notificationService.notifyOrderStatusChange(id.value(), customer.getEmail().value(), "ENTREGADO");
@@ -178,6 +394,83 @@ public class OrderServiceImpl implements OrderService {
         return savedOrder;
     }
 
+    /**
+     * Valida cada orden con {@link Order#ship} y las despacha todas con un UPDATE
+     * condicionado a que sigan CONFIRMADO, sin reescribir sus items.
+     */
+    @Override
+    public List<Order> shipOrders(Collection<OrderId> ids) {
+        return transitionOrders(ids, OrderStatus.CONFIRMADO, OrderStatus.EN_DESPACHO, Order::ship);
+    }
+
+    /**
+     * Valida cada orden con {@link Order#deliver} y las entrega todas con un UPDATE
+     * condicionado a que sigan EN_DESPACHO, sin reescribir sus items.
+     */
+    @Override
+    public List<Order> deliverOrders(Collection<OrderId> ids) {
+        return transitionOrders(ids, OrderStatus.EN_DESPACHO, OrderStatus.ENTREGADO, Order::deliver);
+    }
+
+    /**
+     * Lee las órdenes en bloque, aplica el cambio del dominio para validarlo y lo guarda con
+     * {@link OrderRepository#updateStatus}. Si otra escritura cambió alguna orden entre la
+     * lectura y el UPDATE, todo se relee y se vuelve a validar según la {@link RetryPolicy}.
+     * Las notificaciones salen en un solo lote tras el commit; como en {@link #shipOrder}, si
+     * falta el cliente de alguna orden se falla sin notificar.
+     */
+    private List<Order> transitionOrders(Collection<OrderId> ids, OrderStatus expected, OrderStatus next,
+                                         Consumer<Order> change) {
+        List<OrderId> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinct.isEmpty()) return List.of();
+
+        List<Order> changed = retryPolicy.execute(() -> unitOfWork.execute(() -> {
+            Map<OrderId, Order> orders = new HashMap<>();
+            orderRepository.findAllById(distinct).forEach(order -> orders.put(order.getId(), order));
+            for (OrderId id : distinct) {
+                Order order = orders.get(id);
+                if (order == null) throw new RuntimeException("Order not found: " + id.value());
+                change.accept(order);
+            }
+
+            List<OrderId> updated = orderRepository.updateStatus(distinct, expected, next);
+            if (updated.size() != distinct.size()) {
+                Set<OrderId> done = new HashSet<>(updated);
+                OrderId conflicting = distinct.stream().filter(id -> !done.contains(id)).findFirst().orElseThrow();
+                // Sin una UnitOfWork transaccional no hay rollback: se deshace lo ya cambiado
+                if (!updated.isEmpty()) orderRepository.updateStatus(updated, next, expected);
+                throw new OptimisticConflictException("Order", conflicting.value());
+            }
+            // Se releen para devolver el estado y la versión que dejó el UPDATE
+            orderRepository.findAllById(distinct).forEach(order -> orders.put(order.getId(), order));
+            return distinct.stream().map(orders::get).toList();
+        }));
+
+        Map<CustomerId, Customer> customers = new HashMap<>();
+        customerRepository.findAllById(changed.stream().map(Order::getCustomerId).collect(Collectors.toSet()))
+                .forEach(customer -> customers.put(customer.getId(), customer));
+        changed.stream().map(Order::getCustomerId).filter(id -> !customers.containsKey(id)).findFirst()
+                .ifPresent(id -> {
+                    throw new RuntimeException("Customer not found: " + id.value());
+                });
+        List<Notification> notifications = changed.stream()
+                .<Notification>map(order -> new Notification.OrderStatusChange(order.getId().value(),
+                        customers.get(order.getCustomerId()).getEmail().value(), next.name()))
+                .toList();
+        if (!notifications.isEmpty()) {
+            notificationService.notifyBatch(notifications);
+        }
+        return changed;
+    }
+
+    private Order updateOrder(OrderId id, Consumer<Order> change) {
+        return retryPolicy.execute(() -> {
+            Order order = getOrderById(id);
+            change.accept(order);
+            return orderRepository.save(order);
+        });
+    }
+
     /**
      * Lista todas las órdenes.
      */
@@ -0,0 +1,12 @@
+package com.enyoi.arka.adapters.in;
+
+/**
+ * Fotografía de los contadores de {@link StockReservations}.
+ *
+ * @param activeHolds órdenes pendientes cuyo stock sigue retenido
+ * @param heldUnits   unidades retenidas entre todos los productos
+ * @param expired     reservas vencidas cuyo stock se devolvió
+ * @param failedTicks ticks en los que no se pudo devolver el stock vencido; se reintenta en el siguiente
+ */
+public record ReservationMetrics(int activeHolds, long heldUnits, long expired, long failedTicks) {
+}
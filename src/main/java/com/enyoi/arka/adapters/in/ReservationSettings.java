@@ -0,0 +1,42 @@
+package com.enyoi.arka.adapters.in;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Properties;
+
+import static com.enyoi.arka.adapters.config.PropertyValues.intProperty;
+
+/**
+ * Parámetros de {@link StockReservations}. Se leen de propiedades {@code arka.reservations.*}
+ * (por ejemplo {@code -Darka.reservations.ttl-ms=600000}); un TTL de cero desactiva el vencimiento.
+ */
+public record ReservationSettings(Duration ttl, Duration tick, int wheelSize) {
+
+    public ReservationSettings {
+        Objects.requireNonNull(ttl, "ttl is required");
+        Objects.requireNonNull(tick, "tick is required");
+        if (ttl.isNegative()) throw new IllegalArgumentException("Reservation TTL cannot be negative");
+        if (tick.isNegative() || tick.isZero()) throw new IllegalArgumentException("Tick must be greater than zero");
+        if (wheelSize <= 0) throw new IllegalArgumentException("Wheel size must be greater than zero");
+    }
+
+    public static ReservationSettings defaults() {
+        return from(new Properties());
+    }
+
+    public static ReservationSettings fromSystemProperties() {
+        return from(System.getProperties());
+    }
+
+    public static ReservationSettings from(Properties properties) {
+        return new ReservationSettings(
+                Duration.ofMillis(intProperty(properties, "arka.reservations.ttl-ms", 900_000)),
+                Duration.ofMillis(intProperty(properties, "arka.reservations.tick-ms", 1_000)),
+                intProperty(properties, "arka.reservations.wheel-size", 512)
+        );
+    }
+
+    public boolean expires() {
+        return !ttl.isZero();
+    }
+}
@@ -0,0 +1,11 @@
+package com.enyoi.arka.adapters.in;
+
+/**
+ * Fotografía de los contadores de una {@link RetryPolicy}.
+ *
+ * @param conflicts conflictos de concurrencia detectados, incluidos los que se reintentaron
+ * @param retries   reintentos realizados
+ * @param exhausted operaciones que agotaron los intentos y propagaron el conflicto
+ */
+public record RetryMetrics(long conflicts, long retries, long exhausted) {
+}
@@ -0,0 +1,104 @@
+package com.enyoi.arka.adapters.in;
+
+import com.enyoi.arka.domain.exception.OptimisticConflictException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static com.enyoi.arka.adapters.config.PropertyValues.intProperty;
+
+/**
+ * Repite una operación que falla por {@link OptimisticConflictException}. Cada intento
+ * debe releer el agregado y volver a aplicar la operación de dominio. Entre intentos
+ * espera un backoff exponencial con jitter, acotado por {@code maxBackoff}, para que
+ * las escrituras que chocaron no vuelvan a coincidir.
+ * <p>
+ * Los parámetros se leen de propiedades {@code arka.retry.*}
+ * (por ejemplo {@code -Darka.retry.max-attempts=8}).
+ */
+public class RetryPolicy {
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Sleeper sleeper;
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        this(maxAttempts, initialBackoff, maxBackoff, duration -> TimeUnit.NANOSECONDS.sleep(duration.toNanos()));
+    }
+
+    RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, Sleeper sleeper) {
+        if (maxAttempts <= 0) throw new IllegalArgumentException("Max attempts must be greater than zero");
+        this.initialBackoff = Objects.requireNonNull(initialBackoff, "initialBackoff is required");
+        this.maxBackoff = Objects.requireNonNull(maxBackoff, "maxBackoff is required");
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Backoff must satisfy 0 <= initial <= max");
+        }
+        this.maxAttempts = maxAttempts;
+        this.sleeper = Objects.requireNonNull(sleeper);
+    }
+
+    public static RetryPolicy defaults() {
+        return from(new Properties());
+    }
+
+    public static RetryPolicy fromSystemProperties() {
+        return from(System.getProperties());
+    }
+
+    public static RetryPolicy from(Properties properties) {
+        return new RetryPolicy(
+                intProperty(properties, "arka.retry.max-attempts", 5),
+                Duration.ofMillis(intProperty(properties, "arka.retry.initial-backoff-ms", 5)),
+                Duration.ofMillis(intProperty(properties, "arka.retry.max-backoff-ms", 200))
+        );
+    }
+
+    public <T> T execute(Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (OptimisticConflictException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                backoff(attempt, e);
+                retries.increment();
+            }
+        }
+    }
+
+    public RetryMetrics metrics() {
+        return new RetryMetrics(conflicts.sum(), retries.sum(), exhausted.sum());
+    }
+
+    /**
+     * Espera entre la mitad y el total de {@code initial * 2^(intento-1)}, sin pasar de {@code maxBackoff}.
+     */
+    private void backoff(int attempt, OptimisticConflictException conflict) {
+        long ceiling = Math.min(maxBackoff.toNanos(), initialBackoff.toNanos() << Math.min(attempt - 1, 30));
+        if (ceiling <= 0) return;
+        long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        try {
+            sleeper.sleep(Duration.ofNanos(delay));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exhausted.increment();
+            throw conflict;
+        }
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
+}
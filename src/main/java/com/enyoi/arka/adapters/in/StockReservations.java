@@ -0,0 +1,252 @@
+package com.enyoi.arka.adapters.in;
+
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.exception.ProductNotFoundException;
+import com.enyoi.arka.domain.ports.out.OrderRepository;
+import com.enyoi.arka.domain.ports.out.ProductRepository;
+import com.enyoi.arka.domain.ports.out.UnitOfWork;
+import com.enyoi.arka.domain.valueobjects.OrderId;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reservas de stock con vencimiento entre {@code createOrder} y {@code confirmOrder}.
+ * <p>
+ * El stock de la base de datos ya descuenta lo reservado (lo hace el UPDATE condicional al
+ * crear la orden), así que sigue siendo la garantía contra la sobreventa. El estado de cada
+ * reserva también está en la orden: hasta cuándo vence ({@link Order#getReservedUntil()}) y si
+ * su stock ya se devolvió ({@link Order#isStockReleased()}). En memoria solo se lleva cuándo
+ * vence cada orden pendiente: las que vencen se sacan de una {@link TimingWheel} en cada tick,
+ * sin recorrer las órdenes pendientes. Las unidades retenidas por producto se mantienen en un
+ * índice, así {@link #held(ProductId)} no consulta nada.
+ * <p>
+ * Una orden vencida sigue PENDIENTE; al confirmarla se vuelve a reservar su stock.
+ */
+public class StockReservations implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(StockReservations.class);
+
+    private record Hold(OrderId orderId, Map<ProductId, Integer> quantities, long deadlineMillis,
+                        TimingWheel.Timeout<OrderId> timeout) { }
+
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final UnitOfWork unitOfWork;
+    private final ReservationSettings settings;
+    private final Clock clock;
+    private final TimingWheel<OrderId> wheel;
+    private final Map<OrderId, Hold> holds = new ConcurrentHashMap<>();
+    private final Map<ProductId, Integer> heldUnits = new ConcurrentHashMap<>();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder failedTicks = new LongAdder();
+    private ScheduledExecutorService scheduler;
+
+    public StockReservations(OrderRepository orderRepository, ProductRepository productRepository, UnitOfWork unitOfWork,
+                             ReservationSettings settings) {
+        this(orderRepository, productRepository, unitOfWork, settings, Clock.systemDefaultZone());
+    }
+
+    StockReservations(OrderRepository orderRepository, ProductRepository productRepository, UnitOfWork unitOfWork,
+                      ReservationSettings settings, Clock clock) {
+        this.orderRepository = Objects.requireNonNull(orderRepository);
+        this.productRepository = Objects.requireNonNull(productRepository);
+        this.unitOfWork = Objects.requireNonNull(unitOfWork);
+        this.settings = Objects.requireNonNull(settings);
+        this.clock = Objects.requireNonNull(clock);
+        this.wheel = settings.expires()
+                ? new TimingWheel<>(settings.tick().toMillis(), settings.wheelSize(), clock.millis())
+                : null;
+    }
+
+    private StockReservations() {
+        this.orderRepository = null;
+        this.productRepository = null;
+        this.unitOfWork = null;
+        this.settings = null;
+        this.clock = null;
+        this.wheel = null;
+    }
+
+    /**
+     * Sin vencimiento: el stock de una orden pendiente queda descontado hasta que se confirme.
+     */
+    public static StockReservations disabled() {
+        return new StockReservations();
+    }
+
+    public static StockReservations fromSystemProperties(OrderRepository orderRepository,
+                                                         ProductRepository productRepository, UnitOfWork unitOfWork) {
+        return new StockReservations(orderRepository, productRepository, unitOfWork,
+                ReservationSettings.fromSystemProperties());
+    }
+
+    /**
+     * Arranca el hilo que avanza la rueda cada tick.
+     */
+    public synchronized void start() {
+        if (wheel == null || scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "stock-reservations");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = settings.tick().toMillis();
+        scheduler.scheduleWithFixedDelay(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Vuelve a seguir las órdenes pendientes al arrancar, con el vencimiento guardado en
+     * cada una. Las que vencieron mientras la aplicación estaba parada devuelven su stock
+     * en el primer tick; las que ya lo devolvieron no se tocan.
+     */
+    public void restore(Collection<Order> pendingOrders) {
+        pendingOrders.forEach(this::track);
+    }
+
+    /**
+     * Vencimiento de la reserva de una orden creada ahora; {@code null} si no vence.
+     */
+    LocalDateTime deadline() {
+        return wheel == null ? null : LocalDateTime.now(clock).plus(settings.ttl());
+    }
+
+    /**
+     * Sigue la reserva de una orden tal como quedó guardada: si está pendiente y retiene
+     * stock, vence en {@link Order#getReservedUntil()} con las cantidades de sus items; si
+     * no, deja de seguirla.
+     */
+    void track(Order order) {
+        if (wheel == null) return;
+        if (!order.isPending() || order.isStockReleased() || order.getReservedUntil() == null
+                || order.getItems().isEmpty()) {
+            forget(order.getId());
+            return;
+        }
+        long deadlineMillis = order.getReservedUntil().atZone(clock.getZone()).toInstant().toEpochMilli();
+        schedule(order.getId(), OrderItem.quantitiesByProduct(order.getItems()), deadlineMillis);
+    }
+
+    /**
+     * Deja de seguir la reserva de una orden que ya no la necesita.
+     */
+    void forget(OrderId orderId) {
+        if (wheel == null) return;
+        Hold hold = holds.remove(orderId);
+        if (hold == null) return;
+        hold.timeout().cancel();
+        unindex(hold.quantities());
+    }
+
+    /**
+     * Unidades de un producto retenidas por órdenes pendientes que no han vencido.
+     */
+    public int held(ProductId productId) {
+        return heldUnits.getOrDefault(productId, 0);
+    }
+
+    public ReservationMetrics metrics() {
+        long units = heldUnits.values().stream().mapToLong(Integer::longValue).sum();
+        return new ReservationMetrics(holds.size(), units, expired.sum(), failedTicks.sum());
+    }
+
+    /**
+     * Devuelve el stock de las reservas vencidas hasta ahora, en una sola transacción. Las
+     * órdenes se marcan con {@link OrderRepository#releaseStock} y solo se devuelve el stock
+     * de las que la marca cambió, con un UPDATE por producto: una orden confirmada entre
+     * tanto o ya devuelta no se toca, y el stock de una reserva nunca se devuelve dos veces.
+     * Si la transacción falla, las reservas vuelven a la rueda y se intentan en el siguiente
+     * tick.
+     *
+     * @return reservas vencidas
+     */
+    public int expireDue() {
+        if (wheel == null) return 0;
+        long now = clock.millis();
+        List<Hold> due = new ArrayList<>();
+        for (OrderId orderId : wheel.advance(now)) {
+            // Si la orden se volvió a seguir con otro vencimiento entre tanto, su reserva actual manda
+            holds.computeIfPresent(orderId, (key, hold) -> {
+                if (hold.deadlineMillis() > now) return hold;
+                due.add(hold);
+                return null;
+            });
+        }
+        if (due.isEmpty()) return 0;
+        due.forEach(hold -> unindex(hold.quantities()));
+
+        LocalDateTime current = LocalDateTime.now(clock);
+        int released;
+        try {
+            released = unitOfWork.execute(() -> {
+                List<OrderId> marked = orderRepository.releaseStock(due.stream().map(Hold::orderId).toList(), current);
+                if (marked.isEmpty()) return 0;
+                // Se devuelven los items guardados, no los de la reserva en memoria
+                orderRepository.sumItemQuantities(marked).forEach(this::release);
+                return marked.size();
+            });
+        } catch (RuntimeException e) {
+            // Sin transacción, las órdenes ya marcadas no vuelven a devolver stock en el siguiente tick
+            due.forEach(hold -> schedule(hold.orderId(), hold.quantities(), hold.deadlineMillis()));
+            throw e;
+        }
+        expired.add(released);
+        return released;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler == null) return;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(settings.tick().toMillis() + 1_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void tick() {
+        try {
+            expireDue();
+        } catch (RuntimeException e) {
+            failedTicks.increment();
+            log.warn("No se pudieron liberar reservas vencidas; se reintenta en el siguiente tick", e);
+        }
+    }
+
+    private void release(ProductId productId, int quantity) {
+        try {
+            productRepository.releaseStock(productId, quantity);
+        } catch (ProductNotFoundException e) {
+            // El producto se eliminó: no hay a dónde devolver el stock
+        }
+    }
+
+    private void schedule(OrderId orderId, Map<ProductId, Integer> quantities, long deadlineMillis) {
+        Hold hold = new Hold(orderId, Map.copyOf(quantities), deadlineMillis, wheel.schedule(orderId, deadlineMillis));
+        Hold previous = holds.put(orderId, hold);
+        if (previous != null) {
+            previous.timeout().cancel();
+            unindex(previous.quantities());
+        }
+        hold.quantities().forEach((productId, quantity) -> heldUnits.merge(productId, quantity, Integer::sum));
+    }
+
+    private void unindex(Map<ProductId, Integer> quantities) {
+        quantities.forEach((productId, quantity) ->
+                heldUnits.merge(productId, -quantity, (current, delta) -> current + delta == 0 ? null : current + delta));
+    }
+}
@@ -0,0 +1,85 @@
+package com.enyoi.arka.adapters.in;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rueda de temporizadores (hashed timing wheel). Cada casilla cubre un tick y guarda los
+ * vencimientos que caen en él: programar y cancelar cuestan O(1), y avanzar solo recorre
+ * las casillas de los ticks transcurridos en lugar de todos los vencimientos pendientes.
+ * Un vencimiento a más de una vuelta espera en su casilla hasta la vuelta que le toca.
+ * <p>
+ * Los tiempos son milisegundos de un mismo reloj; un vencimiento se entrega en el primer
+ * tick que no es anterior a él, así que puede llegar hasta un tick tarde.
+ */
+final class TimingWheel<T> {
+
+    static final class Timeout<T> {
+        private final T value;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * La entrada se descarta la próxima vez que se recorra su casilla.
+         */
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final List<Timeout<T>>[] buckets;
+    private final int mask;
+    private long currentTick;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("Tick must be greater than zero");
+        if (wheelSize <= 0) throw new IllegalArgumentException("Wheel size must be greater than zero");
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        int size = Integer.highestOneBit(wheelSize) == wheelSize ? wheelSize : Integer.highestOneBit(wheelSize) << 1;
+        this.buckets = new List[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Programa un vencimiento; si ya pasó, se entrega en el siguiente tick.
+     */
+    synchronized Timeout<T> schedule(T value, long deadlineMillis) {
+        long tick = Math.max(Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(value, tick);
+        buckets[(int) (tick & mask)].add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Avanza hasta {@code nowMillis} y devuelve los valores vencidos que no se cancelaron.
+     * Si pasó más de una vuelta, cada casilla se recorre una sola vez.
+     */
+    synchronized List<T> advance(long nowMillis) {
+        long target = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        if (target <= currentTick) return List.of();
+        List<T> expired = new ArrayList<>();
+        long steps = Math.min(target - currentTick, buckets.length);
+        for (long step = 1; step <= steps; step++) {
+            buckets[(int) ((currentTick + step) & mask)].removeIf(timeout -> {
+                if (timeout.cancelled) return true;
+                if (timeout.deadlineTick > target) return false;
+                expired.add(timeout.value);
+                return true;
+            });
+        }
+        currentTick = target;
+        return expired;
+    }
+}
@@ -0,0 +1,32 @@
+package com.enyoi.arka.adapters.in;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Acceso a los hilos virtuales sin depender de ellos al compilar: el proyecto compila
+ * para Java 17 y {@code Executors.newVirtualThreadPerTaskExecutor()} solo existe desde
+ * Java 21, así que se busca por reflexión en el JDK con el que se ejecuta.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() { }
+
+    /**
+     * @return un ejecutor con un hilo virtual por tarea, o vacío si el JDK no los tiene
+     */
+    static Optional<ExecutorService> newPerTaskExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null));
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            // En Java 19 y 20 existe pero es preview: sin --enable-preview falla al invocarlo
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.enyoi.arka.adapters.out.memory;
+
+import java.util.Collection;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Almacén en memoria de un tipo de agregado: un mapa concurrente por id y el conjunto
+ * ordenado de ids para paginar. Cada cambio se aplica con {@code compute} sobre su id,
+ * así que las escrituras sobre un mismo agregado se serializan, y dentro de esa misma
+ * sección se actualizan los índices secundarios.
+ */
+final class AggregateStore<T> {
+
+    /**
+     * Recibe cada cambio aplicado para mantener los índices secundarios. {@code before}
+     * es {@code null} en una inserción y {@code after} es {@code null} en un borrado.
+     */
+    @FunctionalInterface
+    interface Indexer<T> {
+        void update(String id, T before, T after);
+    }
+
+    private final ConcurrentMap<String, T> byId = new ConcurrentHashMap<>();
+    private final NavigableSet<String> orderedIds = new ConcurrentSkipListSet<>();
+    private final Indexer<T> indexer;
+
+    AggregateStore(Indexer<T> indexer) {
+        this.indexer = Objects.requireNonNull(indexer);
+    }
+
+    /**
+     * Aplica un cambio atómico sobre el agregado con ese id.
+     *
+     * @param change recibe el valor actual ({@code null} si no existe) y devuelve el nuevo;
+     *               {@code null} lo elimina y devolver el mismo objeto no cambia nada
+     * @return el valor guardado tras el cambio
+     */
+    T compute(String id, UnaryOperator<T> change) {
+        return byId.compute(id, (key, current) -> {
+            T next = change.apply(current);
+            if (next != current) {
+                if (current == null) orderedIds.add(key);
+                if (next == null) orderedIds.remove(key);
+                indexer.update(key, current, next);
+            }
+            return next;
+        });
+    }
+
+    Optional<T> get(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    boolean contains(String id) {
+        return byId.containsKey(id);
+    }
+
+    Stream<T> all() {
+        return byId.values().stream();
+    }
+
+    /**
+     * Recorre los agregados en orden de id a partir de {@code afterId} (excluido); con
+     * {@code null} desde el primero. El recorrido es perezoso y ve las escrituras concurrentes.
+     */
+    Stream<T> ordered(String afterId) {
+        NavigableSet<String> ids = afterId == null ? orderedIds : orderedIds.tailSet(afterId, false);
+        return lookup(ids);
+    }
+
+    /**
+     * Resuelve los ids dados por un índice, saltando los que ya se eliminaron.
+     */
+    Stream<T> lookup(Collection<String> ids) {
+        return ids.stream().map(byId::get).filter(Objects::nonNull);
+    }
+
+    static void requireValidLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be greater than zero");
+        }
+    }
+}
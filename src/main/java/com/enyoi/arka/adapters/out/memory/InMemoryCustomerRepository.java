@@ -0,0 +1,112 @@
+package com.enyoi.arka.adapters.out.memory;
+
+import com.enyoi.arka.domain.entities.Customer;
+import com.enyoi.arka.domain.ports.out.CustomerRepository;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Clientes en memoria, sin base de datos. El email es único como en la tabla
+ * {@code customers}: un índice email -> id resuelve {@code findByEmail} y rechaza
+ * un segundo cliente con el mismo email.
+ */
+public class InMemoryCustomerRepository implements CustomerRepository {
+
+    private final ConcurrentMap<String, String> idsByEmail = new ConcurrentHashMap<>();
+    private final AggregateStore<Customer> store = new AggregateStore<>(this::reindex);
+
+    @Override
+    public Customer save(Customer customer) {
+        return store.compute(customer.getId().value(), current -> {
+            claimEmail(customer);
+            return customer;
+        });
+    }
+
+    @Override
+    public Customer insert(Customer customer) {
+        String id = customer.getId().value();
+        return store.compute(id, current -> {
+            if (current != null) throw new IllegalStateException("Customer " + id + " already exists");
+            claimEmail(customer);
+            return customer;
+        });
+    }
+
+    @Override
+    public List<Customer> saveAll(Collection<Customer> customers) {
+        customers.forEach(this::save);
+        return List.copyOf(customers);
+    }
+
+    @Override
+    public Optional<Customer> findById(CustomerId id) {
+        return store.get(id.value());
+    }
+
+    @Override
+    public Optional<Customer> findByEmail(String email) {
+        String id = idsByEmail.get(email);
+        return id == null
+                ? Optional.empty()
+                : store.get(id).filter(customer -> customer.getEmail().value().equals(email));
+    }
+
+    @Override
+    public List<Customer> findAllById(Collection<CustomerId> ids) {
+        return store.lookup(ids.stream().map(CustomerId::value).distinct().toList()).toList();
+    }
+
+    @Override
+    public List<Customer> findAll() {
+        return store.all().toList();
+    }
+
+    @Override
+    public Stream<Customer> streamAll() {
+        return store.ordered(null);
+    }
+
+    @Override
+    public List<Customer> findPage(CustomerId afterId, int limit) {
+        AggregateStore.requireValidLimit(limit);
+        return store.ordered(afterId == null ? null : afterId.value()).limit(limit).toList();
+    }
+
+    @Override
+    public boolean existsById(CustomerId id) {
+        return store.contains(id.value());
+    }
+
+    @Override
+    public void deleteById(CustomerId id) {
+        store.compute(id.value(), current -> null);
+    }
+
+    @Override
+    public void deleteAllById(Collection<CustomerId> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    private void claimEmail(Customer customer) {
+        String email = customer.getEmail().value();
+        String id = customer.getId().value();
+        String owner = idsByEmail.putIfAbsent(email, id);
+        if (owner != null && !owner.equals(id)) {
+            throw new IllegalStateException("Email " + email + " is already registered");
+        }
+    }
+
+    // El email nuevo ya se reservó en claimEmail; aquí solo se libera el anterior
+    private void reindex(String id, Customer before, Customer after) {
+        if (before != null && (after == null || !before.getEmail().equals(after.getEmail()))) {
+            idsByEmail.remove(before.getEmail().value(), id);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.enyoi.arka.adapters.out.memory;
+
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.entities.OrderStatus;
+import com.enyoi.arka.domain.exception.OptimisticConflictException;
+import com.enyoi.arka.domain.ports.out.OrderRepository;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.OrderId;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Órdenes en memoria, sin base de datos. Las órdenes se guardan como copias propias
+ * (el dominio es mutable) e indexadas por cliente y por estado, así que
+ * {@code findByCustomerId} y {@code findByStatus} no recorren todas las órdenes.
+ * <p>
+ * Cada operación sobre una orden es atómica y respeta su versión igual que el adaptador
+ * JPA, pero no hay transacciones: las operaciones de lote aplican las órdenes de una en una.
+ */
+public class InMemoryOrderRepository implements OrderRepository {
+    private static final String AGGREGATE = "Order";
+
+    private final SecondaryIndex<String> byCustomer = new SecondaryIndex<>();
+    private final SecondaryIndex<OrderStatus> byStatus = new SecondaryIndex<>();
+    private final AggregateStore<Order> store = new AggregateStore<>(this::reindex);
+
+    @Override
+    public Order save(Order order) {
+        String id = order.getId().value();
+        return copy(store.compute(id, current -> {
+            if (current != null && order.getVersion() != null && !order.getVersion().equals(current.getVersion())) {
+                throw new OptimisticConflictException(AGGREGATE, id);
+            }
+            return copy(order, current == null ? 0L : current.getVersion() + 1);
+        }));
+    }
+
+    @Override
+    public Order insert(Order order) {
+        String id = order.getId().value();
+        return copy(store.compute(id, current -> {
+            if (current != null) throw new IllegalStateException("Order " + id + " already exists");
+            return copy(order, 0L);
+        }));
+    }
+
+    @Override
+    public List<Order> saveAll(Collection<Order> orders) {
+        return orders.stream().map(this::save).toList();
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId id) {
+        return store.get(id.value()).map(InMemoryOrderRepository::copy);
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> ids) {
+        return store.lookup(ids.stream().map(OrderId::value).distinct().toList()).map(InMemoryOrderRepository::copy).toList();
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return store.all().map(InMemoryOrderRepository::copy).toList();
+    }
+
+    @Override
+    public Stream<Order> streamAll() {
+        return store.ordered(null).map(InMemoryOrderRepository::copy);
+    }
+
+    @Override
+    public List<Order> findPage(OrderId afterId, int limit) {
+        AggregateStore.requireValidLimit(limit);
+        return store.ordered(afterId == null ? null : afterId.value())
+                .limit(limit)
+                .map(InMemoryOrderRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<OrderId> updateStatus(Collection<OrderId> ids, OrderStatus expected, OrderStatus next) {
+        List<OrderId> updated = new ArrayList<>();
+        for (OrderId id : new LinkedHashSet<>(ids)) {
+            store.compute(id.value(), current -> {
+                if (current == null || current.getStatus() != expected) return current;
+                updated.add(id);
+                return copy(current, next, current.getVersion() + 1);
+            });
+        }
+        return updated;
+    }
+
+    @Override
+    public List<OrderId> releaseStock(Collection<OrderId> ids, LocalDateTime now) {
+        List<OrderId> released = new ArrayList<>();
+        for (OrderId id : new LinkedHashSet<>(ids)) {
+            store.compute(id.value(), current -> {
+                if (current == null || !current.isPending() || current.isStockReleased()
+                        || current.getReservedUntil() == null || current.getReservedUntil().isAfter(now)) {
+                    return current;
+                }
+                released.add(id);
+                return copy(current, current.getStatus(), current.getVersion() + 1, true);
+            });
+        }
+        return released;
+    }
+
+    @Override
+    public Map<ProductId, Integer> sumItemQuantities(Collection<OrderId> ids) {
+        return OrderItem.quantitiesByProduct(findAllById(ids).stream()
+                .flatMap(order -> order.getItems().stream())
+                .toList());
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return store.lookup(byCustomer.ids(customerId.value()))
+                .filter(order -> order.getCustomerId().equals(customerId))
+                .map(InMemoryOrderRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return store.lookup(byStatus.ids(status))
+                .filter(order -> order.getStatus() == status)
+                .map(InMemoryOrderRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<Order> findPendingOrders() {
+        return findByStatus(OrderStatus.PENDIENTE);
+    }
+
+    @Override
+    public boolean existsById(OrderId id) {
+        return store.contains(id.value());
+    }
+
+    @Override
+    public void deleteById(OrderId id) {
+        store.compute(id.value(), current -> null);
+    }
+
+    @Override
+    public void deleteAllById(Collection<OrderId> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    private void reindex(String id, Order before, Order after) {
+        byCustomer.move(id,
+                before == null ? null : before.getCustomerId().value(),
+                after == null ? null : after.getCustomerId().value());
+        byStatus.move(id, before == null ? null : before.getStatus(), after == null ? null : after.getStatus());
+    }
+
+    private static Order copy(Order order) {
+        return copy(order, order.getVersion());
+    }
+
+    private static Order copy(Order order, Long version) {
+        return copy(order, order.getStatus(), version);
+    }
+
+    private static Order copy(Order order, OrderStatus status, Long version) {
+        return copy(order, status, version, order.isStockReleased());
+    }
+
+    private static Order copy(Order order, OrderStatus status, Long version, boolean stockReleased) {
+        return Order.builder()
+                .id(order.getId())
+                .customerId(order.getCustomerId())
+                .status(status)
+                .createdAt(order.getCreatedAt())
+                .items(order.getItems())
+                .version(version)
+                .reservedUntil(order.getReservedUntil())
+                .stockReleased(stockReleased)
+                .build();
+    }
+}
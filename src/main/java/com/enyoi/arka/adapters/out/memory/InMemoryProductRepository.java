@@ -0,0 +1,206 @@
+package com.enyoi.arka.adapters.out.memory;
+
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.exception.OptimisticConflictException;
+import com.enyoi.arka.domain.exception.ProductNotFoundException;
+import com.enyoi.arka.domain.ports.out.ProductRepository;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Productos en memoria, sin base de datos. Los productos se guardan como copias propias
+ * (el dominio es mutable) y se indexan por categoría y por stock, así que
+ * {@code findByCategory} y {@code findLowStockProducts} solo recorren los productos que
+ * devuelven.
+ * <p>
+ * Cada operación sobre un producto es atómica y respeta su versión igual que el adaptador
+ * JPA, pero no hay transacciones: las operaciones de lote aplican los productos de uno en uno.
+ */
+public class InMemoryProductRepository implements ProductRepository {
+    private static final String AGGREGATE = "Product";
+
+    private final SecondaryIndex<ProductCategory> byCategory = new SecondaryIndex<>();
+    private final NavigableSet<StockEntry> byStock = new ConcurrentSkipListSet<>();
+    private final AggregateStore<Product> store = new AggregateStore<>(this::reindex);
+
+    @Override
+    public Product save(Product product) {
+        String id = product.getId().value();
+        return copy(store.compute(id, current -> {
+            if (current != null && product.getVersion() != null && !product.getVersion().equals(current.getVersion())) {
+                throw new OptimisticConflictException(AGGREGATE, id);
+            }
+            return copy(product, product.getStock(), current == null ? 0L : current.getVersion() + 1);
+        }));
+    }
+
+    @Override
+    public Product insert(Product product) {
+        String id = product.getId().value();
+        return copy(store.compute(id, current -> {
+            if (current != null) throw new IllegalStateException("Product " + id + " already exists");
+            return copy(product, product.getStock(), 0L);
+        }));
+    }
+
+    /**
+     * Si algún id ya existe se deshacen las inserciones previas del mismo lote.
+     */
+    @Override
+    public void insertAll(Collection<Product> products) {
+        List<ProductId> inserted = new ArrayList<>(products.size());
+        try {
+            for (Product product : products) {
+                insert(product);
+                inserted.add(product.getId());
+            }
+        } catch (RuntimeException e) {
+            deleteAllById(inserted);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        return products.stream().map(this::save).toList();
+    }
+
+    @Override
+    public Optional<Product> findById(ProductId id) {
+        return store.get(id.value()).map(InMemoryProductRepository::copy);
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<ProductId> ids) {
+        return store.lookup(ids.stream().map(ProductId::value).distinct().toList()).map(InMemoryProductRepository::copy).toList();
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return store.all().map(InMemoryProductRepository::copy).toList();
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        return store.ordered(null).map(InMemoryProductRepository::copy);
+    }
+
+    @Override
+    public List<Product> findPage(ProductId afterId, int limit) {
+        AggregateStore.requireValidLimit(limit);
+        return store.ordered(afterId == null ? null : afterId.value())
+                .limit(limit)
+                .map(InMemoryProductRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<Product> findByCategory(String category) {
+        ProductCategory productCategory = ProductCategory.valueOf(category);
+        return store.lookup(byCategory.ids(productCategory))
+                .filter(product -> product.getCategory() == productCategory)
+                .map(InMemoryProductRepository::copy)
+                .toList();
+    }
+
+    /**
+     * Recorre solo la parte del índice por stock que queda por debajo del umbral.
+     */
+    @Override
+    public List<Product> findLowStockProducts(int threshold) {
+        List<String> ids = byStock.headSet(new StockEntry(threshold, ""), false).stream()
+                .map(StockEntry::id)
+                .toList();
+        return store.lookup(ids)
+                .filter(product -> product.getStock() < threshold)
+                .map(InMemoryProductRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public boolean existsById(ProductId id) {
+        return store.contains(id.value());
+    }
+
+    @Override
+    public void deleteById(ProductId id) {
+        store.compute(id.value(), current -> null);
+    }
+
+    @Override
+    public void deleteAllById(Collection<ProductId> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public boolean tryReserveStock(ProductId id, int quantity) {
+        requirePositive(quantity);
+        AtomicBoolean reserved = new AtomicBoolean();
+        store.compute(id.value(), current -> {
+            if (current == null || current.getStock() < quantity) return current;
+            reserved.set(true);
+            return copy(current, current.getStock() - quantity, current.getVersion() + 1);
+        });
+        return reserved.get();
+    }
+
+    @Override
+    public void releaseStock(ProductId id, int quantity) {
+        requirePositive(quantity);
+        Product released = store.compute(id.value(), current -> current == null
+                ? null
+                : copy(current, current.getStock() + quantity, current.getVersion() + 1));
+        if (released == null) throw new ProductNotFoundException(id.value());
+    }
+
+    private static void requirePositive(int quantity) {
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be greater than zero");
+    }
+
+    private void reindex(String id, Product before, Product after) {
+        byCategory.move(id, before == null ? null : before.getCategory(), after == null ? null : after.getCategory());
+        if (before != null && (after == null || before.getStock() != after.getStock())) {
+            byStock.remove(new StockEntry(before.getStock(), id));
+        }
+        if (after != null) {
+            byStock.add(new StockEntry(after.getStock(), id));
+        }
+    }
+
+    private static Product copy(Product product) {
+        return copy(product, product.getStock(), product.getVersion());
+    }
+
+    private static Product copy(Product product, int stock, Long version) {
+        return Product.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stock(stock)
+                .category(product.getCategory())
+                .version(version)
+                .build();
+    }
+
+    /**
+     * Entrada del índice por stock, ordenada por stock y luego por id; la entrada con id
+     * vacío es la cota inferior de su nivel de stock.
+     */
+    private record StockEntry(int stock, String id) implements Comparable<StockEntry> {
+        @Override
+        public int compareTo(StockEntry other) {
+            int byStock = Integer.compare(stock, other.stock);
+            return byStock != 0 ? byStock : id.compareTo(other.id);
+        }
+    }
+}
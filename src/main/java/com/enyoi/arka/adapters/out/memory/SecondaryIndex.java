@@ -0,0 +1,40 @@
+package com.enyoi.arka.adapters.out.memory;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Índice secundario de igualdad: valor de un atributo -> ids de los agregados que lo tienen.
+ * Lo mantiene {@link AggregateStore} dentro de la escritura de cada agregado, pero una
+ * lectura puede verlo un paso por detrás del mapa principal: quien consulta trata los ids
+ * como candidatos y vuelve a comprobar el atributo en el agregado leído.
+ */
+final class SecondaryIndex<K> {
+    private final ConcurrentMap<K, Set<String>> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Mueve el id de la clave anterior a la nueva; cualquiera de las dos puede ser {@code null}.
+     */
+    void move(String id, K before, K after) {
+        if (Objects.equals(before, after)) return;
+        if (before != null) {
+            ids.computeIfPresent(before, (key, set) -> {
+                set.remove(id);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        if (after != null) {
+            ids.compute(after, (key, set) -> {
+                Set<String> target = set == null ? ConcurrentHashMap.newKeySet() : set;
+                target.add(id);
+                return target;
+            });
+        }
+    }
+
+    Set<String> ids(K key) {
+        return ids.getOrDefault(key, Set.of());
+    }
+}
@@ -0,0 +1,55 @@
+package com.enyoi.arka.adapters.out.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Guardado de un bloque de entidades con id asignado. Las existentes se cargan con
+ * una sola consulta; las nuevas se persisten directamente, sin el SELECT previo que
+ * haría {@code merge}, para que los INSERT puedan agruparse en lotes JDBC.
+ */
+final class EntityUpserts {
+
+    private EntityUpserts() { }
+
+    static <E> List<E> upsert(EntityManager entityManager, Class<E> type, List<E> entities, Function<E, ?> idOf) {
+        return upsert(entityManager, type, entities, idOf, (managed, entity) -> entityManager.merge(entity));
+    }
+
+    /**
+     * @param update copia el estado de la entidad recibida sobre la instancia gestionada ya existente
+     * @return las instancias gestionadas, en el orden de {@code entities}
+     */
+    static <E> List<E> upsert(EntityManager entityManager, Class<E> type, List<E> entities, Function<E, ?> idOf,
+                           BiConsumer<E, E> update) {
+        List<?> ids = entities.stream().map(idOf).toList();
+        Map<Object, E> existing = new HashMap<>();
+        entityManager.unwrap(Session.class)
+                .byMultipleIds(type)
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .forEach(managed -> existing.put(idOf.apply(managed), managed));
+        List<E> upserted = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            E managed = existing.get(idOf.apply(entity));
+            if (managed == null) {
+                entityManager.persist(entity);
+                existing.put(idOf.apply(entity), entity);
+                managed = entity;
+            } else {
+                update.accept(managed, entity);
+            }
+            upserted.add(managed);
+        }
+        return upserted;
+    }
+}
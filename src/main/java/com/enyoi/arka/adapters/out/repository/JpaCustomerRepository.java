@@ -6,54 +6,103 @@ import com.enyoi.arka.domain.ports.out.CustomerRepository;
 import com.enyoi.arka.domain.valueobjects.CustomerId;
 import com.enyoi.arka.domain.valueobjects.Email;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class JpaCustomerRepository implements CustomerRepository {
-    private final EntityManager entityManager;
+    private final JpaUnitOfWork unitOfWork;
+
+    public JpaCustomerRepository(JpaUnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+    }
 
     public JpaCustomerRepository(EntityManager entityManager) {
-        this.entityManager = entityManager;
+        this(JpaUnitOfWork.shared(entityManager));
     }
 
    @Override
    public Customer save(Customer customer) {
-       EntityTransaction tx =  entityManager.getTransaction();
-       try {
-           tx.begin();
+       return unitOfWork.write(entityManager -> {
            entityManager.merge(toEntity(customer));
-           tx.commit();
            return customer;
-       } catch (Exception ex) {
-           if (tx.isActive()) tx.rollback();
-           throw ex;
-       }
+       });
+   }
+
+   @Override
+   public Customer insert(Customer customer) {
+       return unitOfWork.write(entityManager -> {
+           entityManager.persist(toEntity(customer));
+           return customer;
+       });
+   }
+
+   @Override
+   public List<Customer> saveAll(Collection<Customer> customers) {
+       List<Customer> saved = new ArrayList<>(customers.size());
+       unitOfWork.writeInChunks(customers, (entityManager, chunk) -> EntityUpserts.upsert(entityManager,
+               CustomerEntity.class, chunk.stream().map(this::toEntity).toList(), CustomerEntity::getId)
+               .forEach(entity -> saved.add(toDomain(entity))));
+       return saved;
    }
 
    @Override
    public Optional<Customer> findById(CustomerId id) {
-       CustomerEntity entity =  entityManager.find(CustomerEntity.class, id.value());
+       CustomerEntity entity = unitOfWork.read(entityManager ->
+               entityManager.find(CustomerEntity.class, id.value()));
        return Optional.ofNullable(entity).map(this::toDomain);
    }
 
+   @Override
+   public List<Customer> findAllById(Collection<CustomerId> ids) {
+       return unitOfWork.readInChunks(ids.stream().map(CustomerId::value).toList(), (entityManager, chunk) ->
+               entityManager.createNamedQuery(CustomerEntity.FIND_BY_IDS, CustomerEntity.class)
+                       .setParameter("ids", chunk)
+                       .getResultList()
+                       .stream()
+                       .map(this::toDomain)
+                       .toList());
+   }
+
    @Override
    public Optional<Customer> findByEmail(String email) {
-       List<CustomerEntity> entities = entityManager.createQuery(
-               "FROM CustomerEntity WHERE email = :email", CustomerEntity.class )
+       List<CustomerEntity> entities = unitOfWork.read(entityManager -> entityManager.createNamedQuery(
+               CustomerEntity.FIND_BY_EMAIL, CustomerEntity.class)
                .setParameter("email", email).
-               getResultList();
+               getResultList());
        return entities.stream().findFirst().map(this::toDomain);
    }
 
    @Override
    public List<Customer> findAll() {
-       return entityManager.createQuery("FROM CustomerEntity", CustomerEntity.class)
+       return unitOfWork.read(entityManager -> entityManager.createNamedQuery(CustomerEntity.FIND_ALL, CustomerEntity.class)
                .getResultList()
                .stream()
                .map(this::toDomain)
-               .toList();
+               .toList());
+   }
+
+   @Override
+   public Stream<Customer> streamAll() {
+       return KeysetPages.stream(this::findPage, Customer::getId, KeysetPages.DEFAULT_PAGE_SIZE);
+   }
+
+   @Override
+   public List<Customer> findPage(CustomerId afterId, int limit) {
+       KeysetPages.requireValidLimit(limit);
+       return unitOfWork.read(entityManager -> entityManager.createNamedQuery(
+                       CustomerEntity.FIND_PAGE, CustomerEntity.class)
+               .setParameter("afterId", afterId == null ? "" : afterId.value())
+               .setMaxResults(limit)
+               .setHint(HibernateHints.HINT_FETCH_SIZE, limit)
+               .getResultList()
+               .stream()
+               .map(this::toDomain)
+               .toList());
    }
 
    @Override
@@ -63,18 +112,21 @@ public class JpaCustomerRepository implements CustomerRepository {
 
    @Override
    public void deleteById(CustomerId id) {
-       EntityTransaction tx =  entityManager.getTransaction();
-       try {
-           tx.begin();
+       unitOfWork.write(entityManager -> {
            CustomerEntity entity = entityManager.find(CustomerEntity.class, id.value());
            if (entity != null) {
                entityManager.remove(entity);
            }
-           tx.commit();
-       } catch (Exception e) {
-           if(tx.isActive()) tx.rollback();
-           throw e;
-       }
+           return null;
+       });
+   }
+
+   @Override
+   public void deleteAllById(Collection<CustomerId> ids) {
+       unitOfWork.writeInChunks(ids, (entityManager, chunk) -> entityManager
+               .createNamedQuery(CustomerEntity.DELETE_BY_IDS)
+               .setParameter("ids", chunk.stream().map(CustomerId::value).toList())
+               .executeUpdate());
    }
 
    private CustomerEntity toEntity(Customer customer) {
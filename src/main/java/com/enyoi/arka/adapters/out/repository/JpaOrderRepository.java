@@ -11,73 +11,233 @@ import com.enyoi.arka.domain.valueobjects.Money;
 import com.enyoi.arka.domain.valueobjects.OrderId;
 import com.enyoi.arka.domain.valueobjects.ProductId;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.LockModeType;
+import org.hibernate.jpa.HibernateHints;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class JpaOrderRepository implements OrderRepository {
-    private final EntityManager entityManager;
+    private static final String AGGREGATE = "Order";
 
+    private final JpaUnitOfWork unitOfWork;
+
+
+    public JpaOrderRepository(JpaUnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+    }
 
     public JpaOrderRepository(EntityManager entityManager) {
-        this.entityManager = entityManager;
+        this(JpaUnitOfWork.shared(entityManager));
     }
 
+    /**
+     * Las órdenes existentes se actualizan sobre la entidad gestionada tras comprobar
+     * la versión leída: solo se escriben las columnas que cambian y los items se concilian
+     * con {@link #reconcileItems}, así que un cambio de estado es un único UPDATE sobre orders.
+     * El flush adelanta la escritura para devolver la versión nueva y detectar aquí el conflicto.
+     * Si solo cambian filas de items, el incremento forzado de la versión se escribe al
+     * confirmar la transacción, así que la versión devuelta ya lo cuenta.
+     */
     @Override
     public Order save(Order order) {
-        EntityTransaction transaction = entityManager.getTransaction();
-        try {
-            transaction.begin();
-            OrderEntity orderEntity = toEntity(order);
-            entityManager.merge(orderEntity);
-            transaction.commit();
-            return order;
-        } catch (Exception e) {
-            if (transaction.isActive())  transaction.rollback();
-            throw e;
-        }
+        return OptimisticLocks.translate(AGGREGATE, () -> unitOfWork.write(entityManager -> {
+            OrderEntity managed = entityManager.find(OrderEntity.class, order.getId().value());
+            boolean forceIncrement = false;
+            if (managed == null) {
+                managed = toEntity(order);
+                entityManager.persist(managed);
+            } else if (copyState(toEntity(order), managed)) {
+                // Hibernate solo versiona la orden por cambios en la colección, no en sus filas
+                entityManager.lock(managed, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+                forceIncrement = true;
+            }
+            entityManager.flush();
+            Order saved = toDomain(managed);
+            return forceIncrement ? withVersion(saved, managed.getVersion() + 1) : saved;
+        }));
+    }
+
+    @Override
+    public Order insert(Order order) {
+        return unitOfWork.write(entityManager -> {
+            OrderEntity entity = toEntity(order);
+            entityManager.persist(entity);
+            return toDomain(entity);
+        });
+    }
+
+    @Override
+    public List<Order> saveAll(Collection<Order> orders) {
+        List<Order> saved = new ArrayList<>(orders.size());
+        OptimisticLocks.translate(AGGREGATE, () -> {
+            unitOfWork.writeInChunks(orders, (entityManager, chunk) -> {
+                Set<OrderEntity> forced = new HashSet<>();
+                List<OrderEntity> managed = EntityUpserts.upsert(entityManager, OrderEntity.class,
+                        chunk.stream().map(this::toEntity).toList(), OrderEntity::getId,
+                        (existing, entity) -> {
+                            if (copyState(entity, existing)) {
+                                entityManager.lock(existing, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+                                forced.add(existing);
+                            }
+                        });
+                entityManager.flush();
+                managed.forEach(entity -> saved.add(forced.contains(entity)
+                        ? withVersion(toDomain(entity), entity.getVersion() + 1) : toDomain(entity)));
+            });
+            return null;
+        });
+        return saved;
     }
 
     @Override
     public Optional<Order> findById(OrderId id) {
-        return Optional.ofNullable(
+        return unitOfWork.read(entityManager -> Optional.ofNullable(
                 entityManager.find(OrderEntity.class, id.value())
-        ).map(this::toDomain);
+        ).map(this::toDomain));
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> ids) {
+        return unitOfWork.readInChunks(ids.stream().map(OrderId::value).toList(), (entityManager, chunk) ->
+                entityManager.createNamedQuery(OrderEntity.FIND_BY_IDS, OrderEntity.class)
+                        .setParameter("ids", chunk)
+                        .getResultList()
+                        .stream()
+                        .map(this::toDomain)
+                        .toList());
     }
 
     @Override
     public List<Order> findAll() {
-        return entityManager.createQuery(
-                "FROM OrderEntity",
+        return unitOfWork.read(entityManager -> entityManager.createNamedQuery(
+                OrderEntity.FIND_ALL,
                 OrderEntity.class
         ).getResultList()
                 .stream()
                 .map(this::toDomain)
-                .toList();
+                .toList());
+    }
+
+    @Override
+    public Stream<Order> streamAll() {
+        return KeysetPages.stream(this::findPage, Order::getId, KeysetPages.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Pagina primero por ids y luego carga esas órdenes con sus items: limitar
+     * directamente una consulta con fetch join obligaría a Hibernate a paginar en memoria.
+     */
+    @Override
+    public List<Order> findPage(OrderId afterId, int limit) {
+        KeysetPages.requireValidLimit(limit);
+        return unitOfWork.read(entityManager -> {
+            List<String> ids = entityManager.createNamedQuery(
+                    OrderEntity.FIND_PAGE_IDS,
+                    String.class
+            ).setParameter("afterId", afterId == null ? "" : afterId.value())
+                    .setMaxResults(limit)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, limit)
+                    .getResultList();
+            if (ids.isEmpty()) return List.<Order>of();
+            return entityManager.createNamedQuery(
+                    OrderEntity.FIND_BY_IDS,
+                    OrderEntity.class
+            ).setParameter("ids", ids)
+                    .getResultList()
+                    .stream()
+                    .map(this::toDomain)
+                    .toList();
+        });
+    }
+
+    /**
+     * Por bloque de ids, un SELECT de los que están en el estado esperado y un UPDATE con la
+     * misma condición. Van en la misma transacción, así que el UPDATE cambia justo las filas
+     * leídas; si otra escritura se adelanta, SQLite rechaza la transacción.
+     */
+    @Override
+    public List<OrderId> updateStatus(Collection<OrderId> ids, OrderStatus expected, OrderStatus next) {
+        return unitOfWork.updateInChunks(ids.stream().map(OrderId::value).toList(), (entityManager, chunk) -> {
+            List<String> matching = entityManager.createNamedQuery(OrderEntity.FIND_IDS_BY_STATUS, String.class)
+                    .setParameter("ids", chunk)
+                    .setParameter("status", expected)
+                    .getResultList();
+            if (matching.isEmpty()) return List.<OrderId>of();
+            entityManager.createNamedQuery(OrderEntity.UPDATE_STATUS)
+                    .setParameter("next", next)
+                    .setParameter("ids", matching)
+                    .setParameter("expected", expected)
+                    .executeUpdate();
+            // El UPDATE no pasa por el contexto de persistencia: se descartan las copias cargadas
+            matching.forEach(id -> entityManager.detach(entityManager.getReference(OrderEntity.class, id)));
+            return matching.stream().map(OrderId::of).toList();
+        });
+    }
+
+    @Override
+    public List<OrderId> releaseStock(Collection<OrderId> ids, LocalDateTime now) {
+        return unitOfWork.updateInChunks(ids.stream().map(OrderId::value).toList(), (entityManager, chunk) -> {
+            List<String> matching = entityManager.createNamedQuery(OrderEntity.FIND_IDS_TO_RELEASE, String.class)
+                    .setParameter("ids", chunk)
+                    .setParameter("pending", OrderStatus.PENDIENTE)
+                    .setParameter("now", now)
+                    .getResultList();
+            if (matching.isEmpty()) return List.<OrderId>of();
+            entityManager.createNamedQuery(OrderEntity.RELEASE_STOCK)
+                    .setParameter("ids", matching)
+                    .setParameter("pending", OrderStatus.PENDIENTE)
+                    .setParameter("now", now)
+                    .executeUpdate();
+            // El UPDATE no pasa por el contexto de persistencia: se descartan las copias cargadas
+            matching.forEach(id -> entityManager.detach(entityManager.getReference(OrderEntity.class, id)));
+            return matching.stream().map(OrderId::of).toList();
+        });
+    }
+
+    @Override
+    public Map<ProductId, Integer> sumItemQuantities(Collection<OrderId> ids) {
+        Map<ProductId, Integer> quantities = new LinkedHashMap<>();
+        unitOfWork.readInChunks(ids.stream().map(OrderId::value).toList(), (entityManager, chunk) ->
+                        entityManager.createNamedQuery(OrderEntity.SUM_ITEM_QUANTITIES, Object[].class)
+                                .setParameter("ids", chunk)
+                                .getResultList())
+                .forEach(row -> quantities.merge(ProductId.of((String) row[0]), ((Number) row[1]).intValue(), Integer::sum));
+        return quantities;
     }
 
     @Override
     public List<Order> findByCustomerId(CustomerId customerId) {
-        return entityManager.createQuery(
-                "FROM OrderEntity WHERE customerId = :customerId",
+        return unitOfWork.read(entityManager -> entityManager.createNamedQuery(
+                OrderEntity.FIND_BY_CUSTOMER,
                 OrderEntity.class
         ).setParameter("customerId", customerId.value())
                 .getResultList()
                 .stream().map(this::toDomain)
-                .toList();
+                .toList());
     }
 
     @Override
     public List<Order> findByStatus(OrderStatus status) {
-        return entityManager.createQuery(
-                "FROM OrderEntity WHERE status = :status",
+        return unitOfWork.read(entityManager -> entityManager.createNamedQuery(
+                OrderEntity.FIND_BY_STATUS,
                 OrderEntity.class
         ).setParameter("status", status)
                 .getResultList()
                 .stream()
                 .map(this::toDomain)
-                .toList();
+                .toList());
     }
 
     @Override
@@ -92,22 +252,92 @@ public class JpaOrderRepository implements OrderRepository {
 
     @Override
     public void deleteById(OrderId id) {
-        EntityTransaction transaction = entityManager.getTransaction();
-        try {
-            transaction.begin();
+        unitOfWork.write(entityManager -> {
             OrderEntity orderEntity = entityManager.find(OrderEntity.class, id.value());
             if (orderEntity != null) {
                 entityManager.remove(orderEntity);
             }
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction.isActive()) transaction.rollback();
-            throw e;
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAllById(Collection<OrderId> ids) {
+        unitOfWork.writeInChunks(ids, (entityManager, chunk) -> {
+            List<String> values = chunk.stream().map(OrderId::value).toList();
+            entityManager.createNamedQuery(OrderEntity.DELETE_ITEMS_BY_ORDER_IDS)
+                    .setParameter("ids", values)
+                    .executeUpdate();
+            entityManager.createNamedQuery(OrderEntity.DELETE_BY_IDS)
+                    .setParameter("ids", values)
+                    .executeUpdate();
+        });
+    }
+
+    /**
+     * @return si se modificaron filas de items existentes
+     */
+    private boolean copyState(OrderEntity source, OrderEntity managed) {
+        OptimisticLocks.check(AGGREGATE, managed.getId(), source.getVersion(), managed.getVersion());
+        managed.setCustomerId(source.getCustomerId());
+        managed.setStatus(source.getStatus());
+        managed.setCreatedAt(source.getCreatedAt());
+        managed.setReservedUntil(source.getReservedUntil());
+        managed.setStockReleased(source.isStockReleased());
+        return reconcileItems(source.getItems(), managed.getItems());
+    }
+
+    /**
+     * Ajusta las filas de items existentes a los items deseados: conserva las líneas
+     * idénticas, reutiliza la fila de una línea del mismo producto cuando cambia su
+     * cantidad o precio, y solo inserta o elimina (orphanRemoval) la diferencia.
+     *
+     * @return si se reutilizó alguna fila existente
+     */
+    private boolean reconcileItems(List<OrderItemEntity> desired, List<OrderItemEntity> current) {
+        List<OrderItemEntity> unmatched = new ArrayList<>(current);
+        List<OrderItemEntity> pending = new ArrayList<>();
+        for (OrderItemEntity item : desired) {
+            OrderItemEntity same = takeFirst(unmatched, existing -> sameLine(existing, item));
+            if (same == null) pending.add(item);
         }
+        boolean rowsUpdated = false;
+        for (OrderItemEntity item : pending) {
+            OrderItemEntity reused = takeFirst(unmatched, existing -> existing.getProductId().equals(item.getProductId()));
+            if (reused == null) {
+                current.add(item);
+            } else {
+                reused.setQuantity(item.getQuantity());
+                reused.setUnitPrice(item.getUnitPrice());
+                reused.setCurrency(item.getCurrency());
+                rowsUpdated = true;
+            }
+        }
+        current.removeAll(unmatched);
+        return rowsUpdated;
+    }
+
+    private static OrderItemEntity takeFirst(List<OrderItemEntity> items, Predicate<OrderItemEntity> condition) {
+        Iterator<OrderItemEntity> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            OrderItemEntity item = iterator.next();
+            if (condition.test(item)) {
+                iterator.remove();
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private static boolean sameLine(OrderItemEntity a, OrderItemEntity b) {
+        return a.getProductId().equals(b.getProductId())
+                && a.getQuantity() == b.getQuantity()
+                && a.getUnitPrice().compareTo(b.getUnitPrice()) == 0
+                && a.getCurrency().equals(b.getCurrency());
     }
 
     private OrderEntity toEntity(Order order) {
-        return new  OrderEntity(
+        OrderEntity entity = new OrderEntity(
                 order.getId().value(),
                 order.getCustomerId().value(),
                 order.getStatus(),
@@ -116,8 +346,12 @@ public class JpaOrderRepository implements OrderRepository {
                         .stream()
                         .map(orderItem -> toEntity(order.getId(),
                                 orderItem))
-                        .toList()
+                        .collect(Collectors.toCollection(ArrayList::new))
         );
+        entity.setVersion(order.getVersion());
+        entity.setReservedUntil(order.getReservedUntil());
+        entity.setStockReleased(order.isStockReleased());
+        return entity;
     }
 
     private OrderItemEntity toEntity(OrderId id, OrderItem item) {
@@ -139,6 +373,22 @@ public class JpaOrderRepository implements OrderRepository {
                 .items(entity.getItems().stream()
                         .map(this::toDomain)
                         .toList())
+                .version(entity.getVersion())
+                .reservedUntil(entity.getReservedUntil())
+                .stockReleased(entity.isStockReleased())
+                .build();
+    }
+
+    private static Order withVersion(Order order, Long version) {
+        return Order.builder()
+                .id(order.getId())
+                .customerId(order.getCustomerId())
+                .createdAt(order.getCreatedAt())
+                .status(order.getStatus())
+                .items(order.getItems())
+                .version(version)
+                .reservedUntil(order.getReservedUntil())
+                .stockReleased(order.isStockReleased())
                 .build();
     }
 
@@ -1,80 +1,161 @@
 package com.enyoi.arka.adapters.out.repository;
 
-import com.enyoi.arka.adapters.out.repository.entity.OrderEntity;
 import com.enyoi.arka.adapters.out.repository.entity.ProductEntity;
 import com.enyoi.arka.domain.entities.Product;
 import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.exception.ProductNotFoundException;
 import com.enyoi.arka.domain.ports.out.ProductRepository;
 import com.enyoi.arka.domain.valueobjects.Money;
 import com.enyoi.arka.domain.valueobjects.ProductId;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class JpaProductRepository implements ProductRepository {
-    private final EntityManager entityManager;
+    private static final String AGGREGATE = "Product";
+
+    private final JpaUnitOfWork unitOfWork;
+
+    public JpaProductRepository(JpaUnitOfWork unitOfWork) {
+        this.unitOfWork = unitOfWork;
+    }
 
     public JpaProductRepository(EntityManager entityManager) {
-        this.entityManager = entityManager;
+        this(JpaUnitOfWork.shared(entityManager));
     }
 
+    /**
+     * Los productos existentes se actualizan sobre la entidad gestionada tras comprobar
+     * la versión leída. El flush adelanta el {@code UPDATE} para devolver la versión nueva
+     * y detectar aquí el conflicto.
+     */
     @Override
     public Product save(Product product) {
-        EntityTransaction transaction = entityManager.getTransaction();
-        try {
-            transaction.begin();
-            ProductEntity productEntity = this.toEntity(product);
-            entityManager.merge(productEntity);
-            transaction.commit();
-            return product;
-        } catch (Exception ex) {
-            if(transaction.isActive()) transaction.rollback();
-            throw ex;
-        }
+        return OptimisticLocks.translate(AGGREGATE, () -> unitOfWork.write(entityManager -> {
+            ProductEntity managed = entityManager.find(ProductEntity.class, product.getId().value());
+            if (managed == null) {
+                managed = toEntity(product);
+                entityManager.persist(managed);
+            } else {
+                copyState(toEntity(product), managed);
+            }
+            entityManager.flush();
+            return toDomain(managed);
+        }));
+    }
+
+    @Override
+    public Product insert(Product product) {
+        return unitOfWork.write(entityManager -> {
+            ProductEntity entity = toEntity(product);
+            entityManager.persist(entity);
+            return toDomain(entity);
+        });
+    }
+
+    /**
+     * Usa una sesión sin estado; como sus INSERT no pasan por la caché, después se vacía
+     * la región de consultas de productos para que los listados cacheados los incluyan.
+     */
+    @Override
+    public void insertAll(Collection<Product> products) {
+        if (products.isEmpty()) return;
+        unitOfWork.writeStateless(session -> products.forEach(product -> session.insert(toEntity(product))));
+        unitOfWork.evictQueryRegion(ProductEntity.QUERY_CACHE_REGION);
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        List<Product> saved = new ArrayList<>(products.size());
+        OptimisticLocks.translate(AGGREGATE, () -> {
+            unitOfWork.writeInChunks(products, (entityManager, chunk) -> {
+                List<ProductEntity> managed = EntityUpserts.upsert(entityManager, ProductEntity.class,
+                        chunk.stream().map(this::toEntity).toList(), ProductEntity::getId,
+                        (existing, entity) -> copyState(entity, existing));
+                entityManager.flush();
+                managed.forEach(entity -> saved.add(toDomain(entity)));
+            });
+            return null;
+        });
+        return saved;
     }
 
     @Override
     public Optional<Product> findById(ProductId id) {
-        return Optional.ofNullable(
+        return unitOfWork.read(entityManager -> Optional.ofNullable(
                 entityManager.find(ProductEntity.class, id.value())
-        ).map(this::toDomain);
+        ).map(this::toDomain));
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<ProductId> ids) {
+        return unitOfWork.readInChunks(ids.stream().map(ProductId::value).toList(), (entityManager, chunk) ->
+                entityManager.createNamedQuery(ProductEntity.FIND_BY_IDS, ProductEntity.class)
+                        .setParameter("ids", chunk)
+                        .getResultList()
+                        .stream()
+                        .map(this::toDomain)
+                        .toList());
     }
 
     @Override
     public List<Product> findAll() {
-        return entityManager.createQuery(
-                        "FROM ProductEntity",
+        return unitOfWork.read(entityManager -> entityManager.createNamedQuery(
+                        ProductEntity.FIND_ALL,
                         ProductEntity.class
                 ).getResultList()
                 .stream()
                 .map(this::toDomain)
-                .toList();
+                .toList());
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        return KeysetPages.stream(this::findPage, Product::getId, KeysetPages.DEFAULT_PAGE_SIZE);
+    }
+
+    @Override
+    public List<Product> findPage(ProductId afterId, int limit) {
+        KeysetPages.requireValidLimit(limit);
+        return unitOfWork.read(entityManager -> entityManager.createNamedQuery(
+                        ProductEntity.FIND_PAGE,
+                        ProductEntity.class
+                ).setParameter("afterId", afterId == null ? "" : afterId.value())
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, limit)
+                .getResultList()
+                .stream()
+                .map(this::toDomain)
+                .toList());
     }
 
     @Override
     public List<Product> findByCategory(String category) {
-        return entityManager.createQuery(
-                        "FROM ProductEntity WHERE category = :category",
+        return unitOfWork.read(entityManager -> entityManager.createNamedQuery(
+                        ProductEntity.FIND_BY_CATEGORY,
                         ProductEntity.class
                 ).setParameter("category", ProductCategory.valueOf(category))
                 .getResultList()
                 .stream()
                 .map(this::toDomain)
-                .toList();
+                .toList());
     }
 
     @Override
     public List<Product> findLowStockProducts(int threshold) {
-        return entityManager.createQuery(
-                        "FROM ProductEntity WHERE stock < :threshold",
+        return unitOfWork.read(entityManager -> entityManager.createNamedQuery(
+                        ProductEntity.FIND_LOW_STOCK,
                         ProductEntity.class
                 ).setParameter("threshold", threshold)
                 .getResultList()
                 .stream()
                 .map(this::toDomain)
-                .toList();
+                .toList());
     }
 
     @Override
@@ -84,19 +165,68 @@ public class JpaProductRepository implements ProductRepository {
 
     @Override
     public void deleteById(ProductId id) {
-        EntityTransaction transaction = entityManager.getTransaction();
-        try {
-            transaction.begin();
+        unitOfWork.write(entityManager -> {
             ProductEntity productEntity = entityManager.find(ProductEntity.class, id.value());
             if (productEntity != null) {
                 entityManager.remove(productEntity);
             }
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction.isActive()) transaction.rollback();
-            throw e;
-        }
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAllById(Collection<ProductId> ids) {
+        unitOfWork.writeInChunks(ids, (entityManager, chunk) -> entityManager
+                .createNamedQuery(ProductEntity.DELETE_BY_IDS)
+                .setParameter("ids", chunk.stream().map(ProductId::value).toList())
+                .executeUpdate());
+    }
+
+    @Override
+    public boolean tryReserveStock(ProductId id, int quantity) {
+        requirePositive(quantity);
+        return unitOfWork.write(entityManager -> {
+            int updated = entityManager.createNamedQuery(ProductEntity.RESERVE_STOCK)
+                    .setParameter("quantity", quantity)
+                    .setParameter("id", id.value())
+                    .executeUpdate();
+            if (updated > 0) detachStaleCopy(entityManager, id);
+            return updated > 0;
+        });
+    }
+
+    @Override
+    public void releaseStock(ProductId id, int quantity) {
+        requirePositive(quantity);
+        unitOfWork.write(entityManager -> {
+            int updated = entityManager.createNamedQuery(ProductEntity.RELEASE_STOCK)
+                    .setParameter("quantity", quantity)
+                    .setParameter("id", id.value())
+                    .executeUpdate();
+            if (updated == 0) throw new ProductNotFoundException(id.value());
+            detachStaleCopy(entityManager, id);
+            return null;
+        });
+    }
+
+    private static void requirePositive(int quantity) {
+        if (quantity <= 0) throw new IllegalArgumentException("Quantity must be greater than zero");
+    }
+
+    // El UPDATE masivo no pasa por el contexto de persistencia: se descarta la copia
+    // cargada para que la siguiente lectura traiga el stock actualizado
+    private void detachStaleCopy(EntityManager entityManager, ProductId id) {
+        entityManager.detach(entityManager.getReference(ProductEntity.class, id.value()));
+    }
 
+    private void copyState(ProductEntity source, ProductEntity managed) {
+        OptimisticLocks.check(AGGREGATE, managed.getId(), source.getVersion(), managed.getVersion());
+        managed.setName(source.getName());
+        managed.setDescription(source.getDescription());
+        managed.setPrice(source.getPrice());
+        managed.setCurrency(source.getCurrency());
+        managed.setStock(source.getStock());
+        managed.setCategory(source.getCategory());
     }
 
     private Product toDomain(ProductEntity entity) {
@@ -107,11 +237,12 @@ public class JpaProductRepository implements ProductRepository {
                 .description(entity.getDescription())
                 .price(Money.of(entity.getPrice(), entity.getCurrency()))
                 .category(entity.getCategory())
+                .version(entity.getVersion())
                 .build();
     }
 
     private ProductEntity toEntity(Product product) {
-        return new ProductEntity(
+        ProductEntity entity = new ProductEntity(
                 product.getId().value(),
                 product.getName(),
                 product.getDescription(),
@@ -120,5 +251,7 @@ public class JpaProductRepository implements ProductRepository {
                 product.getStock(),
                 product.getCategory()
         );
+        entity.setVersion(product.getVersion());
+        return entity;
     }
 }
@@ -0,0 +1,246 @@
+package com.enyoi.arka.adapters.out.repository;
+
+import com.enyoi.arka.domain.ports.out.UnitOfWork;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Unidad de trabajo JPA compartida por los repositorios.
+ * <p>
+ * En modo {@link #perOperation(EntityManagerFactory)} cada operación abre su propio
+ * EntityManager y lo cierra al terminar, por lo que los repositorios pueden usarse
+ * desde varios hilos a la vez. El modo {@link #shared(EntityManager)} reutiliza un único
+ * EntityManager y no es seguro entre hilos; lo limpia al terminar cada operación que
+ * no forme parte de una transacción abierta por el llamador, para que su contexto de
+ * persistencia no crezca con cada entidad leída.
+ * <p>
+ * {@link #execute(Supplier)} abre una unidad de trabajo en el hilo actual: las
+ * operaciones de los repositorios invocadas dentro comparten EntityManager y
+ * transacción, y se confirman con un solo commit.
+ * <p>
+ * Las lecturas fuera de una transacción se ejecutan en modo solo lectura: las entidades
+ * cargadas no guardan copia para el dirty checking y las consultas no provocan flush.
+ */
+public class JpaUnitOfWork implements UnitOfWork {
+    /**
+     * Tamaño de bloque de las escrituras masivas; coincide con {@code hibernate.jdbc.batch_size}.
+     */
+    public static final int BATCH_SIZE = 50;
+
+    /**
+     * Ids por consulta {@code IN (...)}: SQLite anterior a 3.32 admite como máximo
+     * 999 parámetros por sentencia.
+     */
+    public static final int MAX_IN_PARAMETERS = 500;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager sharedEntityManager;
+    private final ThreadLocal<EntityManager> current = new ThreadLocal<>();
+
+    private JpaUnitOfWork(EntityManagerFactory entityManagerFactory, EntityManager sharedEntityManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.sharedEntityManager = sharedEntityManager;
+    }
+
+    public static JpaUnitOfWork perOperation(EntityManagerFactory entityManagerFactory) {
+        return new JpaUnitOfWork(Objects.requireNonNull(entityManagerFactory), null);
+    }
+
+    public static JpaUnitOfWork shared(EntityManager entityManager) {
+        return new JpaUnitOfWork(null, Objects.requireNonNull(entityManager));
+    }
+
+    @Override
+    public <T> T execute(Supplier<T> work) {
+        if (sharedEntityManager != null || current.get() != null) {
+            return write(ignored -> work.get());
+        }
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        current.set(entityManager);
+        try {
+            return write(ignored -> work.get());
+        } finally {
+            current.remove();
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Ejecuta una operación de solo lectura. Dentro de una unidad de trabajo abierta
+     * reutiliza su EntityManager y ve sus cambios aún sin confirmar; fuera de ella la
+     * sesión pasa a solo lectura con {@link FlushMode#MANUAL} mientras dura la operación.
+     */
+    public <T> T read(Function<EntityManager, T> work) {
+        EntityManager entityManager = acquire();
+        boolean readOnly = entityManager != current.get() && !entityManager.getTransaction().isActive();
+        Session session = entityManager.unwrap(Session.class);
+        boolean previousReadOnly = session.isDefaultReadOnly();
+        FlushMode previousFlushMode = session.getHibernateFlushMode();
+        if (readOnly) {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+        }
+        try {
+            return work.apply(entityManager);
+        } finally {
+            if (readOnly && entityManager.isOpen()) {
+                session.setDefaultReadOnly(previousReadOnly);
+                session.setHibernateFlushMode(previousFlushMode);
+            }
+            release(entityManager);
+        }
+    }
+
+    /**
+     * Ejecuta una consulta por bloques de {@link #MAX_IN_PARAMETERS} claves con el mismo
+     * EntityManager y junta los resultados. Las claves repetidas se consultan una vez.
+     */
+    public <K, R> List<R> readInChunks(Collection<K> keys, BiFunction<EntityManager, List<K>, List<R>> work) {
+        if (keys.isEmpty()) return List.of();
+        List<K> distinct = List.copyOf(new LinkedHashSet<>(keys));
+        return read(entityManager -> {
+            List<R> results = new ArrayList<>(distinct.size());
+            for (int from = 0; from < distinct.size(); from += MAX_IN_PARAMETERS) {
+                List<K> chunk = distinct.subList(from, Math.min(from + MAX_IN_PARAMETERS, distinct.size()));
+                results.addAll(work.apply(entityManager, chunk));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Como {@link #readInChunks}, pero todos los bloques van en una sola transacción de escritura.
+     */
+    public <K, R> List<R> updateInChunks(Collection<K> keys, BiFunction<EntityManager, List<K>, List<R>> work) {
+        if (keys.isEmpty()) return List.of();
+        List<K> distinct = List.copyOf(new LinkedHashSet<>(keys));
+        return write(entityManager -> {
+            List<R> results = new ArrayList<>(distinct.size());
+            for (int from = 0; from < distinct.size(); from += MAX_IN_PARAMETERS) {
+                List<K> chunk = distinct.subList(from, Math.min(from + MAX_IN_PARAMETERS, distinct.size()));
+                results.addAll(work.apply(entityManager, chunk));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Ejecuta una operación de escritura dentro de una transacción. Si el EntityManager
+     * ya tiene una transacción activa se une a ella en lugar de abrir otra.
+     */
+    public <T> T write(Function<EntityManager, T> work) {
+        EntityManager entityManager = acquire();
+        EntityTransaction transaction = entityManager.getTransaction();
+        boolean ownsTransaction = !transaction.isActive();
+        try {
+            if (ownsTransaction) transaction.begin();
+            T result = work.apply(entityManager);
+            if (ownsTransaction) transaction.commit();
+            return result;
+        } catch (RuntimeException e) {
+            if (ownsTransaction && transaction.isActive()) transaction.rollback();
+            throw e;
+        } finally {
+            release(entityManager);
+        }
+    }
+
+    /**
+     * Procesa una colección en una sola transacción, por bloques de {@link #BATCH_SIZE}.
+     * Tras cada bloque envía los cambios pendientes y limpia el contexto de persistencia,
+     * así la memoria no crece con el tamaño de la colección.
+     */
+    public <T> void writeInChunks(Collection<T> items, BiConsumer<EntityManager, List<T>> work) {
+        if (items.isEmpty()) return;
+        write(entityManager -> {
+            List<T> chunk = new ArrayList<>(BATCH_SIZE);
+            for (T item : items) {
+                chunk.add(item);
+                if (chunk.size() == BATCH_SIZE) {
+                    flushChunk(entityManager, chunk, work);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flushChunk(entityManager, chunk, work);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Ejecuta una escritura masiva con una {@link StatelessSession} en su propia transacción:
+     * sin contexto de persistencia ni caché de segundo nivel, y con los INSERT agrupados
+     * en lotes JDBC. No puede unirse a una unidad de trabajo abierta, porque usaría otra
+     * conexión.
+     */
+    public void writeStateless(Consumer<StatelessSession> work) {
+        if (current.get() != null || (sharedEntityManager != null && sharedEntityManager.getTransaction().isActive())) {
+            throw new IllegalStateException("Stateless writes cannot join an open unit of work");
+        }
+        try (StatelessSession session = sessionFactory().openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                work.accept(session);
+                transaction.commit();
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) transaction.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Vacía una región de la caché de consultas. Hace falta tras {@link #writeStateless},
+     * cuyas escrituras no invalidan las consultas cacheadas.
+     */
+    public void evictQueryRegion(String region) {
+        sessionFactory().getCache().evictQueryRegion(region);
+    }
+
+    private SessionFactory sessionFactory() {
+        EntityManagerFactory factory = sharedEntityManager != null
+                ? sharedEntityManager.getEntityManagerFactory()
+                : entityManagerFactory;
+        return factory.unwrap(SessionFactory.class);
+    }
+
+    private <T> void flushChunk(EntityManager entityManager, List<T> chunk, BiConsumer<EntityManager, List<T>> work) {
+        work.accept(entityManager, List.copyOf(chunk));
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    private EntityManager acquire() {
+        if (sharedEntityManager != null) return sharedEntityManager;
+        EntityManager bound = current.get();
+        return bound != null ? bound : entityManagerFactory.createEntityManager();
+    }
+
+    private void release(EntityManager entityManager) {
+        if (entityManager == sharedEntityManager) {
+            if (entityManager.isOpen() && !entityManager.getTransaction().isActive()) {
+                entityManager.clear();
+            }
+        } else if (entityManager != current.get() && entityManager.isOpen()) {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.enyoi.arka.adapters.out.repository;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Recorre una tabla por páginas ordenadas por clave ({@code WHERE id > :afterId}).
+ * Cada página se pide solo cuando el stream llega a ella, así que en memoria se
+ * mantiene como mucho una página a la vez.
+ */
+final class KeysetPages {
+    static final int DEFAULT_PAGE_SIZE = 500;
+
+    private KeysetPages() { }
+
+    static void requireValidLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be greater than zero");
+        }
+    }
+
+    /**
+     * @param pageLoader recibe la última clave leída ({@code null} en la primera página) y el tamaño de página
+     * @param keyOf      extrae la clave de un elemento
+     */
+    static <K, T> Stream<T> stream(BiFunction<K, Integer, List<T>> pageLoader, Function<T, K> keyOf, int pageSize) {
+        requireValidLimit(pageSize);
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Iterator<T> page = List.<T>of().iterator();
+            private K lastKey;
+            private boolean exhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (!page.hasNext()) {
+                    if (exhausted) return false;
+                    List<T> next = pageLoader.apply(lastKey, pageSize);
+                    exhausted = next.size() < pageSize;
+                    if (next.isEmpty()) return false;
+                    lastKey = keyOf.apply(next.get(next.size() - 1));
+                    page = next.iterator();
+                }
+                action.accept(page.next());
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+}
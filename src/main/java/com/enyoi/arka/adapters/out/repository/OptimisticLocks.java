@@ -0,0 +1,44 @@
+package com.enyoi.arka.adapters.out.repository;
+
+import com.enyoi.arka.domain.exception.OptimisticConflictException;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.StaleObjectStateException;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Control de versiones de los agregados versionados. La versión leída por el dominio
+ * se compara con la de la fila antes de copiar el estado, y el {@code UPDATE ... WHERE
+ * version = ?} de Hibernate cubre la escritura concurrente entre esa lectura y el flush.
+ */
+final class OptimisticLocks {
+
+    private OptimisticLocks() { }
+
+    /**
+     * @param expected versión con la que el dominio leyó el agregado; {@code null} no comprueba nada
+     */
+    static void check(String aggregate, String id, Long expected, Long current) {
+        if (expected != null && !Objects.equals(expected, current)) {
+            throw new OptimisticConflictException(aggregate, id);
+        }
+    }
+
+    /**
+     * Traduce el conflicto detectado por Hibernate al escribir a la excepción de dominio.
+     */
+    static <T> T translate(String aggregate, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (OptimisticLockException e) {
+            throw new OptimisticConflictException(aggregate, conflictingId(e), e);
+        }
+    }
+
+    private static String conflictingId(OptimisticLockException e) {
+        return e.getCause() instanceof StaleObjectStateException stale
+                ? String.valueOf(stale.getIdentifier())
+                : "unknown";
+    }
+}
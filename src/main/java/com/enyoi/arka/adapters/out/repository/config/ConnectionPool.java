@@ -0,0 +1,69 @@
+package com.enyoi.arka.adapters.out.repository.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.hibernate.cfg.AvailableSettings;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Pool acotado de conexiones JDBC (HikariCP) con validación y detección de fugas.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private final HikariDataSource dataSource;
+
+    private ConnectionPool(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public static ConnectionPool create(DatabaseSettings settings) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("arka-pool");
+        config.setJdbcUrl(settings.url());
+        config.setDataSourceProperties(settings.profile().connectionProperties());
+        config.setMaximumPoolSize(settings.poolSize());
+        config.setMinimumIdle(settings.minimumIdle());
+        config.setConnectionTimeout(settings.connectionTimeout().toMillis());
+        config.setValidationTimeout(settings.validationTimeout().toMillis());
+        config.setLeakDetectionThreshold(settings.leakDetectionThreshold().toMillis());
+        return new ConnectionPool(new HikariDataSource(config));
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Crea un EntityManagerFactory que toma sus conexiones de este pool.
+     */
+    public EntityManagerFactory createEntityManagerFactory(String persistenceUnit) {
+        return Persistence.createEntityManagerFactory(persistenceUnit,
+                Map.of(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource));
+    }
+
+    public PoolMetrics metrics() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) return new PoolMetrics(0, 0, 0, 0);
+        return new PoolMetrics(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection()
+        );
+    }
+
+    public boolean isClosed() {
+        return dataSource.isClosed();
+    }
+
+    @Override
+    public void close() {
+        if (!dataSource.isClosed()) {
+            dataSource.close();
+        }
+    }
+}
@@ -2,14 +2,15 @@ package com.enyoi.arka.adapters.out.repository.config;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.Persistence;
 
 public class DatabaseConfig {
+    private static final ConnectionPool connectionPool;
     private static final EntityManagerFactory entityManagerFactory;
 
     static {
         try {
-            entityManagerFactory = Persistence.createEntityManagerFactory("arka-persistence-unit");
+            connectionPool = ConnectionPool.create(DatabaseSettings.fromSystemProperties());
+            entityManagerFactory = connectionPool.createEntityManagerFactory("arka-persistence-unit");
         } catch (Exception e) {
             throw new RuntimeException("Error initializing JPA", e);
         }
@@ -23,9 +24,16 @@ public class DatabaseConfig {
         return entityManagerFactory.createEntityManager();
     }
 
+    public static PoolMetrics getPoolMetrics() {
+        return connectionPool.metrics();
+    }
+
     public static void shutdown() {
         if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
             entityManagerFactory.close();
         }
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
     }
 }
@@ -0,0 +1,50 @@
+package com.enyoi.arka.adapters.out.repository.config;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Properties;
+
+import static com.enyoi.arka.adapters.config.PropertyValues.intProperty;
+
+/**
+ * Parámetros de conexión y del pool. Se leen de propiedades {@code arka.db.*}
+ * (por ejemplo {@code -Darka.db.pool.size=8}).
+ */
+public record DatabaseSettings(String url,
+                               SqliteProfile profile,
+                               int poolSize,
+                               int minimumIdle,
+                               Duration connectionTimeout,
+                               Duration validationTimeout,
+                               Duration leakDetectionThreshold) {
+
+    public static final String DEFAULT_URL = "jdbc:sqlite:arka.db";
+
+    public DatabaseSettings {
+        Objects.requireNonNull(url, "url is required");
+        Objects.requireNonNull(profile, "profile is required");
+        Objects.requireNonNull(connectionTimeout, "connectionTimeout is required");
+        Objects.requireNonNull(validationTimeout, "validationTimeout is required");
+        Objects.requireNonNull(leakDetectionThreshold, "leakDetectionThreshold is required");
+        if (poolSize <= 0) throw new IllegalArgumentException("Pool size must be greater than zero");
+        if (minimumIdle < 0 || minimumIdle > poolSize) {
+            throw new IllegalArgumentException("Minimum idle must be between 0 and pool size");
+        }
+    }
+
+    public static DatabaseSettings fromSystemProperties() {
+        return from(System.getProperties());
+    }
+
+    public static DatabaseSettings from(Properties properties) {
+        return new DatabaseSettings(
+                properties.getProperty("arka.db.url", DEFAULT_URL),
+                SqliteProfile.of(properties.getProperty("arka.db.profile", SqliteProfile.PRODUCTION.name())),
+                intProperty(properties, "arka.db.pool.size", 4),
+                intProperty(properties, "arka.db.pool.min-idle", 1),
+                Duration.ofMillis(intProperty(properties, "arka.db.pool.connection-timeout-ms", 30_000)),
+                Duration.ofMillis(intProperty(properties, "arka.db.pool.validation-timeout-ms", 5_000)),
+                Duration.ofMillis(intProperty(properties, "arka.db.pool.leak-detection-ms", 60_000))
+        );
+    }
+}
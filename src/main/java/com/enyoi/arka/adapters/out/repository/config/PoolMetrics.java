@@ -0,0 +1,10 @@
+package com.enyoi.arka.adapters.out.repository.config;
+
+/**
+ * Fotografía del estado del pool de conexiones.
+ */
+public record PoolMetrics(int activeConnections,
+                          int idleConnections,
+                          int totalConnections,
+                          int threadsAwaitingConnection) {
+}
@@ -0,0 +1,64 @@
+package com.enyoi.arka.adapters.out.repository.config;
+
+import org.sqlite.SQLiteConfig;
+
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Perfiles de PRAGMA que el driver de SQLite aplica al abrir cada conexión del pool.
+ */
+public enum SqliteProfile {
+    /**
+     * Configuración por defecto de SQLite (journal de rollback, synchronous=FULL).
+     */
+    DEFAULT {
+        @Override
+        SQLiteConfig toConfig() {
+            return new SQLiteConfig();
+        }
+    },
+    /**
+     * WAL con synchronous=NORMAL: los lectores no bloquean al escritor y cada commit
+     * deja de hacer fsync del archivo principal. Las transacciones empiezan con
+     * {@code BEGIN IMMEDIATE}: una transacción que lee antes de escribir no puede pasar
+     * a escritora si otra conexión escribió entre tanto ({@code SQLITE_BUSY_SNAPSHOT}),
+     * así que se toma el bloqueo de escritura al empezar y la espera la cubre busy_timeout.
+     */
+    PRODUCTION {
+        @Override
+        SQLiteConfig toConfig() {
+            SQLiteConfig config = new SQLiteConfig();
+            config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+            config.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+            config.setBusyTimeout(BUSY_TIMEOUT_MS);
+            config.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+            config.setCacheSize(CACHE_SIZE_KIB);
+            config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(MMAP_SIZE_BYTES));
+            config.setTempStore(SQLiteConfig.TempStore.MEMORY);
+            return config;
+        }
+    };
+
+    static final int BUSY_TIMEOUT_MS = 5_000;
+    // Valor negativo: tamaño en KiB en lugar de páginas (64 MiB por conexión)
+    static final int CACHE_SIZE_KIB = -65_536;
+    static final long MMAP_SIZE_BYTES = 256L * 1024 * 1024;
+
+    abstract SQLiteConfig toConfig();
+
+    /**
+     * Propiedades de conexión que entiende el driver {@code org.sqlite.JDBC}.
+     */
+    public Properties connectionProperties() {
+        return toConfig().toProperties();
+    }
+
+    public static SqliteProfile of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown SQLite profile: " + name, e);
+        }
+    }
+}
@@ -1,14 +1,33 @@
 package com.enyoi.arka.adapters.out.repository.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedQuery;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity
+@NamedQuery(name = CustomerEntity.FIND_ALL, query = "FROM CustomerEntity")
+@NamedQuery(name = CustomerEntity.FIND_PAGE, query = "FROM CustomerEntity WHERE id > :afterId ORDER BY id")
+@NamedQuery(name = CustomerEntity.FIND_BY_IDS, query = "FROM CustomerEntity WHERE id IN :ids")
+@NamedQuery(name = CustomerEntity.FIND_BY_EMAIL, query = "FROM CustomerEntity WHERE email = :email")
+@NamedQuery(name = CustomerEntity.DELETE_BY_IDS, query = "DELETE FROM CustomerEntity WHERE id IN :ids")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CustomerEntity.CACHE_REGION)
 @Table(name = "customers")
 public class CustomerEntity {
+    public static final String CACHE_REGION = "arka-customers";
+
+    public static final String FIND_ALL = "CustomerEntity.findAll";
+    public static final String FIND_PAGE = "CustomerEntity.findPage";
+    public static final String FIND_BY_IDS = "CustomerEntity.findByIds";
+    public static final String FIND_BY_EMAIL = "CustomerEntity.findByEmail";
+    public static final String DELETE_BY_IDS = "CustomerEntity.deleteByIds";
+
     @Id
     private String id;
 
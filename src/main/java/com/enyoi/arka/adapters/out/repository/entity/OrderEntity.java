@@ -2,13 +2,58 @@ package com.enyoi.arka.adapters.out.repository.entity;
 
 import com.enyoi.arka.domain.entities.OrderStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@NamedQuery(name = OrderEntity.FIND_ALL, query = "SELECT o FROM OrderEntity o LEFT JOIN FETCH o.items")
+@NamedQuery(name = OrderEntity.FIND_BY_CUSTOMER,
+        query = "SELECT o FROM OrderEntity o LEFT JOIN FETCH o.items WHERE o.customerId = :customerId")
+@NamedQuery(name = OrderEntity.FIND_BY_STATUS,
+        query = "SELECT o FROM OrderEntity o LEFT JOIN FETCH o.items WHERE o.status = :status")
+@NamedQuery(name = OrderEntity.FIND_PAGE_IDS,
+        query = "SELECT o.id FROM OrderEntity o WHERE o.id > :afterId ORDER BY o.id")
+@NamedQuery(name = OrderEntity.FIND_BY_IDS,
+        query = "SELECT o FROM OrderEntity o LEFT JOIN FETCH o.items WHERE o.id IN :ids ORDER BY o.id")
+@NamedQuery(name = OrderEntity.FIND_IDS_BY_STATUS,
+        query = "SELECT o.id FROM OrderEntity o WHERE o.id IN :ids AND o.status = :status")
+@NamedQuery(name = OrderEntity.UPDATE_STATUS,
+        query = "UPDATE OrderEntity SET status = :next, version = version + 1 WHERE id IN :ids AND status = :expected")
+@NamedQuery(name = OrderEntity.FIND_IDS_TO_RELEASE,
+        query = "SELECT o.id FROM OrderEntity o WHERE o.id IN :ids AND o.status = :pending "
+                + "AND o.stockReleased = false AND o.reservedUntil <= :now")
+@NamedQuery(name = OrderEntity.RELEASE_STOCK,
+        query = "UPDATE OrderEntity SET stockReleased = true, version = version + 1 "
+                + "WHERE id IN :ids AND status = :pending AND stockReleased = false AND reservedUntil <= :now")
+@NamedQuery(name = OrderEntity.SUM_ITEM_QUANTITIES,
+        query = "SELECT i.productId, SUM(i.quantity) FROM OrderItemEntity i WHERE i.orderId IN :ids "
+                + "GROUP BY i.productId ORDER BY i.productId")
+@NamedQuery(name = OrderEntity.DELETE_ITEMS_BY_ORDER_IDS, query = "DELETE FROM OrderItemEntity WHERE orderId IN :ids")
+@NamedQuery(name = OrderEntity.DELETE_BY_IDS, query = "DELETE FROM OrderEntity WHERE id IN :ids")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_customer_id", columnList = "customerId"),
+        @Index(name = "idx_orders_status_created_at", columnList = "status, createdAt")
+})
 public class OrderEntity {
+    /*
+     * Las consultas que devuelven órdenes cargan sus items con fetch join; sin él
+     * cada orden mapeada dispararía un SELECT adicional para sus items.
+     */
+    public static final String FIND_ALL = "OrderEntity.findAll";
+    public static final String FIND_BY_CUSTOMER = "OrderEntity.findByCustomer";
+    public static final String FIND_BY_STATUS = "OrderEntity.findByStatus";
+    public static final String FIND_PAGE_IDS = "OrderEntity.findPageIds";
+    public static final String FIND_BY_IDS = "OrderEntity.findByIds";
+    public static final String FIND_IDS_BY_STATUS = "OrderEntity.findIdsByStatus";
+    public static final String UPDATE_STATUS = "OrderEntity.updateStatus";
+    public static final String FIND_IDS_TO_RELEASE = "OrderEntity.findIdsToRelease";
+    public static final String RELEASE_STOCK = "OrderEntity.releaseStock";
+    public static final String SUM_ITEM_QUANTITIES = "OrderEntity.sumItemQuantities";
+    public static final String DELETE_ITEMS_BY_ORDER_IDS = "OrderEntity.deleteItemsByOrderIds";
+    public static final String DELETE_BY_IDS = "OrderEntity.deleteByIds";
+
     @Id
     private String id;
 
@@ -23,9 +68,20 @@ public class OrderEntity {
     private LocalDateTime createdAt;
 
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
-    @JoinColumn(name = "orderId", nullable = false)
+    @JoinColumn(name = "orderId", nullable = false, updatable = false)
     private List<OrderItemEntity> items;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    private LocalDateTime reservedUntil;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private boolean stockReleased;
+
     public OrderEntity() { }
 
     public OrderEntity(String id, String customerId,
@@ -79,4 +135,28 @@ public class OrderEntity {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getReservedUntil() {
+        return reservedUntil;
+    }
+
+    public void setReservedUntil(LocalDateTime reservedUntil) {
+        this.reservedUntil = reservedUntil;
+    }
+
+    public boolean isStockReleased() {
+        return stockReleased;
+    }
+
+    public void setStockReleased(boolean stockReleased) {
+        this.stockReleased = stockReleased;
+    }
 }
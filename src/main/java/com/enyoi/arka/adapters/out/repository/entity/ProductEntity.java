@@ -2,12 +2,55 @@ package com.enyoi.arka.adapters.out.repository.entity;
 
 import com.enyoi.arka.domain.entities.ProductCategory;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.jpa.HibernateHints;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "products")
+@NamedQuery(name = ProductEntity.FIND_ALL, query = "FROM ProductEntity")
+@NamedQuery(name = ProductEntity.FIND_PAGE, query = "FROM ProductEntity WHERE id > :afterId ORDER BY id")
+@NamedQuery(name = ProductEntity.FIND_BY_IDS, query = "FROM ProductEntity WHERE id IN :ids")
+@NamedQuery(name = ProductEntity.FIND_BY_CATEGORY, query = "FROM ProductEntity WHERE category = :category",
+        hints = {
+                @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ProductEntity.QUERY_CACHE_REGION)
+        })
+@NamedQuery(name = ProductEntity.FIND_LOW_STOCK, query = "FROM ProductEntity WHERE stock < :threshold",
+        hints = {
+                @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ProductEntity.QUERY_CACHE_REGION)
+        })
+@NamedQuery(name = ProductEntity.RESERVE_STOCK,
+        query = "UPDATE ProductEntity SET stock = stock - :quantity, version = version + 1 WHERE id = :id AND stock >= :quantity")
+@NamedQuery(name = ProductEntity.RELEASE_STOCK,
+        query = "UPDATE ProductEntity SET stock = stock + :quantity, version = version + 1 WHERE id = :id")
+@NamedQuery(name = ProductEntity.DELETE_BY_IDS, query = "DELETE FROM ProductEntity WHERE id IN :ids")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ProductEntity.CACHE_REGION)
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_stock", columnList = "stock"),
+        @Index(name = "idx_products_category", columnList = "category")
+})
 public class ProductEntity {
+    public static final String CACHE_REGION = "arka-products";
+    /**
+     * Región de la caché de consultas para los listados por categoría y stock bajo.
+     * Hibernate la invalida en cuanto se escribe en la tabla products.
+     */
+    public static final String QUERY_CACHE_REGION = "arka-product-queries";
+
+    public static final String FIND_ALL = "ProductEntity.findAll";
+    public static final String FIND_PAGE = "ProductEntity.findPage";
+    public static final String FIND_BY_IDS = "ProductEntity.findByIds";
+    public static final String FIND_BY_CATEGORY = "ProductEntity.findByCategory";
+    public static final String FIND_LOW_STOCK = "ProductEntity.findLowStock";
+    public static final String RESERVE_STOCK = "ProductEntity.reserveStock";
+    public static final String RELEASE_STOCK = "ProductEntity.releaseStock";
+    public static final String DELETE_BY_IDS = "ProductEntity.deleteByIds";
+
     @Id
     private String id;
 
@@ -30,6 +73,12 @@ public class ProductEntity {
     @Column(nullable = false)
     private ProductCategory category;
 
+    // El valor por defecto permite añadir la columna a tablas que ya tienen filas
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public ProductEntity() { }
 
     public ProductEntity(String id, String name,
@@ -101,4 +150,12 @@ public class ProductEntity {
     public void setCategory(ProductCategory category) {
         this.category = category;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
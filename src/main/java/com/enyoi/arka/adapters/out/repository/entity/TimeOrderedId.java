@@ -0,0 +1,19 @@
+package com.enyoi.arka.adapters.out.repository.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id numérico asignado en la aplicación por {@link TimeOrderedIdGenerator}, sin
+ * consultar a la base de datos. A diferencia de IDENTITY permite agrupar los INSERT
+ * en lotes JDBC.
+ */
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedId {
+}
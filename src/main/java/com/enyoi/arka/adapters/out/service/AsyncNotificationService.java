@@ -0,0 +1,210 @@
+package com.enyoi.arka.adapters.out.service;
+
+import com.enyoi.arka.domain.ports.out.Notification;
+import com.enyoi.arka.domain.ports.out.NotificationService;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decorador que saca las notificaciones del hilo que las produce. Cada notificación entra
+ * en una cola sin bloqueos acotada a {@code queueCapacity}, y un hilo despachador las
+ * entrega al canal real en lotes con {@link NotificationService#notifyBatch}: cuanto más
+ * tarda el canal, más se acumula y mayor es el siguiente lote. Con la cola llena se aplica
+ * la {@link OverflowPolicy} configurada.
+ * <p>
+ * {@link #close()} deja de encolar, espera a que el despachador vacíe la cola (como mucho
+ * {@code drainTimeout}) y a partir de ahí entrega en el hilo que notifica.
+ */
+public class AsyncNotificationService implements NotificationService, AutoCloseable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final NotificationService delegate;
+    private final NotificationSettings settings;
+    private final Queue<Notification> queue = new ConcurrentLinkedQueue<>();
+    // Plazas reservadas en la cola; se reserva antes de encolar para no pasar del límite
+    private final AtomicInteger size = new AtomicInteger();
+    private final NotificationSpill spill;
+    private final Thread dispatcher;
+    private volatile boolean closed;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public AsyncNotificationService(NotificationService delegate, NotificationSettings settings) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.settings = Objects.requireNonNull(settings);
+        this.spill = settings.overflow() == OverflowPolicy.SPILL ? new NotificationSpill(settings.spillFile()) : null;
+        this.dispatcher = new Thread(this::dispatch, "notification-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    public static AsyncNotificationService fromSystemProperties(NotificationService delegate) {
+        return new AsyncNotificationService(delegate, NotificationSettings.fromSystemProperties());
+    }
+
+    @Override
+    public void notifyOrderStatusChange(String orderId, String customerEmail, String newStatus) {
+        submit(new Notification.OrderStatusChange(orderId, customerEmail, newStatus));
+    }
+
+    @Override
+    public void notifyLowStockAlert(String productName, int currentStock) {
+        submit(new Notification.LowStockAlert(productName, currentStock));
+    }
+
+    @Override
+    public void notifyBatch(List<Notification> notifications) {
+        notifications.forEach(this::submit);
+    }
+
+    public NotificationMetrics metrics() {
+        return new NotificationMetrics(enqueued.sum(), delivered.sum(), dropped.sum(), spilled.sum(), failed.sum(),
+                size.get());
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        LockSupport.unpark(dispatcher);
+        try {
+            dispatcher.join(Math.max(1, settings.drainTimeout().toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (spill != null) spill.close();
+    }
+
+    private void submit(Notification notification) {
+        Objects.requireNonNull(notification);
+        if (closed) {
+            deliver(List.of(notification));
+            return;
+        }
+        int previous = reserveSlot();
+        if (previous < 0) {
+            switch (settings.overflow()) {
+                case DROP -> {
+                    dropped.increment();
+                    return;
+                }
+                case SPILL -> {
+                    spill(notification);
+                    return;
+                }
+                case BLOCK -> {
+                    previous = awaitSlot();
+                    if (previous < 0) {
+                        if (closed) deliver(List.of(notification));
+                        else dropped.increment();
+                        return;
+                    }
+                }
+            }
+        }
+        queue.offer(notification);
+        enqueued.increment();
+        if (previous == 0) LockSupport.unpark(dispatcher);
+        // Llegó mientras se cerraba y el despachador ya terminó: nadie más la entregaría
+        if (closed && !dispatcher.isAlive()) drainQueue();
+    }
+
+    /**
+     * @return plazas ocupadas antes de reservar, o {@code -1} si la cola está llena
+     */
+    private int reserveSlot() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= settings.queueCapacity()) return -1;
+        } while (!size.compareAndSet(current, current + 1));
+        return current;
+    }
+
+    /**
+     * Espera, sin tomar bloqueos, a que el despachador libere una plaza. Devuelve
+     * {@code -1} si entre tanto se cierra el servicio o se interrumpe el hilo.
+     */
+    private int awaitSlot() {
+        int previous;
+        while ((previous = reserveSlot()) < 0) {
+            if (closed || Thread.currentThread().isInterrupted()) return -1;
+            LockSupport.unpark(dispatcher);
+            LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+        }
+        return previous;
+    }
+
+    private void spill(Notification notification) {
+        try {
+            spill.append(notification);
+            spilled.increment();
+        } catch (UncheckedIOException e) {
+            dropped.increment();
+        }
+    }
+
+    private void dispatch() {
+        List<Notification> batch = new ArrayList<>(settings.batchSize());
+        while (true) {
+            Notification next;
+            while (batch.size() < settings.batchSize() && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+            if (!batch.isEmpty()) {
+                size.addAndGet(-batch.size());
+                deliver(List.copyOf(batch));
+                batch.clear();
+            } else if (spill != null && spill.hasPending()) {
+                drainSpill();
+            } else if (closed && size.get() == 0) {
+                return;
+            } else {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    // Lo desbordado se entrega cuando la cola queda vacía, así que puede llegar desordenado
+    private void drainSpill() {
+        try {
+            failed.add(spill.drain(settings.batchSize(), this::deliver));
+        } catch (UncheckedIOException e) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+    }
+
+    private void drainQueue() {
+        List<Notification> batch = new ArrayList<>();
+        Notification next;
+        while ((next = queue.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) return;
+        size.addAndGet(-batch.size());
+        deliver(batch);
+    }
+
+    private void deliver(List<Notification> batch) {
+        try {
+            delegate.notifyBatch(batch);
+            delivered.add(batch.size());
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+        }
+    }
+}
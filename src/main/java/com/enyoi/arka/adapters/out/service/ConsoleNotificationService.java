@@ -1,15 +1,48 @@
 package com.enyoi.arka.adapters.out.service;
 
+import com.enyoi.arka.domain.ports.out.Notification;
 import com.enyoi.arka.domain.ports.out.NotificationService;
 
+import java.util.List;
+
 public class ConsoleNotificationService implements NotificationService {
     @Override
     public void notifyOrderStatusChange(String orderId, String customerEmail, String newStatus) {
-        System.out.println("Order Status Change - " + orderId + " " + customerEmail + " " + newStatus);
+        System.out.println(orderStatusChange(orderId, customerEmail, newStatus));
     }
 
     @Override
     public void notifyLowStockAlert(String productName, int currentStock) {
-        System.out.println("Low Stock Alert - " + productName + " " + currentStock + " stock bajo");
+        System.out.println(lowStockAlert(productName, currentStock));
+    }
+
+    /**
+     * Escribe el lote completo con una sola llamada a la consola.
+     */
+    @Override
+    public void notifyBatch(List<Notification> notifications) {
+        if (notifications.isEmpty()) return;
+        StringBuilder lines = new StringBuilder();
+        for (Notification notification : notifications) {
+            lines.append(format(notification)).append(System.lineSeparator());
+        }
+        System.out.print(lines);
+        System.out.flush();
+    }
+
+    private static String format(Notification notification) {
+        if (notification instanceof Notification.OrderStatusChange change) {
+            return orderStatusChange(change.orderId(), change.customerEmail(), change.newStatus());
+        }
+        Notification.LowStockAlert alert = (Notification.LowStockAlert) notification;
+        return lowStockAlert(alert.productName(), alert.currentStock());
+    }
+
+    private static String orderStatusChange(String orderId, String customerEmail, String newStatus) {
+        return "Order Status Change - " + orderId + " " + customerEmail + " " + newStatus;
+    }
+
+    private static String lowStockAlert(String productName, int currentStock) {
+        return "Low Stock Alert - " + productName + " " + currentStock + " stock bajo";
     }
 }
@@ -0,0 +1,15 @@
+package com.enyoi.arka.adapters.out.service;
+
+/**
+ * Fotografía de los contadores de un {@link AsyncNotificationService}.
+ *
+ * @param enqueued  notificaciones aceptadas en la cola
+ * @param delivered notificaciones entregadas al canal
+ * @param dropped   notificaciones descartadas por cola llena
+ * @param spilled   notificaciones escritas en el archivo de desborde
+ * @param failed    notificaciones cuyo lote lanzó una excepción en el canal
+ * @param pending   notificaciones en cola sin entregar todavía
+ */
+public record NotificationMetrics(long enqueued, long delivered, long dropped, long spilled, long failed,
+                                  long pending) {
+}
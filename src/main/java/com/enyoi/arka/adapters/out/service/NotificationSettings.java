@@ -0,0 +1,74 @@
+package com.enyoi.arka.adapters.out.service;
+
+import com.enyoi.arka.adapters.out.repository.config.DatabaseSettings;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Properties;
+
+import static com.enyoi.arka.adapters.config.PropertyValues.intProperty;
+
+/**
+ * Parámetros de {@link AsyncNotificationService}. Se leen de propiedades
+ * {@code arka.notifications.*} (por ejemplo {@code -Darka.notifications.overflow=DROP}).
+ * <p>
+ * El archivo de desborde es de cada instancia: por defecto va junto al archivo de
+ * {@code arka.db.url}, así que otra instancia en la misma máquina no entrega lo que esta
+ * desbordó, y al reiniciar se encuentra el mismo archivo.
+ */
+public record NotificationSettings(int queueCapacity,
+                                   int batchSize,
+                                   OverflowPolicy overflow,
+                                   Path spillFile,
+                                   Duration drainTimeout) {
+
+    private static final String SQLITE_PREFIX = "jdbc:sqlite:";
+
+    public NotificationSettings {
+        Objects.requireNonNull(overflow, "overflow is required");
+        Objects.requireNonNull(spillFile, "spillFile is required");
+        Objects.requireNonNull(drainTimeout, "drainTimeout is required");
+        if (queueCapacity <= 0) throw new IllegalArgumentException("Queue capacity must be greater than zero");
+        if (batchSize <= 0) throw new IllegalArgumentException("Batch size must be greater than zero");
+        if (drainTimeout.isNegative()) throw new IllegalArgumentException("Drain timeout cannot be negative");
+    }
+
+    public static NotificationSettings defaults() {
+        return from(new Properties());
+    }
+
+    public static NotificationSettings fromSystemProperties() {
+        return from(System.getProperties());
+    }
+
+    public static NotificationSettings from(Properties properties) {
+        String spillFile = properties.getProperty("arka.notifications.spill-file");
+        return new NotificationSettings(
+                intProperty(properties, "arka.notifications.queue-capacity", 10_000),
+                intProperty(properties, "arka.notifications.batch-size", 256),
+                OverflowPolicy.of(properties.getProperty("arka.notifications.overflow", OverflowPolicy.BLOCK.name())),
+                spillFile == null || spillFile.isBlank()
+                        ? defaultSpillFile(properties.getProperty("arka.db.url", DatabaseSettings.DEFAULT_URL))
+                        : Path.of(spillFile.trim()),
+                Duration.ofMillis(intProperty(properties, "arka.notifications.drain-timeout-ms", 5_000))
+        );
+    }
+
+    /**
+     * {@code <base de datos>.notifications.spill} junto al archivo SQLite. Una base en memoria
+     * no tiene archivo: se usa el directorio temporal con el PID del proceso.
+     */
+    static Path defaultSpillFile(String databaseUrl) {
+        String database = databaseUrl.startsWith(SQLITE_PREFIX) ? databaseUrl.substring(SQLITE_PREFIX.length()) : "";
+        int query = database.indexOf('?');
+        if (query >= 0) database = database.substring(0, query);
+        if (database.startsWith("file:")) database = database.substring("file:".length());
+        if (database.isBlank() || database.contains(":memory:") || databaseUrl.contains("mode=memory")) {
+            return Path.of(System.getProperty("java.io.tmpdir"),
+                    "arka-notifications-" + ProcessHandle.current().pid() + ".spill");
+        }
+        Path file = Path.of(database);
+        return file.resolveSibling(file.getFileName() + ".notifications.spill");
+    }
+}
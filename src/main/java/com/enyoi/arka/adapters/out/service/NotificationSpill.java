@@ -0,0 +1,159 @@
+package com.enyoi.arka.adapters.out.service;
+
+import com.enyoi.arka.domain.ports.out.Notification;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Archivo de desborde de {@link AsyncNotificationService}: una notificación por línea,
+ * con los campos separados por tabuladores. Para releerlo se renombra antes a
+ * {@code <archivo>.draining}, así las escrituras nuevas van a un archivo limpio; si el
+ * proceso muere a mitad, el archivo renombrado se vuelve a entregar al arrancar.
+ */
+final class NotificationSpill {
+    private static final String ORDER_STATUS_CHANGE = "ORDER";
+    private static final String LOW_STOCK_ALERT = "LOW_STOCK";
+
+    private final Path file;
+    private final Path draining;
+    private BufferedWriter writer;
+    private volatile boolean pending;
+
+    NotificationSpill(Path file) {
+        this.file = file;
+        this.draining = file.resolveSibling(file.getFileName() + ".draining");
+        this.pending = Files.exists(file) || Files.exists(draining);
+    }
+
+    synchronized void append(Notification notification) {
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(encode(notification));
+            writer.newLine();
+            writer.flush();
+            pending = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write notification spill file " + file, e);
+        }
+    }
+
+    boolean hasPending() {
+        return pending;
+    }
+
+    /**
+     * Entrega en lotes todo lo escrito hasta ahora.
+     *
+     * @return líneas que no se pudieron interpretar y se descartaron
+     */
+    int drain(int batchSize, Consumer<List<Notification>> deliver) {
+        try {
+            // Restos de una ejecución anterior que murió a mitad de entrega
+            int malformed = Files.exists(draining) ? deliverDraining(batchSize, deliver) : 0;
+            synchronized (this) {
+                pending = false;
+                if (writer != null) {
+                    writer.close();
+                    writer = null;
+                }
+                if (!Files.exists(file)) return malformed;
+                Files.move(file, draining, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return malformed + deliverDraining(batchSize, deliver);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read notification spill file " + draining, e);
+        }
+    }
+
+    private int deliverDraining(int batchSize, Consumer<List<Notification>> deliver) throws IOException {
+        int malformed = 0;
+        List<Notification> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(draining, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    batch.add(decode(line));
+                } catch (RuntimeException e) {
+                    malformed++;
+                }
+                if (batch.size() == batchSize) {
+                    deliver.accept(List.copyOf(batch));
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) deliver.accept(List.copyOf(batch));
+        Files.delete(draining);
+        return malformed;
+    }
+
+    synchronized void close() {
+        if (writer == null) return;
+        try {
+            writer.close();
+            writer = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close notification spill file " + file, e);
+        }
+    }
+
+    static String encode(Notification notification) {
+        if (notification instanceof Notification.OrderStatusChange change) {
+            return String.join("\t", ORDER_STATUS_CHANGE, escape(change.orderId()),
+                    escape(change.customerEmail()), escape(change.newStatus()));
+        }
+        Notification.LowStockAlert alert = (Notification.LowStockAlert) notification;
+        return String.join("\t", LOW_STOCK_ALERT, escape(alert.productName()),
+                Integer.toString(alert.currentStock()));
+    }
+
+    static Notification decode(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields[0].equals(ORDER_STATUS_CHANGE) && fields.length == 4) {
+            return new Notification.OrderStatusChange(unescape(fields[1]), unescape(fields[2]), unescape(fields[3]));
+        }
+        if (fields[0].equals(LOW_STOCK_ALERT) && fields.length == 3) {
+            return new Notification.LowStockAlert(unescape(fields[1]), Integer.parseInt(fields[2]));
+        }
+        throw new IllegalArgumentException("Malformed spilled notification: " + line);
+    }
+
+    private static String escape(String value) {
+        if (value == null) return "\\0";
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String value) {
+        if (value.equals("\\0")) return null;
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i + 1 == value.length()) {
+                result.append(c);
+                continue;
+            }
+            char next = value.charAt(++i);
+            result.append(switch (next) {
+                case 't' -> '\t';
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                default -> next;
+            });
+        }
+        return result.toString();
+    }
+}
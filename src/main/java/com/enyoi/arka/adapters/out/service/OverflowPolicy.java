@@ -0,0 +1,29 @@
+package com.enyoi.arka.adapters.out.service;
+
+import java.util.Locale;
+
+/**
+ * Qué hace {@link AsyncNotificationService} con una notificación cuando la cola está llena.
+ */
+public enum OverflowPolicy {
+    /**
+     * El hilo que notifica espera a que haya sitio en la cola.
+     */
+    BLOCK,
+    /**
+     * La notificación se descarta y se cuenta en {@link NotificationMetrics#dropped()}.
+     */
+    DROP,
+    /**
+     * La notificación se escribe en el archivo de desborde y se entrega cuando la cola se vacía.
+     */
+    SPILL;
+
+    public static OverflowPolicy of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown overflow policy: " + name, e);
+        }
+    }
+}
@@ -14,6 +14,9 @@ public class Order {
     private OrderStatus status;
     private final List<OrderItem> items;
     private final LocalDateTime createdAt;
+    private final Long version;
+    private LocalDateTime reservedUntil;
+    private boolean stockReleased;
 
     public Order(Builder builder) {
         this.id = builder.id;
@@ -21,6 +24,9 @@ public class Order {
         this.items = builder.items.isEmpty() ? new ArrayList<>() : builder.items;
         this.status = builder.status.orElse(OrderStatus.PENDIENTE);
         this.createdAt = builder.createdAt.orElse(LocalDateTime.now());
+        this.version = builder.version;
+        this.reservedUntil = builder.reservedUntil;
+        this.stockReleased = builder.stockReleased;
     }
 
     public void addItem(OrderItem item){
@@ -48,9 +54,16 @@ public class Order {
         }
     }
 
+    /**
+     * Al confirmar, el stock queda descontado del todo: la reserva deja de vencer.
+     * Si ya se había devuelto ({@link #isStockReleased()}), quien confirma debe volver
+     * a reservarlo.
+     */
     public void confirm() {
         if (status == OrderStatus.PENDIENTE) {
             status = OrderStatus.CONFIRMADO;
+            reservedUntil = null;
+            stockReleased = false;
         } else {
             throw new IllegalStateException("only pending orders can be confirmed");
         }
@@ -108,12 +121,38 @@ public class Order {
         return createdAt;
     }
 
+    /**
+     * Versión con la que se leyó la orden; {@code null} si aún no se ha guardado.
+     * El repositorio rechaza guardar sobre una versión que ya no es la actual.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Hasta cuándo queda reservado el stock de una orden pendiente; {@code null} si la
+     * reserva no vence.
+     */
+    public LocalDateTime getReservedUntil() {
+        return reservedUntil;
+    }
+
+    /**
+     * Si la reserva de la orden pendiente venció y su stock ya se devolvió.
+     */
+    public boolean isStockReleased() {
+        return stockReleased;
+    }
+
     public static class Builder {
         private OrderId id;
         private CustomerId customerId;
         private List<OrderItem> items = new ArrayList<>();
         private Optional<OrderStatus> status = Optional.empty();
         private Optional<LocalDateTime> createdAt = Optional.empty();
+        private Long version;
+        private LocalDateTime reservedUntil;
+        private boolean stockReleased;
 
         public Builder id(OrderId id){
             this.id = id;
@@ -145,6 +184,21 @@ public class Order {
             return  this;
         }
 
+        public Builder version(Long version) {
+            this.version = version;
+            return this;
+        }
+
+        public Builder reservedUntil(LocalDateTime reservedUntil) {
+            this.reservedUntil = reservedUntil;
+            return this;
+        }
+
+        public Builder stockReleased(boolean stockReleased) {
+            this.stockReleased = stockReleased;
+            return this;
+        }
+
 
         public Order build() {
             Objects.requireNonNull(id, "id is required");
@@ -3,6 +3,9 @@ package com.enyoi.arka.domain.entities;
 import com.enyoi.arka.domain.valueobjects.Money;
 import com.enyoi.arka.domain.valueobjects.ProductId;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 public class OrderItem {
@@ -36,6 +39,17 @@ public class OrderItem {
         return unitPrice.multiply(quantity);
     }
 
+    /**
+     * Suma las cantidades de las líneas que repiten producto, en el orden de las líneas.
+     */
+    public static Map<ProductId, Integer> quantitiesByProduct(Collection<OrderItem> items) {
+        Map<ProductId, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
     public static class Builder {
 
         private ProductId productId;
@@ -12,6 +12,7 @@ public class Product {
     private final Money price;
     private int stock;
     private final ProductCategory category;
+    private final Long version;
 
     public Product(Builder builder) {
         this.id = builder.id;
@@ -20,7 +21,7 @@ public class Product {
         this.price = builder.price;
         this.stock = builder.stock;
         this.category = builder.category;
-
+        this.version = builder.version;
     }
 
     public void reduceStock(int stockToReduce) {
@@ -64,6 +65,14 @@ public class Product {
         return category;
     }
 
+    /**
+     * Versión con la que se leyó el producto; {@code null} si aún no se ha guardado.
+     * El repositorio rechaza guardar sobre una versión que ya no es la actual.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
     public static class Builder {
         private ProductId id;
         private String name;
@@ -71,6 +80,7 @@ public class Product {
         private Money price;
         private int stock;
         private ProductCategory category;
+        private Long version;
 
         public Builder id(ProductId id) {
             this.id = id;
@@ -103,6 +113,11 @@ public class Product {
             return this;
         }
 
+        public Builder version(Long version) {
+            this.version = version;
+            return this;
+        }
+
         public Product build() {
             Objects.requireNonNull(id, "id is required");
             Objects.requireNonNull(name, "name is required");
@@ -0,0 +1,15 @@
+package com.enyoi.arka.domain.exception;
+
+/**
+ * Otro proceso modificó el agregado después de leerlo. La operación puede repetirse
+ * sobre una lectura nueva.
+ */
+public class OptimisticConflictException extends ArkaDomainException {
+    public OptimisticConflictException(String aggregate, String id) {
+        super(aggregate + " " + id + " was modified concurrently");
+    }
+
+    public OptimisticConflictException(String aggregate, String id, Throwable cause) {
+        super(aggregate + " " + id + " was modified concurrently", cause);
+    }
+}
@@ -0,0 +1,21 @@
+package com.enyoi.arka.domain.ports.in;
+
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.OrderId;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versión no bloqueante de los cambios de estado de {@link OrderService}: cada método
+ * devuelve enseguida y el futuro se completa con la orden guardada, o con la misma
+ * excepción que lanzaría la versión bloqueante.
+ */
+public interface AsyncOrderService {
+    CompletableFuture<Order> createOrder(CustomerId customerId, List<OrderItem> items);
+    CompletableFuture<Order> confirmOrder(OrderId id);
+    CompletableFuture<Order> shipOrder(OrderId id);
+    CompletableFuture<Order> deliverOrder(OrderId id);
+}
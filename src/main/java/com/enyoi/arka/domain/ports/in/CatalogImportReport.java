@@ -0,0 +1,31 @@
+package com.enyoi.arka.domain.ports.in;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resultado, parcial o final, de una importación de catálogo.
+ *
+ * @param rejections primeras filas descartadas; {@code rejected} cuenta todas
+ */
+public record CatalogImportReport(long rowsRead,
+                                  long imported,
+                                  long rejected,
+                                  List<RejectedRow> rejections,
+                                  Duration elapsed) {
+
+    public CatalogImportReport {
+        rejections = List.copyOf(rejections);
+    }
+
+    public double rowsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : rowsRead / (nanos / 1_000_000_000.0);
+    }
+
+    /**
+     * @param line número de línea en el archivo, contando la cabecera
+     */
+    public record RejectedRow(long line, String reason) {
+    }
+}
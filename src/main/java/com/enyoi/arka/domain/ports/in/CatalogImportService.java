@@ -0,0 +1,18 @@
+package com.enyoi.arka.domain.ports.in;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+public interface CatalogImportService {
+
+    /**
+     * Importa productos nuevos desde un archivo CSV con cabecera. Las columnas
+     * {@code id, name, price, currency, stock, category} son obligatorias y
+     * {@code description} opcional, en cualquier orden. Las filas inválidas se
+     * descartan y se informan; las válidas se insertan por lotes. Si falla la escritura
+     * de un lote la importación se detiene y los lotes anteriores quedan guardados.
+     *
+     * @param progress recibe el acumulado tras cada lote escrito
+     */
+    CatalogImportReport importProducts(Path file, Consumer<CatalogImportReport> progress);
+}
@@ -5,11 +5,18 @@ import com.enyoi.arka.domain.valueobjects.Money;
 import com.enyoi.arka.domain.valueobjects.ProductId;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface InventoryService {
     Product registerProduct(String name, String description, Money price, int stock, String category);
     Product getProductById(ProductId id);
     List<Product> getAllProducts();
+
+    /**
+     * Recorre el catálogo por páginas; útil para listados largos.
+     */
+    Stream<Product> streamAllProducts();
+
     Product updateStock(ProductId id, int newStock);
     void reduceStock(ProductId id, int quantity);
     List<Product> getLowStockProducts();
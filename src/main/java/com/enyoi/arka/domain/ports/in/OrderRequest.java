@@ -0,0 +1,18 @@
+package com.enyoi.arka.domain.ports.in;
+
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Una orden a crear dentro de un lote de {@link OrderService#createOrders}.
+ */
+public record OrderRequest(CustomerId customerId, List<OrderItem> items) {
+
+    public OrderRequest {
+        Objects.requireNonNull(customerId);
+        items = List.copyOf(items);
+    }
+}
@@ -0,0 +1,34 @@
+package com.enyoi.arka.domain.ports.in;
+
+import com.enyoi.arka.domain.entities.Order;
+
+import java.util.Objects;
+
+/**
+ * Resultado de una petición de {@link OrderService#createOrders}: la orden creada o el
+ * motivo por el que se rechazó.
+ *
+ * @param order   la orden guardada; {@code null} si se rechazó
+ * @param failure el motivo del rechazo; {@code null} si se aceptó
+ */
+public record OrderResult(OrderRequest request, Order order, RuntimeException failure) {
+
+    public OrderResult {
+        Objects.requireNonNull(request);
+        if ((order == null) == (failure == null)) {
+            throw new IllegalArgumentException("Exactly one of order or failure is required");
+        }
+    }
+
+    public static OrderResult accepted(OrderRequest request, Order order) {
+        return new OrderResult(request, Objects.requireNonNull(order), null);
+    }
+
+    public static OrderResult rejected(OrderRequest request, RuntimeException failure) {
+        return new OrderResult(request, null, Objects.requireNonNull(failure));
+    }
+
+    public boolean isAccepted() {
+        return order != null;
+    }
+}
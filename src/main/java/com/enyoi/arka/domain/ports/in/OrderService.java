@@ -5,10 +5,19 @@ import com.enyoi.arka.domain.entities.OrderItem;
 import com.enyoi.arka.domain.valueobjects.CustomerId;
 import com.enyoi.arka.domain.valueobjects.OrderId;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderService {
     Order createOrder(CustomerId customerId, List<OrderItem> items);
+
+    /**
+     * Crea varias órdenes en una pasada. Una petición rechazada no impide crear las demás.
+     *
+     * @return un resultado por petición, en el mismo orden
+     */
+    List<OrderResult> createOrders(List<OrderRequest> requests);
+
     Order getOrderById(OrderId id);
     List<Order> getOrdersByCustomerId(CustomerId customerId);
     Order confirmOrder(OrderId id);
@@ -16,5 +25,21 @@ public interface OrderService {
     Order removeItemFromOrder(OrderId id, OrderItem item);
     Order shipOrder(OrderId id);
     Order deliverOrder(OrderId id);
+
+    /**
+     * Despacha varias órdenes confirmadas a la vez. Si alguna no existe o no está
+     * CONFIRMADO no se despacha ninguna.
+     *
+     * @return las órdenes despachadas, en el orden de los ids
+     */
+    List<Order> shipOrders(Collection<OrderId> ids);
+
+    /**
+     * Entrega varias órdenes en despacho a la vez. Si alguna no existe o no está
+     * EN_DESPACHO no se entrega ninguna.
+     *
+     * @return las órdenes entregadas, en el orden de los ids
+     */
+    List<Order> deliverOrders(Collection<OrderId> ids);
     List<Order> getAllOrders();
 }
@@ -3,14 +3,53 @@ package com.enyoi.arka.domain.ports.out;
 import com.enyoi.arka.domain.entities.Customer;
 import com.enyoi.arka.domain.valueobjects.CustomerId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CustomerRepository {
     Customer save(Customer customer);
+
+    /**
+     * Inserta un cliente nuevo sin comprobar antes si existe; falla si el id ya está en uso.
+     * Usar {@link #save} si puede existir ya.
+     */
+    Customer insert(Customer customer);
+
+    /**
+     * Guarda todos los clientes en una sola transacción.
+     */
+    List<Customer> saveAll(Collection<Customer> customers);
+
     Optional<Customer> findById(CustomerId id);
+
+    /**
+     * Devuelve los clientes existentes entre los ids dados, en cualquier orden. Los ids
+     * inexistentes se ignoran y los repetidos cuentan una vez.
+     */
+    List<Customer> findAllById(Collection<CustomerId> ids);
+
     Optional<Customer> findByEmail(String email);
     List<Customer> findAll();
+
+    /**
+     * Recorre todos los clientes por páginas, sin cargar la tabla completa en memoria.
+     * Cada página se lee con una consulta independiente.
+     */
+    Stream<Customer> streamAll();
+
+    /**
+     * Devuelve hasta {@code limit} clientes con id mayor que {@code afterId}, ordenados
+     * por id. Con {@code afterId} nulo devuelve la primera página.
+     */
+    List<Customer> findPage(CustomerId afterId, int limit);
+
     boolean existsById(CustomerId id);
     void deleteById(CustomerId id);
+
+    /**
+     * Elimina los clientes indicados en una sola transacción; los ids inexistentes se ignoran.
+     */
+    void deleteAllById(Collection<CustomerId> ids);
 }
@@ -0,0 +1,27 @@
+package com.enyoi.arka.domain.ports.out;
+
+/**
+ * Una notificación pendiente de enviar; permite agrupar varias en
+ * {@link NotificationService#notifyBatch}.
+ */
+public sealed interface Notification {
+
+    /**
+     * Envía la notificación por el método individual del servicio.
+     */
+    void sendTo(NotificationService service);
+
+    record OrderStatusChange(String orderId, String customerEmail, String newStatus) implements Notification {
+        @Override
+        public void sendTo(NotificationService service) {
+            service.notifyOrderStatusChange(orderId, customerEmail, newStatus);
+        }
+    }
+
+    record LowStockAlert(String productName, int currentStock) implements Notification {
+        @Override
+        public void sendTo(NotificationService service) {
+            service.notifyLowStockAlert(productName, currentStock);
+        }
+    }
+}
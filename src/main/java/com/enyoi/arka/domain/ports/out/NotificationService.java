@@ -1,6 +1,16 @@
 package com.enyoi.arka.domain.ports.out;
 
+import java.util.List;
+
 public interface NotificationService {
     void notifyOrderStatusChange(String orderId, String customerEmail, String newStatus);
     void notifyLowStockAlert(String productName, int currentStock);
+
+    /**
+     * Envía varias notificaciones de una vez. Por defecto las envía una a una; un canal
+     * que admita envíos agrupados puede sobrescribirlo.
+     */
+    default void notifyBatch(List<Notification> notifications) {
+        notifications.forEach(notification -> notification.sendTo(this));
+    }
 }
@@ -4,17 +4,89 @@ import com.enyoi.arka.domain.entities.Order;
 import com.enyoi.arka.domain.entities.OrderStatus;
 import com.enyoi.arka.domain.valueobjects.CustomerId;
 import com.enyoi.arka.domain.valueobjects.OrderId;
+import com.enyoi.arka.domain.valueobjects.ProductId;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository {
+    /**
+     * Inserta o actualiza la orden y devuelve su estado guardado, con la versión nueva.
+     * Si la orden trae versión y ya no coincide con la guardada lanza
+     * {@link com.enyoi.arka.domain.exception.OptimisticConflictException}; sin versión
+     * la última escritura gana.
+     */
     Order save(Order order);
+
+    /**
+     * Inserta una orden nueva sin comprobar antes si existe; falla si el id ya está en uso.
+     * Usar {@link #save} si puede existir ya.
+     */
+    Order insert(Order order);
+
+    /**
+     * Guarda todas las órdenes en una sola transacción.
+     */
+    List<Order> saveAll(Collection<Order> orders);
+
     Optional<Order> findById(OrderId id);
+
+    /**
+     * Devuelve las órdenes, con sus items, existentes entre los ids dados, en cualquier orden. Los ids
+     * inexistentes se ignoran y los repetidos cuentan una vez.
+     */
+    List<Order> findAllById(Collection<OrderId> ids);
+
     List<Order> findAll();
+
+    /**
+     * Recorre todas las órdenes con sus items por páginas, sin cargar la tabla completa en memoria.
+     * Cada página se lee con una consulta independiente.
+     */
+    Stream<Order> streamAll();
+
+    /**
+     * Devuelve hasta {@code limit} órdenes con sus items con id mayor que {@code afterId}, ordenadas
+     * por id. Con {@code afterId} nulo devuelve la primera página.
+     */
+    List<Order> findPage(OrderId afterId, int limit);
+
+    /**
+     * Pasa a {@code next} las órdenes indicadas que estén en {@code expected}, sin leerlas ni
+     * reescribir sus items, e incrementa su versión. Los ids inexistentes o en otro estado se
+     * ignoran.
+     *
+     * @return los ids de las órdenes que cambiaron
+     */
+    List<OrderId> updateStatus(Collection<OrderId> ids, OrderStatus expected, OrderStatus next);
+
+    /**
+     * Marca que el stock de las órdenes indicadas se devolvió porque su reserva venció en
+     * {@code now} o antes, e incrementa su versión. Los ids inexistentes, que ya no están
+     * pendientes, cuyo stock ya se devolvió o cuya reserva no vence aún se ignoran.
+     *
+     * @return los ids de las órdenes marcadas; solo hay que devolver el stock de esas
+     */
+    List<OrderId> releaseStock(Collection<OrderId> ids, LocalDateTime now);
+
+    /**
+     * Suma por producto las cantidades de los items de las órdenes indicadas, sin cargar las
+     * órdenes. Los ids inexistentes se ignoran y los repetidos cuentan una vez.
+     */
+    Map<ProductId, Integer> sumItemQuantities(Collection<OrderId> ids);
+
     List<Order> findByCustomerId(CustomerId customerId);
     List<Order> findByStatus(OrderStatus status);
     List<Order> findPendingOrders();
     boolean existsById(OrderId id);
     void deleteById(OrderId id);
+
+    /**
+     * Elimina las órdenes indicadas en una sola transacción; los ids inexistentes se ignoran.
+     */
+    void deleteAllById(Collection<OrderId> ids);
 }
@@ -3,15 +3,79 @@ package com.enyoi.arka.domain.ports.out;
 import com.enyoi.arka.domain.entities.Product;
 import com.enyoi.arka.domain.valueobjects.ProductId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductRepository {
+    /**
+     * Inserta o actualiza el producto y devuelve su estado guardado, con la versión nueva.
+     * Si el producto trae versión y ya no coincide con la guardada lanza
+     * {@link com.enyoi.arka.domain.exception.OptimisticConflictException}; sin versión
+     * la última escritura gana.
+     */
     Product save(Product product);
+
+    /**
+     * Inserta un producto nuevo sin comprobar antes si existe; falla si el id ya está en uso.
+     * Usar {@link #save} si puede existir ya.
+     */
+    Product insert(Product product);
+
+    /**
+     * Inserta en lote productos nuevos, sin comprobar antes si existen ni pasar por la
+     * caché. Falla, sin insertar ninguno, si algún id ya está en uso.
+     */
+    void insertAll(Collection<Product> products);
+
+    /**
+     * Guarda todos los productos en una sola transacción.
+     */
+    List<Product> saveAll(Collection<Product> products);
+
     Optional<Product> findById(ProductId id);
+
+    /**
+     * Devuelve los productos existentes entre los ids dados, en cualquier orden. Los ids
+     * inexistentes se ignoran y los repetidos cuentan una vez.
+     */
+    List<Product> findAllById(Collection<ProductId> ids);
+
     List<Product> findAll();
+
+    /**
+     * Recorre todos los productos por páginas, sin cargar la tabla completa en memoria.
+     * Cada página se lee con una consulta independiente.
+     */
+    Stream<Product> streamAll();
+
+    /**
+     * Devuelve hasta {@code limit} productos con id mayor que {@code afterId}, ordenados
+     * por id. Con {@code afterId} nulo devuelve la primera página.
+     */
+    List<Product> findPage(ProductId afterId, int limit);
+
     List<Product> findByCategory(String category);
     List<Product> findLowStockProducts(int threshold);
     boolean existsById(ProductId id);
     void deleteById(ProductId id);
+
+    /**
+     * Elimina los productos indicados en una sola transacción; los ids inexistentes se ignoran.
+     */
+    void deleteAllById(Collection<ProductId> ids);
+
+    /**
+     * Descuenta stock de forma atómica solo si hay suficiente disponible.
+     *
+     * @return {@code true} si se descontó; {@code false} si el producto no existe o
+     * no tiene stock suficiente
+     */
+    boolean tryReserveStock(ProductId id, int quantity);
+
+    /**
+     * Devuelve stock de forma atómica.
+     */
+    void releaseStock(ProductId id, int quantity);
 }
@@ -0,0 +1,18 @@
+package com.enyoi.arka.domain.ports.out;
+
+import java.util.function.Supplier;
+
+/**
+ * Límite transaccional para los casos de uso: todo lo que los repositorios hagan
+ * dentro de {@code execute} se confirma en un único commit o se descarta completo.
+ */
+public interface UnitOfWork {
+    <T> T execute(Supplier<T> work);
+
+    default void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
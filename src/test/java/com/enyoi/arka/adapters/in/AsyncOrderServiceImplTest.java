@@ -0,0 +1,149 @@
+package com.enyoi.arka.adapters.in;
+
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderStatus;
+import com.enyoi.arka.domain.exception.InsufficientStockException;
+import com.enyoi.arka.domain.ports.in.OrderService;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.OrderId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AsyncOrderServiceImpl - Tests")
+class AsyncOrderServiceImplTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private AsyncOrderServiceImpl asyncOrderService;
+
+    @BeforeEach
+    void setUp() {
+        // Un hilo por tarea, como el ejecutor de hilos virtuales
+        asyncOrderService = new AsyncOrderServiceImpl(orderService, 2, Executors.newCachedThreadPool());
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncOrderService.close();
+    }
+
+    private Order crearOrden(String id, OrderStatus estado) {
+        return Order.builder()
+                .id(OrderId.of(id))
+                .customerId(CustomerId.of("cust-001"))
+                .status(estado)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Resultados")
+    class ResultadosTests {
+
+        @Test
+        @DisplayName("Debe completar el futuro con la orden guardada")
+        void debeCompletarConLaOrden() throws Exception {
+            // Given
+            Order confirmada = crearOrden("order-001", OrderStatus.CONFIRMADO);
+            when(orderService.confirmOrder(OrderId.of("order-001"))).thenReturn(confirmada);
+
+            // When
+            Order resultado = asyncOrderService.confirmOrder(OrderId.of("order-001")).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(resultado).isSameAs(confirmada);
+        }
+
+        @Test
+        @DisplayName("Debe completar con la excepción del servicio bloqueante")
+        void debePropagarLaExcepcion() {
+            // Given
+            when(orderService.createOrder(any(), any()))
+                    .thenThrow(new InsufficientStockException("prod-001", 5, 1));
+
+            // When
+            CompletableFuture<Order> futuro = asyncOrderService.createOrder(CustomerId.of("cust-001"), List.of());
+
+            // Then
+            assertThatThrownBy(() -> futuro.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(InsufficientStockException.class);
+        }
+
+        @Test
+        @DisplayName("Debe devolver un futuro fallido después de close()")
+        void debeFallarTrasCerrar() {
+            // Given
+            asyncOrderService.close();
+
+            // When
+            CompletableFuture<Order> futuro = asyncOrderService.shipOrder(OrderId.of("order-001"));
+
+            // Then
+            assertThat(futuro).isCompletedExceptionally();
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrencia")
+    class ConcurrenciaTests {
+
+        @Test
+        @DisplayName("No debe tener más de maxConcurrency operaciones a la vez en el servicio")
+        void debeLimitarLaConcurrencia() throws Exception {
+            // Given
+            AtomicInteger enCurso = new AtomicInteger();
+            AtomicInteger maximo = new AtomicInteger();
+            CountDownLatch barrera = new CountDownLatch(1);
+            when(orderService.deliverOrder(any())).thenAnswer(invocation -> {
+                maximo.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+                barrera.await();
+                enCurso.decrementAndGet();
+                return crearOrden(invocation.<OrderId>getArgument(0).value(), OrderStatus.ENTREGADO);
+            });
+
+            // When
+            List<CompletableFuture<Order>> futuros = IntStream.range(0, 20)
+                    .mapToObj(i -> asyncOrderService.deliverOrder(OrderId.of("order-" + i)))
+                    .toList();
+            Thread.sleep(100);
+            int maximoConBarrera = maximo.get();
+            barrera.countDown();
+            CompletableFuture.allOf(futuros.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(maximoConBarrera).isEqualTo(2);
+            assertThat(maximo.get()).isEqualTo(2);
+            assertThat(futuros).allSatisfy(futuro -> assertThat(futuro.join().getStatus()).isEqualTo(OrderStatus.ENTREGADO));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe usar hilos virtuales solo si el JDK los tiene")
+    void debeDetectarHilosVirtuales() {
+        try (AsyncOrderServiceImpl porDefecto = new AsyncOrderServiceImpl(orderService, 2)) {
+            assertThat(porDefecto.usesVirtualThreads()).isEqualTo(Runtime.version().feature() >= 21);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.enyoi.arka.adapters.in;
+
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.ports.in.CatalogImportReport;
+import com.enyoi.arka.domain.ports.out.ProductRepository;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogImportServiceImpl - Tests")
+class CatalogImportServiceImplTest {
+
+    private static final String CABECERA = "id,name,description,price,currency,stock,category";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private final List<List<Product>> lotes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(inv -> lotes.add(List.copyOf(inv.<Collection<Product>>getArgument(0))))
+                .when(productRepository).insertAll(any());
+    }
+
+    private Path archivo(String... lineas) throws IOException {
+        Path path = tempDir.resolve("catalogo.csv");
+        Files.write(path, List.of(lineas), StandardCharsets.UTF_8);
+        return path;
+    }
+
+    private List<Product> insertados() {
+        return lotes.stream().flatMap(List::stream).toList();
+    }
+
+    private static Product existente(String id) {
+        return Product.builder()
+                .id(ProductId.of(id))
+                .name("Existente")
+                .price(Money.of(new BigDecimal("100"), "COP"))
+                .stock(1)
+                .category(ProductCategory.OTROS)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("importProducts()")
+    class ImportProductsTests {
+
+        @Test
+        @DisplayName("Debe convertir las filas en productos e insertarlos")
+        void debeImportarFilasValidas() throws IOException {
+            // Given
+            Path path = archivo(CABECERA,
+                    "p-1,Teclado,\"Mecánico, RGB\",150000.00,COP,10,PERIFERICOS",
+                    "p-2,\"Disco \"\"SSD\"\"\",,320000,cop,5,almacenamiento");
+            CatalogImportServiceImpl servicio = new CatalogImportServiceImpl(productRepository, 10, 2);
+
+            // When
+            CatalogImportReport reporte = servicio.importProducts(path, parcial -> { });
+
+            // Then
+            assertThat(reporte.imported()).isEqualTo(2);
+            assertThat(reporte.rejected()).isZero();
+            assertThat(insertados()).extracting(Product::getName).containsExactly("Teclado", "Disco \"SSD\"");
+            Product teclado = insertados().get(0);
+            assertThat(teclado.getDescription()).isEqualTo("Mecánico, RGB");
+            assertThat(teclado.getPrice().amount()).isEqualByComparingTo(new BigDecimal("150000"));
+            assertThat(insertados().get(1).getCategory()).isEqualTo(ProductCategory.ALMACENAMIENTO);
+        }
+
+        @Test
+        @DisplayName("Debe descartar las filas inválidas indicando línea y motivo")
+        void debeDescartarFilasInvalidas() throws IOException {
+            // Given
+            Path path = archivo(CABECERA,
+                    "p-1,Teclado,,100,COP,10,PERIFERICOS",
+                    "p-2,Mouse,,abc,COP,10,PERIFERICOS",
+                    "p-3,Mouse,,100,COP,10,JUGUETES",
+                    "p-4,Mouse,,100,COP,-1,PERIFERICOS",
+                    "p-5,Mouse,,-5,COP,1,PERIFERICOS",
+                    "p-6,,,100,COP,1,PERIFERICOS",
+                    "p-7,Mouse,100");
+            CatalogImportServiceImpl servicio = new CatalogImportServiceImpl(productRepository, 10, 2);
+
+            // When
+            CatalogImportReport reporte = servicio.importProducts(path, parcial -> { });
+
+            // Then
+            assertThat(reporte.rowsRead()).isEqualTo(7);
+            assertThat(reporte.imported()).isEqualTo(1);
+            assertThat(reporte.rejected()).isEqualTo(6);
+            assertThat(reporte.rejections())
+                    .extracting(CatalogImportReport.RejectedRow::line)
+                    .containsExactly(3L, 4L, 5L, 6L, 7L, 8L);
+            assertThat(reporte.rejections().get(0).reason()).isEqualTo("Invalid price: abc");
+            assertThat(reporte.rejections().get(1).reason()).isEqualTo("Unknown category: JUGUETES");
+            assertThat(reporte.rejections().get(2).reason()).isEqualTo("Invalid stock: -1");
+        }
+
+        @Test
+        @DisplayName("Debe descartar los ids repetidos o ya existentes sin detener la importación")
+        void debeDescartarIdsRepetidosYExistentes() throws IOException {
+            // Given
+            Path path = archivo(CABECERA,
+                    "p-1,Teclado,,100,COP,10,PERIFERICOS",
+                    "p-2,Mouse,,100,COP,10,PERIFERICOS",
+                    "p-1,Teclado bis,,100,COP,10,PERIFERICOS",
+                    "p-3,Monitor,,100,COP,10,PERIFERICOS",
+                    "p-9,Cable,,100,COP,10,OTROS");
+            when(productRepository.findAllById(any())).thenAnswer(inv -> {
+                Collection<ProductId> ids = inv.getArgument(0);
+                List<Product> existentes = new ArrayList<>();
+                // p-9 ya estaba en la base de datos; los demás solo si se insertaron en un lote anterior
+                if (ids.contains(ProductId.of("p-9"))) existentes.add(existente("p-9"));
+                insertados().stream().filter(producto -> ids.contains(producto.getId())).forEach(existentes::add);
+                return existentes;
+            });
+            CatalogImportServiceImpl servicio = new CatalogImportServiceImpl(productRepository, 2, 1);
+
+            // When
+            CatalogImportReport reporte = servicio.importProducts(path, parcial -> { });
+
+            // Then
+            assertThat(insertados()).extracting(producto -> producto.getId().value()).containsExactly("p-1", "p-2", "p-3");
+            assertThat(reporte.imported()).isEqualTo(3);
+            assertThat(reporte.rejections()).containsExactly(
+                    new CatalogImportReport.RejectedRow(4, "Product already exists: p-1"),
+                    new CatalogImportReport.RejectedRow(6, "Product already exists: p-9"));
+        }
+
+        @Test
+        @DisplayName("Debe descartar un id repetido dentro del mismo lote")
+        void debeDescartarIdRepetidoEnElLote() throws IOException {
+            // Given
+            Path path = archivo(CABECERA,
+                    "p-1,Teclado,,100,COP,10,PERIFERICOS",
+                    "p-1,Teclado bis,,100,COP,10,PERIFERICOS",
+                    "p-2,Mouse,,100,COP,10,PERIFERICOS");
+            CatalogImportServiceImpl servicio = new CatalogImportServiceImpl(productRepository, 10, 1);
+
+            // When
+            CatalogImportReport reporte = servicio.importProducts(path, parcial -> { });
+
+            // Then
+            assertThat(insertados()).extracting(Product::getName).containsExactly("Teclado", "Mouse");
+            assertThat(reporte.rejections()).containsExactly(new CatalogImportReport.RejectedRow(3, "Duplicate id: p-1"));
+        }
+
+        @Test
+        @DisplayName("Debe insertar por lotes, en el orden del archivo, e informar el progreso")
+        void debeInsertarPorLotesEnOrden() throws IOException {
+            // Given
+            List<String> lineas = new ArrayList<>(List.of(CABECERA));
+            IntStream.range(0, 95).forEach(i -> lineas.add("p-%03d,Producto %d,,100,COP,%d,OTROS".formatted(i, i, i)));
+            Path path = archivo(lineas.toArray(String[]::new));
+            CatalogImportServiceImpl servicio = new CatalogImportServiceImpl(productRepository, 10, 3);
+            List<Long> progreso = new ArrayList<>();
+
+            // When
+            CatalogImportReport reporte = servicio.importProducts(path, parcial -> progreso.add(parcial.imported()));
+
+            // Then
+            assertThat(reporte.imported()).isEqualTo(95);
+            assertThat(lotes).hasSize(10).allSatisfy(lote -> assertThat(lote.size()).isLessThanOrEqualTo(10));
+            assertThat(insertados()).extracting(producto -> producto.getId().value())
+                    .containsExactlyElementsOf(IntStream.range(0, 95).mapToObj("p-%03d"::formatted).toList());
+            assertThat(progreso).hasSize(10).isSorted().last().isEqualTo(95L);
+        }
+
+        @Test
+        @DisplayName("Debe aceptar las columnas en cualquier orden y sin descripción")
+        void debeAceptarColumnasEnOtroOrden() throws IOException {
+            // Given
+            Path path = archivo("category,stock,currency,price,name,id", "OTROS,3,COP,10,Cable,p-1");
+            CatalogImportServiceImpl servicio = new CatalogImportServiceImpl(productRepository, 10, 1);
+
+            // When
+            CatalogImportReport reporte = servicio.importProducts(path, parcial -> { });
+
+            // Then
+            assertThat(reporte.imported()).isEqualTo(1);
+            assertThat(insertados().get(0).getStock()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Debe limitar las filas descartadas que guarda el reporte")
+        void debeLimitarFilasDescartadasGuardadas() throws IOException {
+            // Given
+            List<String> lineas = new ArrayList<>(List.of(CABECERA));
+            IntStream.range(0, 150).forEach(i -> lineas.add("p-" + i + ",Producto,,100,COP,1,NINGUNA"));
+            Path path = archivo(lineas.toArray(String[]::new));
+            CatalogImportServiceImpl servicio = new CatalogImportServiceImpl(productRepository, 20, 2);
+
+            // When
+            CatalogImportReport reporte = servicio.importProducts(path, parcial -> { });
+
+            // Then
+            assertThat(reporte.rejected()).isEqualTo(150);
+            assertThat(reporte.rejections()).hasSize(CatalogImportServiceImpl.MAX_REPORTED_REJECTIONS);
+            verify(productRepository, never()).insertAll(any());
+        }
+
+        @Test
+        @DisplayName("Debe rechazar un archivo sin una columna obligatoria")
+        void debeRechazarArchivoSinColumnaObligatoria() throws IOException {
+            // Given
+            Path path = archivo("id,name,price,currency,category", "p-1,Cable,10,COP,OTROS");
+            CatalogImportServiceImpl servicio = new CatalogImportServiceImpl(productRepository, 10, 1);
+
+            // When & Then
+            assertThatThrownBy(() -> servicio.importProducts(path, parcial -> { }))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Missing column: stock");
+        }
+
+        @Test
+        @DisplayName("Debe detenerse si falla la escritura de un lote")
+        void debeDetenerseSiFallaUnLote() throws IOException {
+            // Given
+            List<String> lineas = new ArrayList<>(List.of(CABECERA));
+            IntStream.range(0, 30).forEach(i -> lineas.add("p-" + i + ",Producto,,100,COP,1,OTROS"));
+            Path path = archivo(lineas.toArray(String[]::new));
+            doAnswer(inv -> lotes.add(List.copyOf(inv.<Collection<Product>>getArgument(0))))
+                    .doThrow(new IllegalStateException("id duplicado"))
+                    .when(productRepository).insertAll(any());
+            CatalogImportServiceImpl servicio = new CatalogImportServiceImpl(productRepository, 10, 1);
+
+            // When & Then
+            assertThatThrownBy(() -> servicio.importProducts(path, parcial -> { }))
+                    .isInstanceOf(IllegalStateException.class);
+            verify(productRepository, times(2)).insertAll(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("splitCsv()")
+    class SplitCsvTests {
+
+        @Test
+        @DisplayName("Debe separar campos con comillas, comas y comillas escapadas")
+        void debeSepararCamposConComillas() {
+            assertThat(CatalogImportServiceImpl.splitCsv("a,\"b, c\",\"d \"\"e\"\"\",,f"))
+                    .containsExactly("a", "b, c", "d \"e\"", "", "f");
+        }
+
+        @Test
+        @DisplayName("Debe fallar con comillas sin cerrar")
+        void debeFallarConComillasSinCerrar() {
+            assertThatThrownBy(() -> CatalogImportServiceImpl.splitCsv("a,\"b"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
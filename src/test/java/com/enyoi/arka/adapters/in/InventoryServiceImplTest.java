@@ -2,7 +2,10 @@ package com.enyoi.arka.adapters.in;
 
 import com.enyoi.arka.domain.entities.Product;
 import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.exception.InsufficientStockException;
+import com.enyoi.arka.domain.exception.OptimisticConflictException;
 import com.enyoi.arka.domain.exception.ProductNotFoundException;
+import com.enyoi.arka.domain.ports.out.Notification;
 import com.enyoi.arka.domain.ports.out.NotificationService;
 import com.enyoi.arka.domain.ports.out.ProductRepository;
 import com.enyoi.arka.domain.valueobjects.Money;
@@ -17,8 +20,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -62,7 +67,7 @@ class InventoryServiceImplTest {
         @DisplayName("Debe registrar producto nuevo")
         void debeRegistrarProductoNuevo() {
             // Given
-            when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(productRepository.insert(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
 
             // When
             Product resultado = inventoryService.registerProduct(
@@ -77,7 +82,7 @@ class InventoryServiceImplTest {
             assertThat(resultado).isNotNull();
             assertThat(resultado.getName()).isEqualTo("Teclado");
             assertThat(resultado.getStock()).isEqualTo(50);
-            verify(productRepository).save(any(Product.class));
+            verify(productRepository).insert(any(Product.class));
         }
     }
 
@@ -153,6 +158,35 @@ class InventoryServiceImplTest {
             assertThat(resultado.getStock()).isEqualTo(100);
             verify(productRepository).save(any(Product.class));
         }
+
+        @Test
+        @DisplayName("Debe releer y reintentar si otro proceso cambió el producto")
+        void debeReintentarSiHayConflicto() {
+            // Given
+            RetryPolicy retryPolicy = new RetryPolicy(3, Duration.ZERO, Duration.ZERO);
+            InventoryServiceImpl servicio = new InventoryServiceImpl(productRepository, notificationService, retryPolicy);
+            Product leido = Product.builder()
+                    .id(ProductId.of("prod-001"))
+                    .name("Teclado")
+                    .price(Money.of(new BigDecimal("100000.00"), "COP"))
+                    .stock(50)
+                    .category(ProductCategory.PERIFERICOS)
+                    .version(4L)
+                    .build();
+            when(productRepository.findById(ProductId.of("prod-001"))).thenReturn(Optional.of(leido));
+            when(productRepository.save(any(Product.class)))
+                    .thenThrow(new OptimisticConflictException("Product", "prod-001"))
+                    .thenAnswer(inv -> inv.getArgument(0));
+
+            // When
+            Product resultado = servicio.updateStock(ProductId.of("prod-001"), 100);
+
+            // Then
+            assertThat(resultado.getStock()).isEqualTo(100);
+            assertThat(resultado.getVersion()).isEqualTo(4L);
+            verify(productRepository, times(2)).findById(ProductId.of("prod-001"));
+            assertThat(retryPolicy.metrics()).isEqualTo(new RetryMetrics(1, 1, 0));
+        }
     }
 
     @Nested
@@ -163,15 +197,40 @@ class InventoryServiceImplTest {
         @DisplayName("Debe reducir stock de producto")
         void debeReducirStockDeProducto() {
             // Given
-            Product producto = crearProducto("prod-001", "Teclado", 50);
-            when(productRepository.findById(ProductId.of("prod-001"))).thenReturn(Optional.of(producto));
-            when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(productRepository.tryReserveStock(ProductId.of("prod-001"), 10)).thenReturn(true);
 
             // When
             inventoryService.reduceStock(ProductId.of("prod-001"), 10);
 
             // Then
-            verify(productRepository).save(any(Product.class));
+            verify(productRepository).tryReserveStock(ProductId.of("prod-001"), 10);
+            verify(productRepository, never()).save(any(Product.class));
+        }
+
+        @Test
+        @DisplayName("Debe lanzar excepción si no hay stock suficiente")
+        void debeLanzarExcepcionSiNoHayStockSuficiente() {
+            // Given
+            Product producto = crearProducto("prod-001", "Teclado", 5);
+            when(productRepository.tryReserveStock(ProductId.of("prod-001"), 10)).thenReturn(false);
+            when(productRepository.findById(ProductId.of("prod-001"))).thenReturn(Optional.of(producto));
+
+            // When & Then
+            assertThatThrownBy(() -> inventoryService.reduceStock(ProductId.of("prod-001"), 10))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("available 5");
+        }
+
+        @Test
+        @DisplayName("Debe lanzar excepción si producto no existe")
+        void debeLanzarExcepcionSiProductoNoExiste() {
+            // Given
+            when(productRepository.tryReserveStock(any(), anyInt())).thenReturn(false);
+            when(productRepository.findById(any())).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> inventoryService.reduceStock(ProductId.of("no-existe"), 1))
+                    .isInstanceOf(ProductNotFoundException.class);
         }
     }
 
@@ -201,7 +260,7 @@ class InventoryServiceImplTest {
     class GenerateRestockReportTests {
 
         @Test
-        @DisplayName("Debe notificar por cada producto con stock bajo")
+        @DisplayName("Debe notificar todos los productos con stock bajo en un lote")
         void debeNotificarPorCadaProductoConStockBajo() {
             // Given
             List<Product> productosConStockBajo = List.of(
@@ -214,9 +273,10 @@ class InventoryServiceImplTest {
             inventoryService.generateRestockReport();
 
             // Then
-            verify(notificationService, times(2)).notifyLowStockAlert(anyString(), anyInt());
-            verify(notificationService).notifyLowStockAlert("Producto 1", 5);
-            verify(notificationService).notifyLowStockAlert("Producto 2", 3);
+            verify(notificationService).notifyBatch(List.of(
+                    new Notification.LowStockAlert("Producto 1", 5),
+                    new Notification.LowStockAlert("Producto 2", 3)));
+            verify(notificationService, never()).notifyLowStockAlert(anyString(), anyInt());
         }
 
         @Test
@@ -230,6 +290,7 @@ class InventoryServiceImplTest {
 
             // Then
             verify(notificationService, never()).notifyLowStockAlert(anyString(), anyInt());
+            verify(notificationService, never()).notifyBatch(any());
         }
     }
 
@@ -251,4 +312,25 @@ class InventoryServiceImplTest {
                     .isInstanceOf(NullPointerException.class);
         }
     }
+
+    @Nested
+    @DisplayName("streamAllProducts()")
+    class StreamAllProductsTests {
+
+        @Test
+        @DisplayName("Debe delegar en el recorrido paginado del repositorio")
+        void debeDelegarEnElRepositorio() {
+            // Given
+            when(productRepository.streamAll()).thenReturn(Stream.of(
+                    crearProducto("prod-001", "Producto 1", 10),
+                    crearProducto("prod-002", "Producto 2", 20)));
+
+            // When
+            List<Product> resultado = inventoryService.streamAllProducts().toList();
+
+            // Then
+            assertThat(resultado).hasSize(2);
+            verify(productRepository, never()).findAll();
+        }
+    }
 }
@@ -0,0 +1,861 @@
+package com.enyoi.arka.adapters.in;
+
+import com.enyoi.arka.adapters.out.memory.InMemoryOrderRepository;
+import com.enyoi.arka.adapters.out.memory.InMemoryProductRepository;
+import com.enyoi.arka.domain.entities.Customer;
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.entities.OrderStatus;
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.exception.CustomerNotFoundException;
+import com.enyoi.arka.domain.exception.OptimisticConflictException;
+import com.enyoi.arka.domain.exception.InsufficientStockException;
+import com.enyoi.arka.domain.exception.ProductNotFoundException;
+import com.enyoi.arka.domain.ports.in.OrderRequest;
+import com.enyoi.arka.domain.ports.in.OrderResult;
+import com.enyoi.arka.domain.ports.out.CustomerRepository;
+import com.enyoi.arka.domain.ports.out.Notification;
+import com.enyoi.arka.domain.ports.out.NotificationService;
+import com.enyoi.arka.domain.ports.out.OrderRepository;
+import com.enyoi.arka.domain.ports.out.ProductRepository;
+import com.enyoi.arka.domain.ports.out.UnitOfWork;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Email;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.OrderId;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderServiceImpl - Tests")
+class OrderServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private RecordingUnitOfWork unitOfWork;
+    private OrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() {
+        unitOfWork = new RecordingUnitOfWork();
+        orderService = new OrderServiceImpl(orderRepository, productRepository, customerRepository,
+                notificationService, unitOfWork);
+    }
+
+    /**
+     * UnitOfWork de prueba que cuenta las transacciones y registra si hay una abierta.
+     */
+    private static class RecordingUnitOfWork implements UnitOfWork {
+        private int transactions;
+        private boolean open;
+
+        @Override
+        public <T> T execute(Supplier<T> work) {
+            transactions++;
+            open = true;
+            try {
+                return work.get();
+            } finally {
+                open = false;
+            }
+        }
+    }
+
+    private Customer crearCliente(String id) {
+        return Customer.builder()
+                .id(CustomerId.of(id))
+                .name("Cliente")
+                .email(Email.of("cliente@arka.com"))
+                .city("Bogotá")
+                .build();
+    }
+
+    private Product crearProducto(String id, int stock) {
+        return Product.builder()
+                .id(ProductId.of(id))
+                .name("Producto " + id)
+                .description("Descripción")
+                .price(Money.of(new BigDecimal("1000.00"), "COP"))
+                .stock(stock)
+                .category(ProductCategory.PERIFERICOS)
+                .build();
+    }
+
+    private OrderItem crearItem(String productId, int cantidad) {
+        return OrderItem.builder()
+                .productId(ProductId.of(productId))
+                .quantity(cantidad)
+                .unitPrice(Money.of(new BigDecimal("1000.00"), "COP"))
+                .build();
+    }
+
+    private Order crearOrden(String id, OrderStatus status) {
+        return Order.builder()
+                .id(OrderId.of(id))
+                .customerId(CustomerId.of("cust-001"))
+                .items(new ArrayList<>(List.of(crearItem("prod-001", 1))))
+                .status(status)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("createOrder()")
+    class CreateOrderTests {
+
+        @Test
+        @DisplayName("Debe reservar stock y guardar la orden en una sola transacción")
+        void debeCrearOrdenEnUnaSolaTransaccion() {
+            // Given
+            when(customerRepository.findById(CustomerId.of("cust-001"))).thenReturn(Optional.of(crearCliente("cust-001")));
+            when(productRepository.tryReserveStock(any(ProductId.class), anyInt())).thenAnswer(inv -> {
+                assertThat(unitOfWork.open).isTrue();
+                return true;
+            });
+            when(orderRepository.insert(any(Order.class))).thenAnswer(inv -> {
+                assertThat(unitOfWork.open).isTrue();
+                return inv.getArgument(0);
+            });
+
+            // When
+            Order resultado = orderService.createOrder(CustomerId.of("cust-001"),
+                    new ArrayList<>(List.of(crearItem("prod-001", 2), crearItem("prod-002", 3))));
+
+            // Then
+            assertThat(resultado.getStatus()).isEqualTo(OrderStatus.PENDIENTE);
+            assertThat(unitOfWork.transactions).isEqualTo(1);
+            verify(productRepository).tryReserveStock(ProductId.of("prod-001"), 2);
+            verify(productRepository).tryReserveStock(ProductId.of("prod-002"), 3);
+            verify(productRepository, never()).save(any(Product.class));
+        }
+
+        @Test
+        @DisplayName("Debe reservar una sola vez las líneas que repiten producto, sin leer productos")
+        void debeAgruparLineasDelMismoProducto() {
+            // Given
+            when(customerRepository.findById(any())).thenReturn(Optional.of(crearCliente("cust-001")));
+            when(productRepository.tryReserveStock(any(ProductId.class), anyInt())).thenReturn(true);
+            when(orderRepository.insert(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            // When
+            Order resultado = orderService.createOrder(CustomerId.of("cust-001"), new ArrayList<>(List.of(
+                    crearItem("prod-001", 2), crearItem("prod-002", 1), crearItem("prod-001", 3))));
+
+            // Then
+            assertThat(resultado.getItems()).hasSize(3);
+            verify(productRepository).tryReserveStock(ProductId.of("prod-001"), 5);
+            verify(productRepository).tryReserveStock(ProductId.of("prod-002"), 1);
+            verifyNoMoreInteractions(productRepository);
+        }
+
+        @Test
+        @DisplayName("Debe notificar después de confirmar la transacción")
+        void debeNotificarDespuesDeLaTransaccion() {
+            // Given
+            when(customerRepository.findById(any())).thenReturn(Optional.of(crearCliente("cust-001")));
+            when(productRepository.tryReserveStock(any(ProductId.class), anyInt())).thenReturn(true);
+            when(orderRepository.insert(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+            doAnswer(inv -> {
+                assertThat(unitOfWork.open).isFalse();
+                return null;
+            }).when(notificationService).notifyOrderStatusChange(anyString(), anyString(), anyString());
+
+            // When
+            Order resultado = orderService.createOrder(CustomerId.of("cust-001"),
+                    new ArrayList<>(List.of(crearItem("prod-001", 1))));
+
+            // Then
+            verify(notificationService).notifyOrderStatusChange(resultado.getId().value(), "cliente@arka.com", "PENDIENTE");
+        }
+
+        @Test
+        @DisplayName("Debe fallar si el cliente no existe")
+        void debeFallarSiClienteNoExiste() {
+            // Given
+            when(customerRepository.findById(any())).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> orderService.createOrder(CustomerId.of("cust-999"),
+                    new ArrayList<>(List.of(crearItem("prod-001", 1)))))
+                    .isInstanceOf(RuntimeException.class);
+            verify(orderRepository, never()).insert(any());
+            verify(productRepository, never()).tryReserveStock(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Debe fallar si el producto no existe")
+        void debeFallarSiProductoNoExiste() {
+            // Given
+            when(customerRepository.findById(any())).thenReturn(Optional.of(crearCliente("cust-001")));
+            when(productRepository.tryReserveStock(any(ProductId.class), anyInt())).thenReturn(false);
+            when(productRepository.findById(any())).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> orderService.createOrder(CustomerId.of("cust-001"),
+                    new ArrayList<>(List.of(crearItem("no-existe", 1)))))
+                    .isInstanceOf(ProductNotFoundException.class);
+            verify(orderRepository, never()).insert(any());
+        }
+
+        @Test
+        @DisplayName("Debe fallar si no hay stock suficiente")
+        void debeFallarSiNoHayStockSuficiente() {
+            // Given
+            when(customerRepository.findById(any())).thenReturn(Optional.of(crearCliente("cust-001")));
+            when(productRepository.tryReserveStock(any(ProductId.class), anyInt())).thenReturn(false);
+            when(productRepository.findById(any())).thenAnswer(inv -> Optional.of(crearProducto("prod-001", 1)));
+
+            // When & Then
+            assertThatThrownBy(() -> orderService.createOrder(CustomerId.of("cust-001"),
+                    new ArrayList<>(List.of(crearItem("prod-001", 5)))))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("available 1");
+            verify(orderRepository, never()).insert(any());
+            verify(notificationService, never()).notifyOrderStatusChange(anyString(), anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Debe devolver el stock ya reservado si un item posterior falla")
+        void debeDevolverStockReservadoSiUnItemFalla() {
+            // Given
+            when(customerRepository.findById(any())).thenReturn(Optional.of(crearCliente("cust-001")));
+            when(productRepository.tryReserveStock(ProductId.of("prod-001"), 2)).thenReturn(true);
+            when(productRepository.tryReserveStock(ProductId.of("prod-002"), 3)).thenReturn(false);
+            when(productRepository.findById(ProductId.of("prod-002"))).thenReturn(Optional.of(crearProducto("prod-002", 0)));
+
+            // When & Then
+            assertThatThrownBy(() -> orderService.createOrder(CustomerId.of("cust-001"),
+                    new ArrayList<>(List.of(crearItem("prod-001", 2), crearItem("prod-002", 3)))))
+                    .isInstanceOf(InsufficientStockException.class);
+            verify(productRepository).releaseStock(ProductId.of("prod-001"), 2);
+            verify(productRepository, never()).releaseStock(eq(ProductId.of("prod-002")), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("createOrders()")
+    class CreateOrdersTests {
+
+        private OrderRequest peticion(String customerId, OrderItem... items) {
+            return new OrderRequest(CustomerId.of(customerId), List.of(items));
+        }
+
+        @Test
+        @DisplayName("Debe aceptar y rechazar cada orden por separado con una sola lectura por lote")
+        void debeEvaluarCadaOrdenContraUnaSolaLectura() {
+            // Given
+            when(customerRepository.findAllById(any())).thenReturn(List.of(crearCliente("cust-001")));
+            when(productRepository.findAllById(any())).thenReturn(List.of(
+                    crearProducto("prod-001", 5), crearProducto("prod-002", 10)));
+            when(productRepository.tryReserveStock(any(ProductId.class), anyInt())).thenReturn(true);
+            when(orderRepository.insert(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+            List<OrderRequest> peticiones = List.of(
+                    peticion("cust-001", crearItem("prod-001", 3)),
+                    peticion("cust-001", crearItem("prod-001", 3)),
+                    peticion("cust-999", crearItem("prod-002", 1)),
+                    peticion("cust-001", crearItem("no-existe", 1)),
+                    peticion("cust-001", crearItem("prod-002", 1), crearItem("prod-002", 1)));
+
+            // When
+            List<OrderResult> resultados = orderService.createOrders(peticiones);
+
+            // Then
+            assertThat(resultados).extracting(OrderResult::request).containsExactlyElementsOf(peticiones);
+            assertThat(resultados).extracting(OrderResult::isAccepted).containsExactly(true, false, false, false, true);
+            assertThat(resultados.get(1).failure()).isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("available 2");
+            assertThat(resultados.get(2).failure()).isInstanceOf(CustomerNotFoundException.class);
+            assertThat(resultados.get(3).failure()).isInstanceOf(ProductNotFoundException.class);
+            assertThat(unitOfWork.transactions).isEqualTo(1);
+            verify(customerRepository, never()).findById(any());
+            verify(productRepository).findAllById(any());
+            verify(productRepository).tryReserveStock(ProductId.of("prod-001"), 3);
+            verify(productRepository).tryReserveStock(ProductId.of("prod-002"), 2);
+            verify(orderRepository, times(2)).insert(any(Order.class));
+        }
+
+        @Test
+        @DisplayName("Debe notificar las órdenes aceptadas en un solo lote al terminar")
+        void debeNotificarEnUnLote() {
+            // Given
+            when(customerRepository.findAllById(any())).thenReturn(List.of(crearCliente("cust-001")));
+            when(productRepository.findAllById(any())).thenReturn(List.of(crearProducto("prod-001", 10)));
+            when(productRepository.tryReserveStock(any(ProductId.class), anyInt())).thenReturn(true);
+            when(orderRepository.insert(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+            doAnswer(inv -> {
+                assertThat(unitOfWork.open).isFalse();
+                return null;
+            }).when(notificationService).notifyBatch(any());
+
+            // When
+            List<OrderResult> resultados = orderService.createOrders(List.of(
+                    peticion("cust-001", crearItem("prod-001", 1)),
+                    peticion("cust-001", crearItem("prod-001", 1))));
+
+            // Then
+            verify(notificationService).notifyBatch(resultados.stream()
+                    .<Notification>map(resultado -> new Notification.OrderStatusChange(
+                            resultado.order().getId().value(), "cliente@arka.com", "PENDIENTE"))
+                    .toList());
+            verify(notificationService, never()).notifyOrderStatusChange(anyString(), anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Debe releer el lote si el stock cambió después de la lectura")
+        void debeReleerSiElStockCambio() {
+            // Given
+            OrderServiceImpl servicio = new OrderServiceImpl(orderRepository, productRepository, customerRepository,
+                    notificationService, unitOfWork, new RetryPolicy(3, Duration.ZERO, Duration.ZERO));
+            when(customerRepository.findAllById(any())).thenReturn(List.of(crearCliente("cust-001")));
+            when(productRepository.findAllById(any()))
+                    .thenReturn(List.of(crearProducto("prod-001", 10), crearProducto("prod-002", 10)))
+                    .thenReturn(List.of(crearProducto("prod-001", 10), crearProducto("prod-002", 0)));
+            when(productRepository.tryReserveStock(ProductId.of("prod-001"), 1)).thenReturn(true);
+            when(productRepository.tryReserveStock(ProductId.of("prod-002"), 1)).thenReturn(false);
+            when(orderRepository.insert(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            // When
+            List<OrderResult> resultados = servicio.createOrders(List.of(
+                    peticion("cust-001", crearItem("prod-001", 1)),
+                    peticion("cust-001", crearItem("prod-002", 1))));
+
+            // Then
+            assertThat(resultados).extracting(OrderResult::isAccepted).containsExactly(true, false);
+            assertThat(resultados.get(1).failure()).isInstanceOf(InsufficientStockException.class);
+            assertThat(unitOfWork.transactions).isEqualTo(2);
+            verify(productRepository).releaseStock(ProductId.of("prod-001"), 1);
+            verify(orderRepository, times(1)).insert(any(Order.class));
+        }
+
+        @Test
+        @DisplayName("No debe tocar los repositorios con un lote vacío")
+        void noDebeTocarRepositoriosConLoteVacio() {
+            assertThat(orderService.createOrders(List.of())).isEmpty();
+            verifyNoInteractions(customerRepository, productRepository, orderRepository, notificationService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cambios de estado")
+    class StatusTransitionTests {
+
+        @Test
+        @DisplayName("Debe confirmar una orden pendiente y notificar")
+        void debeConfirmarOrdenPendiente() {
+            // Given
+            when(orderRepository.findById(OrderId.of("order-001"))).thenReturn(Optional.of(crearOrden("order-001", OrderStatus.PENDIENTE)));
+            when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(customerRepository.findById(any())).thenReturn(Optional.of(crearCliente("cust-001")));
+
+            // When
+            Order resultado = orderService.confirmOrder(OrderId.of("order-001"));
+
+            // Then
+            assertThat(resultado.getStatus()).isEqualTo(OrderStatus.CONFIRMADO);
+            verify(notificationService).notifyOrderStatusChange("order-001", "cliente@arka.com", "CONFIRMADO");
+        }
+
+        @Test
+        @DisplayName("Debe enviar una orden confirmada")
+        void debeEnviarOrdenConfirmada() {
+            // Given
+            when(orderRepository.findById(OrderId.of("order-001"))).thenReturn(Optional.of(crearOrden("order-001", OrderStatus.CONFIRMADO)));
+            when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(customerRepository.findById(any())).thenReturn(Optional.of(crearCliente("cust-001")));
+
+            // When
+            Order resultado = orderService.shipOrder(OrderId.of("order-001"));
+
+            // Then
+            assertThat(resultado.getStatus()).isEqualTo(OrderStatus.EN_DESPACHO);
+        }
+
+        @Test
+        @DisplayName("Debe entregar una orden enviada")
+        void debeEntregarOrdenEnviada() {
+            // Given
+            when(orderRepository.findById(OrderId.of("order-001"))).thenReturn(Optional.of(crearOrden("order-001", OrderStatus.EN_DESPACHO)));
+            when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(customerRepository.findById(any())).thenReturn(Optional.of(crearCliente("cust-001")));
+
+            // When
+            Order resultado = orderService.deliverOrder(OrderId.of("order-001"));
+
+            // Then
+            assertThat(resultado.getStatus()).isEqualTo(OrderStatus.ENTREGADO);
+        }
+
+        @Test
+        @DisplayName("No debe enviar una orden pendiente")
+        void noDebeEnviarOrdenPendiente() {
+            // Given
+            when(orderRepository.findById(any())).thenReturn(Optional.of(crearOrden("order-001", OrderStatus.PENDIENTE)));
+
+            // When & Then
+            assertThatThrownBy(() -> orderService.shipOrder(OrderId.of("order-001")))
+                    .isInstanceOf(IllegalStateException.class);
+            verify(orderRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Reintentos por conflicto de concurrencia")
+    class RetryTests {
+
+        private RetryPolicy retryPolicy;
+
+        @BeforeEach
+        void setUp() {
+            retryPolicy = new RetryPolicy(2, Duration.ZERO, Duration.ZERO);
+            orderService = new OrderServiceImpl(orderRepository, productRepository, customerRepository,
+                    notificationService, unitOfWork, retryPolicy);
+        }
+
+        @Test
+        @DisplayName("Debe releer la orden, reaplicar el cambio y notificar una sola vez")
+        void debeReaplicarCambioTrasConflicto() {
+            // Given
+            when(orderRepository.findById(OrderId.of("order-001")))
+                    .thenReturn(Optional.of(crearOrden("order-001", OrderStatus.PENDIENTE)))
+                    .thenReturn(Optional.of(crearOrden("order-001", OrderStatus.PENDIENTE)));
+            when(orderRepository.save(any(Order.class)))
+                    .thenThrow(new OptimisticConflictException("Order", "order-001"))
+                    .thenAnswer(inv -> inv.getArgument(0));
+            when(customerRepository.findById(any())).thenReturn(Optional.of(crearCliente("cust-001")));
+
+            // When
+            Order resultado = orderService.confirmOrder(OrderId.of("order-001"));
+
+            // Then
+            assertThat(resultado.getStatus()).isEqualTo(OrderStatus.CONFIRMADO);
+            verify(orderRepository, times(2)).findById(OrderId.of("order-001"));
+            verify(notificationService, times(1)).notifyOrderStatusChange("order-001", "cliente@arka.com", "CONFIRMADO");
+            assertThat(retryPolicy.metrics()).isEqualTo(new RetryMetrics(1, 1, 0));
+        }
+
+        @Test
+        @DisplayName("Debe propagar el conflicto sin notificar al agotar los intentos")
+        void debePropagarConflictoAlAgotarIntentos() {
+            // Given
+            when(orderRepository.findById(OrderId.of("order-001")))
+                    .thenAnswer(inv -> Optional.of(crearOrden("order-001", OrderStatus.CONFIRMADO)));
+            when(orderRepository.save(any(Order.class))).thenThrow(new OptimisticConflictException("Order", "order-001"));
+
+            // When & Then
+            assertThatThrownBy(() -> orderService.shipOrder(OrderId.of("order-001")))
+                    .isInstanceOf(OptimisticConflictException.class);
+            verify(notificationService, never()).notifyOrderStatusChange(anyString(), anyString(), anyString());
+            assertThat(retryPolicy.metrics()).isEqualTo(new RetryMetrics(2, 1, 1));
+        }
+
+        @Test
+        @DisplayName("Debe repetir la transacción completa al quitar un item")
+        void debeRepetirTransaccionAlQuitarItem() {
+            // Given
+            Order orden = crearOrden("order-001", OrderStatus.PENDIENTE);
+            OrderItem item = orden.getItems().get(0);
+            when(orderRepository.findById(orden.getId())).thenAnswer(inv -> Optional.of(Order.builder()
+                    .id(orden.getId())
+                    .customerId(orden.getCustomerId())
+                    .items(new ArrayList<>(List.of(item)))
+                    .build()));
+            when(orderRepository.save(any(Order.class)))
+                    .thenThrow(new OptimisticConflictException("Order", "order-001"))
+                    .thenAnswer(inv -> inv.getArgument(0));
+
+            // When
+            orderService.removeItemFromOrder(orden.getId(), item);
+
+            // Then
+            assertThat(unitOfWork.transactions).isEqualTo(2);
+            verify(productRepository, times(1)).releaseStock(item.getProductId(), item.getQuantity());
+        }
+    }
+
+    @Nested
+    @DisplayName("removeItemFromOrder()")
+    class RemoveItemTests {
+
+        @Test
+        @DisplayName("Debe devolver el stock y guardar la orden en la misma transacción")
+        void debeDevolverStockEnLaMismaTransaccion() {
+            // Given
+            Order orden = crearOrden("order-001", OrderStatus.PENDIENTE);
+            OrderItem item = orden.getItems().get(0);
+            Order ordenConItem = Order.builder()
+                    .id(orden.getId())
+                    .customerId(orden.getCustomerId())
+                    .items(new ArrayList<>(List.of(item)))
+                    .build();
+            when(orderRepository.findById(orden.getId())).thenReturn(Optional.of(ordenConItem));
+            when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            // When
+            Order resultado = orderService.removeItemFromOrder(orden.getId(), item);
+
+            // Then
+            assertThat(resultado.getItems()).isEmpty();
+            assertThat(unitOfWork.transactions).isEqualTo(1);
+            InOrder enOrden = inOrder(productRepository, orderRepository);
+            enOrden.verify(orderRepository).save(eq(resultado));
+            enOrden.verify(productRepository).releaseStock(item.getProductId(), item.getQuantity());
+        }
+    }
+
+    @Nested
+    @DisplayName("shipOrders() y deliverOrders()")
+    class BulkTransitionTests {
+
+        private final List<OrderId> ids = List.of(OrderId.of("order-001"), OrderId.of("order-002"));
+
+        @Test
+        @DisplayName("Debe despachar todas con un solo cambio de estado y notificar en un lote")
+        void debeDespacharTodasEnUnaOperacion() {
+            // Given
+            when(orderRepository.findAllById(ids))
+                    .thenReturn(List.of(
+                            crearOrden("order-002", OrderStatus.CONFIRMADO), crearOrden("order-001", OrderStatus.CONFIRMADO)))
+                    .thenReturn(List.of(
+                            crearOrden("order-002", OrderStatus.EN_DESPACHO), crearOrden("order-001", OrderStatus.EN_DESPACHO)));
+            when(orderRepository.updateStatus(ids, OrderStatus.CONFIRMADO, OrderStatus.EN_DESPACHO)).thenReturn(ids);
+            when(customerRepository.findAllById(any())).thenReturn(List.of(crearCliente("cust-001")));
+
+            // When
+            List<Order> resultado = orderService.shipOrders(List.of(OrderId.of("order-001"), OrderId.of("order-002"),
+                    OrderId.of("order-001")));
+
+            // Then
+            assertThat(resultado).extracting(order -> order.getId().value()).containsExactly("order-001", "order-002");
+            assertThat(resultado).allSatisfy(order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.EN_DESPACHO));
+            assertThat(unitOfWork.transactions).isEqualTo(1);
+            verify(orderRepository, never()).save(any());
+            verify(notificationService).notifyBatch(List.of(
+                    new Notification.OrderStatusChange("order-001", "cliente@arka.com", "EN_DESPACHO"),
+                    new Notification.OrderStatusChange("order-002", "cliente@arka.com", "EN_DESPACHO")));
+        }
+
+        @Test
+        @DisplayName("No debe despachar ninguna si alguna no está confirmada")
+        void noDebeDespacharSiAlgunaNoEstaConfirmada() {
+            // Given
+            when(orderRepository.findAllById(ids)).thenReturn(List.of(
+                    crearOrden("order-001", OrderStatus.CONFIRMADO), crearOrden("order-002", OrderStatus.PENDIENTE)));
+
+            // When & Then
+            assertThatThrownBy(() -> orderService.shipOrders(ids))
+                    .isInstanceOf(IllegalStateException.class);
+            verify(orderRepository, never()).updateStatus(any(), any(), any());
+            verify(notificationService, never()).notifyBatch(any());
+        }
+
+        @Test
+        @DisplayName("Debe fallar si alguna orden no existe")
+        void debeFallarSiAlgunaOrdenNoExiste() {
+            // Given
+            when(orderRepository.findAllById(ids)).thenReturn(List.of(crearOrden("order-001", OrderStatus.EN_DESPACHO)));
+
+            // When & Then
+            assertThatThrownBy(() -> orderService.deliverOrders(ids))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("order-002");
+            verify(orderRepository, never()).updateStatus(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Debe deshacer lo aplicado y reintentar si otra escritura cambió alguna orden")
+        void debeReintentarSiOtraEscrituraCambioAlgunaOrden() {
+            // Given
+            RetryPolicy retryPolicy = new RetryPolicy(2, Duration.ZERO, Duration.ZERO);
+            orderService = new OrderServiceImpl(orderRepository, productRepository, customerRepository,
+                    notificationService, unitOfWork, retryPolicy);
+            Answer<List<Order>> despachadas = inv -> List.of(
+                    crearOrden("order-001", OrderStatus.EN_DESPACHO), crearOrden("order-002", OrderStatus.EN_DESPACHO));
+            when(orderRepository.findAllById(ids))
+                    .thenAnswer(despachadas)
+                    .thenAnswer(despachadas)
+                    .thenReturn(List.of(
+                            crearOrden("order-001", OrderStatus.ENTREGADO), crearOrden("order-002", OrderStatus.ENTREGADO)));
+            when(orderRepository.updateStatus(ids, OrderStatus.EN_DESPACHO, OrderStatus.ENTREGADO))
+                    .thenReturn(List.of(OrderId.of("order-001")))
+                    .thenReturn(ids);
+            when(customerRepository.findAllById(any())).thenReturn(List.of(crearCliente("cust-001")));
+
+            // When
+            List<Order> resultado = orderService.deliverOrders(ids);
+
+            // Then
+            assertThat(resultado).allSatisfy(order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.ENTREGADO));
+            verify(orderRepository).updateStatus(List.of(OrderId.of("order-001")), OrderStatus.ENTREGADO, OrderStatus.EN_DESPACHO);
+            assertThat(unitOfWork.transactions).isEqualTo(2);
+            assertThat(retryPolicy.metrics()).isEqualTo(new RetryMetrics(1, 1, 0));
+        }
+
+        @Test
+        @DisplayName("Debe fallar sin notificar si falta el cliente de alguna orden")
+        void debeFallarSiFaltaElCliente() {
+            // Given
+            when(orderRepository.findAllById(ids))
+                    .thenReturn(List.of(
+                            crearOrden("order-001", OrderStatus.CONFIRMADO), crearOrden("order-002", OrderStatus.CONFIRMADO)))
+                    .thenReturn(List.of(
+                            crearOrden("order-001", OrderStatus.EN_DESPACHO), crearOrden("order-002", OrderStatus.EN_DESPACHO)));
+            when(orderRepository.updateStatus(ids, OrderStatus.CONFIRMADO, OrderStatus.EN_DESPACHO)).thenReturn(ids);
+            when(customerRepository.findAllById(any())).thenReturn(List.of());
+
+            // When & Then
+            assertThatThrownBy(() -> orderService.shipOrders(ids))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("Customer not found");
+            verify(notificationService, never()).notifyBatch(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Reservas con vencimiento")
+    class ReservationTests {
+        private static final ProductId TECLADO = ProductId.of("prod-001");
+        private static final ProductId MOUSE = ProductId.of("prod-002");
+        private static final ReservationSettings SETTINGS =
+                new ReservationSettings(Duration.ofMinutes(15), Duration.ofSeconds(1), 8);
+
+        private InMemoryOrderRepository orders;
+        private InMemoryProductRepository products;
+        private ManualClock clock;
+        private StockReservations reservations;
+
+        @BeforeEach
+        void setUp() {
+            orders = new InMemoryOrderRepository();
+            products = new InMemoryProductRepository();
+            products.insert(crearProducto("prod-001", 10));
+            products.insert(crearProducto("prod-002", 10));
+            clock = new ManualClock();
+            reservations = new StockReservations(orders, products, unitOfWork, SETTINGS, clock);
+            orderService = servicioCon(reservations);
+            lenient().when(customerRepository.findById(any())).thenReturn(Optional.of(crearCliente("cust-001")));
+        }
+
+        private OrderServiceImpl servicioCon(StockReservations reservations) {
+            return new OrderServiceImpl(orders, products, customerRepository, notificationService, unitOfWork,
+                    RetryPolicy.defaults(), reservations);
+        }
+
+        private int stock(ProductId productId) {
+            return products.findById(productId).orElseThrow().getStock();
+        }
+
+        private Order crearOrdenPendiente() {
+            return orderService.createOrder(CustomerId.of("cust-001"),
+                    new ArrayList<>(List.of(crearItem("prod-001", 2))));
+        }
+
+        private void vencer() {
+            clock.advance(Duration.ofMinutes(15));
+            reservations.expireDue();
+        }
+
+        @Test
+        @DisplayName("Debe guardar el vencimiento y retener el stock de la orden creada")
+        void debeRetenerStockDeLaOrdenCreada() {
+            // When
+            Order orden = crearOrdenPendiente();
+
+            // Then
+            assertThat(orden.getReservedUntil()).isEqualTo(LocalDateTime.now(clock).plusMinutes(15));
+            assertThat(orden.isStockReleased()).isFalse();
+            assertThat(reservations.held(TECLADO)).isEqualTo(2);
+            assertThat(stock(TECLADO)).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("Debe confirmar sin volver a reservar si la reserva sigue vigente")
+        void debeConfirmarSinVolverAReservar() {
+            // Given
+            Order orden = crearOrdenPendiente();
+
+            // When
+            Order resultado = orderService.confirmOrder(orden.getId());
+            clock.advance(Duration.ofMinutes(15));
+
+            // Then
+            assertThat(resultado.getStatus()).isEqualTo(OrderStatus.CONFIRMADO);
+            assertThat(resultado.getReservedUntil()).isNull();
+            assertThat(reservations.expireDue()).isZero();
+            assertThat(stock(TECLADO)).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("Debe volver a reservar el stock al confirmar una orden vencida")
+        void debeVolverAReservarAlConfirmarOrdenVencida() {
+            // Given
+            Order orden = crearOrdenPendiente();
+            vencer();
+            assertThat(stock(TECLADO)).isEqualTo(10);
+
+            // When
+            Order resultado = orderService.confirmOrder(orden.getId());
+
+            // Then
+            assertThat(resultado.getStatus()).isEqualTo(OrderStatus.CONFIRMADO);
+            assertThat(resultado.isStockReleased()).isFalse();
+            assertThat(stock(TECLADO)).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("No debe confirmar una orden vencida si ya no hay stock")
+        void noDebeConfirmarOrdenVencidaSinStock() {
+            // Given
+            Order orden = crearOrdenPendiente();
+            vencer();
+            products.tryReserveStock(TECLADO, 9);
+
+            // When & Then
+            assertThatThrownBy(() -> orderService.confirmOrder(orden.getId()))
+                    .isInstanceOf(InsufficientStockException.class);
+            assertThat(orders.findById(orden.getId()).orElseThrow().isPending()).isTrue();
+            assertThat(stock(TECLADO)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Tras reiniciar debe devolver una sola vez el stock vencido y descontarlo una sola vez al confirmar")
+        void debeDescontarUnaSolaVezTrasReiniciar() {
+            // Given
+            Order orden = crearOrdenPendiente();
+            clock.advance(Duration.ofMinutes(20));
+            StockReservations reiniciadas = new StockReservations(orders, products, unitOfWork, SETTINGS, clock);
+            reiniciadas.restore(orders.findPendingOrders());
+            clock.advance(Duration.ofSeconds(1));
+            assertThat(reiniciadas.expireDue()).isEqualTo(1);
+            StockReservations otroReinicio = new StockReservations(orders, products, unitOfWork, SETTINGS, clock);
+            otroReinicio.restore(orders.findPendingOrders());
+            clock.advance(Duration.ofSeconds(1));
+            assertThat(otroReinicio.expireDue()).isZero();
+            assertThat(stock(TECLADO)).isEqualTo(10);
+
+            // When
+            servicioCon(otroReinicio).confirmOrder(orden.getId());
+
+            // Then
+            assertThat(stock(TECLADO)).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("Debe incluir en la reserva el item agregado")
+        void debeIncluirEnLaReservaElItemAgregado() {
+            // Given
+            Order orden = crearOrdenPendiente();
+
+            // When
+            orderService.addItemToOrder(orden.getId(), crearItem("prod-002", 3));
+
+            // Then
+            assertThat(stock(MOUSE)).isEqualTo(7);
+            assertThat(reservations.held(MOUSE)).isEqualTo(3);
+            vencer();
+            assertThat(stock(TECLADO)).isEqualTo(10);
+            assertThat(stock(MOUSE)).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Debe volver a reservar al confirmar también el item agregado a una orden vencida")
+        void debeReservarAlConfirmarElItemAgregadoTrasVencer() {
+            // Given
+            Order orden = crearOrdenPendiente();
+            vencer();
+
+            // When
+            orderService.addItemToOrder(orden.getId(), crearItem("prod-002", 3));
+            assertThat(stock(MOUSE)).isEqualTo(10);
+            orderService.confirmOrder(orden.getId());
+
+            // Then
+            assertThat(stock(TECLADO)).isEqualTo(8);
+            assertThat(stock(MOUSE)).isEqualTo(7);
+        }
+
+        @Test
+        @DisplayName("No debe devolver stock al quitar un item de una orden vencida")
+        void noDebeDevolverStockDeOrdenVencida() {
+            // Given
+            Order orden = crearOrdenPendiente();
+            vencer();
+
+            // When
+            orderService.removeItemFromOrder(orden.getId(), orden.getItems().get(0));
+
+            // Then
+            assertThat(stock(TECLADO)).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Debe descontar de la reserva el item quitado")
+        void debeDescontarDeLaReservaElItemQuitado() {
+            // Given
+            Order orden = crearOrdenPendiente();
+
+            // When
+            orderService.removeItemFromOrder(orden.getId(), orden.getItems().get(0));
+            clock.advance(Duration.ofMinutes(15));
+
+            // Then
+            assertThat(reservations.held(TECLADO)).isZero();
+            assertThat(reservations.expireDue()).isZero();
+            assertThat(stock(TECLADO)).isEqualTo(10);
+        }
+    }
+
+    @Nested
+    @DisplayName("Constructor")
+    class ConstructorTests {
+
+        @Test
+        @DisplayName("Debe fallar con UnitOfWork null")
+        void debeFallarConUnitOfWorkNull() {
+            assertThatThrownBy(() -> new OrderServiceImpl(orderRepository, productRepository,
+                    customerRepository, notificationService, null))
+                    .isInstanceOf(NullPointerException.class);
+        }
+
+        @Test
+        @DisplayName("Debe fallar con OrderRepository null")
+        void debeFallarConOrderRepositoryNull() {
+            assertThatThrownBy(() -> new OrderServiceImpl(null, productRepository,
+                    customerRepository, notificationService))
+                    .isInstanceOf(NullPointerException.class);
+        }
+    }
+}
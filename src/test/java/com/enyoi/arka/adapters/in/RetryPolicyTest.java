@@ -0,0 +1,124 @@
+package com.enyoi.arka.adapters.in;
+
+import com.enyoi.arka.domain.exception.OptimisticConflictException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RetryPolicy - Tests")
+class RetryPolicyTest {
+
+    private final List<Duration> esperas = new ArrayList<>();
+
+    private RetryPolicy politica(int intentos) {
+        return new RetryPolicy(intentos, Duration.ofMillis(10), Duration.ofMillis(40), esperas::add);
+    }
+
+    private OptimisticConflictException conflicto() {
+        return new OptimisticConflictException("Product", "prod-001");
+    }
+
+    @Test
+    @DisplayName("Debe reintentar hasta que la operación no choque")
+    void debeReintentarHastaTenerExito() {
+        // Given
+        RetryPolicy politica = politica(5);
+        AtomicInteger llamadas = new AtomicInteger();
+
+        // When
+        String resultado = politica.execute(() -> {
+            if (llamadas.incrementAndGet() < 3) throw conflicto();
+            return "ok";
+        });
+
+        // Then
+        assertThat(resultado).isEqualTo("ok");
+        assertThat(llamadas).hasValue(3);
+        assertThat(politica.metrics()).isEqualTo(new RetryMetrics(2, 2, 0));
+    }
+
+    @Test
+    @DisplayName("Debe propagar el conflicto al agotar los intentos")
+    void debePropagarAlAgotarIntentos() {
+        // Given
+        RetryPolicy politica = politica(3);
+        AtomicInteger llamadas = new AtomicInteger();
+
+        // When & Then
+        assertThatThrownBy(() -> politica.execute(() -> {
+            llamadas.incrementAndGet();
+            throw conflicto();
+        })).isInstanceOf(OptimisticConflictException.class);
+        assertThat(llamadas).hasValue(3);
+        assertThat(politica.metrics()).isEqualTo(new RetryMetrics(3, 2, 1));
+    }
+
+    @Test
+    @DisplayName("No debe reintentar otros errores")
+    void noDebeReintentarOtrosErrores() {
+        // Given
+        RetryPolicy politica = politica(5);
+        AtomicInteger llamadas = new AtomicInteger();
+
+        // When & Then
+        assertThatThrownBy(() -> politica.execute(() -> {
+            llamadas.incrementAndGet();
+            throw new IllegalStateException("only pending orders can be confirmed");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(llamadas).hasValue(1);
+        assertThat(politica.metrics()).isEqualTo(new RetryMetrics(0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("El backoff debe crecer exponencialmente sin pasar del máximo")
+    void backoffDebeCrecerHastaElMaximo() {
+        // Given
+        RetryPolicy politica = politica(6);
+
+        // When
+        assertThatThrownBy(() -> politica.execute(() -> {
+            throw conflicto();
+        })).isInstanceOf(OptimisticConflictException.class);
+
+        // Then: techos de 10, 20, 40, 40 y 40 ms, con jitter entre la mitad y el techo
+        long[] techos = {10, 20, 40, 40, 40};
+        assertThat(esperas).hasSize(techos.length);
+        for (int i = 0; i < techos.length; i++) {
+            assertThat(esperas.get(i)).isBetween(Duration.ofMillis(techos[i] / 2), Duration.ofMillis(techos[i]));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe leer las propiedades arka.retry.*")
+    void debeLeerPropiedades() {
+        // Given
+        Properties properties = new Properties();
+        properties.setProperty("arka.retry.max-attempts", "2");
+
+        // When
+        RetryPolicy politica = RetryPolicy.from(properties);
+
+        // Then
+        assertThatThrownBy(() -> politica.execute(() -> {
+            throw conflicto();
+        })).isInstanceOf(OptimisticConflictException.class);
+        assertThat(politica.metrics().conflicts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar parámetros inválidos")
+    void debeRechazarParametrosInvalidos() {
+        assertThatThrownBy(() -> new RetryPolicy(0, Duration.ZERO, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RetryPolicy(3, Duration.ofMillis(50), Duration.ofMillis(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,366 @@
+package com.enyoi.arka.adapters.in;
+
+import com.enyoi.arka.adapters.out.memory.InMemoryOrderRepository;
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.exception.ProductNotFoundException;
+import com.enyoi.arka.domain.ports.out.ProductRepository;
+import com.enyoi.arka.domain.ports.out.UnitOfWork;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.OrderId;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockReservations - Tests")
+class StockReservationsTest {
+    private static final ProductId TECLADO = ProductId.of("prod-001");
+    private static final ProductId MOUSE = ProductId.of("prod-002");
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private final UnitOfWork unitOfWork = Supplier::get;
+    private InMemoryOrderRepository orderRepository;
+    private ManualClock clock;
+    private StockReservations reservations;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = spy(new InMemoryOrderRepository());
+        clock = new ManualClock();
+        reservations = new StockReservations(orderRepository, productRepository, unitOfWork,
+                new ReservationSettings(Duration.ofMinutes(15), Duration.ofSeconds(1), 8), clock);
+    }
+
+    private OrderItem crearItem(ProductId productId, int cantidad) {
+        return OrderItem.builder()
+                .productId(productId)
+                .quantity(cantidad)
+                .unitPrice(Money.of(new BigDecimal("1000.00"), "COP"))
+                .build();
+    }
+
+    /**
+     * Guarda una orden pendiente cuya reserva vence en {@code reservedUntil} y la sigue.
+     */
+    private Order reservar(String id, LocalDateTime reservedUntil, OrderItem... items) {
+        Order orden = orderRepository.insert(Order.builder()
+                .id(OrderId.of(id))
+                .customerId(CustomerId.of("cust-001"))
+                .items(new ArrayList<>(List.of(items)))
+                .reservedUntil(reservedUntil)
+                .build());
+        reservations.track(orden);
+        return orden;
+    }
+
+    private Order reservar(String id, OrderItem... items) {
+        return reservar(id, reservations.deadline(), items);
+    }
+
+    @Nested
+    @DisplayName("Vencimiento")
+    class ExpiryTests {
+
+        @Test
+        @DisplayName("Debe marcar las órdenes vencidas y devolver su stock con un UPDATE por producto")
+        void debeMarcarYDevolverStockAgrupadoPorProducto() {
+            // Given
+            reservar("order-001", crearItem(TECLADO, 2), crearItem(MOUSE, 1));
+            reservar("order-002", crearItem(TECLADO, 3));
+            clock.advance(Duration.ofMinutes(15));
+
+            // When
+            int vencidas = reservations.expireDue();
+
+            // Then
+            assertThat(vencidas).isEqualTo(2);
+            verify(productRepository).releaseStock(TECLADO, 5);
+            verify(productRepository).releaseStock(MOUSE, 1);
+            assertThat(orderRepository.findById(OrderId.of("order-001")).orElseThrow().isStockReleased()).isTrue();
+            assertThat(orderRepository.findById(OrderId.of("order-002")).orElseThrow().isStockReleased()).isTrue();
+            assertThat(reservations.held(TECLADO)).isZero();
+            assertThat(reservations.metrics()).isEqualTo(new ReservationMetrics(0, 0, 2, 0));
+        }
+
+        @Test
+        @DisplayName("No debe devolver nada antes del vencimiento")
+        void noDebeDevolverAntesDelVencimiento() {
+            // Given
+            reservar("order-001", crearItem(TECLADO, 2));
+            clock.advance(Duration.ofMinutes(14));
+
+            // When
+            int vencidas = reservations.expireDue();
+
+            // Then
+            assertThat(vencidas).isZero();
+            assertThat(reservations.held(TECLADO)).isEqualTo(2);
+            assertThat(orderRepository.findById(OrderId.of("order-001")).orElseThrow().isStockReleased()).isFalse();
+            verify(productRepository, never()).releaseStock(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Debe volver a poner las reservas en la rueda si la transacción falla")
+        void debeReintentarSiFallaLaTransaccion() {
+            // Given
+            reservar("order-001", crearItem(TECLADO, 2));
+            clock.advance(Duration.ofMinutes(15));
+            doThrow(new IllegalStateException("database is locked")).doCallRealMethod()
+                    .when(orderRepository).releaseStock(any(), any());
+
+            // When
+            assertThatThrownBy(() -> reservations.expireDue()).isInstanceOf(IllegalStateException.class);
+            assertThat(reservations.held(TECLADO)).isEqualTo(2);
+            clock.advance(Duration.ofSeconds(1));
+            int vencidas = reservations.expireDue();
+
+            // Then
+            assertThat(vencidas).isEqualTo(1);
+            verify(productRepository, times(1)).releaseStock(TECLADO, 2);
+        }
+
+        @Test
+        @DisplayName("No debe devolver dos veces el stock de una orden ya marcada si la transacción falla")
+        void noDebeDevolverDosVecesTrasUnFalloParcial() {
+            // Given
+            reservar("order-001", crearItem(TECLADO, 2));
+            reservar("order-002", crearItem(MOUSE, 1));
+            clock.advance(Duration.ofMinutes(15));
+            // Sin transacción, las órdenes quedan marcadas aunque falle la devolución de un producto
+            lenient().doThrow(new IllegalStateException("database is locked")).doNothing()
+                    .when(productRepository).releaseStock(MOUSE, 1);
+
+            // When
+            assertThatThrownBy(() -> reservations.expireDue()).isInstanceOf(IllegalStateException.class);
+            clock.advance(Duration.ofSeconds(1));
+            int vencidas = reservations.expireDue();
+
+            // Then
+            assertThat(vencidas).isZero();
+            verify(productRepository, atMost(1)).releaseStock(TECLADO, 2);
+            verify(productRepository, times(1)).releaseStock(MOUSE, 1);
+            assertThat(reservations.metrics().activeHolds()).isZero();
+        }
+
+        @Test
+        @DisplayName("Debe seguir con el lote si un producto ya no existe")
+        void debeIgnorarProductoEliminado() {
+            // Given
+            reservar("order-001", crearItem(TECLADO, 2), crearItem(MOUSE, 1));
+            clock.advance(Duration.ofMinutes(15));
+            doThrow(new ProductNotFoundException(TECLADO.value())).when(productRepository).releaseStock(TECLADO, 2);
+
+            // When
+            int vencidas = reservations.expireDue();
+
+            // Then
+            assertThat(vencidas).isEqualTo(1);
+            verify(productRepository).releaseStock(MOUSE, 1);
+        }
+
+        @Test
+        @DisplayName("No debe devolver el stock de una orden confirmada entre tanto")
+        void noDebeDevolverOrdenConfirmada() {
+            // Given
+            Order orden = reservar("order-001", crearItem(TECLADO, 2));
+            orden.confirm();
+            orderRepository.save(orden);
+            clock.advance(Duration.ofMinutes(15));
+
+            // When
+            int vencidas = reservations.expireDue();
+
+            // Then
+            assertThat(vencidas).isZero();
+            verify(productRepository, never()).releaseStock(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Debe devolver los items guardados de la orden, no los de la reserva en memoria")
+        void debeDevolverLosItemsGuardados() {
+            // Given
+            Order orden = reservar("order-001", crearItem(TECLADO, 2));
+            orden.addItem(crearItem(MOUSE, 1));
+            orderRepository.save(orden);
+            clock.advance(Duration.ofMinutes(15));
+
+            // When
+            reservations.expireDue();
+
+            // Then
+            verify(productRepository).releaseStock(TECLADO, 2);
+            verify(productRepository).releaseStock(MOUSE, 1);
+        }
+
+        @Test
+        @DisplayName("Debe contar los ticks fallidos sin propagar el error")
+        void debeContarTicksFallidos() {
+            // Given
+            reservar("order-001", crearItem(TECLADO, 2));
+            clock.advance(Duration.ofMinutes(15));
+            doThrow(new IllegalStateException("database is locked"))
+                    .when(orderRepository).releaseStock(any(), any());
+
+            // When
+            reservations.tick();
+
+            // Then
+            assertThat(reservations.metrics()).isEqualTo(new ReservationMetrics(1, 2, 0, 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("track()")
+    class TrackTests {
+
+        @Test
+        @DisplayName("Debe dejar de seguir una orden confirmada")
+        void debeDejarDeSeguirOrdenConfirmada() {
+            // Given
+            Order orden = reservar("order-001", crearItem(TECLADO, 2));
+            orden.confirm();
+
+            // When
+            reservations.track(orden);
+
+            // Then
+            assertThat(reservations.held(TECLADO)).isZero();
+            assertThat(reservations.metrics().activeHolds()).isZero();
+        }
+
+        @Test
+        @DisplayName("Debe actualizar las unidades retenidas con los items de la orden")
+        void debeActualizarLasUnidadesRetenidas() {
+            // Given
+            Order orden = reservar("order-001", crearItem(TECLADO, 2));
+            orden.addItem(crearItem(MOUSE, 1));
+
+            // When
+            reservations.track(orden);
+
+            // Then
+            assertThat(reservations.held(TECLADO)).isEqualTo(2);
+            assertThat(reservations.held(MOUSE)).isEqualTo(1);
+            assertThat(reservations.metrics().activeHolds()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("restore()")
+    class RestoreTests {
+
+        @Test
+        @DisplayName("Debe retener las órdenes pendientes hasta su vencimiento guardado")
+        void debeRetenerHastaSuVencimiento() {
+            // Given
+            Order reciente = reservar("order-001", LocalDateTime.now(clock).plusMinutes(5), crearItem(TECLADO, 2));
+            StockReservations reiniciadas = new StockReservations(orderRepository, productRepository, unitOfWork,
+                    new ReservationSettings(Duration.ofMinutes(15), Duration.ofSeconds(1), 8), clock);
+
+            // When
+            reiniciadas.restore(List.of(reciente));
+
+            // Then
+            assertThat(reiniciadas.held(TECLADO)).isEqualTo(2);
+            clock.advance(Duration.ofMinutes(4));
+            assertThat(reiniciadas.expireDue()).isZero();
+            clock.advance(Duration.ofMinutes(1));
+            assertThat(reiniciadas.expireDue()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Debe devolver en el primer tick el stock de órdenes que vencieron antes de arrancar")
+        void debeDevolverOrdenesVencidasAlArrancar() {
+            // Given
+            Order vieja = reservar("order-001", LocalDateTime.now(clock).minusHours(1), crearItem(TECLADO, 2));
+
+            // When
+            reservations.restore(List.of(vieja));
+            clock.advance(Duration.ofSeconds(1));
+            int vencidas = reservations.expireDue();
+
+            // Then
+            assertThat(vencidas).isEqualTo(1);
+            verify(productRepository).releaseStock(TECLADO, 2);
+        }
+
+        @Test
+        @DisplayName("No debe seguir órdenes cuyo stock ya se devolvió")
+        void noDebeSeguirOrdenesYaDevueltas() {
+            // Given
+            reservar("order-001", LocalDateTime.now(clock).minusHours(1), crearItem(TECLADO, 2));
+            clock.advance(Duration.ofSeconds(1));
+            reservations.expireDue();
+            Order devuelta = orderRepository.findById(OrderId.of("order-001")).orElseThrow();
+
+            // When
+            reservations.restore(List.of(devuelta));
+
+            // Then
+            assertThat(reservations.metrics().activeHolds()).isZero();
+            verify(productRepository, times(1)).releaseStock(TECLADO, 2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Desactivadas")
+    class DisabledTests {
+
+        @Test
+        @DisplayName("Sin vencimiento la orden no guarda plazo y su stock siempre sigue retenido")
+        void sinVencimientoSiempreRetenido() {
+            // Given
+            StockReservations desactivadas = StockReservations.disabled();
+
+            // When
+            desactivadas.track(Order.builder()
+                    .id(OrderId.of("order-001"))
+                    .customerId(CustomerId.of("cust-001"))
+                    .items(new ArrayList<>(List.of(crearItem(TECLADO, 2))))
+                    .build());
+
+            // Then
+            assertThat(desactivadas.deadline()).isNull();
+            assertThat(desactivadas.held(TECLADO)).isZero();
+            assertThat(desactivadas.expireDue()).isZero();
+        }
+
+        @Test
+        @DisplayName("Un TTL de cero en las propiedades debe desactivar el vencimiento")
+        void ttlCeroDebeDesactivar() {
+            // Given
+            Properties properties = new Properties();
+            properties.setProperty("arka.reservations.ttl-ms", "0");
+
+            // When
+            ReservationSettings settings = ReservationSettings.from(properties);
+
+            // Then
+            assertThat(settings.expires()).isFalse();
+            assertThat(ReservationSettings.defaults().ttl()).isEqualTo(Duration.ofMinutes(15));
+        }
+    }
+}
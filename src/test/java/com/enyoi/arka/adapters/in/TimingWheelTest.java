@@ -0,0 +1,82 @@
+package com.enyoi.arka.adapters.in;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TimingWheel - Tests")
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Debe entregar un vencimiento al llegar a su tick y no antes")
+    void debeEntregarAlLlegarASuTick() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.schedule("a", 25);
+
+        // When & Then
+        assertThat(wheel.advance(29)).isEmpty();
+        assertThat(wheel.advance(30)).containsExactly("a");
+        assertThat(wheel.advance(100)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("No debe entregar los vencimientos cancelados")
+    void noDebeEntregarCancelados() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.schedule("a", 20).cancel();
+        wheel.schedule("b", 20);
+
+        // When & Then
+        assertThat(wheel.advance(20)).containsExactly("b");
+    }
+
+    @Test
+    @DisplayName("Debe esperar su vuelta si vence a más de una vuelta")
+    void debeEsperarSuVuelta() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 0);
+        wheel.schedule("cerca", 20);
+        wheel.schedule("lejos", 60);
+
+        // When & Then
+        assertThat(wheel.advance(30)).containsExactly("cerca");
+        assertThat(wheel.advance(50)).isEmpty();
+        assertThat(wheel.advance(60)).containsExactly("lejos");
+    }
+
+    @Test
+    @DisplayName("Debe entregar todo lo vencido aunque haya pasado más de una vuelta")
+    void debeEntregarTodoTrasVariasVueltas() {
+        // Given
+        TimingWheel<Integer> wheel = new TimingWheel<>(10, 4, 0);
+        for (int i = 1; i <= 10; i++) {
+            wheel.schedule(i, i * 10L);
+        }
+
+        // When & Then
+        assertThat(wheel.advance(1_000)).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    }
+
+    @Test
+    @DisplayName("Debe entregar en el siguiente tick un vencimiento ya pasado")
+    void debeEntregarVencimientoPasado() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.advance(50);
+        wheel.schedule("tarde", 10);
+
+        // When & Then
+        assertThat(wheel.advance(60)).containsExactly("tarde");
+    }
+
+    @Test
+    @DisplayName("Debe fallar con un tick no positivo")
+    void debeFallarConTickNoPositivo() {
+        assertThatThrownBy(() -> new TimingWheel<String>(0, 8, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
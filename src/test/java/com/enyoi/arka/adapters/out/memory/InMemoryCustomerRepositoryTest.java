@@ -0,0 +1,86 @@
+package com.enyoi.arka.adapters.out.memory;
+
+import com.enyoi.arka.domain.entities.Customer;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Email;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InMemoryCustomerRepository - Tests")
+class InMemoryCustomerRepositoryTest {
+
+    private InMemoryCustomerRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryCustomerRepository();
+    }
+
+    private Customer crearCliente(String id, String email) {
+        return Customer.builder()
+                .id(CustomerId.of(id))
+                .name("Cliente " + id)
+                .email(Email.of(email))
+                .city("Medellín")
+                .build();
+    }
+
+    @Nested
+    @DisplayName("findByEmail()")
+    class FindByEmailTests {
+
+        @Test
+        @DisplayName("Debe encontrar el cliente por su email actual")
+        void debeEncontrarPorEmailActual() {
+            // Given
+            repository.save(crearCliente("cust-001", "viejo@arka.com"));
+
+            // When
+            repository.save(crearCliente("cust-001", "nuevo@arka.com"));
+
+            // Then
+            assertThat(repository.findByEmail("viejo@arka.com")).isEmpty();
+            assertThat(repository.findByEmail("nuevo@arka.com"))
+                    .map(customer -> customer.getId().value())
+                    .contains("cust-001");
+        }
+
+        @Test
+        @DisplayName("Debe liberar el email al eliminar el cliente")
+        void debeLiberarEmailAlEliminar() {
+            // Given
+            repository.save(crearCliente("cust-001", "cliente@arka.com"));
+
+            // When
+            repository.deleteById(CustomerId.of("cust-001"));
+            repository.insert(crearCliente("cust-002", "cliente@arka.com"));
+
+            // Then
+            assertThat(repository.findByEmail("cliente@arka.com"))
+                    .map(customer -> customer.getId().value())
+                    .contains("cust-002");
+        }
+    }
+
+    @Nested
+    @DisplayName("save()")
+    class SaveTests {
+
+        @Test
+        @DisplayName("Debe rechazar un segundo cliente con el mismo email")
+        void debeRechazarEmailDuplicado() {
+            // Given
+            repository.save(crearCliente("cust-001", "cliente@arka.com"));
+
+            // When & Then
+            assertThatThrownBy(() -> repository.save(crearCliente("cust-002", "cliente@arka.com")))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(repository.existsById(CustomerId.of("cust-002"))).isFalse();
+        }
+    }
+}
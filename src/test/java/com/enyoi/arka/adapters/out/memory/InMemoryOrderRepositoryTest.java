@@ -0,0 +1,195 @@
+package com.enyoi.arka.adapters.out.memory;
+
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.entities.OrderStatus;
+import com.enyoi.arka.domain.exception.OptimisticConflictException;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.OrderId;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InMemoryOrderRepository - Tests")
+class InMemoryOrderRepositoryTest {
+
+    private InMemoryOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOrderRepository();
+    }
+
+    private Order crearOrden(String orderId, String customerId) {
+        List<OrderItem> items = new ArrayList<>();
+        items.add(OrderItem.builder()
+                .productId(ProductId.of("prod-001"))
+                .quantity(2)
+                .unitPrice(Money.of(new BigDecimal("1000.00"), "COP"))
+                .build());
+        return Order.builder()
+                .id(OrderId.of(orderId))
+                .customerId(CustomerId.of(customerId))
+                .items(items)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("save()")
+    class SaveTests {
+
+        @Test
+        @DisplayName("Debe guardar una copia: confirmar la orden devuelta no cambia la guardada")
+        void debeGuardarUnaCopia() {
+            // Given
+            Order guardada = repository.insert(crearOrden("order-001", "cust-001"));
+
+            // When
+            guardada.confirm();
+
+            // Then
+            Order leida = repository.findById(OrderId.of("order-001")).orElseThrow();
+            assertThat(leida.getStatus()).isEqualTo(OrderStatus.PENDIENTE);
+            assertThat(leida.getItems()).hasSize(1);
+            assertThat(leida.getVersion()).isZero();
+        }
+
+        @Test
+        @DisplayName("Debe rechazar guardar sobre una versión antigua")
+        void debeRechazarVersionAntigua() {
+            // Given
+            repository.insert(crearOrden("order-001", "cust-001"));
+            Order primera = repository.findById(OrderId.of("order-001")).orElseThrow();
+            Order segunda = repository.findById(OrderId.of("order-001")).orElseThrow();
+            primera.confirm();
+            repository.save(primera);
+
+            // When & Then
+            segunda.confirm();
+            assertThatThrownBy(() -> repository.save(segunda))
+                    .isInstanceOf(OptimisticConflictException.class);
+            assertThat(repository.findById(OrderId.of("order-001")).orElseThrow().getVersion()).isEqualTo(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Índices")
+    class IndexTests {
+
+        @Test
+        @DisplayName("findByStatus() debe seguir los cambios de estado")
+        void findByStatusDebeSeguirCambios() {
+            // Given
+            repository.insert(crearOrden("order-001", "cust-001"));
+            repository.insert(crearOrden("order-002", "cust-001"));
+            Order orden = repository.findById(OrderId.of("order-001")).orElseThrow();
+
+            // When
+            orden.confirm();
+            repository.save(orden);
+
+            // Then
+            assertThat(repository.findPendingOrders())
+                    .extracting(order -> order.getId().value())
+                    .containsExactly("order-002");
+            assertThat(repository.findByStatus(OrderStatus.CONFIRMADO))
+                    .extracting(order -> order.getId().value())
+                    .containsExactly("order-001");
+        }
+
+        @Test
+        @DisplayName("findByCustomerId() debe devolver solo las órdenes del cliente")
+        void findByCustomerIdDebeFiltrarPorCliente() {
+            // Given
+            repository.insert(crearOrden("order-001", "cust-001"));
+            repository.insert(crearOrden("order-002", "cust-002"));
+            repository.insert(crearOrden("order-003", "cust-001"));
+
+            // When
+            repository.deleteAllById(List.of(OrderId.of("order-003")));
+
+            // Then
+            assertThat(repository.findByCustomerId(CustomerId.of("cust-001")))
+                    .extracting(order -> order.getId().value())
+                    .containsExactly("order-001");
+            assertThat(repository.findByCustomerId(CustomerId.of("cust-003"))).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("updateStatus()")
+    class UpdateStatusTests {
+
+        @Test
+        @DisplayName("Debe cambiar solo las órdenes en el estado esperado y mover el índice de estado")
+        void debeCambiarSoloLasOrdenesEnElEstadoEsperado() {
+            // Given
+            repository.insert(crearOrden("order-001", "cust-001"));
+            repository.insert(crearOrden("order-002", "cust-001"));
+            Order confirmada = repository.findById(OrderId.of("order-002")).orElseThrow();
+            confirmada.confirm();
+            repository.save(confirmada);
+
+            // When
+            List<OrderId> cambiadas = repository.updateStatus(
+                    List.of(OrderId.of("order-001"), OrderId.of("order-002"), OrderId.of("order-999")),
+                    OrderStatus.CONFIRMADO, OrderStatus.EN_DESPACHO);
+
+            // Then
+            assertThat(cambiadas).containsExactly(OrderId.of("order-002"));
+            assertThat(repository.findByStatus(OrderStatus.EN_DESPACHO))
+                    .extracting(order -> order.getId().value())
+                    .containsExactly("order-002");
+            assertThat(repository.findByStatus(OrderStatus.CONFIRMADO)).isEmpty();
+            assertThat(repository.findById(OrderId.of("order-002")).get().getVersion()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("releaseStock()")
+    class ReleaseStockTests {
+
+        @Test
+        @DisplayName("Debe marcar una sola vez las órdenes cuya reserva venció")
+        void debeMarcarUnaSolaVez() {
+            // Given
+            LocalDateTime vencimiento = LocalDateTime.of(2025, 1, 1, 10, 0);
+            repository.insert(Order.builder()
+                    .id(OrderId.of("order-001"))
+                    .customerId(CustomerId.of("cust-001"))
+                    .reservedUntil(vencimiento)
+                    .build());
+            repository.insert(Order.builder()
+                    .id(OrderId.of("order-002"))
+                    .customerId(CustomerId.of("cust-001"))
+                    .reservedUntil(vencimiento.plusMinutes(5))
+                    .build());
+            List<OrderId> ids = List.of(OrderId.of("order-001"), OrderId.of("order-002"), OrderId.of("order-999"));
+
+            // When
+            List<OrderId> antes = repository.releaseStock(ids, vencimiento.minusSeconds(1));
+            List<OrderId> primera = repository.releaseStock(ids, vencimiento);
+            List<OrderId> segunda = repository.releaseStock(ids, vencimiento);
+
+            // Then
+            assertThat(antes).isEmpty();
+            assertThat(primera).containsExactly(OrderId.of("order-001"));
+            assertThat(segunda).isEmpty();
+            Order marcada = repository.findById(OrderId.of("order-001")).orElseThrow();
+            assertThat(marcada.isStockReleased()).isTrue();
+            assertThat(marcada.getVersion()).isEqualTo(1);
+            assertThat(repository.findById(OrderId.of("order-002")).orElseThrow().isStockReleased()).isFalse();
+        }
+    }
+}
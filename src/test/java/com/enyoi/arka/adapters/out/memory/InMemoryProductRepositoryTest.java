@@ -0,0 +1,221 @@
+package com.enyoi.arka.adapters.out.memory;
+
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.exception.OptimisticConflictException;
+import com.enyoi.arka.domain.exception.ProductNotFoundException;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InMemoryProductRepository - Tests")
+class InMemoryProductRepositoryTest {
+
+    private InMemoryProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryProductRepository();
+    }
+
+    private Product crearProducto(String id, int stock, ProductCategory categoria) {
+        return Product.builder()
+                .id(ProductId.of(id))
+                .name("Producto " + id)
+                .description("Descripción")
+                .price(Money.of(new BigDecimal("1000.00"), "COP"))
+                .stock(stock)
+                .category(categoria)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("save() e insert()")
+    class SaveTests {
+
+        @Test
+        @DisplayName("Debe guardar una copia: cambiar el producto devuelto no cambia el guardado")
+        void debeGuardarUnaCopia() {
+            // Given
+            Product guardado = repository.save(crearProducto("prod-001", 10, ProductCategory.OTROS));
+
+            // When
+            guardado.reduceStock(5);
+
+            // Then
+            assertThat(repository.findById(ProductId.of("prod-001")).orElseThrow().getStock()).isEqualTo(10);
+            assertThat(guardado.getVersion()).isZero();
+        }
+
+        @Test
+        @DisplayName("Debe rechazar guardar sobre una versión antigua")
+        void debeRechazarVersionAntigua() {
+            // Given
+            Product leido = repository.save(crearProducto("prod-001", 10, ProductCategory.OTROS));
+            repository.save(leido);
+
+            // When & Then
+            assertThatThrownBy(() -> repository.save(leido))
+                    .isInstanceOf(OptimisticConflictException.class)
+                    .hasMessageContaining("prod-001");
+        }
+
+        @Test
+        @DisplayName("insert() debe fallar si el id ya existe")
+        void insertDebeFallarSiExiste() {
+            // Given
+            repository.insert(crearProducto("prod-001", 10, ProductCategory.OTROS));
+
+            // When & Then
+            assertThatThrownBy(() -> repository.insert(crearProducto("prod-001", 3, ProductCategory.OTROS)))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(repository.findById(ProductId.of("prod-001")).orElseThrow().getStock()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("insertAll() debe deshacer el lote si un id ya existe")
+        void insertAllDebeDeshacerElLote() {
+            // Given
+            repository.insert(crearProducto("prod-002", 10, ProductCategory.OTROS));
+
+            // When & Then
+            assertThatThrownBy(() -> repository.insertAll(List.of(
+                    crearProducto("prod-001", 1, ProductCategory.OTROS),
+                    crearProducto("prod-002", 1, ProductCategory.OTROS))))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(repository.existsById(ProductId.of("prod-001"))).isFalse();
+            assertThat(repository.findLowStockProducts(5)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("findAllById()")
+    class FindAllByIdTests {
+
+        @Test
+        @DisplayName("Debe devolver copias de los existentes, sin repetir")
+        void debeDevolverCopiasDeLosExistentes() {
+            // Given
+            repository.save(crearProducto("prod-001", 10, ProductCategory.OTROS));
+            repository.save(crearProducto("prod-002", 20, ProductCategory.OTROS));
+
+            // When
+            List<Product> resultado = repository.findAllById(List.of(
+                    ProductId.of("prod-002"), ProductId.of("no-existe"), ProductId.of("prod-002"), ProductId.of("prod-001")));
+            resultado.get(0).reduceStock(5);
+
+            // Then
+            assertThat(resultado).extracting(producto -> producto.getId().value())
+                    .containsExactly("prod-002", "prod-001");
+            assertThat(repository.findById(ProductId.of("prod-002")).orElseThrow().getStock()).isEqualTo(20);
+        }
+    }
+
+    @Nested
+    @DisplayName("Índices")
+    class IndexTests {
+
+        @Test
+        @DisplayName("findByCategory() debe seguir los cambios de categoría y los borrados")
+        void findByCategoryDebeSeguirCambios() {
+            // Given
+            repository.save(crearProducto("prod-001", 10, ProductCategory.OTROS));
+            repository.save(crearProducto("prod-002", 10, ProductCategory.OTROS));
+            repository.save(crearProducto("prod-001", 10, ProductCategory.PERIFERICOS));
+
+            // When
+            repository.deleteById(ProductId.of("prod-002"));
+
+            // Then
+            assertThat(repository.findByCategory("OTROS")).isEmpty();
+            assertThat(repository.findByCategory("PERIFERICOS"))
+                    .extracting(product -> product.getId().value())
+                    .containsExactly("prod-001");
+        }
+
+        @Test
+        @DisplayName("findLowStockProducts() debe devolver solo el stock por debajo del umbral")
+        void findLowStockDebeRespetarUmbral() {
+            // Given
+            repository.save(crearProducto("prod-001", 9, ProductCategory.OTROS));
+            repository.save(crearProducto("prod-002", 10, ProductCategory.OTROS));
+            repository.save(crearProducto("prod-003", 0, ProductCategory.OTROS));
+
+            // When
+            repository.tryReserveStock(ProductId.of("prod-002"), 4);
+            repository.releaseStock(ProductId.of("prod-003"), 20);
+
+            // Then
+            assertThat(repository.findLowStockProducts(10))
+                    .extracting(product -> product.getId().value())
+                    .containsExactlyInAnyOrder("prod-001", "prod-002");
+        }
+
+        @Test
+        @DisplayName("findPage() debe paginar en orden de id")
+        void findPageDebePaginarEnOrden() {
+            // Given
+            List.of("prod-003", "prod-001", "prod-002").forEach(id -> repository.save(crearProducto(id, 1, ProductCategory.OTROS)));
+
+            // When
+            List<Product> pagina = repository.findPage(ProductId.of("prod-001"), 5);
+
+            // Then
+            assertThat(pagina).extracting(product -> product.getId().value()).containsExactly("prod-002", "prod-003");
+            assertThat(repository.streamAll().map(product -> product.getId().value()))
+                    .containsExactly("prod-001", "prod-002", "prod-003");
+        }
+    }
+
+    @Nested
+    @DisplayName("Stock")
+    class StockTests {
+
+        @Test
+        @DisplayName("tryReserveStock() no debe vender más de lo disponible con hilos concurrentes")
+        void noDebeSobrevenderConcurrentemente() throws Exception {
+            // Given
+            repository.save(crearProducto("prod-001", 100, ProductCategory.OTROS));
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+
+            // When
+            List<Future<Boolean>> intentos = IntStream.range(0, 400)
+                    .mapToObj(i -> executor.submit(() -> repository.tryReserveStock(ProductId.of("prod-001"), 1)))
+                    .toList();
+            long reservados = 0;
+            for (Future<Boolean> intento : intentos) {
+                if (intento.get()) reservados++;
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            // Then
+            Product producto = repository.findById(ProductId.of("prod-001")).orElseThrow();
+            assertThat(reservados).isEqualTo(100);
+            assertThat(producto.getStock()).isZero();
+            assertThat(producto.getVersion()).isEqualTo(100L);
+            assertThat(repository.findLowStockProducts(1)).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("releaseStock() debe fallar si el producto no existe")
+        void releaseStockDebeFallarSiNoExiste() {
+            assertThatThrownBy(() -> repository.releaseStock(ProductId.of("no-existe"), 1))
+                    .isInstanceOf(ProductNotFoundException.class);
+        }
+    }
+}
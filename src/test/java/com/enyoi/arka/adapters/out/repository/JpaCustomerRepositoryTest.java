@@ -139,6 +139,45 @@ public class JpaCustomerRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("findAllById()")
+    class FindAllByIdTests {
+
+        @Test
+        @DisplayName("Debe devolver los clientes existentes e ignorar los inexistentes")
+        void debeDevolverLosExistentes() {
+            // Given
+            repository.save(crearCustomer("cus-101", "ana", "ana@test.com", "cali"));
+            repository.save(crearCustomer("cus-102", "luis", "luis@test.com", "pasto"));
+
+            // When
+            List<Customer> resultado = repository.findAllById(List.of(
+                    CustomerId.of("cus-101"), CustomerId.of("cus-102"), CustomerId.of("no-existe")));
+
+            // Then
+            assertThat(resultado).extracting(Customer::getName).containsExactlyInAnyOrder("ana", "luis");
+        }
+
+        @Test
+        @DisplayName("Debe guardar un cliente leído con findAllById dentro de una unidad de trabajo")
+        void debeGuardarClienteLeidoDentroDeUnidadDeTrabajo() {
+            // Given
+            JpaUnitOfWork unitOfWork = JpaUnitOfWork.perOperation(entityManagerFactory);
+            JpaCustomerRepository perOperation = new JpaCustomerRepository(unitOfWork);
+            perOperation.save(crearCustomer("cus-103", "eva", "eva@test.com", "cali"));
+
+            // When
+            unitOfWork.execute(() -> {
+                Customer leido = perOperation.findAllById(List.of(CustomerId.of("cus-103"))).get(0);
+                return perOperation.save(crearCustomer(leido.getId().value(), leido.getName(),
+                        leido.getEmail().value(), "pasto"));
+            });
+
+            // Then
+            assertThat(perOperation.findById(CustomerId.of("cus-103")).orElseThrow().getCity()).isEqualTo("pasto");
+        }
+    }
+
     @Nested
     @DisplayName("findAll()")
     class FindAllTests {
@@ -257,4 +296,83 @@ public class JpaCustomerRepositoryTest {
             repository.deleteById(CustomerId.of("no-existe"));
         }
     }
+
+    @Nested
+    @DisplayName("findPage() y streamAll()")
+    class PagingTests {
+
+        @Test
+        @DisplayName("Debe paginar y recorrer los clientes ordenados por id")
+        void debePaginarYRecorrerClientes() {
+            // Given
+            repository.save(crearCustomer("cust-c", "Carlos", "carlos@arka.com", "Cali"));
+            repository.save(crearCustomer("cust-a", "Ana", "ana@arka.com", "Bogotá"));
+            repository.save(crearCustomer("cust-b", "Beto", "beto@arka.com", "Medellín"));
+
+            // When
+            List<Customer> primera = repository.findPage(null, 2);
+            List<Customer> segunda = repository.findPage(primera.get(1).getId(), 2);
+            List<String> todos = repository.streamAll().map(c -> c.getId().value()).toList();
+
+            // Then
+            assertThat(primera).extracting(c -> c.getId().value()).containsExactly("cust-a", "cust-b");
+            assertThat(segunda).extracting(c -> c.getId().value()).containsExactly("cust-c");
+            assertThat(todos).containsExactly("cust-a", "cust-b", "cust-c");
+        }
+
+        @Test
+        @DisplayName("Debe guardar un cliente leído con findPage dentro de una unidad de trabajo")
+        void debeGuardarClientePaginadoDentroDeUnidadDeTrabajo() {
+            // Given
+            JpaUnitOfWork unitOfWork = JpaUnitOfWork.perOperation(entityManagerFactory);
+            JpaCustomerRepository perOperation = new JpaCustomerRepository(unitOfWork);
+            perOperation.save(crearCustomer("cust-a", "Ana", "ana@arka.com", "Bogotá"));
+
+            // When
+            unitOfWork.execute(() -> {
+                Customer leido = perOperation.findPage(null, 1).get(0);
+                return perOperation.save(crearCustomer(leido.getId().value(), leido.getName(),
+                        leido.getEmail().value(), "Pasto"));
+            });
+
+            // Then
+            assertThat(perOperation.findById(CustomerId.of("cust-a")).orElseThrow().getCity()).isEqualTo("Pasto");
+        }
+    }
+
+    @Nested
+    @DisplayName("saveAll() y deleteAllById()")
+    class BulkTests {
+
+        @Test
+        @DisplayName("Debe guardar y eliminar clientes en lote")
+        void debeGuardarYEliminarEnLote() {
+            // Given
+            repository.save(crearCustomer("bulk-1", "Antes", "antes@arka.com", "Cali"));
+
+            // When
+            repository.saveAll(List.of(
+                    crearCustomer("bulk-1", "Después", "despues@arka.com", "Cali"),
+                    crearCustomer("bulk-2", "Nuevo", "nuevo@arka.com", "Bogotá")));
+            repository.deleteAllById(List.of(CustomerId.of("bulk-2")));
+
+            // Then
+            assertThat(repository.findAll()).extracting(Customer::getName).containsExactly("Después");
+        }
+    }
+
+    @Nested
+    @DisplayName("insert()")
+    class InsertTests {
+
+        @Test
+        @DisplayName("Debe insertar un cliente nuevo")
+        void debeInsertarClienteNuevo() {
+            // When
+            repository.insert(crearCustomer("ins-1", "Nuevo", "nuevo@arka.com", "Cali"));
+
+            // Then
+            assertThat(repository.findById(CustomerId.of("ins-1"))).isPresent();
+        }
+    }
 }
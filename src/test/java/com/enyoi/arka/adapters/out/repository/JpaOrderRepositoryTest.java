@@ -3,6 +3,7 @@ package com.enyoi.arka.adapters.out.repository;
 import com.enyoi.arka.domain.entities.Order;
 import com.enyoi.arka.domain.entities.OrderItem;
 import com.enyoi.arka.domain.entities.OrderStatus;
+import com.enyoi.arka.domain.exception.OptimisticConflictException;
 import com.enyoi.arka.domain.valueobjects.CustomerId;
 import com.enyoi.arka.domain.valueobjects.Money;
 import com.enyoi.arka.domain.valueobjects.OrderId;
@@ -10,13 +11,20 @@ import com.enyoi.arka.domain.valueobjects.ProductId;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DisplayName("JpaOrderRepository - Tests de Integración")
 class JpaOrderRepositoryTest {
@@ -168,6 +176,28 @@ class JpaOrderRepositoryTest {
             // Then
             assertThat(resultado).isEmpty();
         }
+
+        @Test
+        @DisplayName("Debe guardar una orden leída con findAllById dentro de una unidad de trabajo")
+        void debeGuardarOrdenLeidaDentroDeUnidadDeTrabajo() {
+            // Given
+            JpaUnitOfWork unitOfWork = JpaUnitOfWork.perOperation(entityManagerFactory);
+            JpaOrderRepository perOperation = new JpaOrderRepository(unitOfWork);
+            perOperation.save(crearOrden("order-uow", "cust-001",
+                    List.of(crearOrderItem("prod-001", 1, new BigDecimal("100.00")))));
+
+            // When
+            unitOfWork.execute(() -> {
+                Order orden = perOperation.findAllById(List.of(OrderId.of("order-uow"))).get(0);
+                orden.confirm();
+                return perOperation.save(orden);
+            });
+
+            // Then
+            Order guardada = perOperation.findById(OrderId.of("order-uow")).orElseThrow();
+            assertThat(guardada.getStatus()).isEqualTo(OrderStatus.CONFIRMADO);
+            assertThat(guardada.getVersion()).isEqualTo(1);
+        }
     }
 
     @Nested
@@ -388,4 +418,581 @@ class JpaOrderRepositoryTest {
             assertThat(primerItem.getUnitPrice().amount()).isEqualByComparingTo(new BigDecimal("50000.00"));
         }
     }
+
+    @Nested
+    @DisplayName("Consultas de listado")
+    class ListingQueryTests {
+
+        private JpaOrderRepository perOperationRepository;
+
+        @BeforeEach
+        void setUp() {
+            perOperationRepository = new JpaOrderRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            for (int i = 0; i < 10; i++) {
+                Order orden = crearOrden("order-list-" + i, "cust-00" + (i % 2), List.of(
+                        crearOrderItem("prod-001", 1, new BigDecimal("1000.00")),
+                        crearOrderItem("prod-002", 2, new BigDecimal("2000.00"))
+                ));
+                perOperationRepository.save(orden);
+            }
+        }
+
+        private long sentenciasEjecutadas(Supplier<List<Order>> consulta, int ordenesEsperadas) {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            List<Order> ordenes = consulta.get();
+            assertThat(ordenes).hasSize(ordenesEsperadas);
+            assertThat(ordenes).allSatisfy(orden -> assertThat(orden.getItems()).hasSize(2));
+            return statistics.getPrepareStatementCount();
+        }
+
+        @Test
+        @DisplayName("findAll debe cargar órdenes e items con una sola sentencia")
+        void findAllDebeUsarUnaSolaSentencia() {
+            assertThat(sentenciasEjecutadas(perOperationRepository::findAll, 10)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("findByStatus y findPendingOrders deben usar una sola sentencia")
+        void findByStatusDebeUsarUnaSolaSentencia() {
+            assertThat(sentenciasEjecutadas(() -> perOperationRepository.findByStatus(OrderStatus.PENDIENTE), 10))
+                    .isEqualTo(1);
+            assertThat(sentenciasEjecutadas(perOperationRepository::findPendingOrders, 10)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("findByCustomerId debe usar una sola sentencia")
+        void findByCustomerIdDebeUsarUnaSolaSentencia() {
+            assertThat(sentenciasEjecutadas(
+                    () -> perOperationRepository.findByCustomerId(CustomerId.of("cust-000")), 5)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("findAllById debe cargar órdenes e items con una sola sentencia")
+        void findAllByIdDebeUsarUnaSolaSentencia() {
+            List<OrderId> ids = IntStream.range(0, 6).mapToObj(i -> OrderId.of("order-list-" + i)).toList();
+            assertThat(sentenciasEjecutadas(() -> perOperationRepository.findAllById(ids), 6)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("El número de sentencias no debe crecer con el número de órdenes")
+        void numeroDeSentenciasNoDebeCrecerConLasOrdenes() {
+            // Given
+            long conDiezOrdenes = sentenciasEjecutadas(perOperationRepository::findAll, 10);
+            IntStream.range(10, 40).forEach(i -> perOperationRepository.save(crearOrden("order-list-" + i, "cust-002",
+                    List.of(crearOrderItem("prod-003", 1, new BigDecimal("500.00")),
+                            crearOrderItem("prod-004", 1, new BigDecimal("500.00"))))));
+
+            // When
+            long conCuarentaOrdenes = sentenciasEjecutadas(perOperationRepository::findAll, 40);
+
+            // Then
+            assertThat(conCuarentaOrdenes).isEqualTo(conDiezOrdenes);
+        }
+    }
+
+    @Nested
+    @DisplayName("findPage() y streamAll()")
+    class PagingTests {
+
+        @Test
+        @DisplayName("Debe paginar órdenes con todos sus items")
+        void debePaginarOrdenesConSusItems() {
+            // Given
+            JpaOrderRepository perOperation = new JpaOrderRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            for (int i = 1; i <= 5; i++) {
+                perOperation.save(crearOrden("order-page-" + i, "cust-001", List.of(
+                        crearOrderItem("prod-001", 1, new BigDecimal("100.00")),
+                        crearOrderItem("prod-002", i, new BigDecimal("200.00"))
+                )));
+            }
+
+            // When
+            List<Order> primera = perOperation.findPage(null, 2);
+            List<Order> segunda = perOperation.findPage(primera.get(1).getId(), 2);
+            List<Order> todas = perOperation.streamAll().toList();
+
+            // Then
+            assertThat(primera).extracting(o -> o.getId().value()).containsExactly("order-page-1", "order-page-2");
+            assertThat(segunda).extracting(o -> o.getId().value()).containsExactly("order-page-3", "order-page-4");
+            assertThat(todas).hasSize(5).allSatisfy(o -> assertThat(o.getItems()).hasSize(2));
+        }
+
+        @Test
+        @DisplayName("Debe guardar una orden leída con findPage dentro de una unidad de trabajo")
+        void debeGuardarOrdenPaginadaDentroDeUnidadDeTrabajo() {
+            // Given
+            JpaUnitOfWork unitOfWork = JpaUnitOfWork.perOperation(entityManagerFactory);
+            JpaOrderRepository perOperation = new JpaOrderRepository(unitOfWork);
+            perOperation.save(crearOrden("order-page-1", "cust-001",
+                    List.of(crearOrderItem("prod-001", 1, new BigDecimal("100.00")))));
+
+            // When
+            unitOfWork.execute(() -> {
+                Order orden = perOperation.findPage(null, 1).get(0);
+                orden.confirm();
+                return perOperation.save(orden);
+            });
+
+            // Then
+            Order guardada = perOperation.findById(OrderId.of("order-page-1")).orElseThrow();
+            assertThat(guardada.getStatus()).isEqualTo(OrderStatus.CONFIRMADO);
+            assertThat(guardada.getVersion()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("saveAll() y deleteAllById()")
+    class BulkTests {
+
+        @Test
+        @DisplayName("Debe guardar órdenes nuevas y existentes con sus items")
+        void debeGuardarOrdenesEnLote() {
+            // Given
+            repository.save(crearOrden("bulk-1", "cust-001", List.of(crearOrderItem("prod-001", 1, new BigDecimal("10.00")))));
+
+            // When
+            repository.saveAll(List.of(
+                    crearOrden("bulk-1", "cust-001", List.of(
+                            crearOrderItem("prod-001", 5, new BigDecimal("10.00")),
+                            crearOrderItem("prod-002", 1, new BigDecimal("20.00")))),
+                    crearOrden("bulk-2", "cust-002", List.of(crearOrderItem("prod-003", 2, new BigDecimal("30.00"))))));
+
+            // Then
+            assertThat(repository.findById(OrderId.of("bulk-1")).get().getItems()).hasSize(2);
+            assertThat(repository.findById(OrderId.of("bulk-2")).get().getItems()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Debe eliminar órdenes junto con sus items")
+        void debeEliminarOrdenesConSusItems() {
+            // Given
+            repository.saveAll(List.of(
+                    crearOrden("bulk-3", "cust-001", List.of(crearOrderItem("prod-001", 1, new BigDecimal("10.00")))),
+                    crearOrden("bulk-4", "cust-001", List.of(crearOrderItem("prod-001", 1, new BigDecimal("10.00"))))));
+
+            // When
+            repository.deleteAllById(List.of(OrderId.of("bulk-3")));
+
+            // Then
+            assertThat(repository.existsById(OrderId.of("bulk-3"))).isFalse();
+            assertThat(repository.existsById(OrderId.of("bulk-4"))).isTrue();
+            Long items = entityManager.createQuery("SELECT COUNT(i) FROM OrderItemEntity i", Long.class).getSingleResult();
+            assertThat(items).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Debe devolver las órdenes con la versión almacenada")
+        void debeDevolverOrdenesConVersionAlmacenada() {
+            // Given
+            JpaOrderRepository perOperation = new JpaOrderRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            List<Order> insertadas = perOperation.saveAll(List.of(
+                    crearOrden("ver-1", "cust-001", List.of(crearOrderItem("prod-001", 1, new BigDecimal("10.00")))),
+                    crearOrden("ver-2", "cust-001", List.of(crearOrderItem("prod-002", 1, new BigDecimal("20.00"))))));
+            insertadas.get(0).confirm();
+
+            // When
+            List<Order> actualizadas = perOperation.saveAll(insertadas);
+
+            // Then
+            assertThat(insertadas).extracting(Order::getVersion).containsExactly(0L, 0L);
+            assertThat(actualizadas).allSatisfy(orden -> assertThat(orden.getVersion())
+                    .isEqualTo(perOperation.findById(orden.getId()).orElseThrow().getVersion()));
+            assertThat(actualizadas.get(0).getVersion()).isEqualTo(1L);
+            actualizadas.get(0).ship();
+            Order guardada = perOperation.save(actualizadas.get(0));
+            assertThat(guardada.getStatus()).isEqualTo(OrderStatus.EN_DESPACHO);
+            assertThat(guardada.getVersion()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Inserción de items")
+    class ItemInsertTests {
+
+        @Test
+        @DisplayName("Debe insertar los items de una orden en lotes JDBC")
+        void debeInsertarItemsEnLotes() {
+            // Given
+            JpaOrderRepository perOperation = new JpaOrderRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            List<OrderItem> items = IntStream.range(0, 100)
+                    .mapToObj(i -> crearOrderItem("prod-" + i, 1, new BigDecimal("10.00")))
+                    .toList();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // When
+            perOperation.save(crearOrden("order-batch", "cust-001", items));
+
+            // Then
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(101);
+            assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+            assertThat(perOperation.findById(OrderId.of("order-batch")).get().getItems()).hasSize(100);
+        }
+    }
+
+    @Nested
+    @DisplayName("Conciliación de items al guardar")
+    class ItemReconciliationTests {
+
+        private JpaOrderRepository perOperation;
+        private Statistics statistics;
+
+        @BeforeEach
+        void setUp() {
+            perOperation = new JpaOrderRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            perOperation.save(crearOrden("order-diff", "cust-001", List.of(
+                    crearOrderItem("prod-001", 2, new BigDecimal("10.00")),
+                    crearOrderItem("prod-002", 1, new BigDecimal("20.00")),
+                    crearOrderItem("prod-003", 4, new BigDecimal("30.00")))));
+            statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+        }
+
+        private List<Long> idsDeItems() {
+            return entityManagerFactory.createEntityManager()
+                    .createQuery("SELECT i.id FROM OrderItemEntity i WHERE i.orderId = 'order-diff' ORDER BY i.id", Long.class)
+                    .getResultList();
+        }
+
+        @Test
+        @DisplayName("Un cambio de estado debe ser un único UPDATE sobre orders")
+        void cambioDeEstadoDebeSerUnSoloUpdate() {
+            // Given
+            List<Long> idsAntes = idsDeItems();
+            Order orden = perOperation.findById(OrderId.of("order-diff")).orElseThrow();
+            orden.confirm();
+            statistics.clear();
+
+            // When
+            perOperation.save(orden);
+
+            // Then
+            assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+            assertThat(statistics.getEntityInsertCount()).isZero();
+            assertThat(statistics.getEntityDeleteCount()).isZero();
+            assertThat(idsDeItems()).isEqualTo(idsAntes);
+            assertThat(perOperation.findById(OrderId.of("order-diff")).get().getStatus()).isEqualTo(OrderStatus.CONFIRMADO);
+        }
+
+        @Test
+        @DisplayName("Debe reutilizar la fila del item cuando cambia su cantidad")
+        void debeReutilizarFilaAlCambiarCantidad() {
+            // Given
+            List<Long> idsAntes = idsDeItems();
+            Order original = perOperation.findById(OrderId.of("order-diff")).orElseThrow();
+            Order modificada = Order.builder()
+                    .id(original.getId())
+                    .customerId(original.getCustomerId())
+                    .createdAt(original.getCreatedAt())
+                    .items(List.of(
+                            crearOrderItem("prod-001", 2, new BigDecimal("10.00")),
+                            crearOrderItem("prod-002", 5, new BigDecimal("20.00")),
+                            crearOrderItem("prod-003", 4, new BigDecimal("30.00"))))
+                    .build();
+            statistics.clear();
+
+            // When
+            perOperation.save(modificada);
+
+            // Then
+            assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+            assertThat(statistics.getEntityInsertCount()).isZero();
+            assertThat(idsDeItems()).isEqualTo(idsAntes);
+            assertThat(perOperation.findById(OrderId.of("order-diff")).get().getItems())
+                    .filteredOn(item -> item.getProductId().value().equals("prod-002"))
+                    .singleElement()
+                    .satisfies(item -> assertThat(item.getQuantity()).isEqualTo(5));
+        }
+
+        @Test
+        @DisplayName("Debe insertar y eliminar solo los items que cambian")
+        void debeInsertarYEliminarSoloLaDiferencia() {
+            // When
+            perOperation.save(crearOrden("order-diff", "cust-001", List.of(
+                    crearOrderItem("prod-001", 2, new BigDecimal("10.00")),
+                    crearOrderItem("prod-003", 4, new BigDecimal("30.00")),
+                    crearOrderItem("prod-004", 1, new BigDecimal("40.00")))));
+
+            // Then
+            assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+            assertThat(perOperation.findById(OrderId.of("order-diff")).get().getItems())
+                    .extracting(item -> item.getProductId().value())
+                    .containsExactlyInAnyOrder("prod-001", "prod-003", "prod-004");
+        }
+
+        @Test
+        @DisplayName("saveAll debe conciliar los items igual que save")
+        void saveAllDebeConciliarItems() {
+            // Given
+            List<Long> idsAntes = idsDeItems();
+            Order orden = perOperation.findById(OrderId.of("order-diff")).orElseThrow();
+            orden.confirm();
+            statistics.clear();
+
+            // When
+            perOperation.saveAll(List.of(orden));
+
+            // Then
+            assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+            assertThat(statistics.getEntityDeleteCount()).isZero();
+            assertThat(idsDeItems()).isEqualTo(idsAntes);
+        }
+    }
+
+    @Nested
+    @DisplayName("insert()")
+    class InsertTests {
+
+        @Test
+        @DisplayName("Debe insertar orden e items sin consultar antes la base de datos")
+        void debeInsertarSinSelectPrevio() {
+            // Given
+            JpaOrderRepository perOperation = new JpaOrderRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // When
+            perOperation.insert(crearOrden("order-ins", "cust-001", List.of(
+                    crearOrderItem("prod-001", 1, new BigDecimal("10.00")),
+                    crearOrderItem("prod-002", 2, new BigDecimal("20.00")))));
+
+            // Then: un INSERT de la orden y un lote de items
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            assertThat(perOperation.findById(OrderId.of("order-ins")).get().getItems()).hasSize(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Control de versiones")
+    class VersioningTests {
+
+        private JpaOrderRepository perOperation;
+
+        @BeforeEach
+        void setUp() {
+            perOperation = new JpaOrderRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            perOperation.insert(crearOrden("order-ver", "cust-001", List.of(
+                    crearOrderItem("prod-001", 2, new BigDecimal("10.00")))));
+        }
+
+        @Test
+        @DisplayName("Debe devolver la versión nueva al cambiar de estado")
+        void debeIncrementarVersionAlCambiarEstado() {
+            // Given
+            Order orden = perOperation.findById(OrderId.of("order-ver")).orElseThrow();
+            orden.confirm();
+
+            // When
+            Order guardada = perOperation.save(orden);
+
+            // Then
+            assertThat(orden.getVersion()).isZero();
+            assertThat(guardada.getVersion()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Debe rechazar el guardado de una orden leída antes de otro cambio")
+        void debeRechazarVersionAntigua() {
+            // Given
+            Order primera = perOperation.findById(OrderId.of("order-ver")).orElseThrow();
+            Order segunda = perOperation.findById(OrderId.of("order-ver")).orElseThrow();
+            primera.confirm();
+            perOperation.save(primera);
+            segunda.confirm();
+
+            // When & Then
+            assertThatThrownBy(() -> perOperation.save(segunda))
+                    .isInstanceOf(OptimisticConflictException.class)
+                    .hasMessageContaining("order-ver");
+        }
+
+        @Test
+        @DisplayName("Debe versionar la orden aunque solo cambie una fila de items")
+        void debeIncrementarVersionAlCambiarSoloUnItem() {
+            // Given
+            Order original = perOperation.findById(OrderId.of("order-ver")).orElseThrow();
+            Order modificada = Order.builder()
+                    .id(original.getId())
+                    .customerId(original.getCustomerId())
+                    .createdAt(original.getCreatedAt())
+                    .items(List.of(crearOrderItem("prod-001", 7, new BigDecimal("10.00"))))
+                    .version(original.getVersion())
+                    .build();
+
+            // When
+            Order guardada = perOperation.save(modificada);
+
+            // Then
+            assertThat(guardada.getVersion()).isGreaterThan(original.getVersion());
+            assertThat(perOperation.findById(OrderId.of("order-ver")).get().getVersion())
+                    .isEqualTo(guardada.getVersion());
+            assertThatThrownBy(() -> perOperation.save(original))
+                    .isInstanceOf(OptimisticConflictException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("updateStatus()")
+    class UpdateStatusTests {
+
+        private JpaOrderRepository perOperation;
+
+        @BeforeEach
+        void setUp() {
+            perOperation = new JpaOrderRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            for (int i = 1; i <= 3; i++) {
+                perOperation.insert(Order.builder()
+                        .id(OrderId.of("order-status-" + i))
+                        .customerId(CustomerId.of("cust-001"))
+                        .items(List.of(crearOrderItem("prod-001", 1, new BigDecimal("10.00"))))
+                        .status(i == 3 ? OrderStatus.PENDIENTE : OrderStatus.CONFIRMADO)
+                        .build());
+            }
+        }
+
+        @Test
+        @DisplayName("Debe cambiar solo las órdenes en el estado esperado con un SELECT y un UPDATE")
+        void debeCambiarSoloLasOrdenesEnElEstadoEsperado() {
+            // Given
+            List<OrderId> ids = IntStream.rangeClosed(1, 4).mapToObj(i -> OrderId.of("order-status-" + i)).toList();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // When
+            List<OrderId> cambiadas = perOperation.updateStatus(ids, OrderStatus.CONFIRMADO, OrderStatus.EN_DESPACHO);
+
+            // Then
+            assertThat(cambiadas).containsExactlyInAnyOrder(OrderId.of("order-status-1"), OrderId.of("order-status-2"));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            assertThat(perOperation.findById(OrderId.of("order-status-1")).get().getStatus()).isEqualTo(OrderStatus.EN_DESPACHO);
+            assertThat(perOperation.findById(OrderId.of("order-status-1")).get().getItems()).hasSize(1);
+            assertThat(perOperation.findById(OrderId.of("order-status-3")).get().getStatus()).isEqualTo(OrderStatus.PENDIENTE);
+        }
+
+        @Test
+        @DisplayName("Debe incrementar la versión para que una copia anterior no pueda guardarse")
+        void debeIncrementarVersion() {
+            // Given
+            Order anterior = perOperation.findById(OrderId.of("order-status-1")).orElseThrow();
+
+            // When
+            perOperation.updateStatus(List.of(OrderId.of("order-status-1")), OrderStatus.CONFIRMADO, OrderStatus.EN_DESPACHO);
+
+            // Then
+            assertThat(perOperation.findById(OrderId.of("order-status-1")).get().getVersion())
+                    .isEqualTo(anterior.getVersion() + 1);
+            anterior.ship();
+            assertThatThrownBy(() -> perOperation.save(anterior))
+                    .isInstanceOf(OptimisticConflictException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("releaseStock()")
+    class ReleaseStockTests {
+        private final LocalDateTime vencimiento = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+        private JpaOrderRepository perOperation;
+
+        @BeforeEach
+        void setUp() {
+            perOperation = new JpaOrderRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            perOperation.insert(Order.builder()
+                    .id(OrderId.of("order-hold"))
+                    .customerId(CustomerId.of("cust-001"))
+                    .items(List.of(crearOrderItem("prod-001", 2, new BigDecimal("10.00"))))
+                    .reservedUntil(vencimiento)
+                    .build());
+        }
+
+        @Test
+        @DisplayName("Debe guardar el vencimiento de la reserva con la orden")
+        void debeGuardarElVencimiento() {
+            // When
+            Order orden = perOperation.findById(OrderId.of("order-hold")).orElseThrow();
+
+            // Then
+            assertThat(orden.getReservedUntil()).isEqualTo(vencimiento);
+            assertThat(orden.isStockReleased()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Debe marcar una sola vez la orden vencida con un SELECT y un UPDATE e incrementar su versión")
+        void debeMarcarUnaSolaVez() {
+            // Given
+            Order anterior = perOperation.findById(OrderId.of("order-hold")).orElseThrow();
+            List<OrderId> ids = List.of(OrderId.of("order-hold"), OrderId.of("order-999"));
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // When
+            List<OrderId> primera = perOperation.releaseStock(ids, vencimiento);
+            long sentencias = statistics.getPrepareStatementCount();
+            List<OrderId> segunda = perOperation.releaseStock(ids, vencimiento.plusMinutes(1));
+
+            // Then
+            assertThat(primera).containsExactly(OrderId.of("order-hold"));
+            assertThat(sentencias).isEqualTo(2);
+            assertThat(segunda).isEmpty();
+            Order marcada = perOperation.findById(OrderId.of("order-hold")).orElseThrow();
+            assertThat(marcada.isStockReleased()).isTrue();
+            assertThat(marcada.getVersion()).isEqualTo(anterior.getVersion() + 1);
+            anterior.confirm();
+            assertThatThrownBy(() -> perOperation.save(anterior))
+                    .isInstanceOf(OptimisticConflictException.class);
+        }
+
+        @Test
+        @DisplayName("No debe marcar una orden cuya reserva no ha vencido o que ya no está pendiente")
+        void noDebeMarcarOrdenVigenteNiConfirmada() {
+            // Given
+            List<OrderId> vigente = perOperation.releaseStock(List.of(OrderId.of("order-hold")), vencimiento.minusSeconds(1));
+            Order orden = perOperation.findById(OrderId.of("order-hold")).orElseThrow();
+            orden.confirm();
+            perOperation.save(orden);
+
+            // When
+            List<OrderId> confirmada = perOperation.releaseStock(List.of(OrderId.of("order-hold")), vencimiento);
+
+            // Then
+            assertThat(vigente).isEmpty();
+            assertThat(confirmada).isEmpty();
+            Order guardada = perOperation.findById(OrderId.of("order-hold")).orElseThrow();
+            assertThat(guardada.isStockReleased()).isFalse();
+            assertThat(guardada.getReservedUntil()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("sumItemQuantities()")
+    class SumItemQuantitiesTests {
+
+        @Test
+        @DisplayName("Debe sumar por producto los items de las órdenes indicadas con una sola sentencia")
+        void debeSumarPorProducto() {
+            // Given
+            JpaOrderRepository perOperation = new JpaOrderRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            perOperation.saveAll(List.of(
+                    crearOrden("order-sum-1", "cust-001", List.of(
+                            crearOrderItem("prod-001", 2, new BigDecimal("10.00")),
+                            crearOrderItem("prod-002", 1, new BigDecimal("20.00")))),
+                    crearOrden("order-sum-2", "cust-001", List.of(crearOrderItem("prod-001", 3, new BigDecimal("10.00")))),
+                    crearOrden("order-sum-3", "cust-001", List.of(crearOrderItem("prod-003", 7, new BigDecimal("30.00"))))));
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // When
+            Map<ProductId, Integer> cantidades = perOperation.sumItemQuantities(List.of(
+                    OrderId.of("order-sum-1"), OrderId.of("order-sum-2"), OrderId.of("order-sum-2"), OrderId.of("order-999")));
+
+            // Then
+            assertThat(cantidades).containsExactly(
+                    Map.entry(ProductId.of("prod-001"), 5),
+                    Map.entry(ProductId.of("prod-002"), 1));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        }
+    }
 }
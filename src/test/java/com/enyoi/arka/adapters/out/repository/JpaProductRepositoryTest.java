@@ -2,18 +2,24 @@ package com.enyoi.arka.adapters.out.repository;
 
 import com.enyoi.arka.domain.entities.Product;
 import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.exception.OptimisticConflictException;
 import com.enyoi.arka.domain.valueobjects.Money;
 import com.enyoi.arka.domain.valueobjects.ProductId;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DisplayName("JpaProductRepository - Tests de Integración")
 class JpaProductRepositoryTest {
@@ -142,6 +148,83 @@ class JpaProductRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("findAllById()")
+    class FindAllByIdTests {
+
+        @Test
+        @DisplayName("Debe devolver solo los existentes, sin repetir")
+        void debeDevolverSoloLosExistentes() {
+            // Given
+            repository.save(crearProducto("prod-101", "Teclado", 10, ProductCategory.PERIFERICOS));
+            repository.save(crearProducto("prod-102", "Mouse", 20, ProductCategory.PERIFERICOS));
+
+            // When
+            List<Product> resultado = repository.findAllById(List.of(
+                    ProductId.of("prod-101"), ProductId.of("no-existe"), ProductId.of("prod-102"), ProductId.of("prod-101")));
+
+            // Then
+            assertThat(resultado).extracting(producto -> producto.getId().value())
+                    .containsExactlyInAnyOrder("prod-101", "prod-102");
+        }
+
+        @Test
+        @DisplayName("Debe partir los ids en bloques para no superar el límite de parámetros de SQLite")
+        void debePartirLosIdsEnBloques() {
+            // Given
+            int total = JpaUnitOfWork.MAX_IN_PARAMETERS * 2 + 1;
+            List<Product> productos = IntStream.range(0, total)
+                    .mapToObj(i -> crearProducto("prod-bulk-" + i, "Producto " + i, i, ProductCategory.OTROS))
+                    .toList();
+            repository.insertAll(productos);
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // When
+            List<Product> resultado = repository.findAllById(productos.stream().map(Product::getId).toList());
+
+            // Then
+            assertThat(resultado).hasSize(total);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("No debe consultar con una colección vacía")
+        void noDebeConsultarConColeccionVacia() {
+            // Given
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // When
+            List<Product> resultado = repository.findAllById(List.of());
+
+            // Then
+            assertThat(resultado).isEmpty();
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Debe guardar un producto leído con findAllById dentro de una unidad de trabajo")
+        void debeGuardarProductoLeidoDentroDeUnidadDeTrabajo() {
+            // Given
+            JpaUnitOfWork unitOfWork = JpaUnitOfWork.perOperation(entityManagerFactory);
+            JpaProductRepository perOperation = new JpaProductRepository(unitOfWork);
+            perOperation.save(crearProducto("prod-103", "Monitor", 5, ProductCategory.OTROS));
+
+            // When
+            unitOfWork.execute(() -> {
+                Product producto = perOperation.findAllById(List.of(ProductId.of("prod-103"))).get(0);
+                producto.increaseStock(10);
+                return perOperation.save(producto);
+            });
+
+            // Then
+            Product guardado = perOperation.findById(ProductId.of("prod-103")).orElseThrow();
+            assertThat(guardado.getStock()).isEqualTo(15);
+            assertThat(guardado.getVersion()).isEqualTo(1);
+        }
+    }
+
     @Nested
     @DisplayName("findAll()")
     class FindAllTests {
@@ -294,4 +377,411 @@ class JpaProductRepositoryTest {
             repository.deleteById(ProductId.of("no-existe"));
         }
     }
+
+    @Nested
+    @DisplayName("tryReserveStock()")
+    class TryReserveStockTests {
+
+        @Test
+        @DisplayName("Debe descontar stock si hay suficiente")
+        void debeDescontarStockSiHaySuficiente() {
+            // Given
+            repository.save(crearProducto("prod-018", "Producto", 10, ProductCategory.OTROS));
+
+            // When
+            boolean reservado = repository.tryReserveStock(ProductId.of("prod-018"), 4);
+
+            // Then
+            assertThat(reservado).isTrue();
+            assertThat(repository.findById(ProductId.of("prod-018")).get().getStock()).isEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("Debe permitir reservar exactamente el stock disponible")
+        void debePermitirReservarTodoElStock() {
+            // Given
+            repository.save(crearProducto("prod-019", "Producto", 3, ProductCategory.OTROS));
+
+            // When
+            boolean reservado = repository.tryReserveStock(ProductId.of("prod-019"), 3);
+
+            // Then
+            assertThat(reservado).isTrue();
+            assertThat(repository.findById(ProductId.of("prod-019")).get().getStock()).isZero();
+        }
+
+        @Test
+        @DisplayName("No debe descontar si el stock no alcanza")
+        void noDebeDescontarSiElStockNoAlcanza() {
+            // Given
+            repository.save(crearProducto("prod-020", "Producto", 2, ProductCategory.OTROS));
+
+            // When
+            boolean reservado = repository.tryReserveStock(ProductId.of("prod-020"), 3);
+
+            // Then
+            assertThat(reservado).isFalse();
+            assertThat(repository.findById(ProductId.of("prod-020")).get().getStock()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Debe retornar false para producto inexistente")
+        void debeRetornarFalseParaProductoInexistente() {
+            // When & Then
+            assertThat(repository.tryReserveStock(ProductId.of("no-existe"), 1)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Debe devolver stock con releaseStock")
+        void debeDevolverStock() {
+            // Given
+            repository.save(crearProducto("prod-021", "Producto", 5, ProductCategory.OTROS));
+            repository.findById(ProductId.of("prod-021"));
+
+            // When
+            repository.releaseStock(ProductId.of("prod-021"), 7);
+
+            // Then
+            assertThat(repository.findById(ProductId.of("prod-021")).get().getStock()).isEqualTo(12);
+        }
+    }
+
+    @Nested
+    @DisplayName("findPage() y streamAll()")
+    class PagingTests {
+
+        @BeforeEach
+        void setUp() {
+            for (int i = 1; i <= 7; i++) {
+                repository.save(crearProducto("page-00" + i, "Producto " + i, i, ProductCategory.OTROS));
+            }
+        }
+
+        @Test
+        @DisplayName("Debe paginar por id a partir del último leído")
+        void debePaginarPorId() {
+            // When
+            List<Product> primera = repository.findPage(null, 3);
+            List<Product> segunda = repository.findPage(primera.get(2).getId(), 3);
+            List<Product> ultima = repository.findPage(segunda.get(2).getId(), 3);
+
+            // Then
+            assertThat(primera).extracting(p -> p.getId().value()).containsExactly("page-001", "page-002", "page-003");
+            assertThat(segunda).extracting(p -> p.getId().value()).containsExactly("page-004", "page-005", "page-006");
+            assertThat(ultima).extracting(p -> p.getId().value()).containsExactly("page-007");
+        }
+
+        @Test
+        @DisplayName("Debe rechazar un límite no positivo")
+        void debeRechazarLimiteNoPositivo() {
+            assertThatThrownBy(() -> repository.findPage(null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("streamAll debe recorrer todos los productos en orden")
+        void streamAllDebeRecorrerTodos() {
+            // Given
+            JpaProductRepository perOperation = new JpaProductRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+
+            // When
+            List<String> ids = perOperation.streamAll().map(p -> p.getId().value()).toList();
+
+            // Then
+            assertThat(ids).containsExactly("page-001", "page-002", "page-003", "page-004",
+                    "page-005", "page-006", "page-007");
+        }
+
+        @Test
+        @DisplayName("Debe guardar un producto leído con findPage dentro de una unidad de trabajo")
+        void debeGuardarProductoPaginadoDentroDeUnidadDeTrabajo() {
+            // Given
+            JpaUnitOfWork unitOfWork = JpaUnitOfWork.perOperation(entityManagerFactory);
+            JpaProductRepository perOperation = new JpaProductRepository(unitOfWork);
+
+            // When
+            unitOfWork.execute(() -> {
+                Product producto = perOperation.findPage(null, 1).get(0);
+                producto.increaseStock(10);
+                return perOperation.save(producto);
+            });
+
+            // Then
+            Product guardado = perOperation.findById(ProductId.of("page-001")).orElseThrow();
+            assertThat(guardado.getStock()).isEqualTo(11);
+            assertThat(guardado.getVersion()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("saveAll() y deleteAllById()")
+    class BulkTests {
+
+        @Test
+        @DisplayName("Debe insertar y actualizar productos en lote")
+        void debeInsertarYActualizarEnLote() {
+            // Given
+            repository.save(crearProducto("bulk-000", "Original", 1, ProductCategory.OTROS));
+            List<Product> productos = IntStream.range(0, 120)
+                    .mapToObj(i -> crearProducto(String.format("bulk-%03d", i), "Producto " + i, i, ProductCategory.OTROS))
+                    .toList();
+
+            // When
+            List<Product> guardados = repository.saveAll(productos);
+
+            // Then
+            assertThat(guardados).hasSize(120);
+            assertThat(repository.findAll()).hasSize(120);
+            assertThat(repository.findById(ProductId.of("bulk-000")).get().getName()).isEqualTo("Producto 0");
+            assertThat(repository.findById(ProductId.of("bulk-119")).get().getStock()).isEqualTo(119);
+        }
+
+        @Test
+        @DisplayName("Debe agrupar los INSERT en lotes JDBC")
+        void debeAgruparInsertsEnLotes() {
+            // Given
+            JpaProductRepository perOperation = new JpaProductRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            List<Product> productos = IntStream.range(0, 200)
+                    .mapToObj(i -> crearProducto("batch-" + i, "Producto " + i, i, ProductCategory.OTROS))
+                    .toList();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // When
+            perOperation.saveAll(productos);
+
+            // Then: una consulta de existencia y un lote de INSERT por bloque
+            int bloques = (200 + JpaUnitOfWork.BATCH_SIZE - 1) / JpaUnitOfWork.BATCH_SIZE;
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * bloques);
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(200);
+            assertThat(statistics.getTransactionCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Debe eliminar solo los productos indicados")
+        void debeEliminarSoloLosIndicados() {
+            // Given
+            repository.saveAll(List.of(
+                    crearProducto("del-001", "Uno", 1, ProductCategory.OTROS),
+                    crearProducto("del-002", "Dos", 2, ProductCategory.OTROS),
+                    crearProducto("del-003", "Tres", 3, ProductCategory.OTROS)));
+
+            // When
+            repository.deleteAllById(List.of(ProductId.of("del-001"), ProductId.of("del-003"), ProductId.of("no-existe")));
+
+            // Then
+            assertThat(repository.findAll()).extracting(p -> p.getId().value()).containsExactly("del-002");
+        }
+
+        @Test
+        @DisplayName("No debe hacer nada con colecciones vacías")
+        void noDebeHacerNadaConColeccionesVacias() {
+            // When
+            repository.saveAll(List.of());
+            repository.deleteAllById(List.of());
+
+            // Then
+            assertThat(repository.findAll()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Debe devolver los productos con la versión almacenada")
+        void debeDevolverProductosConVersionAlmacenada() {
+            // Given
+            JpaProductRepository perOperation = new JpaProductRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            List<Product> insertados = perOperation.saveAll(List.of(
+                    crearProducto("ver-001", "Teclado", 1, ProductCategory.OTROS),
+                    crearProducto("ver-002", "Mouse", 2, ProductCategory.OTROS)));
+            insertados.get(0).increaseStock(4);
+
+            // When
+            List<Product> actualizados = perOperation.saveAll(insertados);
+            actualizados.get(0).increaseStock(5);
+            Product guardado = perOperation.save(actualizados.get(0));
+
+            // Then
+            assertThat(insertados).extracting(Product::getVersion).containsExactly(0L, 0L);
+            assertThat(actualizados).extracting(Product::getVersion).containsExactly(1L, 0L);
+            assertThat(guardado.getStock()).isEqualTo(10);
+            assertThat(guardado.getVersion()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("insert()")
+    class InsertTests {
+
+        @Test
+        @DisplayName("Debe insertar sin consultar antes la base de datos")
+        void debeInsertarSinSelectPrevio() {
+            // Given
+            JpaProductRepository perOperation = new JpaProductRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // When
+            perOperation.insert(crearProducto("ins-001", "Nuevo", 5, ProductCategory.OTROS));
+
+            // Then
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(perOperation.findById(ProductId.of("ins-001"))).isPresent();
+        }
+
+        @Test
+        @DisplayName("Debe fallar si el id ya existe")
+        void debeFallarSiElIdYaExiste() {
+            // Given
+            JpaProductRepository perOperation = new JpaProductRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            perOperation.insert(crearProducto("ins-002", "Nuevo", 5, ProductCategory.OTROS));
+
+            // When & Then
+            assertThatThrownBy(() -> perOperation.insert(crearProducto("ins-002", "Otro", 1, ProductCategory.OTROS)))
+                    .isInstanceOf(PersistenceException.class);
+            assertThat(perOperation.findById(ProductId.of("ins-002")).get().getName()).isEqualTo("Nuevo");
+        }
+    }
+
+    @Nested
+    @DisplayName("Control de versiones")
+    class VersioningTests {
+
+        private Product conStock(Product producto, int stock) {
+            return Product.builder()
+                    .id(producto.getId())
+                    .name(producto.getName())
+                    .description(producto.getDescription())
+                    .price(producto.getPrice())
+                    .stock(stock)
+                    .category(producto.getCategory())
+                    .version(producto.getVersion())
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Debe devolver la versión nueva tras cada guardado")
+        void debeIncrementarVersionAlGuardar() {
+            // Given
+            Product insertado = repository.insert(crearProducto("prod-001", "Teclado", 10, ProductCategory.PERIFERICOS));
+
+            // When
+            Product guardado = repository.save(conStock(insertado, 20));
+
+            // Then
+            assertThat(insertado.getVersion()).isZero();
+            assertThat(guardado.getVersion()).isEqualTo(1);
+            assertThat(repository.findById(ProductId.of("prod-001")).get().getVersion()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Debe rechazar el guardado sobre una versión antigua sin escribir nada")
+        void debeRechazarVersionAntigua() {
+            // Given
+            Product leido = repository.insert(crearProducto("prod-001", "Teclado", 10, ProductCategory.PERIFERICOS));
+            repository.save(conStock(leido, 20));
+
+            // When & Then
+            assertThatThrownBy(() -> repository.save(conStock(leido, 30)))
+                    .isInstanceOf(OptimisticConflictException.class)
+                    .hasMessageContaining("prod-001");
+            assertThat(repository.findById(ProductId.of("prod-001")).get().getStock()).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("Sin versión la última escritura gana")
+        void sinVersionGanaLaUltimaEscritura() {
+            // Given
+            repository.insert(crearProducto("prod-001", "Teclado", 10, ProductCategory.PERIFERICOS));
+
+            // When
+            Product guardado = repository.save(crearProducto("prod-001", "Teclado", 40, ProductCategory.PERIFERICOS));
+
+            // Then
+            assertThat(guardado.getStock()).isEqualTo(40);
+            assertThat(guardado.getVersion()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Reservar stock debe invalidar las lecturas anteriores")
+        void reservarStockDebeIncrementarVersion() {
+            // Given
+            Product leido = repository.insert(crearProducto("prod-001", "Teclado", 10, ProductCategory.PERIFERICOS));
+            repository.tryReserveStock(ProductId.of("prod-001"), 3);
+
+            // When & Then
+            assertThatThrownBy(() -> repository.save(conStock(leido, 50)))
+                    .isInstanceOf(OptimisticConflictException.class);
+            assertThat(repository.findById(ProductId.of("prod-001")).get().getStock()).isEqualTo(7);
+        }
+
+        @Test
+        @DisplayName("saveAll debe rechazar versiones antiguas")
+        void saveAllDebeRechazarVersionAntigua() {
+            // Given
+            Product leido = repository.insert(crearProducto("prod-001", "Teclado", 10, ProductCategory.PERIFERICOS));
+            repository.save(conStock(leido, 20));
+
+            // When & Then
+            assertThatThrownBy(() -> repository.saveAll(List.of(conStock(leido, 30))))
+                    .isInstanceOf(OptimisticConflictException.class);
+            assertThat(repository.findById(ProductId.of("prod-001")).get().getStock()).isEqualTo(20);
+        }
+    }
+
+    @Nested
+    @DisplayName("insertAll()")
+    class InsertAllTests {
+
+        private JpaProductRepository perOperation;
+        private Statistics statistics;
+
+        @BeforeEach
+        void setUp() {
+            perOperation = new JpaProductRepository(JpaUnitOfWork.perOperation(entityManagerFactory));
+            statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+        }
+
+        private List<Product> productos(int cantidad) {
+            return IntStream.range(0, cantidad)
+                    .mapToObj(i -> crearProducto("bulk-%03d".formatted(i), "Producto " + i, i, ProductCategory.OTROS))
+                    .toList();
+        }
+
+        @Test
+        @DisplayName("Debe insertar los productos en lotes JDBC")
+        void debeInsertarEnLotes() {
+            // When
+            perOperation.insertAll(productos(120));
+
+            // Then: 120 filas en lotes de 50
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+            assertThat(perOperation.findAll()).hasSize(120);
+            assertThat(perOperation.findById(ProductId.of("bulk-007")).get().getVersion()).isZero();
+        }
+
+        @Test
+        @DisplayName("No debe insertar ninguno si un id ya existe")
+        void noDebeInsertarNingunoSiUnIdExiste() {
+            // Given
+            perOperation.insert(crearProducto("bulk-050", "Existente", 1, ProductCategory.OTROS));
+
+            // When & Then
+            assertThatThrownBy(() -> perOperation.insertAll(productos(100)))
+                    .isInstanceOf(RuntimeException.class);
+            assertThat(perOperation.findAll()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Los listados cacheados deben incluir los productos insertados")
+        void listadosCacheadosDebenIncluirInsertados() {
+            // Given
+            assertThat(perOperation.findLowStockProducts(5)).isEmpty();
+
+            // When
+            perOperation.insertAll(productos(10));
+
+            // Then
+            assertThat(perOperation.findLowStockProducts(5)).hasSize(5);
+        }
+    }
 }
@@ -0,0 +1,443 @@
+package com.enyoi.arka.adapters.out.repository;
+
+import com.enyoi.arka.adapters.out.repository.entity.ProductEntity;
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Persistence;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JpaUnitOfWork - Tests de Integración")
+class JpaUnitOfWorkTest {
+
+    private static EntityManagerFactory entityManagerFactory;
+    private JpaUnitOfWork unitOfWork;
+
+    @BeforeAll
+    static void setUpClass() {
+        entityManagerFactory = Persistence.createEntityManagerFactory("test-persistence-unit");
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
+            entityManagerFactory.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        unitOfWork = JpaUnitOfWork.perOperation(entityManagerFactory);
+        unitOfWork.write(entityManager ->
+                entityManager.createQuery("DELETE FROM ProductEntity").executeUpdate());
+    }
+
+    private Product crearProducto(String id, int stock) {
+        return Product.builder()
+                .id(ProductId.of(id))
+                .name("Producto " + id)
+                .description("Descripción")
+                .price(Money.of(new BigDecimal("100.00"), "COP"))
+                .stock(stock)
+                .category(ProductCategory.OTROS)
+                .build();
+    }
+
+    private long contarProductos() {
+        return unitOfWork.read(entityManager -> entityManager
+                .createQuery("SELECT COUNT(p) FROM ProductEntity p", Long.class)
+                .getSingleResult());
+    }
+
+    @Nested
+    @DisplayName("perOperation()")
+    class PerOperationTests {
+
+        @Test
+        @DisplayName("Debe cerrar el EntityManager al terminar cada operación")
+        void debeCerrarEntityManagerAlTerminar() {
+            // Given
+            AtomicReference<EntityManager> usado = new AtomicReference<>();
+
+            // When
+            unitOfWork.read(entityManager -> {
+                usado.set(entityManager);
+                return null;
+            });
+
+            // Then
+            assertThat(usado.get().isOpen()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Debe usar un EntityManager distinto por operación")
+        void debeUsarEntityManagerDistintoPorOperacion() {
+            // When
+            EntityManager primero = unitOfWork.read(entityManager -> entityManager);
+            EntityManager segundo = unitOfWork.read(entityManager -> entityManager);
+
+            // Then
+            assertThat(primero).isNotSameAs(segundo);
+        }
+
+        @Test
+        @DisplayName("Debe hacer rollback si la escritura falla")
+        void debeHacerRollbackSiLaEscrituraFalla() {
+            // Given
+            JpaProductRepository repository = new JpaProductRepository(unitOfWork);
+
+            // When
+            assertThatThrownBy(() -> unitOfWork.write(entityManager -> {
+                entityManager.merge(new ProductEntity(
+                        "prod-rollback", "Producto", "Descripción", new BigDecimal("10.00"),
+                        "COP", 5, ProductCategory.OTROS));
+                entityManager.flush();
+                throw new IllegalStateException("fallo simulado");
+            })).isInstanceOf(IllegalStateException.class);
+
+            // Then
+            assertThat(repository.existsById(ProductId.of("prod-rollback"))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Debe permitir lecturas concurrentes desde varios hilos")
+        void debePermitirLecturasConcurrentes() throws Exception {
+            // Given
+            JpaProductRepository repository = new JpaProductRepository(unitOfWork);
+            repository.save(crearProducto("prod-001", 10));
+            repository.save(crearProducto("prod-002", 20));
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                // When
+                List<Future<Integer>> resultados = IntStream.range(0, 16)
+                        .mapToObj(i -> executor.submit(() -> repository.findAll().size()))
+                        .toList();
+
+                // Then
+                for (Future<Integer> resultado : resultados) {
+                    assertThat(resultado.get()).isEqualTo(2);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("execute()")
+    class ExecuteTests {
+
+        @Test
+        @DisplayName("Debe compartir EntityManager entre las operaciones de la unidad")
+        void debeCompartirEntityManager() {
+            // When
+            List<EntityManager> usados = unitOfWork.execute(() -> List.of(
+                    unitOfWork.read(entityManager -> entityManager),
+                    unitOfWork.write(entityManager -> entityManager)));
+
+            // Then
+            assertThat(usados.get(0)).isSameAs(usados.get(1));
+            assertThat(usados.get(0).isOpen()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Debe confirmar todas las escrituras juntas")
+        void debeConfirmarTodasLasEscriturasJuntas() {
+            // Given
+            JpaProductRepository repository = new JpaProductRepository(unitOfWork);
+
+            // When
+            unitOfWork.run(() -> {
+                repository.save(crearProducto("prod-010", 10));
+                repository.save(crearProducto("prod-011", 20));
+            });
+
+            // Then
+            assertThat(repository.findAll()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Debe descartar todas las escrituras si la unidad falla")
+        void debeDescartarTodasLasEscrituras() {
+            // Given
+            JpaProductRepository repository = new JpaProductRepository(unitOfWork);
+
+            // When
+            assertThatThrownBy(() -> unitOfWork.run(() -> {
+                repository.save(crearProducto("prod-012", 10));
+                repository.save(crearProducto("prod-013", 20));
+                throw new IllegalStateException("fallo simulado");
+            })).isInstanceOf(IllegalStateException.class);
+
+            // Then
+            assertThat(repository.findAll()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Una unidad anidada debe unirse a la externa")
+        void unidadAnidadaDebeUnirseALaExterna() {
+            // Given
+            JpaProductRepository repository = new JpaProductRepository(unitOfWork);
+
+            // When
+            assertThatThrownBy(() -> unitOfWork.run(() -> {
+                unitOfWork.run(() -> repository.save(crearProducto("prod-014", 10)));
+                throw new IllegalStateException("fallo simulado");
+            })).isInstanceOf(IllegalStateException.class);
+
+            // Then
+            assertThat(repository.existsById(ProductId.of("prod-014"))).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("read()")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Fuera de una unidad debe cargar entidades de solo lectura sin flush automático")
+        void debeLeerEnSoloLecturaFueraDeUnaUnidad() {
+            // Given
+            new JpaProductRepository(unitOfWork).save(crearProducto("prod-020", 10));
+
+            // When
+            List<Object> estado = unitOfWork.read(entityManager -> {
+                Session session = entityManager.unwrap(Session.class);
+                ProductEntity entity = entityManager.find(ProductEntity.class, "prod-020");
+                return List.of(session.isReadOnly(entity), session.getHibernateFlushMode());
+            });
+
+            // Then
+            assertThat(estado).containsExactly(true, FlushMode.MANUAL);
+        }
+
+        @Test
+        @DisplayName("Dentro de una unidad debe leer entidades modificables y ver los cambios pendientes")
+        void debeLeerEntidadesModificablesDentroDeUnaUnidad() {
+            // Given
+            JpaProductRepository repository = new JpaProductRepository(unitOfWork);
+
+            // When
+            List<Object> estado = unitOfWork.execute(() -> {
+                repository.save(crearProducto("prod-021", 10));
+                return unitOfWork.read(entityManager -> {
+                    Session session = entityManager.unwrap(Session.class);
+                    ProductEntity entity = entityManager.find(ProductEntity.class, "prod-021");
+                    return List.of(session.isReadOnly(entity), repository.findAll().size());
+                });
+            });
+
+            // Then
+            assertThat(estado).containsExactly(false, 1);
+        }
+
+        @Test
+        @DisplayName("Debe restaurar el modo del EntityManager compartido al terminar")
+        void debeRestaurarModoDelEntityManagerCompartido() {
+            // Given
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            JpaProductRepository repository = new JpaProductRepository(JpaUnitOfWork.shared(entityManager));
+            repository.save(crearProducto("prod-022", 10));
+
+            try {
+                // When
+                repository.findAll();
+
+                // Then
+                Session session = entityManager.unwrap(Session.class);
+                assertThat(session.isDefaultReadOnly()).isFalse();
+                assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.AUTO);
+            } finally {
+                entityManager.close();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("shared()")
+    class SharedTests {
+
+        @Test
+        @DisplayName("No debe cerrar el EntityManager compartido")
+        void noDebeCerrarEntityManagerCompartido() {
+            // Given
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            JpaUnitOfWork shared = JpaUnitOfWork.shared(entityManager);
+
+            try {
+                // When
+                shared.write(em -> em.createQuery("DELETE FROM ProductEntity").executeUpdate());
+
+                // Then
+                assertThat(entityManager.isOpen()).isTrue();
+                assertThat(entityManager.getTransaction().isActive()).isFalse();
+            } finally {
+                entityManager.close();
+            }
+        }
+
+        @Test
+        @DisplayName("Debe limpiar el contexto de persistencia tras cada operación")
+        void debeLimpiarContextoTrasCadaOperacion() {
+            // Given
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            JpaProductRepository repository = new JpaProductRepository(JpaUnitOfWork.shared(entityManager));
+
+            try {
+                // When
+                repository.save(crearProducto("prod-001", 10));
+                repository.findById(ProductId.of("prod-001"));
+                repository.findAll();
+
+                // Then
+                assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+            } finally {
+                entityManager.close();
+            }
+        }
+
+        @Test
+        @DisplayName("No debe limpiar el contexto dentro de una unidad de trabajo")
+        void noDebeLimpiarContextoDentroDeUnidad() {
+            // Given
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            JpaUnitOfWork shared = JpaUnitOfWork.shared(entityManager);
+            JpaProductRepository repository = new JpaProductRepository(shared);
+            repository.save(crearProducto("prod-001", 10));
+
+            try {
+                // When
+                int entidadesDentro = shared.execute(() -> {
+                    repository.findById(ProductId.of("prod-001"));
+                    return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+                });
+
+                // Then
+                assertThat(entidadesDentro).isEqualTo(1);
+                assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+            } finally {
+                entityManager.close();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("writeInChunks()")
+    class WriteInChunksTests {
+
+        @Test
+        @DisplayName("Debe procesar la colección en bloques dentro de una sola transacción")
+        void debeProcesarEnBloquesEnUnaTransaccion() {
+            // Given
+            List<Integer> items = IntStream.range(0, JpaUnitOfWork.BATCH_SIZE * 2 + 7).boxed().toList();
+            List<Integer> tamanos = new ArrayList<>();
+            List<EntityTransaction> transacciones = new ArrayList<>();
+
+            // When
+            unitOfWork.writeInChunks(items, (entityManager, chunk) -> {
+                tamanos.add(chunk.size());
+                transacciones.add(entityManager.getTransaction());
+            });
+
+            // Then
+            assertThat(tamanos).containsExactly(JpaUnitOfWork.BATCH_SIZE, JpaUnitOfWork.BATCH_SIZE, 7);
+            assertThat(transacciones).allSatisfy(tx -> assertThat(tx).isSameAs(transacciones.get(0)));
+        }
+
+        @Test
+        @DisplayName("Debe limpiar el contexto de persistencia tras cada bloque")
+        void debeLimpiarContextoTrasCadaBloque() {
+            // Given
+            List<Integer> gestionados = new ArrayList<>();
+            List<String> ids = IntStream.range(0, JpaUnitOfWork.BATCH_SIZE + 1).mapToObj(i -> "chunk-" + i).toList();
+
+            // When
+            unitOfWork.writeInChunks(ids, (entityManager, chunk) -> {
+                gestionados.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+                chunk.forEach(id -> entityManager.persist(new ProductEntity(id, "Producto", null,
+                        new BigDecimal("10.00"), "COP", 1, ProductCategory.OTROS)));
+            });
+
+            // Then
+            assertThat(gestionados).containsExactly(0, 0);
+            assertThat(contarProductos()).isEqualTo(ids.size());
+        }
+
+        @Test
+        @DisplayName("Debe descartar todos los bloques si uno falla")
+        void debeDescartarTodosLosBloquesSiUnoFalla() {
+            // Given
+            List<String> ids = IntStream.range(0, JpaUnitOfWork.BATCH_SIZE + 1).mapToObj(i -> "fail-" + i).toList();
+
+            // When & Then
+            assertThatThrownBy(() -> unitOfWork.writeInChunks(ids, (entityManager, chunk) -> {
+                chunk.forEach(id -> entityManager.persist(new ProductEntity(id, "Producto", null,
+                        new BigDecimal("10.00"), "COP", 1, ProductCategory.OTROS)));
+                if (chunk.size() < JpaUnitOfWork.BATCH_SIZE) throw new IllegalStateException("fallo");
+            })).isInstanceOf(IllegalStateException.class);
+            assertThat(contarProductos()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("writeStateless()")
+    class WriteStatelessTests {
+
+        private ProductEntity entidad(String id) {
+            return new ProductEntity(id, "Producto " + id, null, new BigDecimal("100.00"), "COP", 1, ProductCategory.OTROS);
+        }
+
+        @Test
+        @DisplayName("Debe confirmar las inserciones al terminar")
+        void debeConfirmarInserciones() {
+            // When
+            unitOfWork.writeStateless(session -> {
+                session.insert(entidad("prod-040"));
+                session.insert(entidad("prod-041"));
+            });
+
+            // Then
+            assertThat(contarProductos()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Debe descartar todas las inserciones si falla")
+        void debeDescartarInsercionesSiFalla() {
+            // When
+            assertThatThrownBy(() -> unitOfWork.writeStateless(session -> {
+                session.insert(entidad("prod-042"));
+                throw new IllegalStateException("fallo simulado");
+            })).isInstanceOf(IllegalStateException.class);
+
+            // Then
+            assertThat(contarProductos()).isZero();
+        }
+
+        @Test
+        @DisplayName("No debe poder unirse a una unidad de trabajo abierta")
+        void noDebeUnirseAUnaUnidadAbierta() {
+            // When & Then
+            assertThatThrownBy(() -> unitOfWork.run(() -> unitOfWork.writeStateless(session -> { })))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.enyoi.arka.adapters.out.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("KeysetPages - Tests Unitarios")
+class KeysetPagesTest {
+
+    private final List<Integer> datos = IntStream.rangeClosed(1, 10).boxed().toList();
+    private final List<Integer> clavesPedidas = new ArrayList<>();
+
+    private List<Integer> cargarPagina(Integer afterId, int limit) {
+        clavesPedidas.add(afterId);
+        return datos.stream()
+                .filter(valor -> afterId == null || valor > afterId)
+                .limit(limit)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Debe recorrer todos los elementos pidiendo páginas consecutivas")
+    void debeRecorrerTodosLosElementos() {
+        // When
+        List<Integer> resultado = KeysetPages.stream(this::cargarPagina, valor -> valor, 4).toList();
+
+        // Then
+        assertThat(resultado).isEqualTo(datos);
+        assertThat(clavesPedidas).containsExactly(null, 4, 8);
+    }
+
+    @Test
+    @DisplayName("Debe pedir una página más cuando el total es múltiplo del tamaño")
+    void debePedirPaginaVaciaAlFinal() {
+        // When
+        List<Integer> resultado = KeysetPages.stream(this::cargarPagina, valor -> valor, 5).toList();
+
+        // Then
+        assertThat(resultado).isEqualTo(datos);
+        assertThat(clavesPedidas).containsExactly(null, 5, 10);
+    }
+
+    @Test
+    @DisplayName("Debe cargar las páginas solo a medida que se consumen")
+    void debeCargarPaginasBajoDemanda() {
+        // When
+        List<Integer> primeros = KeysetPages.stream(this::cargarPagina, valor -> valor, 3).limit(2).toList();
+
+        // Then
+        assertThat(primeros).containsExactly(1, 2);
+        assertThat(clavesPedidas).containsExactly((Integer) null);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un tamaño de página no positivo")
+    void debeRechazarTamanoNoPositivo() {
+        assertThatThrownBy(() -> KeysetPages.stream(this::cargarPagina, valor -> valor, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
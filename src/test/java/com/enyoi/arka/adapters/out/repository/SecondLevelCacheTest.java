@@ -0,0 +1,202 @@
+package com.enyoi.arka.adapters.out.repository;
+
+import com.enyoi.arka.adapters.out.repository.entity.ProductEntity;
+import com.enyoi.arka.domain.entities.Customer;
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Email;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Caché de segundo nivel - Tests de Integración")
+class SecondLevelCacheTest {
+
+    private static EntityManagerFactory entityManagerFactory;
+    private JpaProductRepository productRepository;
+    private JpaCustomerRepository customerRepository;
+    private Statistics statistics;
+
+    @BeforeAll
+    static void setUpClass() {
+        entityManagerFactory = Persistence.createEntityManagerFactory("test-persistence-unit");
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
+            entityManagerFactory.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        JpaUnitOfWork unitOfWork = JpaUnitOfWork.perOperation(entityManagerFactory);
+        productRepository = new JpaProductRepository(unitOfWork);
+        customerRepository = new JpaCustomerRepository(unitOfWork);
+        unitOfWork.write(entityManager -> {
+            entityManager.createQuery("DELETE FROM ProductEntity").executeUpdate();
+            entityManager.createQuery("DELETE FROM CustomerEntity").executeUpdate();
+            return null;
+        });
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private Product crearProducto(String id, int stock, ProductCategory categoria) {
+        return Product.builder()
+                .id(ProductId.of(id))
+                .name("Producto " + id)
+                .price(Money.of(new BigDecimal("100.00"), "COP"))
+                .stock(stock)
+                .category(categoria)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Entidades")
+    class EntityCacheTests {
+
+        @Test
+        @DisplayName("Debe servir findById de producto desde la caché sin ir a la base de datos")
+        void debeServirProductoDesdeCache() {
+            // Given
+            productRepository.save(crearProducto("cache-001", 10, ProductCategory.OTROS));
+            productRepository.findById(ProductId.of("cache-001"));
+            long sentencias = statistics.getPrepareStatementCount();
+
+            // When
+            Product producto = productRepository.findById(ProductId.of("cache-001")).orElseThrow();
+
+            // Then
+            assertThat(producto.getStock()).isEqualTo(10);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(sentencias);
+            assertThat(statistics.getDomainDataRegionStatistics("arka-products").getHitCount()).isPositive();
+        }
+
+        @Test
+        @DisplayName("Debe servir findById de cliente desde la caché")
+        void debeServirClienteDesdeCache() {
+            // Given
+            customerRepository.save(Customer.builder()
+                    .id(CustomerId.of("cust-cache"))
+                    .name("Cliente")
+                    .email(Email.of("cache@arka.com"))
+                    .city("Bogotá")
+                    .build());
+            customerRepository.findById(CustomerId.of("cust-cache"));
+            long sentencias = statistics.getPrepareStatementCount();
+
+            // When
+            Customer cliente = customerRepository.findById(CustomerId.of("cust-cache")).orElseThrow();
+
+            // Then
+            assertThat(cliente.getEmail().value()).isEqualTo("cache@arka.com");
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(sentencias);
+        }
+
+        @Test
+        @DisplayName("Debe reflejar los cambios hechos con save")
+        void debeReflejarCambiosDeSave() {
+            // Given
+            productRepository.save(crearProducto("cache-002", 10, ProductCategory.OTROS));
+            productRepository.findById(ProductId.of("cache-002"));
+
+            // When
+            productRepository.save(crearProducto("cache-002", 3, ProductCategory.OTROS));
+
+            // Then
+            assertThat(productRepository.findById(ProductId.of("cache-002")).orElseThrow().getStock()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Debe invalidar la entrada al eliminar")
+        void debeInvalidarAlEliminar() {
+            // Given
+            productRepository.save(crearProducto("cache-003", 10, ProductCategory.OTROS));
+            productRepository.findById(ProductId.of("cache-003"));
+
+            // When
+            productRepository.deleteById(ProductId.of("cache-003"));
+
+            // Then
+            assertThat(productRepository.findById(ProductId.of("cache-003"))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Debe reflejar las reservas de stock hechas con UPDATE directo")
+        void debeReflejarReservasDeStock() {
+            // Given
+            productRepository.save(crearProducto("cache-004", 10, ProductCategory.OTROS));
+            productRepository.findById(ProductId.of("cache-004"));
+
+            // When
+            productRepository.tryReserveStock(ProductId.of("cache-004"), 4);
+
+            // Then
+            assertThat(productRepository.findById(ProductId.of("cache-004")).orElseThrow().getStock()).isEqualTo(6);
+        }
+    }
+
+    @Nested
+    @DisplayName("Consultas")
+    class QueryCacheTests {
+
+        @Test
+        @DisplayName("Debe servir findByCategory desde la caché de consultas")
+        void debeServirConsultaDesdeCache() {
+            // Given
+            productRepository.save(crearProducto("cache-010", 10, ProductCategory.PERIFERICOS));
+            productRepository.findByCategory("PERIFERICOS");
+            long sentencias = statistics.getPrepareStatementCount();
+
+            // When
+            int encontrados = productRepository.findByCategory("PERIFERICOS").size();
+
+            // Then
+            assertThat(encontrados).isEqualTo(1);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(sentencias);
+            assertThat(statistics.getQueryRegionStatistics(ProductEntity.QUERY_CACHE_REGION).getHitCount())
+                    .isPositive();
+        }
+
+        @Test
+        @DisplayName("Debe invalidar las consultas al guardar un producto")
+        void debeInvalidarConsultasAlGuardar() {
+            // Given
+            productRepository.save(crearProducto("cache-011", 10, ProductCategory.PERIFERICOS));
+            productRepository.findByCategory("PERIFERICOS");
+
+            // When
+            productRepository.save(crearProducto("cache-012", 10, ProductCategory.PERIFERICOS));
+
+            // Then
+            assertThat(productRepository.findByCategory("PERIFERICOS")).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Debe invalidar las consultas de stock bajo tras una reserva")
+        void debeInvalidarStockBajoTrasReserva() {
+            // Given
+            productRepository.save(crearProducto("cache-013", 6, ProductCategory.OTROS));
+            assertThat(productRepository.findLowStockProducts(5)).isEmpty();
+
+            // When
+            productRepository.tryReserveStock(ProductId.of("cache-013"), 2);
+
+            // Then
+            assertThat(productRepository.findLowStockProducts(5))
+                    .extracting(p -> p.getId().value())
+                    .containsExactly("cache-013");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.enyoi.arka.adapters.out.repository.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ConnectionPool - Tests de Integración")
+class ConnectionPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseSettings settings = new DatabaseSettings(
+                "jdbc:sqlite:" + tempDir.resolve("pool.db"),
+                SqliteProfile.PRODUCTION,
+                2, 1,
+                Duration.ofSeconds(5), Duration.ofSeconds(1), Duration.ofSeconds(10));
+        pool = ConnectionPool.create(settings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private String pragma(Connection connection, String name) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("PRAGMA " + name)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe aplicar el perfil PRODUCTION a cada conexión")
+    void debeAplicarPerfilProduction() throws Exception {
+        // When
+        try (Connection connection = pool.dataSource().getConnection()) {
+            // Then
+            assertThat(pragma(connection, "journal_mode")).isEqualToIgnoringCase("wal");
+            assertThat(pragma(connection, "synchronous")).isEqualTo("1");
+            assertThat(pragma(connection, "busy_timeout")).isEqualTo(String.valueOf(SqliteProfile.BUSY_TIMEOUT_MS));
+            assertThat(pragma(connection, "cache_size")).isEqualTo(String.valueOf(SqliteProfile.CACHE_SIZE_KIB));
+            assertThat(pragma(connection, "mmap_size")).isEqualTo(String.valueOf(SqliteProfile.MMAP_SIZE_BYTES));
+            assertThat(pragma(connection, "temp_store")).isEqualTo("2");
+        }
+    }
+
+    @Test
+    @DisplayName("Una transacción que lee y luego escribe debe esperar a otra escritora en lugar de fallar")
+    void transaccionDeLecturaYEscrituraDebeEsperar() throws Exception {
+        // Given
+        try (Connection setup = pool.dataSource().getConnection(); Statement statement = setup.createStatement()) {
+            statement.execute("CREATE TABLE counters (id INTEGER PRIMARY KEY, value INTEGER)");
+            statement.execute("INSERT INTO counters VALUES (1, 0)");
+        }
+
+        try (Connection primera = pool.dataSource().getConnection();
+             Connection segunda = pool.dataSource().getConnection()) {
+            primera.setAutoCommit(false);
+            try (Statement lectura = primera.createStatement();
+                 ResultSet resultSet = lectura.executeQuery("SELECT value FROM counters WHERE id = 1")) {
+                resultSet.next();
+            }
+
+            // When
+            CompletableFuture<Integer> otraEscritura = CompletableFuture.supplyAsync(() -> {
+                try (Statement statement = segunda.createStatement()) {
+                    return statement.executeUpdate("UPDATE counters SET value = value + 10 WHERE id = 1");
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(100);
+            try (Statement escritura = primera.createStatement()) {
+                escritura.executeUpdate("UPDATE counters SET value = value + 1 WHERE id = 1");
+            }
+            primera.commit();
+            primera.setAutoCommit(true);
+
+            // Then
+            assertThat(otraEscritura.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            try (Statement statement = segunda.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT value FROM counters WHERE id = 1")) {
+                resultSet.next();
+                assertThat(resultSet.getInt(1)).isEqualTo(11);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debe reportar conexiones activas en las métricas")
+    void debeReportarConexionesActivas() throws Exception {
+        // When
+        try (Connection connection = pool.dataSource().getConnection()) {
+            PoolMetrics metrics = pool.metrics();
+
+            // Then
+            assertThat(connection.isValid(1)).isTrue();
+            assertThat(metrics.activeConnections()).isEqualTo(1);
+            assertThat(metrics.totalConnections()).isLessThanOrEqualTo(2);
+        }
+        assertThat(pool.metrics().activeConnections()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe reutilizar la conexión física al devolverla al pool")
+    void debeReutilizarConexionFisica() throws Exception {
+        // Given
+        Connection fisica;
+        try (Connection connection = pool.dataSource().getConnection()) {
+            fisica = connection.unwrap(Connection.class);
+        }
+
+        // When
+        try (Connection connection = pool.dataSource().getConnection()) {
+            // Then
+            assertThat(connection.unwrap(Connection.class)).isSameAs(fisica);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe crear un EntityManagerFactory sobre el pool")
+    void debeCrearEntityManagerFactorySobreElPool() {
+        // When
+        EntityManagerFactory entityManagerFactory = pool.createEntityManagerFactory("test-persistence-unit");
+
+        try {
+            // Then
+            assertThat(entityManagerFactory.isOpen()).isTrue();
+            assertThat(pool.metrics().totalConnections()).isPositive();
+        } finally {
+            entityManagerFactory.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe cerrar el pool")
+    void debeCerrarElPool() {
+        // When
+        pool.close();
+
+        // Then
+        assertThat(pool.isClosed()).isTrue();
+    }
+}
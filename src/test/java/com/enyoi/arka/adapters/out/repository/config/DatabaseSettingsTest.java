@@ -0,0 +1,88 @@
+package com.enyoi.arka.adapters.out.repository.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("DatabaseSettings - Tests")
+class DatabaseSettingsTest {
+
+    @Test
+    @DisplayName("Debe usar valores por defecto si no hay propiedades")
+    void debeUsarValoresPorDefecto() {
+        // When
+        DatabaseSettings settings = DatabaseSettings.from(new Properties());
+
+        // Then
+        assertThat(settings.url()).isEqualTo(DatabaseSettings.DEFAULT_URL);
+        assertThat(settings.profile()).isEqualTo(SqliteProfile.PRODUCTION);
+        assertThat(settings.poolSize()).isEqualTo(4);
+        assertThat(settings.minimumIdle()).isEqualTo(1);
+        assertThat(settings.leakDetectionThreshold()).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    @DisplayName("Debe leer las propiedades arka.db.*")
+    void debeLeerPropiedades() {
+        // Given
+        Properties properties = new Properties();
+        properties.setProperty("arka.db.url", "jdbc:sqlite:otra.db");
+        properties.setProperty("arka.db.profile", "default");
+        properties.setProperty("arka.db.pool.size", "8");
+        properties.setProperty("arka.db.pool.min-idle", "2");
+        properties.setProperty("arka.db.pool.leak-detection-ms", "5000");
+
+        // When
+        DatabaseSettings settings = DatabaseSettings.from(properties);
+
+        // Then
+        assertThat(settings.url()).isEqualTo("jdbc:sqlite:otra.db");
+        assertThat(settings.profile()).isEqualTo(SqliteProfile.DEFAULT);
+        assertThat(settings.poolSize()).isEqualTo(8);
+        assertThat(settings.minimumIdle()).isEqualTo(2);
+        assertThat(settings.leakDetectionThreshold()).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un tamaño de pool inválido")
+    void debeRechazarTamanoDePoolInvalido() {
+        // Given
+        Properties properties = new Properties();
+        properties.setProperty("arka.db.pool.size", "0");
+
+        // When & Then
+        assertThatThrownBy(() -> DatabaseSettings.from(properties))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un perfil desconocido")
+    void debeRechazarPerfilDesconocido() {
+        // Given
+        Properties properties = new Properties();
+        properties.setProperty("arka.db.profile", "turbo");
+
+        // When & Then
+        assertThatThrownBy(() -> DatabaseSettings.from(properties))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("turbo");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar valores no numéricos")
+    void debeRechazarValoresNoNumericos() {
+        // Given
+        Properties properties = new Properties();
+        properties.setProperty("arka.db.pool.size", "muchos");
+
+        // When & Then
+        assertThatThrownBy(() -> DatabaseSettings.from(properties))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("arka.db.pool.size");
+    }
+}
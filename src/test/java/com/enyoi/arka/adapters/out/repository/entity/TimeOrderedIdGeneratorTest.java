@@ -0,0 +1,109 @@
+package com.enyoi.arka.adapters.out.repository.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TimeOrderedIdGenerator - Tests Unitarios")
+class TimeOrderedIdGeneratorTest {
+
+    private static final long AHORA = TimeOrderedIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    @DisplayName("Debe generar ids positivos y crecientes")
+    void debeGenerarIdsCrecientes() {
+        // Given
+        AtomicLong reloj = new AtomicLong(AHORA);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7, reloj::get);
+
+        // When
+        long primero = generator.nextId();
+        long segundo = generator.nextId();
+        reloj.addAndGet(5);
+        long tercero = generator.nextId();
+
+        // Then
+        assertThat(primero).isPositive();
+        assertThat(segundo).isGreaterThan(primero);
+        assertThat(tercero).isGreaterThan(segundo);
+    }
+
+    @Test
+    @DisplayName("Debe codificar milisegundos, nodo y secuencia")
+    void debeCodificarComponentes() {
+        // Given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(5, () -> AHORA);
+
+        // When
+        generator.nextId();
+        long id = generator.nextId();
+
+        // Then
+        assertThat(id >>> 22).isEqualTo(1_000_000L);
+        assertThat((id >>> 12) & TimeOrderedIdGenerator.MAX_NODE).isEqualTo(5);
+        assertThat(id & TimeOrderedIdGenerator.MAX_SEQUENCE).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("No debe repetir ids si el reloj retrocede o se agota la secuencia")
+    void noDebeRepetirIdsConRelojDetenidoORetrocediendo() {
+        // Given
+        AtomicLong reloj = new AtomicLong(AHORA);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, reloj::get);
+        List<Long> ids = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+        reloj.addAndGet(-1_000);
+        ids.add(generator.nextId());
+
+        // Then
+        assertThat(ids).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    @DisplayName("Debe generar ids únicos desde varios hilos")
+    void debeGenerarIdsUnicosConcurrentemente() throws Exception {
+        // Given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+        Set<Object> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            tareas.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    ids.add(generator.generate(null, null, null, null));
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(ids).hasSize(20_000);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un nodo fuera de rango")
+    void debeRechazarNodoFueraDeRango() {
+        assertThatThrownBy(() -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE + 1, () -> AHORA))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,293 @@
+package com.enyoi.arka.adapters.out.service;
+
+import com.enyoi.arka.domain.ports.out.Notification;
+import com.enyoi.arka.domain.ports.out.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AsyncNotificationService - Tests")
+class AsyncNotificationServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AsyncNotificationService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.close();
+    }
+
+    private NotificationSettings ajustes(int capacidad, OverflowPolicy overflow) {
+        return new NotificationSettings(capacidad, 50, overflow, tempDir.resolve("notificaciones.spill"),
+                Duration.ofSeconds(5));
+    }
+
+    private static Notification cambio(int i) {
+        return new Notification.OrderStatusChange("order-" + i, "cliente@arka.com", "CONFIRMADO");
+    }
+
+    private static void esperarHasta(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicion.getAsBoolean()) {
+            if (System.nanoTime() > limite) throw new AssertionError("La condición no se cumplió a tiempo");
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Canal que registra los lotes recibidos; el primer lote se queda esperando hasta abrir la barrera.
+     */
+    private static class CanalRegistrado implements NotificationService {
+        final List<List<Notification>> lotes = new CopyOnWriteArrayList<>();
+        final CountDownLatch barrera = new CountDownLatch(1);
+
+        @Override
+        public void notifyOrderStatusChange(String orderId, String customerEmail, String newStatus) {
+            notifyBatch(List.of(new Notification.OrderStatusChange(orderId, customerEmail, newStatus)));
+        }
+
+        @Override
+        public void notifyLowStockAlert(String productName, int currentStock) {
+            notifyBatch(List.of(new Notification.LowStockAlert(productName, currentStock)));
+        }
+
+        @Override
+        public void notifyBatch(List<Notification> notifications) {
+            try {
+                barrera.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lotes.add(notifications);
+        }
+
+        List<Notification> entregadas() {
+            return lotes.stream().flatMap(List::stream).toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("Entrega")
+    class EntregaTests {
+
+        @Test
+        @DisplayName("Debe agrupar lo acumulado mientras el canal está ocupado, en orden")
+        void debeAgruparEnOrden() throws Exception {
+            // Given
+            CanalRegistrado canal = new CanalRegistrado();
+            service = new AsyncNotificationService(canal, ajustes(100, OverflowPolicy.BLOCK));
+            service.notifyBatch(List.of(cambio(0)));
+            esperarHasta(() -> service.metrics().pending() == 0);
+
+            // When
+            IntStream.range(1, 11).forEach(i -> service.notifyBatch(List.of(cambio(i))));
+            canal.barrera.countDown();
+            service.close();
+
+            // Then
+            assertThat(canal.lotes).hasSize(2);
+            assertThat(canal.lotes.get(1)).hasSize(10);
+            assertThat(canal.entregadas()).containsExactlyElementsOf(IntStream.range(0, 11).mapToObj(i -> cambio(i)).toList());
+            assertThat(service.metrics().delivered()).isEqualTo(11);
+        }
+
+        @Test
+        @DisplayName("close() debe vaciar la cola y después entregar en el hilo que llama")
+        void closeDebeVaciarLaCola() {
+            // Given
+            CanalRegistrado canal = new CanalRegistrado();
+            canal.barrera.countDown();
+            service = new AsyncNotificationService(canal, ajustes(1_000, OverflowPolicy.BLOCK));
+            IntStream.range(0, 500).forEach(i -> service.notifyOrderStatusChange("order-" + i, "c@arka.com", "ENTREGADO"));
+
+            // When
+            service.close();
+            service.notifyLowStockAlert("Teclado", 3);
+
+            // Then
+            assertThat(canal.entregadas()).hasSize(501);
+            assertThat(canal.entregadas().get(500)).isEqualTo(new Notification.LowStockAlert("Teclado", 3));
+            assertThat(service.metrics().pending()).isZero();
+        }
+
+        @Test
+        @DisplayName("Un lote que falla no debe detener al despachador")
+        void loteFallidoNoDebeDetenerDespachador() {
+            // Given
+            List<Notification> entregadas = new CopyOnWriteArrayList<>();
+            NotificationService canal = new NotificationService() {
+                @Override
+                public void notifyOrderStatusChange(String orderId, String customerEmail, String newStatus) {
+                    if (orderId.equals("order-0")) throw new IllegalStateException("canal caído");
+                    entregadas.add(new Notification.OrderStatusChange(orderId, customerEmail, newStatus));
+                }
+
+                @Override
+                public void notifyLowStockAlert(String productName, int currentStock) { }
+            };
+            service = new AsyncNotificationService(canal, ajustes(100, OverflowPolicy.BLOCK));
+
+            // When
+            service.notifyBatch(List.of(cambio(0)));
+            try {
+                esperarHasta(() -> service.metrics().failed() == 1);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+            service.notifyBatch(List.of(cambio(1)));
+            service.close();
+
+            // Then
+            assertThat(entregadas).containsExactly(cambio(1));
+            assertThat(service.metrics().failed()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cola llena")
+    class OverflowTests {
+
+        @Test
+        @DisplayName("DROP debe descartar lo que no cabe")
+        void dropDebeDescartar() throws Exception {
+            // Given
+            CanalRegistrado canal = new CanalRegistrado();
+            service = new AsyncNotificationService(canal, ajustes(2, OverflowPolicy.DROP));
+            service.notifyBatch(List.of(cambio(0)));
+            esperarHasta(() -> service.metrics().pending() == 0);
+
+            // When
+            IntStream.range(1, 5).forEach(i -> service.notifyBatch(List.of(cambio(i))));
+            canal.barrera.countDown();
+            service.close();
+
+            // Then
+            assertThat(canal.entregadas()).containsExactly(cambio(0), cambio(1), cambio(2));
+            assertThat(service.metrics().dropped()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("SPILL debe escribir a disco lo que no cabe y entregarlo al vaciarse la cola")
+        void spillDebeEntregarDesdeDisco() throws Exception {
+            // Given
+            CanalRegistrado canal = new CanalRegistrado();
+            service = new AsyncNotificationService(canal, ajustes(2, OverflowPolicy.SPILL));
+            service.notifyBatch(List.of(cambio(0)));
+            esperarHasta(() -> service.metrics().pending() == 0);
+
+            // When
+            IntStream.range(1, 5).forEach(i -> service.notifyBatch(List.of(cambio(i))));
+            assertThat(tempDir.resolve("notificaciones.spill")).exists();
+            canal.barrera.countDown();
+            service.close();
+
+            // Then
+            assertThat(canal.entregadas()).containsExactly(cambio(0), cambio(1), cambio(2), cambio(3), cambio(4));
+            assertThat(service.metrics().spilled()).isEqualTo(2);
+            assertThat(tempDir.resolve("notificaciones.spill")).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("BLOCK debe hacer esperar al que notifica hasta que haya sitio")
+        void blockDebeEsperar() throws Exception {
+            // Given
+            CanalRegistrado canal = new CanalRegistrado();
+            service = new AsyncNotificationService(canal, ajustes(1, OverflowPolicy.BLOCK));
+            service.notifyBatch(List.of(cambio(0)));
+            esperarHasta(() -> service.metrics().pending() == 0);
+            service.notifyBatch(List.of(cambio(1)));
+
+            // When
+            CompletableFuture<Void> bloqueada = CompletableFuture.runAsync(() -> service.notifyBatch(List.of(cambio(2))));
+            Thread.sleep(100);
+            boolean esperaba = !bloqueada.isDone();
+            canal.barrera.countDown();
+            bloqueada.get(5, TimeUnit.SECONDS);
+            service.close();
+
+            // Then
+            assertThat(esperaba).isTrue();
+            assertThat(canal.entregadas()).containsExactly(cambio(0), cambio(1), cambio(2));
+            assertThat(service.metrics().dropped()).isZero();
+        }
+
+        @Test
+        @DisplayName("Debe entregar al arrancar lo desbordado por una ejecución anterior")
+        void debeEntregarDesbordeAnterior() throws Exception {
+            // Given
+            Path archivo = tempDir.resolve("notificaciones.spill");
+            Files.writeString(archivo, NotificationSpill.encode(cambio(7)) + "\nbasura\n");
+            CanalRegistrado canal = new CanalRegistrado();
+            canal.barrera.countDown();
+
+            // When
+            service = new AsyncNotificationService(canal, ajustes(10, OverflowPolicy.SPILL));
+            service.close();
+
+            // Then
+            assertThat(canal.entregadas()).containsExactly(cambio(7));
+            assertThat(service.metrics().failed()).isEqualTo(1);
+            assertThat(archivo).doesNotExist();
+        }
+    }
+
+    @Nested
+    @DisplayName("Archivo de desborde por defecto")
+    class SpillFileTests {
+
+        @Test
+        @DisplayName("Debe ir junto al archivo de la base de datos")
+        void debeIrJuntoALaBaseDeDatos() {
+            // Given
+            Properties propiedades = new Properties();
+            propiedades.setProperty("arka.db.url", "jdbc:sqlite:" + tempDir.resolve("tienda.db"));
+
+            // When
+            NotificationSettings settings = NotificationSettings.from(propiedades);
+
+            // Then
+            assertThat(settings.spillFile()).isEqualTo(tempDir.resolve("tienda.db.notifications.spill"));
+            assertThat(NotificationSettings.defaults().spillFile()).isEqualTo(Path.of("arka.db.notifications.spill"));
+        }
+
+        @Test
+        @DisplayName("Con una base de datos en memoria debe llevar el PID del proceso")
+        void baseEnMemoriaDebeUsarElPid() {
+            // When
+            Path archivo = NotificationSettings.defaultSpillFile("jdbc:sqlite:file:arka?mode=memory&cache=shared");
+
+            // Then
+            assertThat(archivo.getFileName().toString())
+                    .isEqualTo("arka-notifications-" + ProcessHandle.current().pid() + ".spill");
+            assertThat(NotificationSettings.defaultSpillFile("jdbc:sqlite::memory:")).isEqualTo(archivo);
+        }
+    }
+
+    @Test
+    @DisplayName("El formato de desborde debe conservar tabuladores, saltos de línea y nulos")
+    void formatoDeDesbordeDebeSerReversible() {
+        Notification original = new Notification.OrderStatusChange("order\t1", null, "linea\\1\nlinea 2");
+        Notification alerta = new Notification.LowStockAlert("Teclado \\t", 0);
+
+        assertThat(NotificationSpill.decode(NotificationSpill.encode(original))).isEqualTo(original);
+        assertThat(NotificationSpill.decode(NotificationSpill.encode(alerta))).isEqualTo(alerta);
+    }
+}
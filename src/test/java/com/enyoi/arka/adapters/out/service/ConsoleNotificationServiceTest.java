@@ -1,11 +1,13 @@
 package com.enyoi.arka.adapters.out.service;
 
+import com.enyoi.arka.domain.ports.out.Notification;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -54,4 +56,19 @@ class ConsoleNotificationServiceTest {
        assertThat(output).contains("5");
        assertThat(output).contains("stock bajo");
    }
+
+   @Test
+   @DisplayName("Debe escribir un lote completo, una línea por notificación")
+   void debeEscribirUnLoteCompleto() {
+       // When
+       notificationService.notifyBatch(List.of(
+               new Notification.OrderStatusChange("order-001", "cliente@email.com", "ENTREGADO"),
+               new Notification.LowStockAlert("Mouse", 2)));
+
+       // Then
+       String[] lineas = outputStream.toString().split(System.lineSeparator());
+       assertThat(lineas).hasSize(2);
+       assertThat(lineas[0]).contains("order-001").contains("ENTREGADO");
+       assertThat(lineas[1]).contains("Mouse").contains("stock bajo");
+   }
 }
@@ -0,0 +1,124 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.in.AsyncOrderServiceImpl;
+import com.enyoi.arka.adapters.in.OrderServiceImpl;
+import com.enyoi.arka.adapters.out.repository.JpaCustomerRepository;
+import com.enyoi.arka.adapters.out.repository.JpaOrderRepository;
+import com.enyoi.arka.adapters.out.repository.JpaProductRepository;
+import com.enyoi.arka.adapters.out.repository.JpaUnitOfWork;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.Customer;
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.entities.OrderStatus;
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Email;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Crear y confirmar órdenes sobre SQLite PRODUCTION en archivo: bucle bloqueante frente a
+ * {@link AsyncOrderServiceImpl} con todas las peticiones en vuelo a la vez y distintos
+ * límites de concurrencia contra la base de datos. Se informa el máximo de hilos vivos.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*AsyncOrderServiceBenchmark" -Darka.bench.orders=5000}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - OrderService asíncrono")
+class AsyncOrderServiceBenchmark {
+    private static final int WARM_UP_ORDERS = 200;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Bloqueante vs asíncrono por límite de concurrencia")
+    void comparaLimitesDeConcurrencia() {
+        int orders = Benchmarks.intProperty("arka.bench.orders", 2_000);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        System.out.printf("%n%d órdenes (crear + confirmar) en vuelo a la vez%n", orders);
+        System.out.printf("%-22s %12s %14s %14s%n", "modo", "ms", "órdenes/s", "hilos máx.");
+
+        for (int maxConcurrency : new int[]{0, 1, 2, 4}) {
+            try (BenchmarkDatabase database = BenchmarkDatabase.open(
+                    tempDir.resolve("async-" + maxConcurrency + ".db"), SqliteProfile.PRODUCTION)) {
+                Fixture fixture = fixture(database.unitOfWork());
+                for (int i = 0; i < WARM_UP_ORDERS; i++) {
+                    Order order = fixture.orderService().createOrder(fixture.customerId(), fixture.items());
+                    fixture.orderService().confirmOrder(order.getId());
+                }
+                threads.resetPeakThreadCount();
+                long start = System.nanoTime();
+                String label;
+                if (maxConcurrency == 0) {
+                    label = "bloqueante";
+                    for (int i = 0; i < orders; i++) {
+                        Order order = fixture.orderService().createOrder(fixture.customerId(), fixture.items());
+                        fixture.orderService().confirmOrder(order.getId());
+                    }
+                } else {
+                    try (AsyncOrderServiceImpl async = new AsyncOrderServiceImpl(fixture.orderService(), maxConcurrency)) {
+                        label = (async.usesVirtualThreads() ? "virtual" : "pool") + " límite " + maxConcurrency;
+                        List<CompletableFuture<Order>> inFlight = new ArrayList<>(orders);
+                        for (int i = 0; i < orders; i++) {
+                            inFlight.add(async.createOrder(fixture.customerId(), fixture.items())
+                                    .thenCompose(order -> async.confirmOrder(order.getId())));
+                        }
+                        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+                        assertThat(inFlight).allSatisfy(future ->
+                                assertThat(future.join().getStatus()).isEqualTo(OrderStatus.CONFIRMADO));
+                    }
+                }
+                long elapsed = System.nanoTime() - start;
+                System.out.printf("%-22s %12.0f %14.0f %14d%n", label, elapsed / 1_000_000.0,
+                        Benchmarks.perSecond(orders, elapsed), threads.getPeakThreadCount());
+            }
+        }
+    }
+
+    private Fixture fixture(JpaUnitOfWork unitOfWork) {
+        JpaProductRepository productRepository = new JpaProductRepository(unitOfWork);
+        JpaCustomerRepository customerRepository = new JpaCustomerRepository(unitOfWork);
+        OrderServiceImpl orderService = new OrderServiceImpl(new JpaOrderRepository(unitOfWork), productRepository,
+                customerRepository, Benchmarks.silentNotifications(), unitOfWork);
+
+        CustomerId customerId = CustomerId.of("bench-customer");
+        customerRepository.save(Customer.builder()
+                .id(customerId)
+                .name("Cliente Benchmark")
+                .email(Email.of("bench@arka.com"))
+                .city("Medellín")
+                .build());
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .id(ProductId.of("bench-prod-" + i))
+                    .name("Producto " + i)
+                    .price(Money.of(new BigDecimal("1000.00"), "COP"))
+                    .stock(Integer.MAX_VALUE / 2)
+                    .category(ProductCategory.OTROS)
+                    .build());
+            items.add(OrderItem.builder().productId(product.getId()).quantity(1).unitPrice(product.getPrice()).build());
+        }
+        return new Fixture(orderService, customerId, List.copyOf(items));
+    }
+
+    private record Fixture(OrderServiceImpl orderService, CustomerId customerId, List<OrderItem> items) { }
+}
@@ -0,0 +1,144 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.in.OrderServiceImpl;
+import com.enyoi.arka.adapters.out.repository.JpaCustomerRepository;
+import com.enyoi.arka.adapters.out.repository.JpaOrderRepository;
+import com.enyoi.arka.adapters.out.repository.JpaProductRepository;
+import com.enyoi.arka.adapters.out.repository.JpaUnitOfWork;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.Customer;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.ports.in.OrderRequest;
+import com.enyoi.arka.domain.ports.in.OrderResult;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Email;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ingreso de una ráfaga de órdenes sobre SQLite PRODUCTION: {@code createOrder} en bucle
+ * frente a {@code createOrders} por lotes. Cada orden tiene varias líneas elegidas al azar
+ * entre un catálogo pequeño y pertenece a uno de pocos clientes, como en un feed de
+ * marketplace.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*BatchOrderIntakeBenchmark" -Darka.bench.orders=5000 -Darka.bench.batch=500}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - ingreso de órdenes por lotes")
+class BatchOrderIntakeBenchmark {
+    private static final int CUSTOMERS = 50;
+    private static final int PRODUCTS = 100;
+    private static final int LINES = 3;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("createOrder en bucle vs createOrders por lotes")
+    void comparaBucleConLotes() {
+        int orders = Benchmarks.intProperty("arka.bench.orders", 2_000);
+        int batch = Benchmarks.intProperty("arka.bench.batch", 500);
+        List<OrderRequest> requests = requests(orders, new Random(42));
+
+        System.out.printf("%n%d órdenes de %d líneas, %d clientes, %d productos%n", orders, LINES, CUSTOMERS, PRODUCTS);
+        System.out.printf("%-18s %12s %14s %14s %10s%n", "modo", "ms", "órdenes/s", "sentencias", "commits");
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("loop.db"), SqliteProfile.PRODUCTION)) {
+            OrderServiceImpl orderService = orderService(database.unitOfWork());
+            warmUp(orderService);
+            Statistics statistics = database.statistics();
+            statistics.clear();
+            long start = System.nanoTime();
+            for (OrderRequest request : requests) {
+                orderService.createOrder(request.customerId(), new ArrayList<>(request.items()));
+            }
+            print("createOrder", orders, System.nanoTime() - start, statistics);
+        }
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("batch.db"), SqliteProfile.PRODUCTION)) {
+            OrderServiceImpl orderService = orderService(database.unitOfWork());
+            warmUp(orderService);
+            Statistics statistics = database.statistics();
+            statistics.clear();
+            long start = System.nanoTime();
+            int accepted = 0;
+            for (int from = 0; from < orders; from += batch) {
+                List<OrderResult> results = orderService.createOrders(requests.subList(from, Math.min(from + batch, orders)));
+                accepted += (int) results.stream().filter(OrderResult::isAccepted).count();
+            }
+            print("createOrders/" + batch, orders, System.nanoTime() - start, statistics);
+            assertThat(accepted).isEqualTo(orders);
+        }
+    }
+
+    private void print(String label, int orders, long elapsed, Statistics statistics) {
+        System.out.printf("%-18s %12.0f %14.0f %14d %10d%n", label, elapsed / 1_000_000.0,
+                Benchmarks.perSecond(orders, elapsed), statistics.getPrepareStatementCount(),
+                statistics.getSuccessfulTransactionCount());
+    }
+
+    private void warmUp(OrderServiceImpl orderService) {
+        List<OrderRequest> requests = requests(200, new Random(7));
+        requests.forEach(request -> orderService.createOrder(request.customerId(), new ArrayList<>(request.items())));
+        orderService.createOrders(requests);
+    }
+
+    private static List<OrderRequest> requests(int orders, Random random) {
+        List<OrderRequest> requests = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            List<OrderItem> items = new ArrayList<>();
+            for (int line = 0; line < LINES; line++) {
+                items.add(OrderItem.builder()
+                        .productId(ProductId.of("bench-prod-" + random.nextInt(PRODUCTS)))
+                        .quantity(1 + random.nextInt(3))
+                        .unitPrice(Money.of(new BigDecimal("1000.00"), "COP"))
+                        .build());
+            }
+            requests.add(new OrderRequest(CustomerId.of("bench-customer-" + random.nextInt(CUSTOMERS)), items));
+        }
+        return requests;
+    }
+
+    private OrderServiceImpl orderService(JpaUnitOfWork unitOfWork) {
+        JpaProductRepository productRepository = new JpaProductRepository(unitOfWork);
+        JpaCustomerRepository customerRepository = new JpaCustomerRepository(unitOfWork);
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(Customer.builder()
+                    .id(CustomerId.of("bench-customer-" + i))
+                    .name("Cliente " + i)
+                    .email(Email.of("cliente" + i + "@arka.com"))
+                    .city("Medellín")
+                    .build());
+        }
+        customerRepository.saveAll(customers);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .id(ProductId.of("bench-prod-" + i))
+                    .name("Producto " + i)
+                    .price(Money.of(new BigDecimal("1000.00"), "COP"))
+                    .stock(Integer.MAX_VALUE / 2)
+                    .category(ProductCategory.OTROS)
+                    .build());
+        }
+        productRepository.saveAll(products);
+        return new OrderServiceImpl(new JpaOrderRepository(unitOfWork), productRepository, customerRepository,
+                Benchmarks.silentNotifications(), unitOfWork);
+    }
+}
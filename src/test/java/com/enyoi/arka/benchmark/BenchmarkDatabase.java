@@ -0,0 +1,72 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.out.repository.JpaUnitOfWork;
+import com.enyoi.arka.adapters.out.repository.config.ConnectionPool;
+import com.enyoi.arka.adapters.out.repository.config.DatabaseSettings;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Base de datos SQLite en archivo temporal, con pool y estadísticas de Hibernate,
+ * para los benchmarks.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+    private final ConnectionPool pool;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private BenchmarkDatabase(ConnectionPool pool, EntityManagerFactory entityManagerFactory) {
+        this.pool = pool;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    static BenchmarkDatabase open(Path file, SqliteProfile profile) {
+        return open(file, profile, Map.of());
+    }
+
+    /**
+     * @param hibernateSettings propiedades de Hibernate adicionales para este benchmark
+     */
+    static BenchmarkDatabase open(Path file, SqliteProfile profile, Map<String, Object> hibernateSettings) {
+        Properties properties = new Properties();
+        properties.setProperty("arka.db.url", "jdbc:sqlite:" + file.toAbsolutePath());
+        properties.setProperty("arka.db.profile", profile.name());
+        ConnectionPool pool = ConnectionPool.create(DatabaseSettings.from(properties));
+        Map<String, Object> settings = new HashMap<>(hibernateSettings);
+        settings.put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, pool.dataSource());
+        settings.put(AvailableSettings.GENERATE_STATISTICS, "true");
+        EntityManagerFactory entityManagerFactory = Persistence.createEntityManagerFactory("test-persistence-unit", settings);
+        return new BenchmarkDatabase(pool, entityManagerFactory);
+    }
+
+    JpaUnitOfWork unitOfWork() {
+        return JpaUnitOfWork.perOperation(entityManagerFactory);
+    }
+
+    DataSource dataSource() {
+        return pool.dataSource();
+    }
+
+    EntityManagerFactory entityManagerFactory() {
+        return entityManagerFactory;
+    }
+
+    Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void close() {
+        entityManagerFactory.close();
+        pool.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.domain.ports.out.NotificationService;
+
+/**
+ * Utilidades comunes de los benchmarks.
+ */
+final class Benchmarks {
+
+    private Benchmarks() { }
+
+    /**
+     * Lee un parámetro {@code -Darka.bench.*} con valor por defecto.
+     */
+    static int intProperty(String key, int defaultValue) {
+        String value = System.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    static double perSecond(long operations, long elapsedNanos) {
+        return operations / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    static NotificationService silentNotifications() {
+        return new NotificationService() {
+            @Override
+            public void notifyOrderStatusChange(String orderId, String customerEmail, String newStatus) { }
+
+            @Override
+            public void notifyLowStockAlert(String productName, int currentStock) { }
+        };
+    }
+}
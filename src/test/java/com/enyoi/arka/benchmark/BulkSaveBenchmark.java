@@ -0,0 +1,72 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.out.repository.JpaProductRepository;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sincronización de catálogo: un {@code save} por producto frente a {@code saveAll}.
+ * Se mide la carga inicial (inserts) y una segunda pasada sobre los mismos ids (updates).
+ * <p>
+ * {@code ./gradlew benchmark --tests "*BulkSaveBenchmark" -Darka.bench.products=20000}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - guardado masivo de productos")
+class BulkSaveBenchmark {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("save por fila vs saveAll")
+    void comparaSaveConSaveAll() {
+        int products = Benchmarks.intProperty("arka.bench.products", 5_000);
+
+        System.out.printf("%nSincronizar %d productos%n", products);
+        System.out.printf("%-10s %-8s %12s %14s%n", "modo", "pasada", "ms", "filas/s");
+        for (boolean bulk : new boolean[] {false, true}) {
+            try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve(bulk + ".db"), SqliteProfile.PRODUCTION)) {
+                JpaProductRepository repository = new JpaProductRepository(database.unitOfWork());
+                for (int pass = 1; pass <= 2; pass++) {
+                    List<Product> catalog = catalog(products, pass);
+                    long start = System.nanoTime();
+                    if (bulk) {
+                        repository.saveAll(catalog);
+                    } else {
+                        catalog.forEach(repository::save);
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    System.out.printf("%-10s %-8s %12.1f %14.1f%n", bulk ? "saveAll" : "save",
+                            pass == 1 ? "insert" : "update", elapsed / 1_000_000.0, Benchmarks.perSecond(products, elapsed));
+                }
+                assertThat(repository.findById(ProductId.of("sync-0")).orElseThrow().getStock()).isEqualTo(2);
+            }
+        }
+    }
+
+    private List<Product> catalog(int products, int pass) {
+        return IntStream.range(0, products)
+                .mapToObj(i -> Product.builder()
+                        .id(ProductId.of("sync-" + i))
+                        .name("Producto " + i)
+                        .price(Money.of(new BigDecimal("1000.00"), "COP"))
+                        .stock(pass * (i + 1))
+                        .category(ProductCategory.OTROS)
+                        .build())
+                .toList();
+    }
+}
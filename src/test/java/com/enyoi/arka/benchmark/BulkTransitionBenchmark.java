@@ -0,0 +1,114 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.in.OrderServiceImpl;
+import com.enyoi.arka.adapters.out.repository.JpaCustomerRepository;
+import com.enyoi.arka.adapters.out.repository.JpaOrderRepository;
+import com.enyoi.arka.adapters.out.repository.JpaProductRepository;
+import com.enyoi.arka.adapters.out.repository.JpaUnitOfWork;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.Customer;
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.entities.OrderStatus;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Email;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.OrderId;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Despachar órdenes confirmadas sobre SQLite PRODUCTION: {@code shipOrder} en bucle frente a
+ * {@code shipOrders} por camión, que valida en memoria y cambia el estado con un UPDATE
+ * condicionado al estado actual. Cada orden tiene tres items.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*BulkTransitionBenchmark" -Darka.bench.orders=5000 -Darka.bench.batch=300}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - cambios de estado en bloque")
+class BulkTransitionBenchmark {
+    private static final int CUSTOMERS = 50;
+    private static final int LINES = 3;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("shipOrder en bucle vs shipOrders por camión")
+    void comparaBucleConBloque() {
+        int orders = Benchmarks.intProperty("arka.bench.orders", 2_000);
+        int batch = Benchmarks.intProperty("arka.bench.batch", 300);
+        List<OrderId> ids = IntStream.range(0, orders).mapToObj(i -> OrderId.of(String.format("bench-order-%06d", i))).toList();
+
+        System.out.printf("%n%d órdenes de %d items, camiones de %d%n", orders, LINES, batch);
+        System.out.printf("%-16s %12s %14s %14s %10s%n", "modo", "ms", "órdenes/s", "sentencias", "commits");
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("loop.db"), SqliteProfile.PRODUCTION)) {
+            OrderServiceImpl orderService = orderService(database.unitOfWork(), orders);
+            Statistics statistics = database.statistics();
+            statistics.clear();
+            long start = System.nanoTime();
+            ids.forEach(orderService::shipOrder);
+            print("shipOrder", orders, System.nanoTime() - start, statistics);
+        }
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("bulk.db"), SqliteProfile.PRODUCTION)) {
+            OrderServiceImpl orderService = orderService(database.unitOfWork(), orders);
+            Statistics statistics = database.statistics();
+            statistics.clear();
+            long start = System.nanoTime();
+            int shipped = 0;
+            for (int from = 0; from < orders; from += batch) {
+                shipped += orderService.shipOrders(ids.subList(from, Math.min(from + batch, orders))).size();
+            }
+            print("shipOrders/" + batch, orders, System.nanoTime() - start, statistics);
+            assertThat(shipped).isEqualTo(orders);
+            assertThat(orderService.getOrderById(ids.get(0)).getStatus()).isEqualTo(OrderStatus.EN_DESPACHO);
+        }
+    }
+
+    private void print(String label, int orders, long elapsed, Statistics statistics) {
+        System.out.printf("%-16s %12.0f %14.0f %14d %10d%n", label, elapsed / 1_000_000.0,
+                Benchmarks.perSecond(orders, elapsed), statistics.getPrepareStatementCount(),
+                statistics.getSuccessfulTransactionCount());
+    }
+
+    private OrderServiceImpl orderService(JpaUnitOfWork unitOfWork, int orders) {
+        JpaCustomerRepository customerRepository = new JpaCustomerRepository(unitOfWork);
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(Customer.builder()
+                    .id(CustomerId.of("bench-customer-" + i))
+                    .name("Cliente " + i)
+                    .email(Email.of("cliente" + i + "@arka.com"))
+                    .city("Medellín")
+                    .build());
+        }
+        customerRepository.saveAll(customers);
+        JpaOrderRepository orderRepository = new JpaOrderRepository(unitOfWork);
+        orderRepository.saveAll(IntStream.range(0, orders).mapToObj(i -> Order.builder()
+                .id(OrderId.of(String.format("bench-order-%06d", i)))
+                .customerId(CustomerId.of("bench-customer-" + i % CUSTOMERS))
+                .status(OrderStatus.CONFIRMADO)
+                .items(IntStream.range(0, LINES).mapToObj(line -> OrderItem.builder()
+                        .productId(ProductId.of("bench-prod-" + line))
+                        .quantity(1)
+                        .unitPrice(Money.of(new BigDecimal("1000.00"), "COP"))
+                        .build()).toList())
+                .build()).toList());
+        return new OrderServiceImpl(orderRepository, new JpaProductRepository(unitOfWork), customerRepository,
+                Benchmarks.silentNotifications(), unitOfWork);
+    }
+}
@@ -0,0 +1,86 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.in.CatalogImportServiceImpl;
+import com.enyoi.arka.adapters.in.InventoryServiceImpl;
+import com.enyoi.arka.adapters.out.repository.JpaProductRepository;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.ports.in.CatalogImportReport;
+import com.enyoi.arka.domain.valueobjects.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importación de un catálogo CSV generado frente a registrar los productos uno a uno
+ * con {@code registerProduct}. Se informa el heap usado máximo visto durante la importación.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*CatalogImportBenchmark" -Darka.bench.rows=1000000}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - importación de catálogo")
+class CatalogImportBenchmark {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Importación en streaming vs registerProduct por fila")
+    void comparaImportacionConRegistroPorFila() throws IOException {
+        int rows = Benchmarks.intProperty("arka.bench.rows", 200_000);
+        int baselineRows = Benchmarks.intProperty("arka.bench.baseline.rows", 2_000);
+        Path csv = writeCatalog(tempDir.resolve("catalogo.csv"), rows);
+
+        System.out.printf("%nImportar catálogo CSV (%d MB)%n", Files.size(csv) / 1_048_576);
+        System.out.printf("%-22s %10s %12s %14s %12s%n", "modo", "filas", "ms", "filas/s", "heap MB");
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("baseline.db"), SqliteProfile.PRODUCTION)) {
+            InventoryServiceImpl inventory = new InventoryServiceImpl(
+                    new JpaProductRepository(database.unitOfWork()), Benchmarks.silentNotifications());
+            Money price = Money.of(new BigDecimal("1000.00"), "COP");
+            long start = System.nanoTime();
+            for (int i = 0; i < baselineRows; i++) {
+                inventory.registerProduct("Producto " + i, "Descripción", price, i % 100, "OTROS");
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-22s %10d %12.0f %14.0f %12s%n", "registerProduct", baselineRows,
+                    elapsed / 1_000_000.0, Benchmarks.perSecond(baselineRows, elapsed), "-");
+        }
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("import.db"), SqliteProfile.PRODUCTION)) {
+            JpaProductRepository repository = new JpaProductRepository(database.unitOfWork());
+            CatalogImportServiceImpl importer = new CatalogImportServiceImpl(repository);
+            AtomicLong maxHeap = new AtomicLong();
+            Runtime runtime = Runtime.getRuntime();
+
+            CatalogImportReport report = importer.importProducts(csv,
+                    partial -> maxHeap.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max));
+
+            System.out.printf("%-22s %10d %12d %14.0f %12.1f%n", "importProducts", report.imported(),
+                    report.elapsed().toMillis(), report.rowsPerSecond(), maxHeap.get() / 1_048_576.0);
+            assertThat(report.imported()).isEqualTo(rows);
+            assertThat(report.rejected()).isZero();
+        }
+    }
+
+    private Path writeCatalog(Path file, int rows) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id,name,description,price,currency,stock,category\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write("imp-%07d,Producto %d,\"Descripción, lote %d\",%d.50,COP,%d,OTROS\n"
+                        .formatted(i, i, i / 1000, 1000 + i % 5000, i % 100));
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,140 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.in.OrderServiceImpl;
+import com.enyoi.arka.adapters.out.repository.JpaCustomerRepository;
+import com.enyoi.arka.adapters.out.repository.JpaOrderRepository;
+import com.enyoi.arka.adapters.out.repository.JpaProductRepository;
+import com.enyoi.arka.adapters.out.repository.JpaUnitOfWork;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.Customer;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Email;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mide {@code OrderServiceImpl.createOrder} sobre SQLite en archivo: perfil por
+ * defecto frente a PRODUCTION (WAL + synchronous=NORMAL), y una transacción por
+ * orden frente a una por escritura.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*CreateOrderCommitBenchmark" -Darka.bench.orders=500 -Darka.bench.lines=3}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - createOrder por perfil SQLite")
+class CreateOrderCommitBenchmark {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Commits por segundo: DEFAULT vs PRODUCTION")
+    void comparaPerfiles() {
+        int orders = Benchmarks.intProperty("arka.bench.orders", 300);
+        int lines = Benchmarks.intProperty("arka.bench.lines", 3);
+
+        System.out.printf("%ncreateOrder: %d órdenes de %d líneas%n", orders, lines);
+        System.out.printf("%-12s %12s %14s %14s%n", "perfil", "ms", "órdenes/s", "commits/s");
+        for (SqliteProfile profile : SqliteProfile.values()) {
+            Result result = run(profile, true, orders, lines);
+            print(profile.name(), orders, result);
+            assertThat(result.commits()).isGreaterThanOrEqualTo(orders);
+        }
+    }
+
+    @Test
+    @DisplayName("Latencia: una transacción por orden vs una por escritura")
+    void comparaLimiteTransaccional() {
+        int orders = Benchmarks.intProperty("arka.bench.orders", 300);
+        int lines = Benchmarks.intProperty("arka.bench.lines", 10);
+
+        System.out.printf("%ncreateOrder (PRODUCTION): %d órdenes de %d líneas%n", orders, lines);
+        System.out.printf("%-12s %12s %14s %14s%n", "commits", "ms", "órdenes/s", "commits/s");
+        Result perWrite = run(SqliteProfile.PRODUCTION, false, orders, lines);
+        print("1+N", orders, perWrite);
+        Result single = run(SqliteProfile.PRODUCTION, true, orders, lines);
+        print("1", orders, single);
+        System.out.printf("latencia media: %.3f ms -> %.3f ms%n",
+                perWrite.elapsedNanos() / 1_000_000.0 / orders,
+                single.elapsedNanos() / 1_000_000.0 / orders);
+
+        assertThat(single.commits()).isEqualTo(orders);
+    }
+
+    private void print(String label, int orders, Result result) {
+        System.out.printf("%-12s %12.1f %14.1f %14.1f%n", label,
+                result.elapsedNanos() / 1_000_000.0,
+                Benchmarks.perSecond(orders, result.elapsedNanos()),
+                Benchmarks.perSecond(result.commits(), result.elapsedNanos()));
+    }
+
+    private Result run(SqliteProfile profile, boolean singleTransaction, int orders, int lines) {
+        Path file = tempDir.resolve(profile + "-" + singleTransaction + ".db");
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(file, profile)) {
+            JpaUnitOfWork unitOfWork = database.unitOfWork();
+            JpaProductRepository productRepository = new JpaProductRepository(unitOfWork);
+            JpaCustomerRepository customerRepository = new JpaCustomerRepository(unitOfWork);
+            JpaOrderRepository orderRepository = new JpaOrderRepository(unitOfWork);
+            OrderServiceImpl orderService = singleTransaction
+                    ? new OrderServiceImpl(orderRepository, productRepository, customerRepository,
+                            Benchmarks.silentNotifications(), unitOfWork)
+                    : new OrderServiceImpl(orderRepository, productRepository, customerRepository,
+                            Benchmarks.silentNotifications());
+
+            CustomerId customerId = CustomerId.of("bench-customer");
+            customerRepository.save(Customer.builder()
+                    .id(customerId)
+                    .name("Cliente Benchmark")
+                    .email(Email.of("bench@arka.com"))
+                    .city("Medellín")
+                    .build());
+
+            List<OrderItem> items = new ArrayList<>();
+            for (int i = 0; i < lines; i++) {
+                Product product = Product.builder()
+                        .id(ProductId.of("bench-prod-" + i))
+                        .name("Producto " + i)
+                        .price(Money.of(new BigDecimal("1000.00"), "COP"))
+                        .stock(Integer.MAX_VALUE / 2)
+                        .category(ProductCategory.OTROS)
+                        .build();
+                productRepository.save(product);
+                items.add(OrderItem.builder()
+                        .productId(product.getId())
+                        .quantity(1)
+                        .unitPrice(product.getPrice())
+                        .build());
+            }
+
+            // Calentamiento
+            for (int i = 0; i < Math.min(50, orders); i++) {
+                orderService.createOrder(customerId, new ArrayList<>(items));
+            }
+
+            Statistics statistics = database.statistics();
+            statistics.clear();
+            long start = System.nanoTime();
+            for (int i = 0; i < orders; i++) {
+                orderService.createOrder(customerId, new ArrayList<>(items));
+            }
+            long elapsed = System.nanoTime() - start;
+            return new Result(elapsed, statistics.getSuccessfulTransactionCount());
+        }
+    }
+
+    private record Result(long elapsedNanos, long commits) { }
+}
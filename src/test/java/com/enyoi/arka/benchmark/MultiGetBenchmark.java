@@ -0,0 +1,99 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.out.repository.JpaOrderRepository;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.OrderId;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cargar un conjunto de órdenes con sus items: un {@code findById} por orden frente a
+ * {@code findAllById}, que usa una consulta {@code IN (...)} por bloque de ids. Las
+ * órdenes no están en la caché de segundo nivel, así que cada lectura llega a SQLite.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*MultiGetBenchmark" -Darka.bench.orders=5000}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - findById vs findAllById")
+class MultiGetBenchmark {
+    private static final int REPETITIONS = 5;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Una lectura por id vs lectura en bloque")
+    void comparaLecturaPorIdConLecturaEnBloque() {
+        int orders = Benchmarks.intProperty("arka.bench.orders", 2_000);
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("multi-get.db"), SqliteProfile.PRODUCTION)) {
+            JpaOrderRepository repository = new JpaOrderRepository(database.unitOfWork());
+            List<Order> saved = IntStream.range(0, orders).mapToObj(MultiGetBenchmark::order).toList();
+            repository.saveAll(saved);
+            List<OrderId> ids = saved.stream().map(Order::getId).toList();
+
+            IntSupplier oneByOne = () -> (int) ids.stream().map(repository::findById).filter(Optional::isPresent).count();
+            IntSupplier inBulk = () -> repository.findAllById(ids).size();
+
+            // Calentamiento
+            oneByOne.getAsInt();
+            inBulk.getAsInt();
+
+            System.out.printf("%nCargar %d órdenes con 2 items, %d repeticiones%n", orders, REPETITIONS);
+            System.out.printf("%-14s %12s %14s %14s%n", "variante", "ms", "órdenes/s", "sentencias");
+            Result single = measure("findById", database.statistics(), orders, oneByOne);
+            Result bulk = measure("findAllById", database.statistics(), orders, inBulk);
+
+            assertThat(bulk.statements()).isLessThan(single.statements());
+        }
+    }
+
+    private Result measure(String label, Statistics statistics, int orders, IntSupplier load) {
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < REPETITIONS; i++) {
+            assertThat(load.getAsInt()).isEqualTo(orders);
+        }
+        long elapsed = (System.nanoTime() - start) / REPETITIONS;
+        long statements = statistics.getPrepareStatementCount() / REPETITIONS;
+        System.out.printf("%-14s %12.1f %14.0f %14d%n", label, elapsed / 1_000_000.0,
+                Benchmarks.perSecond(orders, elapsed), statements);
+        return new Result(elapsed, statements);
+    }
+
+    private static Order order(int i) {
+        List<OrderItem> items = new ArrayList<>();
+        for (int line = 0; line < 2; line++) {
+            items.add(OrderItem.builder()
+                    .productId(ProductId.of("bench-prod-" + line))
+                    .quantity(1)
+                    .unitPrice(Money.of(new BigDecimal("1000.00"), "COP"))
+                    .build());
+        }
+        return Order.builder()
+                .id(OrderId.of(String.format("bench-order-%06d", i)))
+                .customerId(CustomerId.of("bench-customer"))
+                .items(items)
+                .build();
+    }
+
+    private record Result(long elapsedNanos, long statements) { }
+}
@@ -0,0 +1,89 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.out.repository.entity.OrderEntity;
+import com.enyoi.arka.adapters.out.repository.entity.ProductEntity;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.OrderStatus;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mide el costo por llamada de preparar una consulta (sin ejecutarla): JPQL
+ * construido en cada llamada, con y sin la caché de planes de Hibernate, frente
+ * a consultas con nombre compiladas al arrancar.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*NamedQueryBenchmark" -Darka.bench.calls=200000}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - costo de preparar consultas")
+class NamedQueryBenchmark {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("JPQL por llamada vs consulta con nombre")
+    void comparaPreparacionDeConsultas() {
+        int calls = Benchmarks.intProperty("arka.bench.calls", 100_000);
+
+        System.out.printf("%nPreparar consulta + parámetros, %d llamadas%n", calls);
+        System.out.printf("%-32s %14s %14s%n", "variante", "ns/llamada", "llamadas/s");
+
+        double withoutPlanCache;
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("no-plan-cache.db"),
+                SqliteProfile.PRODUCTION, Map.of(AvailableSettings.QUERY_PLAN_CACHE_ENABLED, "false"))) {
+            withoutPlanCache = measure(database, calls, "JPQL, sin caché de planes", this::jpql);
+        }
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("plan-cache.db"), SqliteProfile.PRODUCTION)) {
+            measure(database, calls, "JPQL, con caché de planes", this::jpql);
+            double named = measure(database, calls, "consulta con nombre", this::named);
+            assertThat(named).isLessThan(withoutPlanCache);
+        }
+    }
+
+    private TypedQuery<?> jpql(EntityManager entityManager) {
+        return entityManager.createQuery("FROM ProductEntity WHERE category = :category", ProductEntity.class)
+                .setParameter("category", ProductCategory.PERIFERICOS);
+    }
+
+    private TypedQuery<?> named(EntityManager entityManager) {
+        return entityManager.createNamedQuery(ProductEntity.FIND_BY_CATEGORY, ProductEntity.class)
+                .setParameter("category", ProductCategory.PERIFERICOS);
+    }
+
+    private double measure(BenchmarkDatabase database, int calls, String label,
+                           Function<EntityManager, TypedQuery<?>> prepare) {
+        EntityManager entityManager = database.entityManagerFactory().createEntityManager();
+        try {
+            // Calentamiento, incluida una consulta de órdenes para cargar todo el modelo
+            entityManager.createNamedQuery(OrderEntity.FIND_BY_STATUS, OrderEntity.class)
+                    .setParameter("status", OrderStatus.PENDIENTE)
+                    .getResultList();
+            for (int i = 0; i < Math.min(calls, 20_000); i++) {
+                prepare.apply(entityManager);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                prepare.apply(entityManager);
+            }
+            long elapsed = System.nanoTime() - start;
+            double nanosPerCall = (double) elapsed / calls;
+            System.out.printf("%-32s %14.0f %14.0f%n", label, nanosPerCall, Benchmarks.perSecond(calls, elapsed));
+            return nanosPerCall;
+        } finally {
+            entityManager.close();
+        }
+    }
+}
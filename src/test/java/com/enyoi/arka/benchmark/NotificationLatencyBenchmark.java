@@ -0,0 +1,153 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.in.OrderServiceImpl;
+import com.enyoi.arka.adapters.out.memory.InMemoryCustomerRepository;
+import com.enyoi.arka.adapters.out.memory.InMemoryOrderRepository;
+import com.enyoi.arka.adapters.out.memory.InMemoryProductRepository;
+import com.enyoi.arka.adapters.out.service.AsyncNotificationService;
+import com.enyoi.arka.adapters.out.service.NotificationMetrics;
+import com.enyoi.arka.adapters.out.service.NotificationSettings;
+import com.enyoi.arka.domain.entities.Customer;
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.ports.out.Notification;
+import com.enyoi.arka.domain.ports.out.NotificationService;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Email;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latencia de createOrder + confirmOrder con un canal de notificaciones lento: entrega
+ * síncrona frente a {@link AsyncNotificationService}. Usa los adaptadores en memoria para
+ * que la base de datos no tape el coste del canal. El canal simulado tarda
+ * {@code arka.bench.delay-us} por llamada, sea una notificación suelta o un lote.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*NotificationLatencyBenchmark" -Darka.bench.orders=5000 -Darka.bench.delay-us=500}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - latencia de órdenes con notificaciones lentas")
+class NotificationLatencyBenchmark {
+
+    @Test
+    @DisplayName("Canal lento síncrono vs cola asíncrona por lotes")
+    void comparaEntregaSincronaYAsincrona() {
+        int orders = Benchmarks.intProperty("arka.bench.orders", 2_000);
+        int delayMicros = Benchmarks.intProperty("arka.bench.delay-us", 500);
+
+        System.out.printf("%n%d órdenes (crear + confirmar), canal de %d µs por llamada%n", orders, delayMicros);
+        System.out.printf("%-10s %12s %12s %12s %14s %12s%n",
+                "entrega", "media µs", "p99 µs", "llamadas", "vaciado ms", "total ms");
+
+        SlowChannel syncChannel = new SlowChannel(delayMicros);
+        Result sync = run(syncChannel, orders);
+        print("síncrona", sync, syncChannel, 0);
+
+        SlowChannel asyncChannel = new SlowChannel(delayMicros);
+        AsyncNotificationService async = new AsyncNotificationService(asyncChannel, NotificationSettings.defaults());
+        Result queued = run(async, orders);
+        long drainStart = System.nanoTime();
+        async.close();
+        long drainNanos = System.nanoTime() - drainStart;
+        print("asíncrona", queued, asyncChannel, drainNanos);
+
+        NotificationMetrics metrics = async.metrics();
+        assertThat(metrics.delivered()).isEqualTo(2L * orders);
+        assertThat(asyncChannel.notifications.sum()).isEqualTo(2L * orders);
+    }
+
+    private void print(String label, Result result, SlowChannel channel, long drainNanos) {
+        System.out.printf("%-10s %12.1f %12.1f %12d %14.1f %12.1f%n", label,
+                result.meanMicros(), result.p99Micros(), channel.calls.sum(),
+                drainNanos / 1_000_000.0, (result.elapsedNanos() + drainNanos) / 1_000_000.0);
+    }
+
+    private Result run(NotificationService notifications, int orders) {
+        InMemoryProductRepository productRepository = new InMemoryProductRepository();
+        InMemoryCustomerRepository customerRepository = new InMemoryCustomerRepository();
+        OrderServiceImpl orderService = new OrderServiceImpl(new InMemoryOrderRepository(), productRepository,
+                customerRepository, notifications);
+
+        CustomerId customerId = CustomerId.of("bench-customer");
+        customerRepository.save(Customer.builder()
+                .id(customerId)
+                .name("Cliente Benchmark")
+                .email(Email.of("bench@arka.com"))
+                .city("Medellín")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .id(ProductId.of("bench-prod"))
+                .name("Producto")
+                .price(Money.of(new BigDecimal("1000.00"), "COP"))
+                .stock(Integer.MAX_VALUE / 2)
+                .category(ProductCategory.OTROS)
+                .build());
+        OrderItem item = OrderItem.builder().productId(product.getId()).quantity(1).unitPrice(product.getPrice()).build();
+
+        long[] latencies = new long[orders];
+        long start = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            long begin = System.nanoTime();
+            Order order = orderService.createOrder(customerId, new ArrayList<>(List.of(item)));
+            orderService.confirmOrder(order.getId());
+            latencies[i] = System.nanoTime() - begin;
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(elapsed, elapsed / 1_000.0 / orders, latencies[(int) (orders * 0.99) - 1] / 1_000.0);
+    }
+
+    /**
+     * Canal con un coste fijo por llamada, como una petición remota.
+     */
+    private static final class SlowChannel implements NotificationService {
+        private final long delayNanos;
+        final LongAdder calls = new LongAdder();
+        final LongAdder notifications = new LongAdder();
+
+        SlowChannel(int delayMicros) {
+            this.delayNanos = TimeUnit.MICROSECONDS.toNanos(delayMicros);
+        }
+
+        @Override
+        public void notifyOrderStatusChange(String orderId, String customerEmail, String newStatus) {
+            call(1);
+        }
+
+        @Override
+        public void notifyLowStockAlert(String productName, int currentStock) {
+            call(1);
+        }
+
+        @Override
+        public void notifyBatch(List<Notification> batch) {
+            call(batch.size());
+        }
+
+        private void call(int size) {
+            calls.increment();
+            notifications.add(size);
+            long deadline = System.nanoTime() + delayNanos;
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(deadline - System.nanoTime());
+            }
+        }
+    }
+
+    private record Result(long elapsedNanos, double meanMicros, double p99Micros) { }
+}
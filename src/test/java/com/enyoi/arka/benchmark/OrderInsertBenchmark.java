@@ -0,0 +1,78 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.out.repository.JpaOrderRepository;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.OrderId;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserción de órdenes con {@code JpaOrderRepository.insert} según el número de líneas.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*OrderInsertBenchmark" -Darka.bench.orders=500}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - inserción de órdenes por número de líneas")
+class OrderInsertBenchmark {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Órdenes de 1, 10 y 100 líneas")
+    void comparaNumeroDeLineas() {
+        int orders = Benchmarks.intProperty("arka.bench.orders", 200);
+
+        System.out.printf("%ninsert de %d órdenes%n", orders);
+        System.out.printf("%-8s %12s %14s %14s %16s%n", "líneas", "ms", "órdenes/s", "líneas/s", "sentencias/orden");
+        for (int lines : new int[] {1, 10, 100}) {
+            try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve(lines + ".db"), SqliteProfile.PRODUCTION)) {
+                JpaOrderRepository repository = new JpaOrderRepository(database.unitOfWork());
+                IntStream.range(0, Math.min(orders, 50)).forEach(i -> repository.insert(order("warmup-" + i, lines)));
+
+                Statistics statistics = database.statistics();
+                statistics.clear();
+                long start = System.nanoTime();
+                for (int i = 0; i < orders; i++) {
+                    repository.insert(order("order-" + i, lines));
+                }
+                long elapsed = System.nanoTime() - start;
+
+                System.out.printf("%-8d %12.1f %14.1f %14.1f %16.1f%n", lines, elapsed / 1_000_000.0,
+                        Benchmarks.perSecond(orders, elapsed), Benchmarks.perSecond((long) orders * lines, elapsed),
+                        (double) statistics.getPrepareStatementCount() / orders);
+                assertThat(repository.findById(OrderId.of("order-0")).orElseThrow().getItems()).hasSize(lines);
+            }
+        }
+    }
+
+    private Order order(String id, int lines) {
+        List<OrderItem> items = IntStream.range(0, lines)
+                .mapToObj(i -> OrderItem.builder()
+                        .productId(ProductId.of("prod-" + i))
+                        .quantity(1)
+                        .unitPrice(Money.of(new BigDecimal("1000.00"), "COP"))
+                        .build())
+                .toList();
+        return Order.builder()
+                .id(OrderId.of(id))
+                .customerId(CustomerId.of("bench-customer"))
+                .items(items)
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.out.repository.JpaProductRepository;
+import com.enyoi.arka.adapters.out.repository.JpaUnitOfWork;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de larga duración con un único EntityManager compartido: lecturas y
+ * actualizaciones sobre todo el catálogo. Cada décima parte de las operaciones se
+ * mide el heap usado tras un GC y el número de entidades en el contexto de persistencia;
+ * ambos deben mantenerse planos.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*PersistenceContextSoakBenchmark" -Darka.bench.operations=1000000}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - contexto de persistencia acotado")
+class PersistenceContextSoakBenchmark {
+    private static final long MAX_HEAP_GROWTH_BYTES = 16L * 1024 * 1024;
+    private static final int SAMPLES = 10;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("El heap no crece con el número de operaciones")
+    void heapSeMantienePlano() {
+        int operations = Benchmarks.intProperty("arka.bench.operations", 1_000_000);
+        int products = Benchmarks.intProperty("arka.bench.products", 50_000);
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("soak.db"), SqliteProfile.PRODUCTION)) {
+            new JpaProductRepository(database.unitOfWork()).saveAll(catalog(products));
+            EntityManager entityManager = database.entityManagerFactory().createEntityManager();
+            try {
+                JpaProductRepository repository = new JpaProductRepository(JpaUnitOfWork.shared(entityManager));
+                Session session = entityManager.unwrap(Session.class);
+                long baseline = usedHeapAfterGc();
+                long maxHeap = baseline;
+                int maxEntities = 0;
+
+                System.out.printf("%nSoak: %d operaciones sobre %d productos, EntityManager compartido%n", operations, products);
+                System.out.printf("%12s %14s %10s %12s%n", "operaciones", "heap MB", "entidades", "ops/s");
+                long start = System.nanoTime();
+                int step = Math.max(1, operations / SAMPLES);
+                for (int i = 1; i <= operations; i++) {
+                    ProductId id = ProductId.of("soak-" + (i % products));
+                    Product product = repository.findById(id).orElseThrow();
+                    if (i % 1_000 == 0) {
+                        product.increaseStock(1);
+                        repository.save(product);
+                    }
+                    if (i % step == 0) {
+                        int entities = session.getStatistics().getEntityCount();
+                        long heap = usedHeapAfterGc();
+                        maxEntities = Math.max(maxEntities, entities);
+                        maxHeap = Math.max(maxHeap, heap);
+                        System.out.printf("%12d %14.1f %10d %12.1f%n", i, heap / 1_048_576.0, entities,
+                                Benchmarks.perSecond(i, System.nanoTime() - start));
+                    }
+                }
+
+                assertThat(maxEntities).isZero();
+                assertThat(maxHeap - baseline).isLessThan(MAX_HEAP_GROWTH_BYTES);
+            } finally {
+                entityManager.close();
+            }
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private List<Product> catalog(int products) {
+        return IntStream.range(0, products)
+                .mapToObj(i -> Product.builder()
+                        .id(ProductId.of("soak-" + i))
+                        .name("Producto " + i)
+                        .price(Money.of(new BigDecimal("1000.00"), "COP"))
+                        .stock(100)
+                        .category(ProductCategory.OTROS)
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,183 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.out.repository.JpaOrderRepository;
+import com.enyoi.arka.adapters.out.repository.JpaProductRepository;
+import com.enyoi.arka.adapters.out.repository.JpaUnitOfWork;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.OrderStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara el plan y la latencia de {@code findByStatus} y {@code findLowStockProducts}
+ * sobre un volumen grande de filas, sin y con los índices declarados en las entidades.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*QueryPlanBenchmark" -Darka.bench.rows=1000000}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - índices de las consultas frecuentes")
+class QueryPlanBenchmark {
+    private static final String ORDERS_BY_STATUS =
+            "SELECT * FROM orders o LEFT JOIN order_items i ON i.orderId = o.id WHERE o.status = ?";
+    private static final String LOW_STOCK = "SELECT * FROM products WHERE stock < ?";
+    private static final int LOW_STOCK_THRESHOLD = 5;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Escaneo completo vs búsqueda por índice")
+    void comparaConYSinIndices() throws SQLException {
+        int rows = Benchmarks.intProperty("arka.bench.rows", 1_000_000);
+        int iterations = Benchmarks.intProperty("arka.bench.iterations", 5);
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("plans.db"), SqliteProfile.PRODUCTION)) {
+            DataSource dataSource = database.dataSource();
+            load(dataSource, rows);
+            JpaUnitOfWork unitOfWork = database.unitOfWork();
+            JpaOrderRepository orderRepository = new JpaOrderRepository(unitOfWork);
+            JpaProductRepository productRepository = new JpaProductRepository(unitOfWork);
+
+            Map<String, String> indexes = indexDefinitions(dataSource);
+            assertThat(indexes).containsKeys("idx_orders_status_created_at", "idx_orders_customer_id",
+                    "idx_products_stock", "idx_products_category", "idx_order_items_order_id");
+
+            System.out.printf("%n%d órdenes, %d productos, %d iteraciones%n", rows, rows, iterations);
+            System.out.printf("%-12s %-22s %12s   %s%n", "índices", "consulta", "ms/consulta", "plan");
+
+            execute(dataSource, indexes.keySet().stream().map(name -> "DROP INDEX " + name).toList());
+            List<String> statusScan = plan(dataSource, ORDERS_BY_STATUS, OrderStatus.PENDIENTE.name());
+            List<String> stockScan = plan(dataSource, LOW_STOCK, LOW_STOCK_THRESHOLD);
+            report("no", "findByStatus", statusScan,
+                    time(iterations, () -> orderRepository.findByStatus(OrderStatus.PENDIENTE).size()));
+            report("no", "findLowStockProducts", stockScan,
+                    time(iterations, () -> productRepository.findLowStockProducts(LOW_STOCK_THRESHOLD).size()));
+
+            execute(dataSource, new ArrayList<>(indexes.values()));
+            List<String> statusSearch = plan(dataSource, ORDERS_BY_STATUS, OrderStatus.PENDIENTE.name());
+            List<String> stockSearch = plan(dataSource, LOW_STOCK, LOW_STOCK_THRESHOLD);
+            report("sí", "findByStatus", statusSearch,
+                    time(iterations, () -> orderRepository.findByStatus(OrderStatus.PENDIENTE).size()));
+            report("sí", "findLowStockProducts", stockSearch,
+                    time(iterations, () -> productRepository.findLowStockProducts(LOW_STOCK_THRESHOLD).size()));
+
+            assertThat(statusScan).anyMatch(step -> step.startsWith("SCAN o"));
+            assertThat(stockScan).anyMatch(step -> step.startsWith("SCAN products"));
+            assertThat(statusSearch).anyMatch(step -> step.contains("USING INDEX idx_orders_status_created_at"));
+            assertThat(statusSearch).anyMatch(step -> step.contains("USING INDEX idx_order_items_order_id"));
+            assertThat(stockSearch).anyMatch(step -> step.contains("USING INDEX idx_products_stock"));
+        }
+    }
+
+    /**
+     * 1% de órdenes pendientes con un item cada una y 0,1% de productos con stock bajo.
+     */
+    private void load(DataSource dataSource, int rows) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement order = connection.prepareStatement(
+                    "INSERT INTO orders (id, customerId, status, createdAt) VALUES (?, ?, ?, ?)");
+                 PreparedStatement item = connection.prepareStatement(
+                         "INSERT INTO order_items (id, orderId, productId, quantity, unitPrice, currency) VALUES (?, ?, ?, 1, 1000, 'COP')");
+                 PreparedStatement product = connection.prepareStatement(
+                         "INSERT INTO products (id, name, price, currency, stock, category) VALUES (?, ?, 1000, 'COP', ?, 'OTROS')")) {
+                long now = System.currentTimeMillis();
+                for (int i = 0; i < rows; i++) {
+                    String orderId = String.format("order-%08d", i);
+                    String productId = String.format("prod-%08d", i);
+                    order.setString(1, orderId);
+                    order.setString(2, "cust-" + (i % 10_000));
+                    order.setString(3, (i % 100 == 0 ? OrderStatus.PENDIENTE : OrderStatus.ENTREGADO).name());
+                    order.setTimestamp(4, new Timestamp(now - i * 1_000L));
+                    order.addBatch();
+                    item.setLong(1, i + 1L);
+                    item.setString(2, orderId);
+                    item.setString(3, productId);
+                    item.addBatch();
+                    product.setString(1, productId);
+                    product.setString(2, "Producto " + i);
+                    product.setInt(3, i % 1_000 == 0 ? i % LOW_STOCK_THRESHOLD : LOW_STOCK_THRESHOLD + i % 500);
+                    product.addBatch();
+                    if (i % 10_000 == 9_999) {
+                        order.executeBatch();
+                        item.executeBatch();
+                        product.executeBatch();
+                    }
+                }
+                order.executeBatch();
+                item.executeBatch();
+                product.executeBatch();
+            }
+            connection.commit();
+        }
+        System.out.printf("%ncarga: %.1f s%n", (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private Map<String, String> indexDefinitions(DataSource dataSource) throws SQLException {
+        Map<String, String> indexes = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT name, sql FROM sqlite_master WHERE type = 'index' AND name LIKE 'idx_%'")) {
+            while (resultSet.next()) {
+                indexes.put(resultSet.getString(1), resultSet.getString(2));
+            }
+        }
+        return indexes;
+    }
+
+    private void execute(DataSource dataSource, List<String> statements) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private List<String> plan(DataSource dataSource, String sql, Object parameter) throws SQLException {
+        List<String> steps = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            statement.setObject(1, parameter);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    steps.add(resultSet.getString("detail"));
+                }
+            }
+        }
+        return steps;
+    }
+
+    private double time(int iterations, IntSupplier query) {
+        int expected = query.getAsInt();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            assertThat(query.getAsInt()).isEqualTo(expected);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+
+    private void report(String indexed, String query, List<String> plan, double millis) {
+        System.out.printf("%-12s %-22s %12.1f   %s%n", indexed, query, millis, String.join(" | ", plan));
+    }
+}
@@ -0,0 +1,109 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.out.repository.JpaProductRepository;
+import com.enyoi.arka.adapters.out.repository.entity.ProductEntity;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import jakarta.persistence.EntityManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listado completo del catálogo con un EntityManager normal frente a uno en solo
+ * lectura con {@link FlushMode#MANUAL}, que es como {@code JpaUnitOfWork.read} ejecuta
+ * ahora las consultas. Se mide el tiempo y la memoria asignada por el hilo en cada listado.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*ReadOnlyQueryBenchmark" -Darka.bench.products=20000}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - consultas en solo lectura")
+class ReadOnlyQueryBenchmark {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("EntityManager normal vs solo lectura")
+    void comparaListadoNormalConSoloLectura() {
+        int products = Benchmarks.intProperty("arka.bench.products", 5_000);
+        int repetitions = Benchmarks.intProperty("arka.bench.repetitions", 50);
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("read-only.db"), SqliteProfile.PRODUCTION)) {
+            JpaProductRepository repository = new JpaProductRepository(database.unitOfWork());
+            repository.saveAll(catalog(products));
+
+            System.out.printf("%nListar %d productos, %d repeticiones%n", products, repetitions);
+            System.out.printf("%-26s %12s %16s%n", "variante", "ms/listado", "KB asignados");
+            double[] stateful = measure("EntityManager normal", repetitions, () -> list(database, false));
+            double[] readOnly = measure("solo lectura", repetitions, () -> list(database, true));
+            measure("repositorio findAll", repetitions, () -> repository.findAll().size());
+
+            assertThat(readOnly[1]).isLessThan(stateful[1]);
+        }
+    }
+
+    private int list(BenchmarkDatabase database, boolean readOnly) {
+        EntityManager entityManager = database.entityManagerFactory().createEntityManager();
+        try {
+            if (readOnly) {
+                Session session = entityManager.unwrap(Session.class);
+                session.setDefaultReadOnly(true);
+                session.setHibernateFlushMode(FlushMode.MANUAL);
+            }
+            return entityManager.createNamedQuery(ProductEntity.FIND_ALL, ProductEntity.class)
+                    .getResultList()
+                    .size();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * @return milisegundos y KB asignados por listado
+     */
+    private double[] measure(String label, int repetitions, IntSupplier listing) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < Math.max(5, repetitions / 5); i++) {
+            listing.getAsInt();
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            listing.getAsInt();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        double millis = elapsed / 1_000_000.0 / repetitions;
+        double kilobytes = allocated / 1024.0 / repetitions;
+        System.out.printf("%-26s %12.2f %16.0f%n", label, millis, kilobytes);
+        return new double[] {millis, kilobytes};
+    }
+
+    private List<Product> catalog(int products) {
+        return IntStream.range(0, products)
+                .mapToObj(i -> Product.builder()
+                        .id(ProductId.of("ro-" + i))
+                        .name("Producto " + i)
+                        .price(Money.of(new BigDecimal("1000.00"), "COP"))
+                        .stock(i % 100)
+                        .category(ProductCategory.OTROS)
+                        .build())
+                .toList();
+    }
+}
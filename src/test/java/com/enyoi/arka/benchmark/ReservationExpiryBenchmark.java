@@ -0,0 +1,152 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.in.OrderServiceImpl;
+import com.enyoi.arka.adapters.in.ReservationSettings;
+import com.enyoi.arka.adapters.in.RetryPolicy;
+import com.enyoi.arka.adapters.in.StockReservations;
+import com.enyoi.arka.adapters.out.repository.JpaCustomerRepository;
+import com.enyoi.arka.adapters.out.repository.JpaOrderRepository;
+import com.enyoi.arka.adapters.out.repository.JpaProductRepository;
+import com.enyoi.arka.adapters.out.repository.JpaUnitOfWork;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.Customer;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.ports.in.OrderRequest;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Email;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Coste de un tick del vencimiento de reservas sobre SQLite PRODUCTION con muchas órdenes
+ * pendientes: buscar las vencidas recorriendo {@code findPendingOrders} frente a avanzar la
+ * {@code TimingWheel}, que solo toca lo que vence. Al final se vence todo de una vez y se
+ * comprueba que el stock vuelve completo.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*ReservationExpiryBenchmark" -Darka.bench.orders=10000}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - vencimiento de reservas")
+class ReservationExpiryBenchmark {
+    private static final int PRODUCTS = 50;
+    private static final int STOCK = 1_000_000;
+    private static final int TICKS = 20;
+    private static final Duration TTL = Duration.ofSeconds(10);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Recorrer órdenes pendientes vs rueda de temporizadores")
+    void comparaRecorridoConRueda() throws InterruptedException {
+        int orders = Benchmarks.intProperty("arka.bench.orders", 2_000);
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("reservations.db"), SqliteProfile.PRODUCTION)) {
+            JpaUnitOfWork unitOfWork = database.unitOfWork();
+            JpaOrderRepository orderRepository = new JpaOrderRepository(unitOfWork);
+            JpaProductRepository productRepository = new JpaProductRepository(unitOfWork);
+            StockReservations reservations = new StockReservations(orderRepository, productRepository, unitOfWork,
+                    new ReservationSettings(TTL, Duration.ofMillis(100), 512));
+            OrderServiceImpl orderService = orderService(unitOfWork, orderRepository, productRepository, reservations);
+            for (int from = 0; from < orders; from += 500) {
+                orderService.createOrders(requests(from, Math.min(from + 500, orders)));
+            }
+            long createdAt = System.nanoTime();
+
+            IntSupplier scan = () -> {
+                LocalDateTime now = LocalDateTime.now();
+                return (int) orderRepository.findPendingOrders().stream()
+                        .filter(order -> !order.isStockReleased() && !order.getReservedUntil().isAfter(now))
+                        .count();
+            };
+
+            System.out.printf("%n%d órdenes pendientes, %d productos, %d ticks%n", orders, PRODUCTS, TICKS);
+            System.out.printf("%-20s %14s %14s%n", "variante", "ms/tick", "sentencias");
+            measure("findPendingOrders", database.statistics(), scan);
+            measure("TimingWheel", database.statistics(), reservations::expireDue);
+            assertThat(reservations.metrics().activeHolds()).isEqualTo(orders);
+
+            // Todo vence de una vez: una transacción que marca las órdenes por bloques de ids,
+            // suma sus items por producto y devuelve el stock con un UPDATE por producto
+            long remaining = TTL.toNanos() - (System.nanoTime() - createdAt) + Duration.ofMillis(200).toNanos();
+            if (remaining > 0) Thread.sleep(remaining / 1_000_000);
+            Statistics statistics = database.statistics();
+            statistics.clear();
+            long start = System.nanoTime();
+            int expired = reservations.expireDue();
+            System.out.printf("%-20s %14.1f %14d  (%d reservas)%n", "vencer todo", (System.nanoTime() - start) / 1_000_000.0,
+                    statistics.getPrepareStatementCount(), expired);
+
+            assertThat(expired).isEqualTo(orders);
+            assertThat(productRepository.findAll()).allSatisfy(product -> assertThat(product.getStock()).isEqualTo(STOCK));
+        }
+    }
+
+    private void measure(String label, Statistics statistics, IntSupplier tick) {
+        tick.getAsInt();
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < TICKS; i++) {
+            assertThat(tick.getAsInt()).isZero();
+        }
+        long elapsed = (System.nanoTime() - start) / TICKS;
+        System.out.printf("%-20s %14.3f %14d%n", label, elapsed / 1_000_000.0, statistics.getPrepareStatementCount() / TICKS);
+    }
+
+    private static List<OrderRequest> requests(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> new OrderRequest(CustomerId.of("bench-customer"), List.of(
+                        item(i % PRODUCTS), item((i + 1) % PRODUCTS))))
+                .toList();
+    }
+
+    private static OrderItem item(int product) {
+        return OrderItem.builder()
+                .productId(ProductId.of("bench-prod-" + product))
+                .quantity(1)
+                .unitPrice(Money.of(new BigDecimal("1000.00"), "COP"))
+                .build();
+    }
+
+    private OrderServiceImpl orderService(JpaUnitOfWork unitOfWork, JpaOrderRepository orderRepository,
+                                          JpaProductRepository productRepository, StockReservations reservations) {
+        JpaCustomerRepository customerRepository = new JpaCustomerRepository(unitOfWork);
+        customerRepository.save(Customer.builder()
+                .id(CustomerId.of("bench-customer"))
+                .name("Cliente")
+                .email(Email.of("cliente@arka.com"))
+                .city("Medellín")
+                .build());
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .id(ProductId.of("bench-prod-" + i))
+                    .name("Producto " + i)
+                    .price(Money.of(new BigDecimal("1000.00"), "COP"))
+                    .stock(STOCK)
+                    .category(ProductCategory.OTROS)
+                    .build());
+        }
+        productRepository.saveAll(products);
+        return new OrderServiceImpl(orderRepository, productRepository, customerRepository,
+                Benchmarks.silentNotifications(), unitOfWork, RetryPolicy.defaults(), reservations);
+    }
+}
@@ -0,0 +1,154 @@
+package com.enyoi.arka.benchmark;
+
+import com.enyoi.arka.adapters.in.OrderServiceImpl;
+import com.enyoi.arka.adapters.out.memory.InMemoryCustomerRepository;
+import com.enyoi.arka.adapters.out.memory.InMemoryOrderRepository;
+import com.enyoi.arka.adapters.out.memory.InMemoryProductRepository;
+import com.enyoi.arka.adapters.out.repository.JpaCustomerRepository;
+import com.enyoi.arka.adapters.out.repository.JpaOrderRepository;
+import com.enyoi.arka.adapters.out.repository.JpaProductRepository;
+import com.enyoi.arka.adapters.out.repository.JpaUnitOfWork;
+import com.enyoi.arka.adapters.out.repository.config.SqliteProfile;
+import com.enyoi.arka.domain.entities.Customer;
+import com.enyoi.arka.domain.entities.Order;
+import com.enyoi.arka.domain.entities.OrderItem;
+import com.enyoi.arka.domain.entities.OrderStatus;
+import com.enyoi.arka.domain.entities.Product;
+import com.enyoi.arka.domain.entities.ProductCategory;
+import com.enyoi.arka.domain.ports.out.CustomerRepository;
+import com.enyoi.arka.domain.ports.out.OrderRepository;
+import com.enyoi.arka.domain.ports.out.ProductRepository;
+import com.enyoi.arka.domain.ports.out.UnitOfWork;
+import com.enyoi.arka.domain.valueobjects.CustomerId;
+import com.enyoi.arka.domain.valueobjects.Email;
+import com.enyoi.arka.domain.valueobjects.Money;
+import com.enyoi.arka.domain.valueobjects.OrderId;
+import com.enyoi.arka.domain.valueobjects.ProductId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Los mismos casos sobre los adaptadores JPA (SQLite PRODUCTION en archivo) y los de
+ * memoria, que sirven de cota superior. En memoria se compara además la consulta por
+ * índice con recorrer {@code findAll()} y filtrar.
+ * <p>
+ * {@code ./gradlew benchmark --tests "*StorageAdapterBenchmark" -Darka.bench.products=50000 -Darka.bench.orders=50000}
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - adaptadores JPA vs memoria")
+class StorageAdapterBenchmark {
+    private static final int LOW_STOCK_THRESHOLD = 10;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Consultas indexadas y createOrder por adaptador")
+    void comparaAdaptadores() {
+        int products = Benchmarks.intProperty("arka.bench.products", 20_000);
+        int orders = Benchmarks.intProperty("arka.bench.orders", 20_000);
+        int queries = Benchmarks.intProperty("arka.bench.queries", 200);
+        int created = Benchmarks.intProperty("arka.bench.created", 2_000);
+
+        System.out.printf("%n%d productos (1%% con stock bajo), %d órdenes (1%% confirmadas)%n", products, orders);
+        System.out.printf("%-22s %16s %16s %16s%n", "adaptador", "lowStock/s", "byStatus/s", "createOrder/s");
+
+        try (BenchmarkDatabase database = BenchmarkDatabase.open(tempDir.resolve("adapters.db"), SqliteProfile.PRODUCTION)) {
+            JpaUnitOfWork unitOfWork = database.unitOfWork();
+            Result jpa = run(new JpaProductRepository(unitOfWork), new JpaCustomerRepository(unitOfWork),
+                    new JpaOrderRepository(unitOfWork), unitOfWork, false, products, orders, queries, created);
+            print("jpa", jpa);
+        }
+        Result scan = run(new InMemoryProductRepository(), new InMemoryCustomerRepository(),
+                new InMemoryOrderRepository(), Supplier::get, true, products, orders, queries, created);
+        print("memoria (findAll)", scan);
+        Result indexed = run(new InMemoryProductRepository(), new InMemoryCustomerRepository(),
+                new InMemoryOrderRepository(), Supplier::get, false, products, orders, queries, created);
+        print("memoria (índices)", indexed);
+
+        assertThat(indexed.lowStockPerSecond()).isGreaterThan(scan.lowStockPerSecond());
+    }
+
+    private void print(String label, Result result) {
+        System.out.printf("%-22s %16.0f %16.0f %16.0f%n", label,
+                result.lowStockPerSecond(), result.byStatusPerSecond(), result.createOrderPerSecond());
+    }
+
+    private Result run(ProductRepository productRepository, CustomerRepository customerRepository,
+                       OrderRepository orderRepository, UnitOfWork unitOfWork, boolean scan,
+                       int products, int orders, int queries, int created) {
+        Money price = Money.of(new BigDecimal("1000.00"), "COP");
+        List<Product> catalog = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            catalog.add(Product.builder()
+                    .id(ProductId.of("bench-prod-%07d".formatted(i)))
+                    .name("Producto " + i)
+                    .price(price)
+                    .stock(i % 100 == 0 ? i % LOW_STOCK_THRESHOLD : 1_000_000)
+                    .category(ProductCategory.values()[i % ProductCategory.values().length])
+                    .build());
+        }
+        productRepository.insertAll(catalog);
+
+        CustomerId customerId = CustomerId.of("bench-customer");
+        customerRepository.save(Customer.builder()
+                .id(customerId)
+                .name("Cliente Benchmark")
+                .email(Email.of("bench@arka.com"))
+                .city("Medellín")
+                .build());
+
+        OrderItem item = OrderItem.builder().productId(catalog.get(1).getId()).quantity(1).unitPrice(price).build();
+        List<Order> history = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            history.add(Order.builder()
+                    .id(OrderId.of("bench-order-%07d".formatted(i)))
+                    .customerId(customerId)
+                    .status(i % 100 == 0 ? OrderStatus.CONFIRMADO : OrderStatus.ENTREGADO)
+                    .items(new ArrayList<>(List.of(item)))
+                    .build());
+        }
+        orderRepository.saveAll(history);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            List<Product> lowStock = scan
+                    ? productRepository.findAll().stream().filter(p -> p.isLowStock(LOW_STOCK_THRESHOLD)).toList()
+                    : productRepository.findLowStockProducts(LOW_STOCK_THRESHOLD);
+            assertThat(lowStock).hasSize((products + 99) / 100);
+        }
+        long lowStockNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            List<Order> confirmed = scan
+                    ? orderRepository.findAll().stream().filter(o -> o.getStatus() == OrderStatus.CONFIRMADO).toList()
+                    : orderRepository.findByStatus(OrderStatus.CONFIRMADO);
+            assertThat(confirmed).hasSize((orders + 99) / 100);
+        }
+        long byStatusNanos = System.nanoTime() - start;
+
+        OrderServiceImpl orderService = new OrderServiceImpl(orderRepository, productRepository, customerRepository,
+                Benchmarks.silentNotifications(), unitOfWork);
+        start = System.nanoTime();
+        for (int i = 0; i < created; i++) {
+            orderService.createOrder(customerId, new ArrayList<>(List.of(item)));
+        }
+        long createNanos = System.nanoTime() - start;
+
+        return new Result(Benchmarks.perSecond(queries, lowStockNanos), Benchmarks.perSecond(queries, byStatusNanos),
+                Benchmarks.perSecond(created, createNanos));
+    }
+
+    private record Result(double lowStockPerSecond, double byStatusPerSecond, double createOrderPerSecond) { }
+}